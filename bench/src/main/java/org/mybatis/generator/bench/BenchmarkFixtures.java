@@ -0,0 +1,343 @@
+/*
+ *  Copyright 2005 The Apache Software Foundation
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mybatis.generator.bench;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.StringReader;
+import java.io.Writer;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.mybatis.generator.api.GeneratedJavaFile;
+import org.mybatis.generator.api.GeneratedXmlFile;
+import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.api.PluginAdapter;
+import org.mybatis.generator.api.dom.java.CompilationUnit;
+import org.mybatis.generator.api.dom.java.TopLevelClass;
+import org.mybatis.generator.config.Configuration;
+import org.mybatis.generator.config.Context;
+import org.mybatis.generator.config.JDBCConnectionConfiguration;
+import org.mybatis.generator.config.TableConfiguration;
+import org.mybatis.generator.config.xml.ConfigurationParser;
+import org.mybatis.generator.internal.NullProgressCallback;
+import org.mybatis.generator.internal.db.ActualTableName;
+import org.mybatis.generator.internal.db.ColumnMetaData;
+import org.mybatis.generator.internal.db.SchemaMetaData;
+import org.mybatis.generator.internal.db.SchemaSnapshot;
+
+/**
+ * The shared state of the benchmarks: a MyBatis3 context with one wide table,
+ * introspected from a synthetic schema snapshot so that no database is
+ * needed, and the files generated for it.
+ */
+public class BenchmarkFixtures {
+
+    public static final String WIDE_TABLE_NAME = "T_WIDE"; //$NON-NLS-1$
+
+    public static final String WIDE_DOMAIN_OBJECT_NAME = "WideTable"; //$NON-NLS-1$
+
+    public static final int WIDE_TABLE_COLUMNS = 240;
+
+    public static final int CUSTOM_STATEMENTS = 2000;
+
+    private static final String[] WORDS = { "CUSTOMER", "ORDER", "ADDRESS", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            "LINE", "AMOUNT", "STATUS", "CREATED", "UPDATED", "CODE", "NAME", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$
+            "TOTAL", "REGION", "ROUTE", "STOP", "DEVICE" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+
+    private static BenchmarkFixtures instance;
+
+    /** The fixtures being built, the capture plugin fills them in. */
+    private static BenchmarkFixtures building;
+
+    private File directory;
+
+    private Context context;
+
+    private IntrospectedTable wideTable;
+
+    private List<String> columnNames;
+
+    private List<GeneratedJavaFile> generatedJavaFiles;
+
+    private List<GeneratedXmlFile> generatedXmlFiles;
+
+    private File largeMapperFile;
+
+    /**
+     * Gets the fixtures, building them on the first call.
+     * 
+     * @return the fixtures
+     * @throws Exception
+     *             if the fixtures cannot be built
+     */
+    public static synchronized BenchmarkFixtures getInstance() throws Exception {
+        if (instance == null) {
+            BenchmarkFixtures fixtures = new BenchmarkFixtures();
+            building = fixtures;
+            try {
+                fixtures.build();
+            } finally {
+                building = null;
+            }
+            instance = fixtures;
+        }
+        return instance;
+    }
+
+    private BenchmarkFixtures() {
+        super();
+    }
+
+    private void build() throws Exception {
+        directory = File.createTempFile("mbg-bench", ""); //$NON-NLS-1$ //$NON-NLS-2$
+        if (!directory.delete() || !directory.mkdir()) {
+            throw new IOException("Cannot create " + directory); //$NON-NLS-1$
+        }
+        directory.deleteOnExit();
+
+        List<String> warnings = new ArrayList<String>();
+        Configuration config = new ConfigurationParser(warnings)
+                .parseConfiguration(new StringReader(getConfigurationXml()));
+        context = config.getContext("bench"); //$NON-NLS-1$
+
+        columnNames = new ArrayList<String>();
+        writeSchemaSnapshot();
+
+        context.introspectTables(new NullProgressCallback(), warnings, null,
+                true, false);
+
+        generatedJavaFiles = new ArrayList<GeneratedJavaFile>();
+        generatedXmlFiles = new ArrayList<GeneratedXmlFile>();
+        context.generateFiles(new NullProgressCallback(), generatedJavaFiles,
+                generatedXmlFiles, warnings);
+        if (wideTable == null) {
+            throw new IllegalStateException("The wide table was not introspected: " //$NON-NLS-1$
+                    + warnings);
+        }
+
+        largeMapperFile = new File(directory, "LargeMapper.xml"); //$NON-NLS-1$
+        largeMapperFile.deleteOnExit();
+        writeLargeMapper();
+    }
+
+    private String getConfigurationXml() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"); //$NON-NLS-1$
+        sb.append("<!DOCTYPE generatorConfiguration PUBLIC \"-//mybatis.org//DTD MyBatis Generator Configuration 1.0//EN\""); //$NON-NLS-1$
+        sb.append(" \"http://mybatis.org/dtd/mybatis-generator-config_1_0.dtd\">\n"); //$NON-NLS-1$
+        sb.append("<generatorConfiguration>\n"); //$NON-NLS-1$
+        sb.append("<context id=\"bench\" targetRuntime=\"MyBatis3\" defaultModelType=\"flat\">\n"); //$NON-NLS-1$
+        sb.append("<property name=\"schemaSnapshotDirectory\" value=\""); //$NON-NLS-1$
+        sb.append(directory.getAbsolutePath().replace("&", "&amp;").replace("\"", "&quot;")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+        sb.append("\"/>\n"); //$NON-NLS-1$
+        sb.append("<plugin type=\""); //$NON-NLS-1$
+        sb.append(CapturePlugin.class.getName());
+        sb.append("\"/>\n"); //$NON-NLS-1$
+        sb.append("<commentGenerator><property name=\"suppressAllComments\" value=\"true\"/></commentGenerator>\n"); //$NON-NLS-1$
+        sb.append("<jdbcConnection driverClass=\"none\" connectionURL=\"jdbc:none:bench\" userId=\"bench\"/>\n"); //$NON-NLS-1$
+        sb.append("<javaModelGenerator targetPackage=\"org.bench.model\" targetProject=\"bench\"/>\n"); //$NON-NLS-1$
+        sb.append("<sqlMapGenerator targetPackage=\"org.bench.mapping\" targetProject=\"bench\"/>\n"); //$NON-NLS-1$
+        sb.append("<javaClientGenerator type=\"XMLMAPPER\" targetPackage=\"org.bench.mapper\" targetProject=\"bench\"/>\n"); //$NON-NLS-1$
+        sb.append("<table tableName=\""); //$NON-NLS-1$
+        sb.append(WIDE_TABLE_NAME);
+        sb.append("\" domainObjectName=\""); //$NON-NLS-1$
+        sb.append(WIDE_DOMAIN_OBJECT_NAME);
+        sb.append("\"><generatedKey column=\"ID\" sqlStatement=\"JDBC\"/></table>\n"); //$NON-NLS-1$
+        sb.append("</context>\n"); //$NON-NLS-1$
+        sb.append("</generatorConfiguration>\n"); //$NON-NLS-1$
+        return sb.toString();
+    }
+
+    /**
+     * Writes the meta data of the wide table to the snapshot the context
+     * reads in offline mode. The columns cycle through the common JDBC types.
+     */
+    private void writeSchemaSnapshot() throws IOException {
+        JDBCConnectionConfiguration jdbc = context.getJdbcConnectionConfiguration();
+        File file = SchemaSnapshot.getSnapshotFile(directory, context.getId(),
+                jdbc.getConnectionURL(), jdbc.getUserId());
+        file.deleteOnExit();
+        SchemaSnapshot snapshot = new SchemaSnapshot(file, false);
+
+        ActualTableName atn = new ActualTableName(null, null, WIDE_TABLE_NAME);
+        SchemaMetaData metaData = new SchemaMetaData();
+        for (int i = 0; i < WIDE_TABLE_COLUMNS; i++) {
+            ColumnMetaData column = new ColumnMetaData();
+            if (i == 0) {
+                column.setColumnName("ID"); //$NON-NLS-1$
+                column.setJdbcType(Types.NUMERIC);
+                column.setLength(19);
+                column.setNullable(false);
+            } else {
+                column.setColumnName(WORDS[i % WORDS.length] + '_'
+                        + WORDS[(i / WORDS.length) % WORDS.length] + '_' + i);
+                switch (i % 6) {
+                case 0:
+                    column.setJdbcType(Types.NUMERIC);
+                    column.setLength(12);
+                    column.setScale(2);
+                    break;
+                case 1:
+                    column.setJdbcType(Types.INTEGER);
+                    column.setLength(10);
+                    break;
+                case 2:
+                    column.setJdbcType(Types.TIMESTAMP);
+                    break;
+                case 3:
+                    column.setJdbcType(Types.DATE);
+                    break;
+                case 4:
+                    column.setJdbcType(Types.CHAR);
+                    column.setLength(1);
+                    break;
+                default:
+                    column.setJdbcType(Types.VARCHAR);
+                    column.setLength(200);
+                    break;
+                }
+                column.setNullable(true);
+            }
+            column.setRemarks("Column " + i); //$NON-NLS-1$
+            metaData.addColumn(atn, column);
+            columnNames.add(column.getColumnName());
+        }
+        metaData.addPrimaryKeyColumn(atn, (short) 1, "ID"); //$NON-NLS-1$
+
+        for (TableConfiguration tc : context.getTableConfigurations()) {
+            snapshot.putTableMetaData(tc, metaData);
+        }
+        snapshot.save();
+    }
+
+    /**
+     * Writes the generated mapper of the wide table with custom statements
+     * appended, as an existing mapper that is merged on every run.
+     */
+    private void writeLargeMapper() throws IOException {
+        String content = getWideMapper().getFormattedContent();
+        int end = content.lastIndexOf("</mapper>"); //$NON-NLS-1$
+        StringBuilder sb = new StringBuilder(content.length()
+                + CUSTOM_STATEMENTS * 128);
+        sb.append(content, 0, end);
+        for (int i = 0; i < CUSTOM_STATEMENTS; i++) {
+            sb.append("  <select id=\"customSelect"); //$NON-NLS-1$
+            sb.append(i);
+            sb.append("\" resultMap=\"BaseResultMap\">\n"); //$NON-NLS-1$
+            sb.append("    select * from "); //$NON-NLS-1$
+            sb.append(WIDE_TABLE_NAME);
+            sb.append(" where ID = #{id} and "); //$NON-NLS-1$
+            sb.append(columnNames.get(1 + i % (columnNames.size() - 1)));
+            sb.append(" &lt; #{value}\n  </select>\n"); //$NON-NLS-1$
+        }
+        sb.append(content, end, content.length());
+
+        Writer writer = new OutputStreamWriter(new FileOutputStream(
+                largeMapperFile), "UTF-8"); //$NON-NLS-1$
+        try {
+            writer.write(sb.toString());
+        } finally {
+            writer.close();
+        }
+    }
+
+    public Context getContext() {
+        return context;
+    }
+
+    public IntrospectedTable getWideTable() {
+        return wideTable;
+    }
+
+    public List<String> getColumnNames() {
+        return columnNames;
+    }
+
+    public List<GeneratedJavaFile> getGeneratedJavaFiles() {
+        return generatedJavaFiles;
+    }
+
+    public List<GeneratedXmlFile> getGeneratedXmlFiles() {
+        return generatedXmlFiles;
+    }
+
+    /**
+     * Gets the generated model class of the wide table.
+     * 
+     * @return the model class
+     */
+    public TopLevelClass getWideModel() {
+        for (GeneratedJavaFile gjf : generatedJavaFiles) {
+            CompilationUnit compilationUnit = gjf.getCompilationUnit();
+            if (compilationUnit instanceof TopLevelClass
+                    && WIDE_DOMAIN_OBJECT_NAME.equals(compilationUnit
+                            .getType().getShortName())) {
+                return (TopLevelClass) compilationUnit;
+            }
+        }
+        throw new IllegalStateException("No model class was generated"); //$NON-NLS-1$
+    }
+
+    /**
+     * Gets the generated mapper of the wide table.
+     * 
+     * @return the mapper
+     */
+    public GeneratedXmlFile getWideMapper() {
+        for (GeneratedXmlFile gxf : generatedXmlFiles) {
+            if (gxf.getFileName().startsWith(WIDE_DOMAIN_OBJECT_NAME)) {
+                return gxf;
+            }
+        }
+        throw new IllegalStateException("No mapper was generated"); //$NON-NLS-1$
+    }
+
+    /**
+     * Gets the existing mapper the merge benchmarks merge into: the generated
+     * mapper of the wide table with {@link #CUSTOM_STATEMENTS} custom
+     * statements.
+     * 
+     * @return the mapper file
+     */
+    public File getLargeMapperFile() {
+        return largeMapperFile;
+    }
+
+    /**
+     * This plugin keeps the introspected wide table, the context has no
+     * accessor for its introspected tables.
+     */
+    public static class CapturePlugin extends PluginAdapter {
+
+        public boolean validate(List<String> warnings) {
+            return true;
+        }
+
+        @Override
+        public List<GeneratedJavaFile> contextGenerateAdditionalJavaFiles(
+                IntrospectedTable introspectedTable) {
+            if (WIDE_TABLE_NAME.equals(introspectedTable
+                    .getFullyQualifiedTable().getIntrospectedTableName())) {
+                building.wideTable = introspectedTable;
+            }
+            return super.contextGenerateAdditionalJavaFiles(introspectedTable);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ *  Copyright 2005 The Apache Software Foundation
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mybatis.generator.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.mybatis.generator.api.GeneratedXmlFile;
+import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.api.dom.OutputUtilities;
+import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
+import org.mybatis.generator.api.dom.java.TopLevelClass;
+import org.mybatis.generator.codegen.mybatis3.model.BaseExampleGenerator;
+import org.mybatis.generator.codegen.mybatis3.model.ExampleGenerator;
+import org.mybatis.generator.config.Context;
+import org.mybatis.generator.internal.NullProgressCallback;
+import org.mybatis.generator.internal.XmlFileMergerJaxp;
+import org.mybatis.generator.internal.XmlFileMergerStax;
+import org.mybatis.generator.internal.util.JavaBeansUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * JMH micro benchmarks of the hot paths of the generator: type parsing,
+ * import calculation, DOM rendering, the example generators and the XML
+ * mergers. The fixtures are synthetic (see {@link BenchmarkFixtures}), so no
+ * database is needed.
+ *
+ * <p>Build the generator and this module, then run the benchmarks jar:
+ *
+ * <pre>
+ * mvn install
+ * mvn -f bench/pom.xml package
+ * java -jar bench/target/benchmarks.jar [JMH options] [regexp]
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class GeneratorBenchmarks {
+
+    private static final String[] TYPE_SPECIFICATIONS = {
+            "java.lang.String", //$NON-NLS-1$
+            "java.util.List<java.lang.String>", //$NON-NLS-1$
+            "java.util.Map<java.lang.String, java.util.List<java.math.BigDecimal>>", //$NON-NLS-1$
+            "org.bench.model.WideTableExample.Criteria", //$NON-NLS-1$
+            "java.util.List<? extends org.bench.model.WideTable>", //$NON-NLS-1$
+            "int", //$NON-NLS-1$
+            "java.util.Date" }; //$NON-NLS-1$
+
+    private BenchmarkFixtures fixtures;
+
+    private Context context;
+
+    private IntrospectedTable wideTable;
+
+    private TopLevelClass model;
+
+    private GeneratedXmlFile mapper;
+
+    private List<String> columnNames;
+
+    @Setup
+    public void setUp() throws Exception {
+        fixtures = BenchmarkFixtures.getInstance();
+        context = fixtures.getContext();
+        wideTable = fixtures.getWideTable();
+        model = fixtures.getWideModel();
+        mapper = fixtures.getWideMapper();
+        columnNames = fixtures.getColumnNames();
+    }
+
+    @Benchmark
+    public void fqjtParse(Blackhole blackhole) {
+        for (String specification : TYPE_SPECIFICATIONS) {
+            blackhole.consume(new FullyQualifiedJavaType(specification));
+        }
+    }
+
+    @Benchmark
+    public void fqjtGetInstance(Blackhole blackhole) {
+        for (String specification : TYPE_SPECIFICATIONS) {
+            blackhole.consume(FullyQualifiedJavaType.getInstance(specification));
+        }
+    }
+
+    @Benchmark
+    public void importsCalculate(Blackhole blackhole) {
+        blackhole.consume(OutputUtilities.calculateImports(model
+                .getImportedTypes()));
+    }
+
+    @Benchmark
+    public void renderXmlMapper(Blackhole blackhole) throws Exception {
+        StringBuilder sb = new StringBuilder(65536);
+        mapper.getDocument().render(sb);
+        blackhole.consume(sb);
+    }
+
+    @Benchmark
+    public void renderTopLevelClass(Blackhole blackhole) throws Exception {
+        StringBuilder sb = new StringBuilder(65536);
+        model.render(sb);
+        blackhole.consume(sb);
+    }
+
+    @Benchmark
+    public void generateExample(Blackhole blackhole) {
+        ExampleGenerator generator = new ExampleGenerator();
+        generator.setContext(context);
+        generator.setIntrospectedTable(wideTable);
+        generator.setProgressCallback(new NullProgressCallback());
+        generator.setWarnings(new ArrayList<String>());
+        blackhole.consume(generator.getCompilationUnits());
+    }
+
+    @Benchmark
+    public void generateBaseExample(Blackhole blackhole) {
+        BaseExampleGenerator generator = new BaseExampleGenerator();
+        generator.setContext(context);
+        generator.setIntrospectedTable(wideTable);
+        generator.setProgressCallback(new NullProgressCallback());
+        generator.setWarnings(new ArrayList<String>());
+        blackhole.consume(generator.getCompilationUnits());
+    }
+
+    @Benchmark
+    public void mergeJaxp(Blackhole blackhole) throws Exception {
+        blackhole.consume(XmlFileMergerJaxp.getMergedSource(mapper, fixtures
+                .getLargeMapperFile()));
+    }
+
+    @Benchmark
+    public void mergeStax(Blackhole blackhole) throws Exception {
+        StringBuilder sb = new StringBuilder(1 << 20);
+        XmlFileMergerStax.merge(mapper, fixtures.getLargeMapperFile(), sb);
+        blackhole.consume(sb);
+    }
+
+    @Benchmark
+    public void camelCase(Blackhole blackhole) {
+        for (String columnName : columnNames) {
+            blackhole.consume(JavaBeansUtil.getCamelCaseString(columnName,
+                    false));
+        }
+    }
+}
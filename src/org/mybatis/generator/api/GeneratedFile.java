@@ -15,6 +15,7 @@
  */
 package org.mybatis.generator.api;
 
+import java.io.IOException;
 
 /**
  * Abstract class that holds information common to all generated files.
@@ -26,6 +27,12 @@ public abstract class GeneratedFile {
     /** The target project. */
     protected String targetProject;
 
+    /** The generator of the file in the generation manifest, may be null. */
+    protected String generatorKey;
+
+    /** The fingerprint of the inputs the file was generated from. */
+    protected String inputFingerprint;
+
     /**
      * Instantiates a new generated file.
      *
@@ -48,6 +55,21 @@ public abstract class GeneratedFile {
      */
     public abstract String getFormattedContent();
 
+    /**
+     * Writes the entire contents of the generated file to an output. The text
+     * is the same as the value of {@link #getFormattedContent()}; subclasses
+     * override this method to render their DOM directly into the output
+     * instead of building a string for every nested element.
+     *
+     * @param out
+     *            the output
+     * @throws IOException
+     *             if the output cannot be written
+     */
+    public void writeFormattedContent(Appendable out) throws IOException {
+        out.append(getFormattedContent());
+    }
+
     /**
      * Get the file name (without any path). Clients should use this method to
      * determine how to save the results.
@@ -74,6 +96,40 @@ public abstract class GeneratedFile {
      */
     public abstract String getTargetPackage();
 
+    /**
+     * Gets the key of the generator that generated this file in the
+     * generation manifest.
+     *
+     * @return the generator key, or null if the file is not in the manifest
+     */
+    public String getGeneratorKey() {
+        return generatorKey;
+    }
+
+    /**
+     * Gets the fingerprint of the inputs this file was generated from.
+     *
+     * @return the input fingerprint, or null if the file is not in the
+     *         manifest
+     */
+    public String getInputFingerprint() {
+        return inputFingerprint;
+    }
+
+    /**
+     * Sets the generator and the inputs this file was generated from, so the
+     * file is recorded in the generation manifest when it is saved.
+     *
+     * @param generatorKey
+     *            the generator key
+     * @param inputFingerprint
+     *            the input fingerprint
+     */
+    public void setInputFingerprint(String generatorKey, String inputFingerprint) {
+        this.generatorKey = generatorKey;
+        this.inputFingerprint = inputFingerprint;
+    }
+
     /* (non-Javadoc)
      * @see java.lang.Object#toString()
      */
@@ -0,0 +1,48 @@
+/*
+ *  Copyright 2005 The Apache Software Foundation
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mybatis.generator.api;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * This interface receives the files generated by a context as soon as they
+ * are generated. The files of each table are passed in one call, then the
+ * files the plugins add for the whole context in a last call. The handler can
+ * save the files and drop them, so that the generated files of all tables are
+ * never held in memory at once.
+ *
+ * @see org.mybatis.generator.config.Context#generateFiles(ProgressCallback,
+ *      GeneratedFileHandler, List)
+ */
+public interface GeneratedFileHandler {
+
+    /**
+     * Called with the files generated for one table, or for the context.
+     *
+     * @param generatedJavaFiles
+     *            the generated java files, may be empty
+     * @param generatedXmlFiles
+     *            the generated xml files, may be empty
+     * @throws IOException
+     *             if a file cannot be saved
+     * @throws InterruptedException
+     *             if the generation should be canceled
+     */
+    void filesGenerated(List<GeneratedJavaFile> generatedJavaFiles,
+            List<GeneratedXmlFile> generatedXmlFiles) throws IOException,
+            InterruptedException;
+}
@@ -15,7 +15,13 @@
  */
 package org.mybatis.generator.api;
 
+import java.io.IOException;
+
+import org.mybatis.generator.api.dom.DefaultJavaFormatter;
 import org.mybatis.generator.api.dom.java.CompilationUnit;
+import org.mybatis.generator.api.dom.java.Interface;
+import org.mybatis.generator.api.dom.java.TopLevelClass;
+import org.mybatis.generator.api.dom.java.TopLevelEnumeration;
 
 /**
  * The Class GeneratedJavaFile.
@@ -79,6 +85,27 @@ public class GeneratedJavaFile extends GeneratedFile {
         return javaFormatter.getFormattedContent(compilationUnit);
     }
 
+    /* (non-Javadoc)
+     * @see org.mybatis.generator.api.GeneratedFile#writeFormattedContent(java.lang.Appendable)
+     */
+    @Override
+    public void writeFormattedContent(Appendable out) throws IOException {
+        // the default formatter only returns the DOM's own formatting, which
+        // can be rendered straight into the output. Other implementations of
+        // CompilationUnit only offer getFormattedContent.
+        if (javaFormatter.getClass() != DefaultJavaFormatter.class) {
+            super.writeFormattedContent(out);
+        } else if (compilationUnit instanceof TopLevelClass) {
+            ((TopLevelClass) compilationUnit).render(out);
+        } else if (compilationUnit instanceof Interface) {
+            ((Interface) compilationUnit).render(out);
+        } else if (compilationUnit instanceof TopLevelEnumeration) {
+            ((TopLevelEnumeration) compilationUnit).render(out);
+        } else {
+            super.writeFormattedContent(out);
+        }
+    }
+
     /* (non-Javadoc)
      * @see org.mybatis.generator.api.GeneratedFile#getFileName()
      */
@@ -15,6 +15,9 @@
  */
 package org.mybatis.generator.api;
 
+import java.io.IOException;
+
+import org.mybatis.generator.api.dom.DefaultXmlFormatter;
 import org.mybatis.generator.api.dom.xml.Document;
 
 /**
@@ -74,6 +77,38 @@ public class GeneratedXmlFile extends GeneratedFile {
         return xmlFormatter.getFormattedContent(document);
     }
 
+    /* (non-Javadoc)
+     * @see org.mybatis.generator.api.GeneratedFile#writeFormattedContent(java.lang.Appendable)
+     */
+    @Override
+    public void writeFormattedContent(Appendable out) throws IOException {
+        if (isFormattedByDocument()) {
+            document.render(out);
+        } else {
+            super.writeFormattedContent(out);
+        }
+    }
+
+    /**
+     * Gets the document the file is formatted from.
+     *
+     * @return the document
+     */
+    public Document getDocument() {
+        return document;
+    }
+
+    /**
+     * Checks if the content of the file is the document's own formatting.
+     * This is true for the default formatter, which simply returns that
+     * formatting; the file can then be rendered straight from the document.
+     *
+     * @return true if the file is formatted by the document
+     */
+    public boolean isFormattedByDocument() {
+        return xmlFormatter.getClass() == DefaultXmlFormatter.class;
+    }
+
     /**
      * Gets the file name.
      *
@@ -0,0 +1,310 @@
+/*
+ *  Copyright 2005 The Apache Software Foundation
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mybatis.generator.api;
+
+import static org.mybatis.generator.internal.util.messages.Messages.getString;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.mybatis.generator.config.Configuration;
+import org.mybatis.generator.config.xml.ConfigurationParser;
+import org.mybatis.generator.exception.InvalidConfigurationException;
+import org.mybatis.generator.exception.XMLParserException;
+import org.mybatis.generator.internal.DefaultShellCallback;
+import org.mybatis.generator.internal.db.ConnectionCache;
+
+/**
+ * This class keeps the generator running between generations. The parsed
+ * configuration, the loaded classes and drivers and the open database
+ * connections are kept, so a generation only pays for the introspection and
+ * the files. The introspection and the files are cut down further by the
+ * <code>incrementalIntrospection</code> context property and the generation
+ * manifest.
+ *
+ * <p>A generation is started by a client sending <code>generate</code> on a
+ * local socket (see <code>ShellRunner -trigger</code>), and the output of the
+ * generation is sent back. The directory of the configuration file is watched
+ * with a <code>WatchService</code>, and a change of the file starts a
+ * generation. Optionally a generation is also started at a fixed
+ * interval, which picks up changes to the database when incremental
+ * introspection is used.
+ *
+ * <p>Generations run one at a time.
+ */
+public class GenerationDaemon {
+
+    /** The command a client sends to start a generation. */
+    public static final String GENERATE = "generate"; //$NON-NLS-1$
+
+    private File configurationFile;
+
+    private boolean overwrite;
+
+    private Set<String> contextIds;
+
+    private Set<String> fullyQualifiedTableNames;
+
+    private boolean streaming;
+
+    private File manifestFile;
+
+    private long schemaPollInterval;
+
+    /** The generator of the current configuration, null if it must be parsed. */
+    private MyBatisGenerator myBatisGenerator;
+
+    private long configurationLastModified;
+
+    private List<String> warnings;
+
+    private ConnectionCache connectionCache;
+
+    /**
+     * Constructs a daemon.
+     *
+     * @param configurationFile
+     *            the configuration file
+     * @param overwrite
+     *            if true, existing Java files are overwritten
+     */
+    public GenerationDaemon(File configurationFile, boolean overwrite) {
+        super();
+        this.configurationFile = configurationFile;
+        this.overwrite = overwrite;
+        warnings = new ArrayList<String>();
+        connectionCache = new ConnectionCache();
+    }
+
+    public void setContextIds(Set<String> contextIds) {
+        this.contextIds = contextIds;
+    }
+
+    public void setFullyQualifiedTableNames(Set<String> fullyQualifiedTableNames) {
+        this.fullyQualifiedTableNames = fullyQualifiedTableNames;
+    }
+
+    public void setStreaming(boolean streaming) {
+        this.streaming = streaming;
+    }
+
+    public void setManifestFile(File manifestFile) {
+        this.manifestFile = manifestFile;
+    }
+
+    /**
+     * Sets the interval of the generations started without a client or a
+     * configuration change.
+     *
+     * @param schemaPollInterval
+     *            the interval in milliseconds, 0 to generate only on request
+     */
+    public void setSchemaPollInterval(long schemaPollInterval) {
+        this.schemaPollInterval = schemaPollInterval;
+    }
+
+    /**
+     * Generates once, then serves generation requests on a local port until
+     * the process ends.
+     *
+     * @param port
+     *            the port
+     * @throws IOException
+     *             if the port cannot be opened
+     */
+    public void run(int port) throws IOException {
+        ServerSocket serverSocket = new ServerSocket(port, 50, InetAddress.getByName(null));
+        try {
+            PrintWriter console = new PrintWriter(System.out, true);
+            console.println(getString("Progress.20", Integer.toString(port))); //$NON-NLS-1$
+            generate(console);
+            startWatcher(console, startWatchService());
+
+            while (true) {
+                Socket socket = serverSocket.accept();
+                try {
+                    serve(socket);
+                } catch (IOException e) {
+                    // the client went away, the daemon keeps running
+                    console.println(e.getMessage());
+                } finally {
+                    socket.close();
+                }
+            }
+        } finally {
+            serverSocket.close();
+            connectionCache.closeAll();
+        }
+    }
+
+    /**
+     * Runs a generation and writes its warnings and result.
+     *
+     * @param out
+     *            the output of the generation
+     */
+    public synchronized void generate(PrintWriter out) {
+        warnings.clear();
+        try {
+            if (myBatisGenerator == null || isConfigurationChanged()) {
+                configurationLastModified = configurationFile.lastModified();
+                myBatisGenerator = null;
+                Configuration configuration = new ConfigurationParser(warnings).parseConfiguration(configurationFile);
+                MyBatisGenerator generator = new MyBatisGenerator(configuration,
+                        new DefaultShellCallback(overwrite), warnings);
+                generator.setStreaming(streaming);
+                generator.setManifestFile(manifestFile);
+                generator.setConnectionCache(connectionCache);
+                myBatisGenerator = generator;
+            }
+
+            myBatisGenerator.generate(null, contextIds, fullyQualifiedTableNames);
+            out.println(getString("Progress.19", //$NON-NLS-1$
+                    Integer.toString(myBatisGenerator.getWrittenFileCount()),
+                    Integer.toString(myBatisGenerator.getUnchangedFileCount())));
+        } catch (XMLParserException e) {
+            out.println(getString("Progress.3")); //$NON-NLS-1$
+            for (String error : e.getErrors()) {
+                out.println(error);
+            }
+            out.flush();
+            return;
+        } catch (InvalidConfigurationException e) {
+            out.println(getString("Progress.16")); //$NON-NLS-1$
+            for (String error : e.getErrors()) {
+                out.println(error);
+            }
+            out.flush();
+            return;
+        } catch (SQLException e) {
+            e.printStackTrace(out);
+            out.flush();
+            return;
+        } catch (IOException e) {
+            e.printStackTrace(out);
+            out.flush();
+            return;
+        } catch (InterruptedException e) {
+            // ignore (will never happen with the DefaultShellCallback)
+            ;
+        } catch (RuntimeException e) {
+            // a broken plugin or configuration must not stop the daemon
+            e.printStackTrace(out);
+            out.flush();
+            return;
+        }
+
+        for (String warning : warnings) {
+            out.println(warning);
+        }
+
+        if (warnings.size() == 0) {
+            out.println(getString("Progress.4")); //$NON-NLS-1$
+        } else {
+            out.println();
+            out.println(getString("Progress.5")); //$NON-NLS-1$
+        }
+        out.flush();
+    }
+
+    private synchronized boolean isConfigurationChanged() {
+        return configurationFile.lastModified() != configurationLastModified;
+    }
+
+    private void serve(Socket socket) throws IOException {
+        BufferedReader in = new BufferedReader(new InputStreamReader(
+                socket.getInputStream(), "UTF-8")); //$NON-NLS-1$
+        PrintWriter out = new PrintWriter(new OutputStreamWriter(
+                socket.getOutputStream(), "UTF-8")); //$NON-NLS-1$
+        String command = in.readLine();
+        if (GENERATE.equals(command)) {
+            generate(out);
+        } else {
+            out.println(getString("RuntimeError.27", command)); //$NON-NLS-1$
+        }
+        out.flush();
+    }
+
+    private WatchService startWatchService() throws IOException {
+        // editors often save by replacing the file, so the directory is watched
+        Path directory = configurationFile.getAbsoluteFile().getParentFile().toPath();
+        WatchService watchService = FileSystems.getDefault().newWatchService();
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY);
+        return watchService;
+    }
+
+    private void startWatcher(final PrintWriter console,
+            final WatchService watchService) {
+        Thread watcher = new Thread(new Runnable() {
+            public void run() {
+                long lastPoll = System.currentTimeMillis();
+                while (true) {
+                    WatchKey key;
+                    try {
+                        if (schemaPollInterval > 0) {
+                            long timeout = Math.max(lastPoll + schemaPollInterval - System.currentTimeMillis(), 0L);
+                            key = watchService.poll(timeout, TimeUnit.MILLISECONDS);
+                        } else {
+                            key = watchService.take();
+                        }
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+
+                    if (key != null) {
+                        // the events of other files in the directory are
+                        // filtered by the modification time
+                        key.pollEvents();
+                        if (!key.reset()) {
+                            // the directory is gone
+                            return;
+                        }
+                    }
+
+                    if (isConfigurationChanged()) {
+                        console.println(getString("Progress.21", configurationFile.getPath())); //$NON-NLS-1$
+                        generate(console);
+                        lastPoll = System.currentTimeMillis();
+                    } else if (schemaPollInterval > 0
+                            && System.currentTimeMillis() - lastPoll >= schemaPollInterval) {
+                        generate(console);
+                        lastPoll = System.currentTimeMillis();
+                    }
+                }
+            }
+        }, "GenerationDaemon-watcher"); //$NON-NLS-1$
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ *  Copyright 2005 The Apache Software Foundation
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mybatis.generator.api;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This class collects the timings reported through the InstrumentationCallback
+ * and writes them as JSON, so that runs of different versions can be compared.
+ * All times are wall times in microseconds.
+ *
+ * <p>The JSON has this form:
+ *
+ * <pre>
+ * {
+ *   "elapsedMicros": 1234,
+ *   "jdbcRoundTrips": 12,
+ *   "filesWritten": 20,
+ *   "bytesWritten": 123456,
+ *   "phases": {
+ *     "connect": {"count": 1, "micros": 100, "maxMicros": 100},
+ *     ...
+ *   },
+ *   "tables": {
+ *     "SCHEMA.TABLE": {"jdbcRoundTrips": 3, "introspect": 50, "ExampleGenerator": 20, ...},
+ *     ...
+ *   }
+ * }
+ * </pre>
+ */
+public class GenerationStatistics implements InstrumentationCallback {
+
+    private long startNanos;
+
+    private int jdbcRoundTrips;
+
+    private int filesWritten;
+
+    private long bytesWritten;
+
+    /** count, total nanos and max nanos of each phase. */
+    private Map<String, long[]> phases;
+
+    private Map<String, Map<String, Long>> tables;
+
+    /**
+     * Creates the statistics. The elapsed time is measured from here.
+     */
+    public GenerationStatistics() {
+        super();
+        startNanos = System.nanoTime();
+        phases = new LinkedHashMap<String, long[]>();
+        tables = new LinkedHashMap<String, Map<String, Long>>();
+    }
+
+    public synchronized void phaseFinished(String phase, String tableName,
+            long nanos) {
+        long[] phaseStatistics = phases.get(phase);
+        if (phaseStatistics == null) {
+            phaseStatistics = new long[3];
+            phases.put(phase, phaseStatistics);
+        }
+        phaseStatistics[0]++;
+        phaseStatistics[1] += nanos;
+        phaseStatistics[2] = Math.max(phaseStatistics[2], nanos);
+
+        if (tableName != null) {
+            addTableValue(tableName, phase, nanos);
+        }
+    }
+
+    public synchronized void jdbcRoundTrips(String tableName, int roundTrips) {
+        jdbcRoundTrips += roundTrips;
+
+        if (tableName != null) {
+            addTableValue(tableName, "jdbcRoundTrips", roundTrips); //$NON-NLS-1$
+        }
+    }
+
+    public synchronized void fileWritten(String fileName, long bytes) {
+        filesWritten++;
+        bytesWritten += bytes;
+    }
+
+    private void addTableValue(String tableName, String key, long value) {
+        Map<String, Long> tableStatistics = tables.get(tableName);
+        if (tableStatistics == null) {
+            tableStatistics = new LinkedHashMap<String, Long>();
+            tables.put(tableName, tableStatistics);
+        }
+
+        Long oldValue = tableStatistics.get(key);
+        tableStatistics.put(key, oldValue == null ? value : oldValue.longValue() + value);
+    }
+
+    public synchronized int getJdbcRoundTrips() {
+        return jdbcRoundTrips;
+    }
+
+    public synchronized int getFilesWritten() {
+        return filesWritten;
+    }
+
+    public synchronized long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    /**
+     * Writes the statistics as JSON.
+     *
+     * @param writer
+     *            the writer
+     * @throws IOException
+     *             Signals that an I/O exception has occurred.
+     */
+    public synchronized void writeJson(Writer writer) throws IOException {
+        writer.write("{\n"); //$NON-NLS-1$
+        writer.write("  \"elapsedMicros\": " + toMicros(System.nanoTime() - startNanos) + ",\n"); //$NON-NLS-1$ //$NON-NLS-2$
+        writer.write("  \"jdbcRoundTrips\": " + jdbcRoundTrips + ",\n"); //$NON-NLS-1$ //$NON-NLS-2$
+        writer.write("  \"filesWritten\": " + filesWritten + ",\n"); //$NON-NLS-1$ //$NON-NLS-2$
+        writer.write("  \"bytesWritten\": " + bytesWritten + ",\n"); //$NON-NLS-1$ //$NON-NLS-2$
+
+        writer.write("  \"phases\": {"); //$NON-NLS-1$
+        boolean first = true;
+        for (Map.Entry<String, long[]> entry : phases.entrySet()) {
+            long[] phaseStatistics = entry.getValue();
+            writer.write(first ? "\n    " : ",\n    "); //$NON-NLS-1$ //$NON-NLS-2$
+            writer.write(quote(entry.getKey()));
+            writer.write(": {\"count\": " + phaseStatistics[0]); //$NON-NLS-1$
+            writer.write(", \"micros\": " + toMicros(phaseStatistics[1])); //$NON-NLS-1$
+            writer.write(", \"maxMicros\": " + toMicros(phaseStatistics[2]) + "}"); //$NON-NLS-1$ //$NON-NLS-2$
+            first = false;
+        }
+        writer.write(first ? "},\n" : "\n  },\n"); //$NON-NLS-1$ //$NON-NLS-2$
+
+        writer.write("  \"tables\": {"); //$NON-NLS-1$
+        first = true;
+        for (Map.Entry<String, Map<String, Long>> entry : tables.entrySet()) {
+            writer.write(first ? "\n    " : ",\n    "); //$NON-NLS-1$ //$NON-NLS-2$
+            writer.write(quote(entry.getKey()));
+            writer.write(": {"); //$NON-NLS-1$
+            boolean firstValue = true;
+            for (Map.Entry<String, Long> value : entry.getValue().entrySet()) {
+                if (!firstValue) {
+                    writer.write(", "); //$NON-NLS-1$
+                }
+                writer.write(quote(value.getKey()));
+                writer.write(": "); //$NON-NLS-1$
+                long l = value.getValue().longValue();
+                writer.write(String.valueOf(phases.containsKey(value.getKey()) ? toMicros(l) : l));
+                firstValue = false;
+            }
+            writer.write("}"); //$NON-NLS-1$
+            first = false;
+        }
+        writer.write(first ? "}\n" : "\n  }\n"); //$NON-NLS-1$ //$NON-NLS-2$
+        writer.write("}\n"); //$NON-NLS-1$
+    }
+
+    /**
+     * Returns the statistics as JSON.
+     *
+     * @return the JSON text
+     */
+    public String toJson() {
+        StringWriter sw = new StringWriter();
+        try {
+            writeJson(sw);
+        } catch (IOException e) {
+            // cannot happen with a StringWriter
+            throw new RuntimeException(e);
+        }
+        return sw.toString();
+    }
+
+    private static long toMicros(long nanos) {
+        return nanos / 1000L;
+    }
+
+    private static String quote(String s) {
+        StringBuilder sb = new StringBuilder();
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\');
+                sb.append(c);
+            } else if (c < ' ') {
+                sb.append(String.format("\\u%04x", (int) c)); //$NON-NLS-1$
+            } else {
+                sb.append(c);
+            }
+        }
+        sb.append('"');
+        return sb.toString();
+    }
+}
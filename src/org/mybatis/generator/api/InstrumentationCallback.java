@@ -0,0 +1,87 @@
+/*
+ *  Copyright 2005 The Apache Software Foundation
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mybatis.generator.api;
+
+/**
+ * This interface can be implemented to receive timing information from the
+ * generation process. Where the ProgressCallback reports what is being done,
+ * this interface reports how long each step took, so the time of a run can be
+ * broken down by phase and by table.
+ *
+ * <p>The phases are the constants of this interface, and one phase for every
+ * Java and XML generator, named after the simple class name of the generator
+ * (for example <code>ExampleGenerator</code>).
+ *
+ * <p>Tables may be introspected on several threads at once, so
+ * implementations must be thread safe.
+ *
+ * @see GenerationStatistics
+ */
+public interface InstrumentationCallback {
+
+    /** Opening a database connection. */
+    String CONNECT = "connect"; //$NON-NLS-1$
+
+    /** Reading the columns and keys of a table from the database or snapshot. */
+    String INTROSPECT = "introspect"; //$NON-NLS-1$
+
+    /** Linking the foreign key columns to the columns they reference. */
+    String FOREIGN_KEYS = "foreignKeys"; //$NON-NLS-1$
+
+    /** Formatting a generated file. */
+    String FORMAT = "format"; //$NON-NLS-1$
+
+    /** Merging a generated file with the existing file. */
+    String MERGE = "merge"; //$NON-NLS-1$
+
+    /** Writing a file to disk. */
+    String WRITE = "write"; //$NON-NLS-1$
+
+    /**
+     * Called when a step of a phase is finished.
+     *
+     * @param phase
+     *            the phase
+     * @param tableName
+     *            the fully qualified name of the table the step worked on, or
+     *            null if the step is not specific to a table
+     * @param nanos
+     *            the wall time of the step in nanoseconds
+     */
+    void phaseFinished(String phase, String tableName, long nanos);
+
+    /**
+     * Called after the introspection of a table with the number of calls made
+     * to the database for it.
+     *
+     * @param tableName
+     *            the fully qualified name of the table, or null if the calls
+     *            are not specific to a table
+     * @param roundTrips
+     *            the number of meta data calls and statement executions
+     */
+    void jdbcRoundTrips(String tableName, int roundTrips);
+
+    /**
+     * Called after a file is written.
+     *
+     * @param fileName
+     *            the absolute name of the file
+     * @param bytes
+     *            the number of bytes written
+     */
+    void fileWritten(String fileName, long bytes);
+}
@@ -16,15 +16,18 @@
 
 package org.mybatis.generator.api;
 
+import static org.mybatis.generator.internal.util.StringUtility.caseInsensitiveKey;
 import static org.mybatis.generator.internal.util.StringUtility.isTrue;
 import static org.mybatis.generator.internal.util.StringUtility.stringHasValue;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.Callable;
 
 import org.mybatis.generator.config.Context;
 import org.mybatis.generator.config.GeneratedKey;
@@ -132,6 +135,15 @@ public abstract class IntrospectedTable {
 		/** The attr insert selective statement id. */
 		ATTR_INSERT_SELECTIVE_STATEMENT_ID,
 
+		/** The attr insert batch statement id. */
+		ATTR_INSERT_BATCH_STATEMENT_ID,
+
+		/** The attr upsert statement id. */
+		ATTR_UPSERT_STATEMENT_ID,
+
+		/** The attr upsert selective statement id. */
+		ATTR_UPSERT_SELECTIVE_STATEMENT_ID,
+
 		/** The attr select all statement id. */
 		ATTR_SELECT_ALL_STATEMENT_ID,
 
@@ -141,6 +153,9 @@ public abstract class IntrospectedTable {
 		/** The attr select by example with blobs statement id. */
 		ATTR_SELECT_BY_EXAMPLE_WITH_BLOBS_STATEMENT_ID,
 
+		/** The attr select page after statement id. */
+		ATTR_SELECT_PAGE_AFTER_STATEMENT_ID,
+
 		/** The attr select by primary key statement id. */
 		ATTR_SELECT_BY_PRIMARY_KEY_STATEMENT_ID,
 
@@ -162,6 +177,9 @@ public abstract class IntrospectedTable {
 		/** The attr update by primary key with blobs statement id. */
 		ATTR_UPDATE_BY_PRIMARY_KEY_WITH_BLOBS_STATEMENT_ID,
 
+		/** The attr update batch by primary key statement id. */
+		ATTR_UPDATE_BATCH_BY_PRIMARY_KEY_STATEMENT_ID,
+
 		/** The attr base result map id. */
 		ATTR_BASE_RESULT_MAP_ID,
 
@@ -219,6 +237,12 @@ public abstract class IntrospectedTable {
 	/** The foreignKeyColumns columns. */
 	protected List<IntrospectedColumn>  foreignKeyColumns;//add by suman
 
+	/**
+	 * The index of the columns, built on first use and dropped when a column
+	 * is added or moved to the primary key.
+	 */
+	private volatile ColumnIndex columnIndex;
+
 	/** The target runtime. */
 	protected TargetRuntime targetRuntime;
 
@@ -300,46 +324,7 @@ public abstract class IntrospectedTable {
 		if (columnName == null) {
 			return null;
 		} else {
-			// search primary key columns
-			for (IntrospectedColumn introspectedColumn : primaryKeyColumns) {
-				if (introspectedColumn.isColumnNameDelimited()) {
-					if (introspectedColumn.getActualColumnName().equals(columnName)) {
-						return introspectedColumn;
-					}
-				} else {
-					if (introspectedColumn.getActualColumnName().equalsIgnoreCase(columnName)) {
-						return introspectedColumn;
-					}
-				}
-			}
-
-			// search base columns
-			for (IntrospectedColumn introspectedColumn : baseColumns) {
-				if (introspectedColumn.isColumnNameDelimited()) {
-					if (introspectedColumn.getActualColumnName().equals(columnName)) {
-						return introspectedColumn;
-					}
-				} else {
-					if (introspectedColumn.getActualColumnName().equalsIgnoreCase(columnName)) {
-						return introspectedColumn;
-					}
-				}
-			}
-
-			// search blob columns
-			for (IntrospectedColumn introspectedColumn : blobColumns) {
-				if (introspectedColumn.isColumnNameDelimited()) {
-					if (introspectedColumn.getActualColumnName().equals(columnName)) {
-						return introspectedColumn;
-					}
-				} else {
-					if (introspectedColumn.getActualColumnName().equalsIgnoreCase(columnName)) {
-						return introspectedColumn;
-					}
-				}
-			}
-
-			return null;
+			return getColumnIndex().getColumn(columnName);
 		}
 	}
 
@@ -444,12 +429,7 @@ public abstract class IntrospectedTable {
 	 * @return a List of ColumnDefinition objects for all columns in the table
 	 */
 	public List<IntrospectedColumn> getAllColumns() {
-		List<IntrospectedColumn> answer = new ArrayList<IntrospectedColumn>();
-		answer.addAll(primaryKeyColumns);
-		answer.addAll(baseColumns);
-		answer.addAll(blobColumns);
-
-		return answer;
+		return getColumnIndex().allColumns;
 	}
 
 	/**
@@ -460,11 +440,7 @@ public abstract class IntrospectedTable {
 	 *         are non BLOBs
 	 */
 	public List<IntrospectedColumn> getNonBLOBColumns() {
-		List<IntrospectedColumn> answer = new ArrayList<IntrospectedColumn>();
-		answer.addAll(primaryKeyColumns);
-		answer.addAll(baseColumns);
-
-		return answer;
+		return getColumnIndex().nonBLOBColumns;
 	}
 
 	/**
@@ -482,11 +458,24 @@ public abstract class IntrospectedTable {
 	 * @return the non primary key columns
 	 */
 	public List<IntrospectedColumn> getNonPrimaryKeyColumns() {
-		List<IntrospectedColumn> answer = new ArrayList<IntrospectedColumn>();
-		answer.addAll(baseColumns);
-		answer.addAll(blobColumns);
+		return getColumnIndex().nonPrimaryKeyColumns;
+	}
 
-		return answer;
+	/**
+	 * Gets the column index, building it if the columns have changed since it
+	 * was built. Several generators of a table may ask for it at the same
+	 * time; the index cannot be changed, so building it twice does no harm.
+	 * 
+	 * @return the column index
+	 */
+	private ColumnIndex getColumnIndex() {
+		ColumnIndex index = columnIndex;
+		if (index == null || index.columnCount != primaryKeyColumns.size() + baseColumns.size() + blobColumns.size()) {
+			index = new ColumnIndex(primaryKeyColumns, baseColumns, blobColumns);
+			columnIndex = index;
+		}
+
+		return index;
 	}
 
 	/**
@@ -703,6 +692,7 @@ public abstract class IntrospectedTable {
 		}
 		// add by suman
 		introspectedColumn.setIntrospectedTable(this);
+		columnIndex = null;
 	}
 
 	/**
@@ -738,6 +728,10 @@ public abstract class IntrospectedTable {
 				}
 			}
 		}
+
+		if (found) {
+			columnIndex = null;
+		}
 	}
 
 	/**
@@ -812,9 +806,13 @@ public abstract class IntrospectedTable {
 		setDeleteByPrimaryKeyStatementId("deleteByPrimaryKey"); //$NON-NLS-1$
 		setInsertStatementId("insert"); //$NON-NLS-1$
 		setInsertSelectiveStatementId("insertSelective"); //$NON-NLS-1$
+		setInsertBatchStatementId("insertBatch"); //$NON-NLS-1$
+		setUpsertStatementId("upsert"); //$NON-NLS-1$
+		setUpsertSelectiveStatementId("upsertSelective"); //$NON-NLS-1$
 		setSelectAllStatementId("selectAll"); //$NON-NLS-1$
 		setSelectByExampleStatementId("selectByExample"); //$NON-NLS-1$
 		setSelectByExampleWithBLOBsStatementId("selectByExampleWithBLOBs"); //$NON-NLS-1$
+		setSelectPageAfterStatementId("selectPageAfter"); //$NON-NLS-1$
 		setSelectByPrimaryKeyStatementId("selectByPrimaryKey"); //$NON-NLS-1$
 		setUpdateByExampleStatementId("updateByExample"); //$NON-NLS-1$
 		setUpdateByExampleSelectiveStatementId("updateByExampleSelective"); //$NON-NLS-1$
@@ -822,6 +820,7 @@ public abstract class IntrospectedTable {
 		setUpdateByPrimaryKeyStatementId("updateByPrimaryKey"); //$NON-NLS-1$
 		setUpdateByPrimaryKeySelectiveStatementId("updateByPrimaryKeySelective"); //$NON-NLS-1$
 		setUpdateByPrimaryKeyWithBLOBsStatementId("updateByPrimaryKeyWithBLOBs"); //$NON-NLS-1$
+		setUpdateBatchByPrimaryKeyStatementId("updateBatchByPrimaryKey"); //$NON-NLS-1$
 		setBaseResultMapId("BaseResultMap"); //$NON-NLS-1$
 		// add by suman start
 		setLeftJoinId("Left_Join_List"); //$NON-NLS-1$
@@ -930,6 +929,16 @@ public abstract class IntrospectedTable {
 		internalAttributes.put(InternalAttribute.ATTR_UPDATE_BY_PRIMARY_KEY_WITH_BLOBS_STATEMENT_ID, s);
 	}
 
+	/**
+	 * Sets the update batch by primary key statement id.
+	 * 
+	 * @param s
+	 *            the new update batch by primary key statement id
+	 */
+	public void setUpdateBatchByPrimaryKeyStatementId(String s) {
+		internalAttributes.put(InternalAttribute.ATTR_UPDATE_BATCH_BY_PRIMARY_KEY_STATEMENT_ID, s);
+	}
+
 	/**
 	 * Sets the update by primary key selective statement id.
 	 * 
@@ -1000,6 +1009,16 @@ public abstract class IntrospectedTable {
 		internalAttributes.put(InternalAttribute.ATTR_SELECT_BY_EXAMPLE_WITH_BLOBS_STATEMENT_ID, s);
 	}
 
+	/**
+	 * Sets the select page after statement id.
+	 * 
+	 * @param s
+	 *            the new select page after statement id
+	 */
+	public void setSelectPageAfterStatementId(String s) {
+		internalAttributes.put(InternalAttribute.ATTR_SELECT_PAGE_AFTER_STATEMENT_ID, s);
+	}
+
 	/**
 	 * Sets the select all statement id.
 	 * 
@@ -1030,6 +1049,36 @@ public abstract class IntrospectedTable {
 		internalAttributes.put(InternalAttribute.ATTR_INSERT_SELECTIVE_STATEMENT_ID, s);
 	}
 
+	/**
+	 * Sets the insert batch statement id.
+	 * 
+	 * @param s
+	 *            the new insert batch statement id
+	 */
+	public void setInsertBatchStatementId(String s) {
+		internalAttributes.put(InternalAttribute.ATTR_INSERT_BATCH_STATEMENT_ID, s);
+	}
+
+	/**
+	 * Sets the upsert statement id.
+	 * 
+	 * @param s
+	 *            the new upsert statement id
+	 */
+	public void setUpsertStatementId(String s) {
+		internalAttributes.put(InternalAttribute.ATTR_UPSERT_STATEMENT_ID, s);
+	}
+
+	/**
+	 * Sets the upsert selective statement id.
+	 * 
+	 * @param s
+	 *            the new upsert selective statement id
+	 */
+	public void setUpsertSelectiveStatementId(String s) {
+		internalAttributes.put(InternalAttribute.ATTR_UPSERT_SELECTIVE_STATEMENT_ID, s);
+	}
+
 	/**
 	 * Sets the insert statement id.
 	 * 
@@ -1146,6 +1195,15 @@ public abstract class IntrospectedTable {
 		return internalAttributes.get(InternalAttribute.ATTR_UPDATE_BY_PRIMARY_KEY_WITH_BLOBS_STATEMENT_ID);
 	}
 
+	/**
+	 * Gets the update batch by primary key statement id.
+	 * 
+	 * @return the update batch by primary key statement id
+	 */
+	public String getUpdateBatchByPrimaryKeyStatementId() {
+		return internalAttributes.get(InternalAttribute.ATTR_UPDATE_BATCH_BY_PRIMARY_KEY_STATEMENT_ID);
+	}
+
 	/**
 	 * Gets the update by primary key selective statement id.
 	 * 
@@ -1209,6 +1267,15 @@ public abstract class IntrospectedTable {
 		return internalAttributes.get(InternalAttribute.ATTR_SELECT_BY_EXAMPLE_WITH_BLOBS_STATEMENT_ID);
 	}
 
+	/**
+	 * Gets the select page after statement id.
+	 * 
+	 * @return the select page after statement id
+	 */
+	public String getSelectPageAfterStatementId() {
+		return internalAttributes.get(InternalAttribute.ATTR_SELECT_PAGE_AFTER_STATEMENT_ID);
+	}
+
 	/**
 	 * Gets the select all statement id.
 	 * 
@@ -1236,6 +1303,33 @@ public abstract class IntrospectedTable {
 		return internalAttributes.get(InternalAttribute.ATTR_INSERT_SELECTIVE_STATEMENT_ID);
 	}
 
+	/**
+	 * Gets the insert batch statement id.
+	 * 
+	 * @return the insert batch statement id
+	 */
+	public String getInsertBatchStatementId() {
+		return internalAttributes.get(InternalAttribute.ATTR_INSERT_BATCH_STATEMENT_ID);
+	}
+
+	/**
+	 * Gets the upsert statement id.
+	 * 
+	 * @return the upsert statement id
+	 */
+	public String getUpsertStatementId() {
+		return internalAttributes.get(InternalAttribute.ATTR_UPSERT_STATEMENT_ID);
+	}
+
+	/**
+	 * Gets the upsert selective statement id.
+	 * 
+	 * @return the upsert selective statement id
+	 */
+	public String getUpsertSelectiveStatementId() {
+		return internalAttributes.get(InternalAttribute.ATTR_UPSERT_SELECTIVE_STATEMENT_ID);
+	}
+
 	/**
 	 * Gets the insert statement id.
 	 * 
@@ -1551,6 +1645,54 @@ public abstract class IntrospectedTable {
 	 */
 	public abstract List<GeneratedXmlFile> getGeneratedXmlFiles();
 
+	/**
+	 * Returns the work of getGeneratedJavaFiles as tasks that may run on
+	 * different threads at the same time. Joining the results of the tasks in
+	 * list order gives the files of getGeneratedJavaFiles.
+	 * 
+	 * The default implementation returns one task calling
+	 * getGeneratedJavaFiles.
+	 * 
+	 * @return the tasks generating the Java files of this table
+	 */
+	public List<Callable<List<GeneratedJavaFile>>> getJavaGenerationTasks() {
+		List<Callable<List<GeneratedJavaFile>>> answer = new ArrayList<Callable<List<GeneratedJavaFile>>>();
+		answer.add(new Callable<List<GeneratedJavaFile>>() {
+			public List<GeneratedJavaFile> call() {
+				return getGeneratedJavaFiles();
+			}
+		});
+		return answer;
+	}
+
+	/**
+	 * Returns a task building the XML files of this table that may run on
+	 * another thread. The plugins receiving whole files are not called by the
+	 * task, but by filterGeneratedXmlFiles on the thread generating the
+	 * context, so they see the tables in order.
+	 * 
+	 * The default implementation returns null, and getGeneratedXmlFiles is
+	 * called on the thread generating the context.
+	 * 
+	 * @return the task, or null if the XML files cannot be built on another
+	 *         thread
+	 */
+	public Callable<List<GeneratedXmlFile>> getXmlGenerationTask() {
+		return null;
+	}
+
+	/**
+	 * Calls the plugins receiving whole files with the result of the task of
+	 * getXmlGenerationTask.
+	 * 
+	 * @param generatedXmlFiles
+	 *            the files built by the task
+	 * @return the files the plugins keep
+	 */
+	public List<GeneratedXmlFile> filterGeneratedXmlFiles(List<GeneratedXmlFile> generatedXmlFiles) {
+		return generatedXmlFiles;
+	}
+
 	/**
 	 * Denotes whether generated code is targeted for Java version 5.0 or
 	 * higher.
@@ -1858,5 +2000,75 @@ public abstract class IntrospectedTable {
 		this.actualTableName = actualTableName;
 	}
 	// add by suman end
-	
+
+	/**
+	 * The columns of the table by name, and the lists of columns that are
+	 * asked for over and over by the generators. The index cannot be changed
+	 * once it is built.
+	 */
+	private static final class ColumnIndex {
+
+		/** The number of columns in the table when the index was built. */
+		final int columnCount;
+
+		/** The primary key, base and BLOB columns. */
+		final List<IntrospectedColumn> allColumns;
+
+		/** The primary key and base columns. */
+		final List<IntrospectedColumn> nonBLOBColumns;
+
+		/** The base and BLOB columns. */
+		final List<IntrospectedColumn> nonPrimaryKeyColumns;
+
+		/** The delimited columns by their exact name. */
+		final Map<String, IntrospectedColumn> delimitedColumns;
+
+		/** The other columns by their case insensitive name. */
+		final Map<String, IntrospectedColumn> columns;
+
+		ColumnIndex(List<IntrospectedColumn> primaryKeyColumns, List<IntrospectedColumn> baseColumns, List<IntrospectedColumn> blobColumns) {
+			List<IntrospectedColumn> all = new ArrayList<IntrospectedColumn>();
+			all.addAll(primaryKeyColumns);
+			all.addAll(baseColumns);
+			all.addAll(blobColumns);
+			columnCount = all.size();
+			allColumns = Collections.unmodifiableList(all);
+			nonBLOBColumns = Collections.unmodifiableList(all.subList(0, primaryKeyColumns.size() + baseColumns.size()));
+			nonPrimaryKeyColumns = Collections.unmodifiableList(all.subList(primaryKeyColumns.size(), columnCount));
+
+			delimitedColumns = new HashMap<String, IntrospectedColumn>();
+			columns = new HashMap<String, IntrospectedColumn>();
+			// the first column with a name wins, as it did in a scan of the lists
+			for (IntrospectedColumn introspectedColumn : all) {
+				String name = introspectedColumn.getActualColumnName();
+				if (introspectedColumn.isColumnNameDelimited()) {
+					if (!delimitedColumns.containsKey(name)) {
+						delimitedColumns.put(name, introspectedColumn);
+					}
+				} else {
+					String key = caseInsensitiveKey(name);
+					if (!columns.containsKey(key)) {
+						columns.put(key, introspectedColumn);
+					}
+				}
+			}
+		}
+
+		/**
+		 * Gets a column by name. Delimited column names must match exactly,
+		 * other names are compared ignoring case.
+		 * 
+		 * @param columnName
+		 *            the column name
+		 * @return the column, or null if the table has no such column
+		 */
+		IntrospectedColumn getColumn(String columnName) {
+			IntrospectedColumn introspectedColumn = delimitedColumns.get(columnName);
+			if (introspectedColumn == null) {
+				introspectedColumn = columns.get(caseInsensitiveKey(columnName));
+			}
+
+			return introspectedColumn;
+		}
+	}
 }
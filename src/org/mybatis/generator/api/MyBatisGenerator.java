@@ -18,15 +18,15 @@ package org.mybatis.generator.api;
 import static org.mybatis.generator.internal.util.ClassloaderUtility.getCustomClassloader;
 import static org.mybatis.generator.internal.util.messages.Messages.getString;
 
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.OutputStreamWriter;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.mybatis.generator.config.Configuration;
@@ -34,10 +34,14 @@ import org.mybatis.generator.config.Context;
 import org.mybatis.generator.config.MergeConstants;
 import org.mybatis.generator.exception.InvalidConfigurationException;
 import org.mybatis.generator.exception.ShellException;
+import org.mybatis.generator.internal.AsyncFileWriter;
 import org.mybatis.generator.internal.DefaultShellCallback;
+import org.mybatis.generator.internal.GenerationManifest;
+import org.mybatis.generator.internal.NullInstrumentationCallback;
 import org.mybatis.generator.internal.ObjectFactory;
 import org.mybatis.generator.internal.NullProgressCallback;
-import org.mybatis.generator.internal.XmlFileMergerJaxp;
+import org.mybatis.generator.internal.XmlFileMergerStax;
+import org.mybatis.generator.internal.db.ConnectionCache;
 
 /**
  * This class is the main interface to MyBatis generator. A typical execution of
@@ -55,6 +59,14 @@ import org.mybatis.generator.internal.XmlFileMergerJaxp;
  */
 public class MyBatisGenerator {
 
+	private static final InstrumentationCallback NULL_INSTRUMENTATION_CALLBACK = new NullInstrumentationCallback();
+
+	/** The number of threads writing the files. */
+	private static final int WRITER_THREADS = 2;
+
+	/** The initial capacity of the buffer a generated file is rendered into. */
+	private static final int RENDER_BUFFER_SIZE = 8192;
+
 	/** The configuration. */
 	private Configuration configuration;
 
@@ -73,6 +85,39 @@ public class MyBatisGenerator {
 	/** The projects. */
 	private Set<String> projects;
 
+	/** The target directories of the run, keyed by target project and package. */
+	private Map<List<String>, File> directories;
+
+	/** The connections shared with other runs, null if each run opens its own. */
+	private ConnectionCache connectionCache;
+
+	/** The class loader of the class path entries of the configuration. */
+	private ClassLoader customClassloader;
+
+	/** The generation manifest file, null if every file is generated. */
+	private File manifestFile;
+
+	/** The generation manifest of the current run, may be null. */
+	private GenerationManifest generationManifest;
+
+	/** The number of files written by the last run. */
+	private int writtenFileCount;
+
+	/** The number of files the last run left unchanged. */
+	private int unchangedFileCount;
+
+	/** True if the tables are read from the schema snapshots only. */
+	private boolean offline;
+
+	/** True if the schema snapshots are read again from the database. */
+	private boolean refreshSchema;
+
+	/** The instrumentation callback, null if timings are not collected. */
+	private InstrumentationCallback instrumentationCallback;
+
+	/** True if the files of each table are written as soon as they are generated. */
+	private boolean streaming;
+
 	/**
 	 * Constructs a MyBatisGenerator object.
 	 * 
@@ -114,10 +159,101 @@ public class MyBatisGenerator {
 		generatedJavaFiles = new ArrayList<GeneratedJavaFile>();
 		generatedXmlFiles = new ArrayList<GeneratedXmlFile>();
 		projects = new HashSet<String>();
+		directories = new HashMap<List<String>, File>();
 
 		this.configuration.validate();
 	}
 
+	/**
+	 * If true, the tables are introspected from the schema snapshot of each
+	 * context only, and no database connection is opened. A table that is not
+	 * in the snapshot causes an SQLException.
+	 * 
+	 * @param offline
+	 *            true to generate without a database
+	 */
+	public void setOffline(boolean offline) {
+		this.offline = offline;
+	}
+
+	/**
+	 * If true, the tables are introspected from the database and the schema
+	 * snapshot of each context is rewritten.
+	 * 
+	 * @param refreshSchema
+	 *            true to refresh the schema snapshots
+	 */
+	public void setRefreshSchema(boolean refreshSchema) {
+		this.refreshSchema = refreshSchema;
+	}
+
+	/**
+	 * If true, the files of each table are written as soon as they are
+	 * generated, instead of generating the files of all tables first. Only the
+	 * files of one table are held in memory at a time, which keeps the memory
+	 * use of very large schemas bounded. The introspected tables are still
+	 * read first, as the generated joins use the tables they reference.
+	 * 
+	 * <p>The ProgressCallback gets the save tasks while the generation runs,
+	 * so saveStarted is called right after generationStarted.
+	 * 
+	 * @param streaming
+	 *            true to write the files table by table
+	 */
+	public void setStreaming(boolean streaming) {
+		this.streaming = streaming;
+	}
+
+	/**
+	 * Sets a connection cache that is kept between runs. The connections
+	 * stay open after a run, the owner of the cache closes them. If no cache
+	 * is set, each run opens and closes its own connections.
+	 * 
+	 * @param connectionCache
+	 *            the connection cache, may be null
+	 */
+	public void setConnectionCache(ConnectionCache connectionCache) {
+		this.connectionCache = connectionCache;
+	}
+
+	/**
+	 * Sets the generation manifest file. If it is set, the generators whose
+	 * inputs have not changed since the run that wrote the manifest, and whose
+	 * files still exist, are not run. The manifest is rewritten at the end of
+	 * each run.
+	 * 
+	 * @param manifestFile
+	 *            the manifest file, may be null
+	 */
+	public void setManifestFile(File manifestFile) {
+		this.manifestFile = manifestFile;
+	}
+
+	/**
+	 * Sets the callback receiving the time spent in each phase of the
+	 * generation, the calls made to the database and the bytes written.
+	 * 
+	 * @param instrumentationCallback
+	 *            the instrumentation callback, or <code>null</code> if timings
+	 *            are not required
+	 * @see GenerationStatistics
+	 */
+	public void setInstrumentationCallback(InstrumentationCallback instrumentationCallback) {
+		this.instrumentationCallback = instrumentationCallback;
+	}
+
+	/**
+	 * Gets the instrumentation callback, or a callback that does nothing.
+	 * 
+	 * @return the instrumentation callback
+	 */
+	private InstrumentationCallback getInstrumentationCallback() {
+		if (instrumentationCallback == null) {
+			return NULL_INSTRUMENTATION_CALLBACK;
+		}
+		return instrumentationCallback;
+	}
+
 	/**
 	 * This is the main method for generating code. This method is long running,
 	 * but progress can be provided and the method can be canceled through the
@@ -194,6 +330,7 @@ public class MyBatisGenerator {
 		}
 
 		generatedJavaFiles.clear();//javaļ
+		directories.clear();
 		generatedXmlFiles.clear();//ɵxmlļ
 
 		// calculate the contexts to run
@@ -210,9 +347,21 @@ public class MyBatisGenerator {
 		}
 
 		// setup custom classloader if required
-		if (configuration.getClassPathEntries().size() > 0) {// class jar
-			ClassLoader classLoader = getCustomClassloader(configuration.getClassPathEntries());
-			ObjectFactory.addExternalClassLoader(classLoader);
+		// only once, a generator may run several times
+		if (customClassloader == null && configuration.getClassPathEntries().size() > 0) {// class jar
+			customClassloader = getCustomClassloader(configuration.getClassPathEntries());
+			ObjectFactory.addExternalClassLoader(customClassloader);
+		}
+
+		generationManifest = null;
+		if (manifestFile != null) {
+			generationManifest = new GenerationManifest(manifestFile);
+			generationManifest.load();
+		}
+
+		for (Context context : contextsToRun) {
+			context.setInstrumentationCallback(instrumentationCallback);
+			context.setGenerationManifest(generationManifest);
 		}
 
 		// now run the introspections...
@@ -222,8 +371,20 @@ public class MyBatisGenerator {
 		}
 		callback.introspectionStarted(totalSteps);// ܲ
 
-		for (Context context : contextsToRun) {
-			context.introspectTables(callback, warnings, fullyQualifiedTableNames);
+		// contexts with the same connection configuration share connections
+		ConnectionCache runConnectionCache = connectionCache == null ? new ConnectionCache() : connectionCache;
+		try {
+			for (Context context : contextsToRun) {
+				context.setConnectionCache(runConnectionCache);
+				context.introspectTables(callback, warnings, fullyQualifiedTableNames, offline, refreshSchema);
+			}
+		} finally {
+			for (Context context : contextsToRun) {
+				context.setConnectionCache(null);
+			}
+			if (connectionCache == null) {
+				runConnectionCache.closeAll();
+			}
 		}
 
 		// now run the generates
@@ -233,34 +394,113 @@ public class MyBatisGenerator {
 		}
 		callback.generationStarted(totalSteps);
 
-		for (Context context : contextsToRun) {//ʼļ
-			context.generateFiles(callback, generatedJavaFiles, generatedXmlFiles, warnings);
+		// the files are written in the background while the next files are
+		// generated and formatted
+		final AsyncFileWriter fileWriter = new AsyncFileWriter(WRITER_THREADS, getInstrumentationCallback());
+		try {
+			if (streaming) {
+				// save the files of each table before the next table is generated
+				callback.saveStarted(totalSteps);
+				final ProgressCallback progressCallback = callback;
+				GeneratedFileHandler handler = new GeneratedFileHandler() {
+					public void filesGenerated(List<GeneratedJavaFile> javaFiles, List<GeneratedXmlFile> xmlFiles) throws IOException, InterruptedException {
+						saveFiles(progressCallback, fileWriter, javaFiles, xmlFiles);
+					}
+				};
+
+				for (Context context : contextsToRun) {
+					context.generateFiles(callback, handler, warnings);
+				}
+			} else {
+				for (Context context : contextsToRun) {//ʼļ
+					context.generateFiles(callback, generatedJavaFiles, generatedXmlFiles, warnings);
+				}
+
+				// now save the files
+				callback.saveStarted(generatedXmlFiles.size() + generatedJavaFiles.size());
+				saveFiles(callback, fileWriter, generatedJavaFiles, generatedXmlFiles);
+			}
+
+			fileWriter.close();
+
+			if (generationManifest != null) {
+				generationManifest.save();
+			}
+		} finally {
+			writtenFileCount = fileWriter.getWrittenFileCount();
+			unchangedFileCount = fileWriter.getUnchangedFileCount();
+			fileWriter.cancel();
 		}
 
-		// now save the files
-		callback.saveStarted(generatedXmlFiles.size() + generatedJavaFiles.size());
+		for (String project : projects) {
+			shellCallback.refreshProject(project);
+		}
+
+		callback.done();
+	}
+
+	/**
+	 * Gets the number of files written by the last run.
+	 * 
+	 * @return the number of written files
+	 */
+	public int getWrittenFileCount() {
+		return writtenFileCount;
+	}
 
+	/**
+	 * Gets the number of files the last run did not write, because the
+	 * existing files already had the generated content.
+	 * 
+	 * @return the number of unchanged files
+	 */
+	public int getUnchangedFileCount() {
+		return unchangedFileCount;
+	}
+
+	/**
+	 * Merges or formats the generated files and writes them.
+	 * 
+	 * @param callback
+	 *            the progress callback
+	 * @param fileWriter
+	 *            the writer the files are queued to
+	 * @param generatedJavaFiles
+	 *            the generated java files
+	 * @param generatedXmlFiles
+	 *            the generated xml files
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 * @throws InterruptedException
+	 *             if the method is canceled through the ProgressCallback
+	 */
+	private void saveFiles(ProgressCallback callback, AsyncFileWriter fileWriter, List<GeneratedJavaFile> generatedJavaFiles, List<GeneratedXmlFile> generatedXmlFiles) throws IOException, InterruptedException {
 		for (GeneratedXmlFile gxf : generatedXmlFiles) {//ʼxmlļ
 			projects.add(gxf.getTargetProject());
 
 			File targetFile;
-			String source;
+			CharSequence source;
 			try {
-				File directory = shellCallback.getDirectory(gxf.getTargetProject(), gxf.getTargetPackage());
+				File directory = getDirectory(gxf.getTargetProject(), gxf.getTargetPackage());
 				targetFile = new File(directory, gxf.getFileName());
+				fileWriter.awaitWrite(targetFile);
 				if (targetFile.exists()) {//ļ
 					if (gxf.isMergeable()) {//Ҫϲ
-						source = XmlFileMergerJaxp.getMergedSource(gxf, targetFile);
+						long startNanos = System.nanoTime();
+						StringBuilder merged = new StringBuilder(RENDER_BUFFER_SIZE);
+						XmlFileMergerStax.merge(gxf, targetFile, merged);
+						source = merged;
+						getInstrumentationCallback().phaseFinished(InstrumentationCallback.MERGE, null, System.nanoTime() - startNanos);
 					} else if (shellCallback.isOverwriteEnabled()) {
-						source = gxf.getFormattedContent();
+						source = getFormattedContent(gxf);
 						warnings.add(getString("Warning.11",targetFile.getAbsolutePath()));
 					} else {
-						source = gxf.getFormattedContent();
+						source = getFormattedContent(gxf);
 						targetFile = getUniqueFileName(directory, gxf.getFileName());
 						warnings.add(getString("Warning.2", targetFile.getAbsolutePath())); //$NON-NLS-1$
 					}
 				} else {
-					source = gxf.getFormattedContent();
+					source = getFormattedContent(gxf);
 				}
 			} catch (ShellException e) {
 				warnings.add(e.getMessage());
@@ -269,72 +509,92 @@ public class MyBatisGenerator {
 
 			callback.checkCancel();
 			callback.startTask(getString("Progress.15", targetFile.getName())); //$NON-NLS-1$
-			writeFile(targetFile, source, "UTF-8"); //$NON-NLS-1$
+			fileWriter.write(targetFile, source, "UTF-8"); //$NON-NLS-1$
+			if (generationManifest != null) {
+				generationManifest.addFile(gxf, targetFile);
+			}
 		}
 
 		for (GeneratedJavaFile gjf : generatedJavaFiles) {
 			projects.add(gjf.getTargetProject());
 
 			File targetFile;
-			String source;
+			CharSequence source;
 			try {
-				File directory = shellCallback.getDirectory(gjf.getTargetProject(), gjf.getTargetPackage());
+				File directory = getDirectory(gjf.getTargetProject(), gjf.getTargetPackage());
 				targetFile = new File(directory, gjf.getFileName());
+				fileWriter.awaitWrite(targetFile);
 				if (targetFile.exists()) {
 					if (shellCallback.isMergeSupported()) {
-						source = shellCallback.mergeJavaFile(gjf.getFormattedContent(), targetFile.getAbsolutePath(), MergeConstants.OLD_ELEMENT_TAGS, gjf.getFileEncoding());
+						String newFileSource = getFormattedContent(gjf).toString();
+						long startNanos = System.nanoTime();
+						source = shellCallback.mergeJavaFile(newFileSource, targetFile.getAbsolutePath(), MergeConstants.OLD_ELEMENT_TAGS, gjf.getFileEncoding());
+						getInstrumentationCallback().phaseFinished(InstrumentationCallback.MERGE, null, System.nanoTime() - startNanos);
 					} else if (shellCallback.isOverwriteEnabled()) {
-						source = gjf.getFormattedContent();
+						source = getFormattedContent(gjf);
 						warnings.add(getString("Warning.11", //$NON-NLS-1$
 								targetFile.getAbsolutePath()));
 					} else {
-						source = gjf.getFormattedContent();
+						source = getFormattedContent(gjf);
 						targetFile = getUniqueFileName(directory, gjf.getFileName());
 						warnings.add(getString("Warning.2", targetFile.getAbsolutePath())); //$NON-NLS-1$
 					}
 				} else {
-					source = gjf.getFormattedContent();
+					source = getFormattedContent(gjf);
 				}
 
 				callback.checkCancel();
 				callback.startTask(getString("Progress.15", targetFile.getName())); //$NON-NLS-1$
-				writeFile(targetFile, source, gjf.getFileEncoding());
+				fileWriter.write(targetFile, source, gjf.getFileEncoding());
+				if (generationManifest != null) {
+					generationManifest.addFile(gjf, targetFile);
+				}
 			} catch (ShellException e) {
 				warnings.add(e.getMessage());
 			}
 		}
+	}
 
-		for (String project : projects) {
-			shellCallback.refreshProject(project);
+	/**
+	 * Gets the directory of a target project and package from the shell
+	 * callback. The directory of each package is only resolved once per run.
+	 * 
+	 * @param targetProject
+	 *            the target project
+	 * @param targetPackage
+	 *            the target package
+	 * @return the directory
+	 * @throws ShellException
+	 *             if the directory cannot be found or created
+	 */
+	private File getDirectory(String targetProject, String targetPackage) throws ShellException {
+		List<String> key = Arrays.asList(targetProject, targetPackage);
+		File directory = directories.get(key);
+		if (directory == null) {
+			directory = shellCallback.getDirectory(targetProject, targetPackage);
+			directories.put(key, directory);
 		}
 
-		callback.done();
+		return directory;
 	}
 
 	/**
-	 * Writes, or overwrites, the contents of the specified file.
+	 * Formats a generated file and reports the time to the instrumentation
+	 * callback. The file is rendered once into a single buffer, which is
+	 * handed to the file writer without copying it into a string.
 	 * 
-	 * @param file
-	 *            the file
-	 * @param content
-	 *            the content
-	 * @param fileEncoding
-	 *            the file encoding
+	 * @param generatedFile
+	 *            the generated file
+	 * @return the formatted content
 	 * @throws IOException
-	 *             Signals that an I/O exception has occurred.
+	 *             if the file cannot be rendered
 	 */
-	private void writeFile(File file, String content, String fileEncoding) throws IOException {
-		FileOutputStream fos = new FileOutputStream(file, false);
-		OutputStreamWriter osw;
-		if (fileEncoding == null) {
-			osw = new OutputStreamWriter(fos);
-		} else {
-			osw = new OutputStreamWriter(fos, fileEncoding);
-		}
-
-		BufferedWriter bw = new BufferedWriter(osw);
-		bw.write(content);
-		bw.close();
+	private CharSequence getFormattedContent(GeneratedFile generatedFile) throws IOException {
+		long startNanos = System.nanoTime();
+		StringBuilder content = new StringBuilder(RENDER_BUFFER_SIZE);
+		generatedFile.writeFormattedContent(content);
+		getInstrumentationCallback().phaseFinished(InstrumentationCallback.FORMAT, null, System.nanoTime() - startNanos);
+		return content;
 	}
 
 	/**
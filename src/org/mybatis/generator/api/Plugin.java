@@ -598,6 +598,69 @@ public interface Plugin {
     boolean clientInsertSelectiveMethodGenerated(Method method,
             Interface interfaze, IntrospectedTable introspectedTable);
 
+    /**
+     * This method is called when the insert batch method has been generated
+     * in the client interface.
+     * 
+     * @param method
+     *            the generated insert batch method
+     * @param interfaze
+     *            the partially implemented client interface. You can add
+     *            additional imported classes to the interface if
+     *            necessary.
+     * @param introspectedTable
+     *            The class containing information about the table as
+     *            introspected from the database
+     * @return true if the method should be generated, false if the generated
+     *         method should be ignored. In the case of multiple plugins, the
+     *         first plugin returning false will disable the calling of further
+     *         plugins.
+     */
+    boolean clientInsertBatchMethodGenerated(Method method,
+            Interface interfaze, IntrospectedTable introspectedTable);
+
+    /**
+     * This method is called when the upsert method has been generated in
+     * the client interface.
+     * 
+     * @param method
+     *            the generated upsert method
+     * @param interfaze
+     *            the partially implemented client interface. You can add
+     *            additional imported classes to the interface if
+     *            necessary.
+     * @param introspectedTable
+     *            The class containing information about the table as
+     *            introspected from the database
+     * @return true if the method should be generated, false if the generated
+     *         method should be ignored. In the case of multiple plugins, the
+     *         first plugin returning false will disable the calling of further
+     *         plugins.
+     */
+    boolean clientUpsertMethodGenerated(Method method,
+            Interface interfaze, IntrospectedTable introspectedTable);
+
+    /**
+     * This method is called when the upsertSelective method has been generated in
+     * the client interface.
+     * 
+     * @param method
+     *            the generated upsertSelective method
+     * @param interfaze
+     *            the partially implemented client interface. You can add
+     *            additional imported classes to the interface if
+     *            necessary.
+     * @param introspectedTable
+     *            The class containing information about the table as
+     *            introspected from the database
+     * @return true if the method should be generated, false if the generated
+     *         method should be ignored. In the case of multiple plugins, the
+     *         first plugin returning false will disable the calling of further
+     *         plugins.
+     */
+    boolean clientUpsertSelectiveMethodGenerated(Method method,
+            Interface interfaze, IntrospectedTable introspectedTable);
+
     /**
      * This method is called when the selectAll method has been
      * generated in the client interface.  This method is only generated by
@@ -683,6 +746,27 @@ public interface Plugin {
     boolean clientSelectByExampleWithoutBLOBsMethodGenerated(Method method,
             Interface interfaze, IntrospectedTable introspectedTable);
 
+    /**
+     * This method is called when the selectPageAfter method has been
+     * generated in the client interface.
+     * 
+     * @param method
+     *            the generated selectPageAfter method
+     * @param interfaze
+     *            the partially implemented client interface. You can add
+     *            additional imported classes to the interface if
+     *            necessary.
+     * @param introspectedTable
+     *            The class containing information about the table as
+     *            introspected from the database
+     * @return true if the method should be generated, false if the generated
+     *         method should be ignored. In the case of multiple plugins, the
+     *         first plugin returning false will disable the calling of further
+     *         plugins.
+     */
+    boolean clientSelectPageAfterMethodGenerated(Method method,
+            Interface interfaze, IntrospectedTable introspectedTable);
+
     /**
      * This method is called when the selectByPrimaryKey method has been
      * generated in the client interface.
@@ -788,6 +872,27 @@ public interface Plugin {
     boolean clientUpdateByPrimaryKeySelectiveMethodGenerated(Method method,
             Interface interfaze, IntrospectedTable introspectedTable);
 
+    /**
+     * This method is called when the updateBatchByPrimaryKey method has been
+     * generated in the client interface.
+     * 
+     * @param method
+     *            the generated updateBatchByPrimaryKey method
+     * @param interfaze
+     *            the partially implemented client interface. You can add
+     *            additional imported classes to the interface if
+     *            necessary.
+     * @param introspectedTable
+     *            The class containing information about the table as
+     *            introspected from the database
+     * @return true if the method should be generated, false if the generated
+     *         method should be ignored. In the case of multiple plugins, the
+     *         first plugin returning false will disable the calling of further
+     *         plugins.
+     */
+    boolean clientUpdateBatchByPrimaryKeyMethodGenerated(Method method,
+            Interface interfaze, IntrospectedTable introspectedTable);
+
     /**
      * This method is called when the updateByPrimaryKeyWithBLOBs method has
      * been generated in the client interface.
@@ -1179,6 +1284,54 @@ public interface Plugin {
     boolean sqlMapInsertSelectiveElementGenerated(XmlElement element,
             IntrospectedTable introspectedTable);
 
+    /**
+     * This method is called when the insert batch element is generated.
+     * 
+     * @param element
+     *            the generated &lt;insert&gt; element
+     * @param introspectedTable
+     *            The class containing information about the table as
+     *            introspected from the database
+     * @return true if the element should be generated, false if the generated
+     *         element should be ignored. In the case of multiple plugins, the
+     *         first plugin returning false will disable the calling of further
+     *         plugins.
+     */
+    boolean sqlMapInsertBatchElementGenerated(XmlElement element,
+            IntrospectedTable introspectedTable);
+
+    /**
+     * This method is called when the upsert element is generated.
+     * 
+     * @param element
+     *            the generated &lt;insert&gt; element
+     * @param introspectedTable
+     *            The class containing information about the table as
+     *            introspected from the database
+     * @return true if the element should be generated, false if the generated
+     *         element should be ignored. In the case of multiple plugins, the
+     *         first plugin returning false will disable the calling of further
+     *         plugins.
+     */
+    boolean sqlMapUpsertElementGenerated(XmlElement element,
+            IntrospectedTable introspectedTable);
+
+    /**
+     * This method is called when the upsertSelective element is generated.
+     * 
+     * @param element
+     *            the generated &lt;insert&gt; element
+     * @param introspectedTable
+     *            The class containing information about the table as
+     *            introspected from the database
+     * @return true if the element should be generated, false if the generated
+     *         element should be ignored. In the case of multiple plugins, the
+     *         first plugin returning false will disable the calling of further
+     *         plugins.
+     */
+    boolean sqlMapUpsertSelectiveElementGenerated(XmlElement element,
+            IntrospectedTable introspectedTable);
+
     /**
      * This method is called when the resultMap with BLOBs element is generated
      * - this resultMap will extend the base resultMap.
@@ -1244,6 +1397,22 @@ public interface Plugin {
     boolean sqlMapSelectByExampleWithoutBLOBsElementGenerated(
             XmlElement element, IntrospectedTable introspectedTable);
 
+    /**
+     * This method is called when the selectPageAfter element is generated.
+     * 
+     * @param element
+     *            the generated &lt;select&gt; element
+     * @param introspectedTable
+     *            The class containing information about the table as
+     *            introspected from the database
+     * @return true if the element should be generated, false if the generated
+     *         element should be ignored. In the case of multiple plugins, the
+     *         first plugin returning false will disable the calling of further
+     *         plugins.
+     */
+    boolean sqlMapSelectPageAfterElementGenerated(XmlElement element,
+            IntrospectedTable introspectedTable);
+
     /**
      * This method is called when the selectByExampleWithBLOBs element is
      * generated.
@@ -1338,6 +1507,23 @@ public interface Plugin {
     boolean sqlMapUpdateByPrimaryKeySelectiveElementGenerated(
             XmlElement element, IntrospectedTable introspectedTable);
 
+    /**
+     * This method is called when the updateBatchByPrimaryKey element is
+     * generated.
+     * 
+     * @param element
+     *            the generated &lt;update&gt; element
+     * @param introspectedTable
+     *            The class containing information about the table as
+     *            introspected from the database
+     * @return true if the element should be generated, false if the generated
+     *         element should be ignored. In the case of multiple plugins, the
+     *         first plugin returning false will disable the calling of further
+     *         plugins.
+     */
+    boolean sqlMapUpdateBatchByPrimaryKeyElementGenerated(
+            XmlElement element, IntrospectedTable introspectedTable);
+
     /**
      * This method is called when the updateByPrimaryKeyWithBLOBs element is
      * generated.
@@ -309,6 +309,16 @@ public abstract class PluginAdapter implements Plugin {
         return true;
     }
 
+    public boolean sqlMapSelectPageAfterElementGenerated(XmlElement element,
+            IntrospectedTable introspectedTable) {
+        return true;
+    }
+
+    public boolean clientSelectPageAfterMethodGenerated(Method method,
+            Interface interfaze, IntrospectedTable introspectedTable) {
+        return true;
+    }
+
     public boolean sqlMapSelectByExampleWithBLOBsElementGenerated(
             XmlElement element, IntrospectedTable introspectedTable) {
         return true;
@@ -364,6 +374,46 @@ public abstract class PluginAdapter implements Plugin {
         return true;
     }
 
+    public boolean sqlMapInsertBatchElementGenerated(XmlElement element,
+            IntrospectedTable introspectedTable) {
+        return true;
+    }
+
+    public boolean clientInsertBatchMethodGenerated(Method method,
+            Interface interfaze, IntrospectedTable introspectedTable) {
+        return true;
+    }
+
+    public boolean sqlMapUpsertElementGenerated(XmlElement element,
+            IntrospectedTable introspectedTable) {
+        return true;
+    }
+
+    public boolean clientUpsertMethodGenerated(Method method,
+            Interface interfaze, IntrospectedTable introspectedTable) {
+        return true;
+    }
+
+    public boolean sqlMapUpsertSelectiveElementGenerated(XmlElement element,
+            IntrospectedTable introspectedTable) {
+        return true;
+    }
+
+    public boolean clientUpsertSelectiveMethodGenerated(Method method,
+            Interface interfaze, IntrospectedTable introspectedTable) {
+        return true;
+    }
+
+    public boolean sqlMapUpdateBatchByPrimaryKeyElementGenerated(
+            XmlElement element, IntrospectedTable introspectedTable) {
+        return true;
+    }
+
+    public boolean clientUpdateBatchByPrimaryKeyMethodGenerated(Method method,
+            Interface interfaze, IntrospectedTable introspectedTable) {
+        return true;
+    }
+
     public void initialized(IntrospectedTable introspectedTable) {
     }
 
@@ -17,8 +17,15 @@ package org.mybatis.generator.api;
 
 import static org.mybatis.generator.internal.util.messages.Messages.getString;
 
+import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -47,6 +54,14 @@ public class ShellRunner {
 	private static final String TABLES = "-tables"; //$NON-NLS-1$
 	private static final String VERBOSE = "-verbose"; //$NON-NLS-1$
 	private static final String FORCE_JAVA_LOGGING = "-forceJavaLogging"; //$NON-NLS-1$
+	private static final String OFFLINE = "-offline"; //$NON-NLS-1$
+	private static final String REFRESH_SCHEMA = "-refreshSchema"; //$NON-NLS-1$
+	private static final String STATISTICS = "-statistics"; //$NON-NLS-1$
+	private static final String STREAMING = "-streaming"; //$NON-NLS-1$
+	private static final String MANIFEST = "-manifest"; //$NON-NLS-1$
+	private static final String DAEMON = "-daemon"; //$NON-NLS-1$
+	private static final String POLL_SCHEMA = "-pollSchema"; //$NON-NLS-1$
+	private static final String TRIGGER = "-trigger"; //$NON-NLS-1$
 	private static final String HELP_1 = "-?"; //$NON-NLS-1$
 	private static final String HELP_2 = "-h"; //$NON-NLS-1$
 
@@ -65,6 +80,11 @@ public class ShellRunner {
 			return; // only to satisfy compiler, never returns
 		}
 
+		if (arguments.containsKey(TRIGGER)) {
+			trigger(arguments.get(TRIGGER));
+			return;
+		}
+
 		if (!arguments.containsKey(CONFIG_FILE)) {// ûļ Ϣ
 			writeLine(getString("RuntimeError.0")); //$NON-NLS-1$
 			return;
@@ -101,6 +121,12 @@ public class ShellRunner {
 			}
 		}
 
+		String filesSummary = null;
+		if (arguments.containsKey(DAEMON)) {
+			runDaemon(arguments, configurationFile, contexts, fullyqualifiedTables);
+			return;
+		}
+
 		try {
 			ConfigurationParser cp = new ConfigurationParser(warnings);
 			Configuration config = cp.parseConfiguration(configurationFile);//  ļ
@@ -109,10 +135,34 @@ public class ShellRunner {
 			DefaultShellCallback shellCallback = new DefaultShellCallback(arguments.containsKey(OVERWRITE));
 
 			MyBatisGenerator myBatisGenerator = new MyBatisGenerator(config, shellCallback, warnings);
+			myBatisGenerator.setOffline(arguments.containsKey(OFFLINE));
+			myBatisGenerator.setRefreshSchema(arguments.containsKey(REFRESH_SCHEMA));
+			myBatisGenerator.setStreaming(arguments.containsKey(STREAMING));
+			if (arguments.containsKey(MANIFEST)) {
+				myBatisGenerator.setManifestFile(new File(arguments.get(MANIFEST)));
+			}
 
 			ProgressCallback progressCallback = arguments.containsKey(VERBOSE) ? new VerboseProgressCallback() : null;
 
+			GenerationStatistics statistics = null;
+			if (arguments.containsKey(STATISTICS)) {
+				statistics = new GenerationStatistics();
+				myBatisGenerator.setInstrumentationCallback(statistics);
+			}
+
 			myBatisGenerator.generate(progressCallback, contexts, fullyqualifiedTables);
+			filesSummary = getString("Progress.19", //$NON-NLS-1$
+					Integer.toString(myBatisGenerator.getWrittenFileCount()),
+					Integer.toString(myBatisGenerator.getUnchangedFileCount()));
+
+			if (statistics != null) {
+				Writer writer = new OutputStreamWriter(new FileOutputStream(arguments.get(STATISTICS)), "UTF-8"); //$NON-NLS-1$
+				try {
+					statistics.writeJson(writer);
+				} finally {
+					writer.close();
+				}
+			}
 
 		} catch (XMLParserException e) {
 			writeLine(getString("Progress.3")); //$NON-NLS-1$
@@ -143,6 +193,10 @@ public class ShellRunner {
 			writeLine(warning);
 		}
 
+		if (filesSummary != null) {
+			writeLine(filesSummary);
+		}
+
 		if (warnings.size() == 0) {
 			writeLine(getString("Progress.4")); //$NON-NLS-1$
 		} else {
@@ -163,6 +217,84 @@ public class ShellRunner {
 		}
 	}
 
+	/**
+	 * Runs the generation daemon until the process is ended.
+	 */
+	private static void runDaemon(Map<String, String> arguments, File configurationFile, Set<String> contexts, Set<String> fullyqualifiedTables) {
+		int port = parseNumber(DAEMON, arguments.get(DAEMON));
+		int pollSeconds = arguments.containsKey(POLL_SCHEMA) ? parseNumber(POLL_SCHEMA, arguments.get(POLL_SCHEMA)) : 0;
+		if (port < 0 || pollSeconds < 0) {
+			System.exit(-1);
+		}
+
+		GenerationDaemon daemon = new GenerationDaemon(configurationFile, arguments.containsKey(OVERWRITE));
+		daemon.setContextIds(contexts);
+		daemon.setFullyQualifiedTableNames(fullyqualifiedTables);
+		daemon.setStreaming(arguments.containsKey(STREAMING));
+		if (arguments.containsKey(MANIFEST)) {
+			daemon.setManifestFile(new File(arguments.get(MANIFEST)));
+		}
+		daemon.setSchemaPollInterval(pollSeconds * 1000L);
+
+		try {
+			daemon.run(port);
+		} catch (IOException e) {
+			writeLine(getString("RuntimeError.31", Integer.toString(port), e.getMessage())); //$NON-NLS-1$
+			System.exit(-1);
+		}
+	}
+
+	/**
+	 * Asks a running generation daemon to generate, and writes its output.
+	 */
+	private static void trigger(String portArgument) {
+		int port = parseNumber(TRIGGER, portArgument);
+		if (port < 0) {
+			System.exit(-1);
+		}
+
+		try {
+			Socket socket = new Socket(InetAddress.getByName(null), port);
+			try {
+				Writer out = new OutputStreamWriter(socket.getOutputStream(), "UTF-8"); //$NON-NLS-1$
+				out.write(GenerationDaemon.GENERATE);
+				out.write('\n');
+				out.flush();
+
+				BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), "UTF-8")); //$NON-NLS-1$
+				String line;
+				while ((line = in.readLine()) != null) {
+					writeLine(line);
+				}
+			} finally {
+				socket.close();
+			}
+		} catch (IOException e) {
+			writeLine(getString("RuntimeError.28", portArgument, e.getMessage())); //$NON-NLS-1$
+			System.exit(-1);
+		}
+	}
+
+	/**
+	 * Parses a non negative number argument.
+	 * 
+	 * @return the number, or -1 if it is invalid
+	 */
+	private static int parseNumber(String argument, String value) {
+		try {
+			int answer = Integer.parseInt(value.trim());
+			if (answer >= 0) {
+				return answer;
+			}
+		} catch (NumberFormatException e) {
+			// reported below
+			;
+		}
+
+		writeLine(getString("RuntimeError.29", argument, value)); //$NON-NLS-1$
+		return -1;
+	}
+
 	private static void writeLine(String message) {
 		System.out.println(message);
 	}
@@ -195,6 +327,12 @@ public class ShellRunner {
 				arguments.put(HELP_1, "Y"); //$NON-NLS-1$
 			} else if (FORCE_JAVA_LOGGING.equalsIgnoreCase(args[i])) {
 				LogFactory.forceJavaLogging();
+			} else if (OFFLINE.equalsIgnoreCase(args[i])) {
+				arguments.put(OFFLINE, "Y"); //$NON-NLS-1$
+			} else if (REFRESH_SCHEMA.equalsIgnoreCase(args[i])) {
+				arguments.put(REFRESH_SCHEMA, "Y"); //$NON-NLS-1$
+			} else if (STREAMING.equalsIgnoreCase(args[i])) {
+				arguments.put(STREAMING, "Y"); //$NON-NLS-1$
 			} else if (CONTEXT_IDS.equalsIgnoreCase(args[i])) {
 				if ((i + 1) < args.length) {
 					arguments.put(CONTEXT_IDS, args[i + 1]);
@@ -202,6 +340,41 @@ public class ShellRunner {
 					errors.add(getString("RuntimeError.19", CONTEXT_IDS)); //$NON-NLS-1$
 				}
 				i++;
+			} else if (STATISTICS.equalsIgnoreCase(args[i])) {
+				if ((i + 1) < args.length) {
+					arguments.put(STATISTICS, args[i + 1]);
+				} else {
+					errors.add(getString("RuntimeError.19", STATISTICS)); //$NON-NLS-1$
+				}
+				i++;
+			} else if (DAEMON.equalsIgnoreCase(args[i])) {
+				if ((i + 1) < args.length) {
+					arguments.put(DAEMON, args[i + 1]);
+				} else {
+					errors.add(getString("RuntimeError.19", DAEMON)); //$NON-NLS-1$
+				}
+				i++;
+			} else if (POLL_SCHEMA.equalsIgnoreCase(args[i])) {
+				if ((i + 1) < args.length) {
+					arguments.put(POLL_SCHEMA, args[i + 1]);
+				} else {
+					errors.add(getString("RuntimeError.19", POLL_SCHEMA)); //$NON-NLS-1$
+				}
+				i++;
+			} else if (TRIGGER.equalsIgnoreCase(args[i])) {
+				if ((i + 1) < args.length) {
+					arguments.put(TRIGGER, args[i + 1]);
+				} else {
+					errors.add(getString("RuntimeError.19", TRIGGER)); //$NON-NLS-1$
+				}
+				i++;
+			} else if (MANIFEST.equalsIgnoreCase(args[i])) {
+				if ((i + 1) < args.length) {
+					arguments.put(MANIFEST, args[i + 1]);
+				} else {
+					errors.add(getString("RuntimeError.19", MANIFEST)); //$NON-NLS-1$
+				}
+				i++;
 			} else if (TABLES.equalsIgnoreCase(args[i])) {
 				if ((i + 1) < args.length) {
 					arguments.put(TABLES, args[i + 1]);
@@ -214,6 +387,20 @@ public class ShellRunner {
 			}
 		}
 
+		if (arguments.containsKey(OFFLINE) && arguments.containsKey(REFRESH_SCHEMA)) {
+			errors.add(getString("RuntimeError.26", OFFLINE, REFRESH_SCHEMA)); //$NON-NLS-1$
+		}
+
+		// the daemon has no offline, schema refresh or statistics mode, so
+		// these options would be silently ignored
+		if (arguments.containsKey(DAEMON)) {
+			for (String option : new String[] { OFFLINE, REFRESH_SCHEMA, STATISTICS }) {
+				if (arguments.containsKey(option)) {
+					errors.add(getString("RuntimeError.26", DAEMON, option)); //$NON-NLS-1$
+				}
+			}
+		}
+
 		if (!errors.isEmpty()) {
 			for (String error : errors) {
 				writeLine(error);
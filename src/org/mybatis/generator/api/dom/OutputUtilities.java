@@ -15,8 +15,14 @@
  */
 package org.mybatis.generator.api.dom;
 
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
 
@@ -38,6 +44,26 @@ public class OutputUtilities {
         lineSeparator = ls;
     }
 
+    /** The result of {@link #overridesFormatting} by class and method. */
+    private static final ConcurrentMap<List<Object>, Boolean> overriddenFormatting =
+            new ConcurrentHashMap<List<Object>, Boolean>();
+
+    /**
+     * Writes formatted content to an output.
+     */
+    public interface Renderer {
+
+        /**
+         * Writes the formatted content.
+         *
+         * @param out
+         *            the output
+         * @throws IOException
+         *             if the output cannot be written
+         */
+        void render(Appendable out) throws IOException;
+    }
+
     /**
      * Utility class - no instances allowed.
      */
@@ -85,6 +111,112 @@ public class OutputUtilities {
         sb.append(lineSeparator);
     }
 
+    /**
+     * Utility method that indents the output by the default amount for Java
+     * (four spaces per indent level).
+     * 
+     * @param out
+     *            the output to append to
+     * @param indentLevel
+     *            the required indent level
+     * @throws IOException
+     *             if the output cannot be written
+     */
+    public static void javaIndent(Appendable out, int indentLevel)
+            throws IOException {
+        for (int i = 0; i < indentLevel; i++) {
+            out.append("    "); //$NON-NLS-1$
+        }
+    }
+
+    /**
+     * Utility method that indents the output by the default amount for XML
+     * (two spaces per indent level).
+     * 
+     * @param out
+     *            the output to append to
+     * @param indentLevel
+     *            the required indent level
+     * @throws IOException
+     *             if the output cannot be written
+     */
+    public static void xmlIndent(Appendable out, int indentLevel)
+            throws IOException {
+        for (int i = 0; i < indentLevel; i++) {
+            out.append("  "); //$NON-NLS-1$
+        }
+    }
+
+    /**
+     * Utility method. Adds a newline character to an output.
+     * 
+     * @param out
+     *            the output to be appended to
+     * @throws IOException
+     *             if the output cannot be written
+     */
+    public static void newLine(Appendable out) throws IOException {
+        out.append(lineSeparator);
+    }
+
+    /**
+     * Renders formatted content into a string. This is how the
+     * getFormattedContent methods of the DOM classes call their render
+     * methods: a StringBuilder does not throw IOException.
+     *
+     * @param renderer
+     *            the renderer
+     * @return the rendered content
+     */
+    public static String render(Renderer renderer) {
+        StringBuilder sb = new StringBuilder();
+        try {
+            renderer.render(sb);
+        } catch (IOException e) {
+            // only a renderer ignoring its output can get here
+            throw new IllegalStateException(e);
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Checks if a subclass of a DOM class overrides a getFormattedContent
+     * method of the DOM class. The DOM classes render their children straight
+     * into the output, so they use this check to call the getFormattedContent
+     * method of a plugin subclass instead of skipping it.
+     *
+     * @param type
+     *            the class of the rendered object
+     * @param domClass
+     *            the DOM class declaring the method
+     * @param parameterTypes
+     *            the parameter types of the getFormattedContent method
+     * @return true if the method is overridden
+     */
+    public static boolean overridesFormatting(Class<?> type,
+            Class<?> domClass, Class<?>... parameterTypes) {
+        if (type == domClass) {
+            return false;
+        }
+
+        List<Object> key = Arrays.asList(new Object[] { type, domClass,
+                Arrays.asList(parameterTypes) });
+        Boolean answer = overriddenFormatting.get(key);
+        if (answer == null) {
+            try {
+                Method method = type.getMethod("getFormattedContent", parameterTypes); //$NON-NLS-1$
+                answer = method.getDeclaringClass() != domClass
+                        && domClass.isAssignableFrom(method.getDeclaringClass());
+            } catch (NoSuchMethodException e) {
+                answer = Boolean.FALSE;
+            }
+            overriddenFormatting.put(key, answer);
+        }
+
+        return answer.booleanValue();
+    }
+
     /**
      * returns a unique set of "import xxx;" Strings for the set of types.
      *
@@ -15,6 +15,8 @@
  */
 package org.mybatis.generator.api.dom.java;
 
+import java.io.IOException;
+
 import org.mybatis.generator.api.dom.OutputUtilities;
 
 /**
@@ -93,9 +95,33 @@ public class Field extends JavaElement {
         this.initializationString = initializationString;
     }
 
-    public String getFormattedContent(int indentLevel) {
-        StringBuilder sb = new StringBuilder();
+    public String getFormattedContent(final int indentLevel) {
+        return OutputUtilities.render(new OutputUtilities.Renderer() {
+            public void render(Appendable out) throws IOException {
+                renderContent(out, indentLevel);
+            }
+        });
+    }
+
+    /**
+     * Writes the formatted content to an output.
+     *
+     * @param sb
+     *            the output
+     * @param indentLevel
+     *            the indent level
+     * @throws IOException
+     *             if the output cannot be written
+     */
+    public void render(Appendable sb, int indentLevel) throws IOException {
+        if (OutputUtilities.overridesFormatting(getClass(), Field.class, int.class)) {
+            sb.append(getFormattedContent(indentLevel));
+        } else {
+            renderContent(sb, indentLevel);
+        }
+    }
 
+    private void renderContent(Appendable sb, int indentLevel) throws IOException {
         addFormattedJavadoc(sb, indentLevel);
         addFormattedAnnotations(sb, indentLevel);
 
@@ -129,8 +155,6 @@ public class Field extends JavaElement {
         }
 
         sb.append(';');
-
-        return sb.toString();
     }
 
     public boolean isTransient() {
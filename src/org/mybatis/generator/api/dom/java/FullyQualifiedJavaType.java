@@ -19,8 +19,11 @@ import static org.mybatis.generator.internal.util.StringUtility.stringHasValue;
 import static org.mybatis.generator.internal.util.messages.Messages.getString;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.StringTokenizer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * The Class FullyQualifiedJavaType.
@@ -33,33 +36,13 @@ public class FullyQualifiedJavaType implements
     /** The Constant JAVA_LANG. */
     private static final String JAVA_LANG = "java.lang"; //$NON-NLS-1$
     
-    /** The int instance. */
-    private static FullyQualifiedJavaType intInstance = null;
-    
-    /** The string instance. */
-    private static FullyQualifiedJavaType stringInstance = null;
-    
-    /** The boolean primitive instance. */
-    private static FullyQualifiedJavaType booleanPrimitiveInstance = null;
-    
-    /** The object instance. */
-    private static FullyQualifiedJavaType objectInstance = null;
-    
-    /** The date instance. */
-    private static FullyQualifiedJavaType dateInstance = null;
-    
-    /** The criteria instance. */
-    private static FullyQualifiedJavaType criteriaInstance = null;
-    
-    /** The generated criteria instance. */
-    private static FullyQualifiedJavaType generatedCriteriaInstance = null;
-    // add by suman start
-    private static FullyQualifiedJavaType columnContainerInstance = null;
-    
-    private static FullyQualifiedJavaType stringBufferInstance = null;
+    /**
+     * The interned types by type specification. The generators parse the same
+     * few type specifications over and over, on several threads.
+     */
+    private static final ConcurrentMap<String, FullyQualifiedJavaType> internedTypes =
+            new ConcurrentHashMap<String, FullyQualifiedJavaType>();
 
-	private static FullyQualifiedJavaType columnContainerBaseInstance = null;
-    // add by suman end
     /** The short name without any generic arguments. */
     private String baseShortName;
 
@@ -94,6 +77,22 @@ public class FullyQualifiedJavaType implements
     /** The extends bounded wildcard. */
     private boolean extendsBoundedWildcard;
 
+    /** True for interned types, which cannot be changed. */
+    private boolean immutable;
+
+    // The following values are calculated on first use, and forgotten when a
+    // type argument is added. Interned types calculate them before they are
+    // shared.
+
+    /** The fully qualified name, including any generic type arguments. */
+    private String fullyQualifiedName;
+
+    /** The short name, including any generic type arguments. */
+    private String shortName;
+
+    /** The import list. */
+    private List<String> importList;
+
     /**
      * Use this constructor to construct a generic type with the specified type parameters.
      *
@@ -106,6 +105,40 @@ public class FullyQualifiedJavaType implements
         parse(fullTypeSpecification);
     }
 
+    /**
+     * Returns the shared, immutable type for a type specification. The
+     * specification is parsed only the first time it is requested. Use the
+     * constructor, or one of the getNewXXXInstance methods, for a type that
+     * type arguments will be added to.
+     *
+     * <p>This changes the API of MyBatis Generator 1.3.2, where the generators
+     * and the type resolver created their types with the constructor. The
+     * types they hand to plugins, and the types of getIntInstance,
+     * getStringInstance and the other shared instances, are interned now, and
+     * addTypeArgument throws UnsupportedOperationException on them. The type
+     * arguments of an interned type are interned as well.
+     *
+     * @param fullTypeSpecification
+     *            the full type specification
+     * @return the interned type
+     */
+    public static FullyQualifiedJavaType getInstance(String fullTypeSpecification) {
+        FullyQualifiedJavaType answer = internedTypes.get(fullTypeSpecification);
+        if (answer == null) {
+            FullyQualifiedJavaType type = new FullyQualifiedJavaType(fullTypeSpecification);
+            type.immutable = true;
+            type.getFullyQualifiedName();
+            type.getShortName();
+            type.getImportList();
+            answer = internedTypes.putIfAbsent(fullTypeSpecification, type);
+            if (answer == null) {
+                answer = type;
+            }
+        }
+
+        return answer;
+    }
+
     /**
      * Checks if is explicitly imported.
      *
@@ -121,6 +154,19 @@ public class FullyQualifiedJavaType implements
      * @return Returns the fullyQualifiedName.
      */
     public String getFullyQualifiedName() {
+        if (fullyQualifiedName == null) {
+            fullyQualifiedName = calculateFullyQualifiedName();
+        }
+
+        return fullyQualifiedName;
+    }
+
+    /**
+     * Calculates the fully qualified name.
+     *
+     * @return the fully qualified name
+     */
+    private String calculateFullyQualifiedName() {
         StringBuilder sb = new StringBuilder();
         if (wildcardType) {
             sb.append('?');
@@ -159,9 +205,22 @@ public class FullyQualifiedJavaType implements
      * Returns a list of Strings that are the fully qualified names of this type, and any generic type argument
      * associated with this type.
      *
-     * @return the import list
+     * @return the import list, which cannot be changed
      */
     public List<String> getImportList() {
+        if (importList == null) {
+            importList = Collections.unmodifiableList(calculateImportList());
+        }
+
+        return importList;
+    }
+
+    /**
+     * Calculates the import list.
+     *
+     * @return the import list
+     */
+    private List<String> calculateImportList() {
         List<String> answer = new ArrayList<String>();
         if (isExplicitlyImported()) {
             int index = baseShortName.indexOf('.');
@@ -200,6 +259,19 @@ public class FullyQualifiedJavaType implements
      * @return Returns the shortName - including any type arguments.
      */
     public String getShortName() {
+        if (shortName == null) {
+            shortName = calculateShortName();
+        }
+
+        return shortName;
+    }
+
+    /**
+     * Calculates the short name.
+     *
+     * @return the short name
+     */
+    private String calculateShortName() {
         StringBuilder sb = new StringBuilder();
         if (wildcardType) {
             sb.append('?');
@@ -261,6 +333,7 @@ public class FullyQualifiedJavaType implements
      */
     @Override
     public int hashCode() {
+        // the name is calculated once, and the string remembers its hash code
         return getFullyQualifiedName().hashCode();
     }
 
@@ -298,11 +371,7 @@ public class FullyQualifiedJavaType implements
      * @return the int instance
      */
     public static final FullyQualifiedJavaType getIntInstance() {
-        if (intInstance == null) {
-            intInstance = new FullyQualifiedJavaType("int"); //$NON-NLS-1$
-        }
-
-        return intInstance;
+        return getInstance("int"); //$NON-NLS-1$
     }
 
     /**
@@ -376,18 +445,10 @@ public class FullyQualifiedJavaType implements
      * @return the string instance
      */
     public static final FullyQualifiedJavaType getStringInstance() {
-        if (stringInstance == null) {
-            stringInstance = new FullyQualifiedJavaType("java.lang.String"); //$NON-NLS-1$
-        }
-
-        return stringInstance;
+        return getInstance("java.lang.String"); //$NON-NLS-1$
     }
     public static final FullyQualifiedJavaType getStringBufferInstance() {
-        if (stringBufferInstance == null) {
-        	stringBufferInstance = new FullyQualifiedJavaType("java.lang.StringBuffer"); //$NON-NLS-1$
-        }
-
-        return stringBufferInstance;
+        return getInstance("java.lang.StringBuffer"); //$NON-NLS-1$
     }
 
     /**
@@ -396,11 +457,7 @@ public class FullyQualifiedJavaType implements
      * @return the boolean primitive instance
      */
     public static final FullyQualifiedJavaType getBooleanPrimitiveInstance() {
-        if (booleanPrimitiveInstance == null) {
-            booleanPrimitiveInstance = new FullyQualifiedJavaType("boolean"); //$NON-NLS-1$
-        }
-
-        return booleanPrimitiveInstance;
+        return getInstance("boolean"); //$NON-NLS-1$
     }
 
     /**
@@ -409,11 +466,7 @@ public class FullyQualifiedJavaType implements
      * @return the object instance
      */
     public static final FullyQualifiedJavaType getObjectInstance() {
-        if (objectInstance == null) {
-            objectInstance = new FullyQualifiedJavaType("java.lang.Object"); //$NON-NLS-1$
-        }
-
-        return objectInstance;
+        return getInstance("java.lang.Object"); //$NON-NLS-1$
     }
 
     /**
@@ -422,11 +475,7 @@ public class FullyQualifiedJavaType implements
      * @return the date instance
      */
     public static final FullyQualifiedJavaType getDateInstance() {
-        if (dateInstance == null) {
-            dateInstance = new FullyQualifiedJavaType("java.util.Date"); //$NON-NLS-1$
-        }
-
-        return dateInstance;
+        return getInstance("java.util.Date"); //$NON-NLS-1$
     }
 
     /**
@@ -435,11 +484,7 @@ public class FullyQualifiedJavaType implements
      * @return the criteria instance
      */
     public static final FullyQualifiedJavaType getCriteriaInstance() {
-        if (criteriaInstance == null) {
-            criteriaInstance = new FullyQualifiedJavaType("Criteria"); //$NON-NLS-1$
-        }
-
-        return criteriaInstance;
+        return getInstance("Criteria"); //$NON-NLS-1$
     }
 
 
@@ -449,31 +494,16 @@ public class FullyQualifiedJavaType implements
      * @return the generated criteria instance
      */
     public static final FullyQualifiedJavaType getGeneratedCriteriaInstance() {
-        if (generatedCriteriaInstance == null) {
-            generatedCriteriaInstance = new FullyQualifiedJavaType(
-                    "GeneratedCriteria"); //$NON-NLS-1$
-        }
-
-        return generatedCriteriaInstance;
+        return getInstance("GeneratedCriteria"); //$NON-NLS-1$
     }
 
     // add by suman start
     public static final FullyQualifiedJavaType getColumnContainerInstance() {
-        if (columnContainerInstance == null) {
-        	columnContainerInstance = new FullyQualifiedJavaType(
-                    "ColumnContainer"); //$NON-NLS-1$
-        }
-
-        return columnContainerInstance;
+        return getInstance("ColumnContainer"); //$NON-NLS-1$
     }
 
     public static final FullyQualifiedJavaType getColumnContainerBaseInstance() {
-        if (columnContainerBaseInstance == null) {
-        	columnContainerBaseInstance = new FullyQualifiedJavaType(
-                    "ColumnContainerBase"); //$NON-NLS-1$
-        }
-
-        return columnContainerBaseInstance;
+        return getInstance("ColumnContainerBase"); //$NON-NLS-1$
     }
     // add by suman end
 
@@ -487,13 +517,24 @@ public class FullyQualifiedJavaType implements
     }
 
     /**
-     * Adds the type argument.
+     * Adds the type argument. The names of this type are calculated again,
+     * but a type argument should not be changed after it has been added.
      *
      * @param type
      *            the type
+     * @throws UnsupportedOperationException
+     *             if this is an interned type
      */
     public void addTypeArgument(FullyQualifiedJavaType type) {
+        if (immutable) {
+            throw new UnsupportedOperationException(getString(
+                    "RuntimeError.30", getFullyQualifiedName())); //$NON-NLS-1$
+        }
+
         typeArguments.add(type);
+        fullyQualifiedName = null;
+        shortName = null;
+        importList = null;
     }
 
     /**
@@ -631,8 +672,7 @@ public class FullyQualifiedJavaType implements
                 openCount--;
             } else if (",".equals(token)) { //$NON-NLS-1$
                 if (openCount == 0) {
-                    typeArguments
-                            .add(new FullyQualifiedJavaType(sb.toString()));
+                    typeArguments.add(getInstance(sb.toString()));
                     sb.setLength(0);
                 } else {
                     sb.append(token);
@@ -649,7 +689,7 @@ public class FullyQualifiedJavaType implements
 
         String finalType = sb.toString();
         if (stringHasValue(finalType)) {
-            typeArguments.add(new FullyQualifiedJavaType(finalType));
+            typeArguments.add(getInstance(finalType));
         }
     }
 
@@ -15,6 +15,7 @@
  */
 package org.mybatis.generator.api.dom.java;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -74,9 +75,33 @@ public class InitializationBlock {
         javaDocLines.add(javaDocLine);
     }
     
-    public String getFormattedContent(int indentLevel) {
-        StringBuilder sb = new StringBuilder();
+    public String getFormattedContent(final int indentLevel) {
+        return OutputUtilities.render(new OutputUtilities.Renderer() {
+            public void render(Appendable out) throws IOException {
+                renderContent(out, indentLevel);
+            }
+        });
+    }
+
+    /**
+     * Writes the formatted content to an output.
+     *
+     * @param sb
+     *            the output
+     * @param indentLevel
+     *            the indent level
+     * @throws IOException
+     *             if the output cannot be written
+     */
+    public void render(Appendable sb, int indentLevel) throws IOException {
+        if (OutputUtilities.overridesFormatting(getClass(), InitializationBlock.class, int.class)) {
+            sb.append(getFormattedContent(indentLevel));
+        } else {
+            renderContent(sb, indentLevel);
+        }
+    }
 
+    private void renderContent(Appendable sb, int indentLevel) throws IOException {
         for (String javaDocLine : javaDocLines) {
             OutputUtilities.javaIndent(sb, indentLevel);
             sb.append(javaDocLine);
@@ -127,7 +152,5 @@ public class InitializationBlock {
         OutputUtilities.newLine(sb);
         OutputUtilities.javaIndent(sb, indentLevel);
         sb.append('}');
-
-        return sb.toString();
     }
 }
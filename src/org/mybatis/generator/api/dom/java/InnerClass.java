@@ -15,6 +15,7 @@
  */
 package org.mybatis.generator.api.dom.java;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -82,7 +83,7 @@ public class InnerClass extends JavaElement {
      *            the type name
      */
     public InnerClass(String typeName) {
-        this(new FullyQualifiedJavaType(typeName));
+        this(FullyQualifiedJavaType.getInstance(typeName));
     }
 
     /**
@@ -130,7 +131,7 @@ public class InnerClass extends JavaElement {
      *            the new super class
      */
     public void setSuperClass(String superClassType) {
-        this.superClass = new FullyQualifiedJavaType(superClassType);
+        this.superClass = FullyQualifiedJavaType.getInstance(superClassType);
     }
 
     /**
@@ -197,9 +198,34 @@ public class InnerClass extends JavaElement {
      *            the indent level
      * @return the formatted content
      */
-    public String getFormattedContent(int indentLevel) {
-        StringBuilder sb = new StringBuilder();
+    public String getFormattedContent(final int indentLevel) {
+        return OutputUtilities.render(new OutputUtilities.Renderer() {
+            public void render(Appendable out) throws IOException {
+                renderContent(out, indentLevel);
+            }
+        });
+    }
 
+    /**
+     * Writes the formatted content to an output, without building a string
+     * for every nested element.
+     *
+     * @param sb
+     *            the output
+     * @param indentLevel
+     *            the indent level
+     * @throws IOException
+     *             if the output cannot be written
+     */
+    public void render(Appendable sb, int indentLevel) throws IOException {
+        if (OutputUtilities.overridesFormatting(getClass(), InnerClass.class, int.class)) {
+            sb.append(getFormattedContent(indentLevel));
+        } else {
+            renderContent(sb, indentLevel);
+        }
+    }
+
+    private void renderContent(Appendable sb, int indentLevel) throws IOException {
         addFormattedJavadoc(sb, indentLevel);
         addFormattedAnnotations(sb, indentLevel);
 
@@ -248,7 +274,7 @@ public class InnerClass extends JavaElement {
         while (fldIter.hasNext()) {
             OutputUtilities.newLine(sb);
             Field field = fldIter.next();
-            sb.append(field.getFormattedContent(indentLevel));
+            field.render(sb, indentLevel);
             if (fldIter.hasNext()) {
                 OutputUtilities.newLine(sb);
             }
@@ -262,7 +288,7 @@ public class InnerClass extends JavaElement {
         while (blkIter.hasNext()) {
             OutputUtilities.newLine(sb);
             InitializationBlock initializationBlock = blkIter.next();
-            sb.append(initializationBlock.getFormattedContent(indentLevel));
+            initializationBlock.render(sb, indentLevel);
             if (blkIter.hasNext()) {
                 OutputUtilities.newLine(sb);
             }
@@ -276,7 +302,7 @@ public class InnerClass extends JavaElement {
         while (mtdIter.hasNext()) {
             OutputUtilities.newLine(sb);
             Method method = mtdIter.next();
-            sb.append(method.getFormattedContent(indentLevel, false));
+            method.render(sb, indentLevel, false);
             if (mtdIter.hasNext()) {
                 OutputUtilities.newLine(sb);
             }
@@ -289,7 +315,7 @@ public class InnerClass extends JavaElement {
         while (icIter.hasNext()) {
             OutputUtilities.newLine(sb);
             InnerClass innerClass = icIter.next();
-            sb.append(innerClass.getFormattedContent(indentLevel));
+            innerClass.render(sb, indentLevel);
             if (icIter.hasNext()) {
                 OutputUtilities.newLine(sb);
             }
@@ -303,7 +329,7 @@ public class InnerClass extends JavaElement {
         while (ieIter.hasNext()) {
             OutputUtilities.newLine(sb);
             InnerEnum innerEnum = ieIter.next();
-            sb.append(innerEnum.getFormattedContent(indentLevel));
+            innerEnum.render(sb, indentLevel);
             if (ieIter.hasNext()) {
                 OutputUtilities.newLine(sb);
             }
@@ -313,8 +339,6 @@ public class InnerClass extends JavaElement {
         OutputUtilities.newLine(sb);
         OutputUtilities.javaIndent(sb, indentLevel);
         sb.append('}');
-
-        return sb.toString();
     }
 
     /**
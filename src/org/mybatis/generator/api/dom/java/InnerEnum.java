@@ -16,6 +16,7 @@
 
 package org.mybatis.generator.api.dom.java;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -153,9 +154,34 @@ public class InnerEnum extends JavaElement {
      *            the indent level
      * @return the formatted content
      */
-    public String getFormattedContent(int indentLevel) {
-        StringBuilder sb = new StringBuilder();
+    public String getFormattedContent(final int indentLevel) {
+        return OutputUtilities.render(new OutputUtilities.Renderer() {
+            public void render(Appendable out) throws IOException {
+                renderContent(out, indentLevel);
+            }
+        });
+    }
 
+    /**
+     * Writes the formatted content to an output, without building a string
+     * for every nested element.
+     *
+     * @param sb
+     *            the output
+     * @param indentLevel
+     *            the indent level
+     * @throws IOException
+     *             if the output cannot be written
+     */
+    public void render(Appendable sb, int indentLevel) throws IOException {
+        if (OutputUtilities.overridesFormatting(getClass(), InnerEnum.class, int.class)) {
+            sb.append(getFormattedContent(indentLevel));
+        } else {
+            renderContent(sb, indentLevel);
+        }
+    }
+
+    private void renderContent(Appendable sb, int indentLevel) throws IOException {
         addFormattedJavadoc(sb, indentLevel);
         addFormattedAnnotations(sb, indentLevel);
 
@@ -207,7 +233,7 @@ public class InnerEnum extends JavaElement {
         while (fldIter.hasNext()) {
             OutputUtilities.newLine(sb);
             Field field = fldIter.next();
-            sb.append(field.getFormattedContent(indentLevel));
+            field.render(sb, indentLevel);
             if (fldIter.hasNext()) {
                 OutputUtilities.newLine(sb);
             }
@@ -221,7 +247,7 @@ public class InnerEnum extends JavaElement {
         while (mtdIter.hasNext()) {
             OutputUtilities.newLine(sb);
             Method method = mtdIter.next();
-            sb.append(method.getFormattedContent(indentLevel, false));
+            method.render(sb, indentLevel, false);
             if (mtdIter.hasNext()) {
                 OutputUtilities.newLine(sb);
             }
@@ -235,7 +261,7 @@ public class InnerEnum extends JavaElement {
         while (icIter.hasNext()) {
             OutputUtilities.newLine(sb);
             InnerClass innerClass = icIter.next();
-            sb.append(innerClass.getFormattedContent(indentLevel));
+            innerClass.render(sb, indentLevel);
             if (icIter.hasNext()) {
                 OutputUtilities.newLine(sb);
             }
@@ -249,7 +275,7 @@ public class InnerEnum extends JavaElement {
         while (ieIter.hasNext()) {
             OutputUtilities.newLine(sb);
             InnerEnum innerEnum = ieIter.next();
-            sb.append(innerEnum.getFormattedContent(indentLevel));
+            innerEnum.render(sb, indentLevel);
             if (ieIter.hasNext()) {
                 OutputUtilities.newLine(sb);
             }
@@ -259,8 +285,6 @@ public class InnerEnum extends JavaElement {
         OutputUtilities.newLine(sb);
         OutputUtilities.javaIndent(sb, indentLevel);
         sb.append('}');
-
-        return sb.toString();
     }
 
     /**
@@ -20,6 +20,7 @@ import static org.mybatis.generator.api.dom.OutputUtilities.javaIndent;
 import static org.mybatis.generator.api.dom.OutputUtilities.newLine;
 import static org.mybatis.generator.internal.util.StringUtility.stringHasValue;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
@@ -28,6 +29,8 @@ import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
 
+import org.mybatis.generator.api.dom.OutputUtilities;
+
 /**
  * The Class Interface.
  *
@@ -76,7 +79,7 @@ public class Interface extends JavaElement implements CompilationUnit {
      *            the type
      */
     public Interface(String type) {
-        this(new FullyQualifiedJavaType(type));
+        this(FullyQualifiedJavaType.getInstance(type));
     }
 
     /* (non-Javadoc)
@@ -100,8 +103,31 @@ public class Interface extends JavaElement implements CompilationUnit {
      * @see org.mybatis.generator.api.dom.java.CompilationUnit#getFormattedContent()
      */
     public String getFormattedContent() {
-        StringBuilder sb = new StringBuilder();
+        return OutputUtilities.render(new OutputUtilities.Renderer() {
+            public void render(Appendable out) throws IOException {
+                renderContent(out);
+            }
+        });
+    }
+
+    /**
+     * Writes the formatted content to an output, without building a string
+     * for every nested element.
+     *
+     * @param sb
+     *            the output
+     * @throws IOException
+     *             if the output cannot be written
+     */
+    public void render(Appendable sb) throws IOException {
+        if (OutputUtilities.overridesFormatting(getClass(), Interface.class)) {
+            sb.append(getFormattedContent());
+        } else {
+            renderContent(sb);
+        }
+    }
 
+    private void renderContent(Appendable sb) throws IOException {
         for (String commentLine : fileCommentLines) {
             sb.append(commentLine);
             newLine(sb);
@@ -176,7 +202,7 @@ public class Interface extends JavaElement implements CompilationUnit {
         while (mtdIter.hasNext()) {
             newLine(sb);
             Method method = mtdIter.next();
-            sb.append(method.getFormattedContent(indentLevel, true));
+            method.render(sb, indentLevel, true);
             if (mtdIter.hasNext()) {
                 newLine(sb);
             }
@@ -186,8 +212,6 @@ public class Interface extends JavaElement implements CompilationUnit {
         newLine(sb);
         javaIndent(sb, indentLevel);
         sb.append('}');
-
-        return sb.toString();
     }
 
     /**
@@ -15,6 +15,7 @@
  */
 package org.mybatis.generator.api.dom.java;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -161,9 +162,35 @@ public class Method extends JavaElement {
      *            the interface method
      * @return the formatted content
      */
-    public String getFormattedContent(int indentLevel, boolean interfaceMethod) {
-        StringBuilder sb = new StringBuilder();
+    public String getFormattedContent(final int indentLevel, final boolean interfaceMethod) {
+        return OutputUtilities.render(new OutputUtilities.Renderer() {
+            public void render(Appendable out) throws IOException {
+                renderContent(out, indentLevel, interfaceMethod);
+            }
+        });
+    }
+
+    /**
+     * Writes the formatted content to an output.
+     *
+     * @param sb
+     *            the output
+     * @param indentLevel
+     *            the indent level
+     * @param interfaceMethod
+     *            the interface method
+     * @throws IOException
+     *             if the output cannot be written
+     */
+    public void render(Appendable sb, int indentLevel, boolean interfaceMethod) throws IOException {
+        if (OutputUtilities.overridesFormatting(getClass(), Method.class, int.class, boolean.class)) {
+            sb.append(getFormattedContent(indentLevel, interfaceMethod));
+        } else {
+            renderContent(sb, indentLevel, interfaceMethod);
+        }
+    }
 
+    private void renderContent(Appendable sb, int indentLevel, boolean interfaceMethod) throws IOException {
         addFormattedJavadoc(sb, indentLevel);
         addFormattedAnnotations(sb, indentLevel);
 
@@ -278,8 +305,6 @@ public class Method extends JavaElement {
             OutputUtilities.javaIndent(sb, indentLevel);
             sb.append('}');
         }
-
-        return sb.toString();
     }
 
     /**
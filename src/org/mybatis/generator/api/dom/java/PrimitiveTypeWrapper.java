@@ -21,14 +21,16 @@ package org.mybatis.generator.api.dom.java;
  * 
  */
 public class PrimitiveTypeWrapper extends FullyQualifiedJavaType {
-    private static PrimitiveTypeWrapper booleanInstance;
-    private static PrimitiveTypeWrapper byteInstance;
-    private static PrimitiveTypeWrapper characterInstance;
-    private static PrimitiveTypeWrapper doubleInstance;
-    private static PrimitiveTypeWrapper floatInstance;
-    private static PrimitiveTypeWrapper integerInstance;
-    private static PrimitiveTypeWrapper longInstance;
-    private static PrimitiveTypeWrapper shortInstance;
+    // created on first use, volatile for the same reason as the shared
+    // instances of FullyQualifiedJavaType
+    private static volatile PrimitiveTypeWrapper booleanInstance;
+    private static volatile PrimitiveTypeWrapper byteInstance;
+    private static volatile PrimitiveTypeWrapper characterInstance;
+    private static volatile PrimitiveTypeWrapper doubleInstance;
+    private static volatile PrimitiveTypeWrapper floatInstance;
+    private static volatile PrimitiveTypeWrapper integerInstance;
+    private static volatile PrimitiveTypeWrapper longInstance;
+    private static volatile PrimitiveTypeWrapper shortInstance;
 
     private String toPrimitiveMethod;
 
@@ -19,12 +19,15 @@ import static org.mybatis.generator.api.dom.OutputUtilities.calculateImports;
 import static org.mybatis.generator.api.dom.OutputUtilities.newLine;
 import static org.mybatis.generator.internal.util.StringUtility.stringHasValue;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
 
+import org.mybatis.generator.api.dom.OutputUtilities;
+
 /**
  * The Class TopLevelClass.
  *
@@ -61,7 +64,7 @@ public class TopLevelClass extends InnerClass implements CompilationUnit {
      *            the type name
      */
     public TopLevelClass(String typeName) {
-        this(new FullyQualifiedJavaType(typeName));
+        this(FullyQualifiedJavaType.getInstance(typeName));
     }
 
     /**
@@ -80,7 +83,7 @@ public class TopLevelClass extends InnerClass implements CompilationUnit {
      *            the imported type
      */
     public void addImportedType(String importedType) {
-        addImportedType(new FullyQualifiedJavaType(importedType));
+        addImportedType(FullyQualifiedJavaType.getInstance(importedType));
     }
     
     /* (non-Javadoc)
@@ -99,8 +102,31 @@ public class TopLevelClass extends InnerClass implements CompilationUnit {
      * @see org.mybatis.generator.api.dom.java.CompilationUnit#getFormattedContent()
      */
     public String getFormattedContent() {
-        StringBuilder sb = new StringBuilder();
+        return OutputUtilities.render(new OutputUtilities.Renderer() {
+            public void render(Appendable out) throws IOException {
+                renderContent(out);
+            }
+        });
+    }
 
+    /**
+     * Writes the formatted content to an output, without building a string
+     * for every nested element.
+     *
+     * @param sb
+     *            the output
+     * @throws IOException
+     *             if the output cannot be written
+     */
+    public void render(Appendable sb) throws IOException {
+        if (OutputUtilities.overridesFormatting(getClass(), TopLevelClass.class)) {
+            sb.append(getFormattedContent());
+        } else {
+            renderContent(sb);
+        }
+    }
+
+    private void renderContent(Appendable sb) throws IOException {
         for (String fileCommentLine : fileCommentLines) {
             sb.append(fileCommentLine);
             newLine(sb);
@@ -135,9 +161,7 @@ public class TopLevelClass extends InnerClass implements CompilationUnit {
             newLine(sb);
         }
 
-        sb.append(super.getFormattedContent(0));
-
-        return sb.toString();
+        super.render(sb, 0);
     }
 
     /* (non-Javadoc)
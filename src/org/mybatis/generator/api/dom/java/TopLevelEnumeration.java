@@ -20,12 +20,15 @@ import static org.mybatis.generator.api.dom.OutputUtilities.calculateImports;
 import static org.mybatis.generator.api.dom.OutputUtilities.newLine;
 import static org.mybatis.generator.internal.util.messages.Messages.getString;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
 
+import org.mybatis.generator.api.dom.OutputUtilities;
+
 /**
  * The Class TopLevelEnumeration.
  *
@@ -59,8 +62,31 @@ public class TopLevelEnumeration extends InnerEnum implements CompilationUnit {
      * @see org.mybatis.generator.api.dom.java.CompilationUnit#getFormattedContent()
      */
     public String getFormattedContent() {
-        StringBuilder sb = new StringBuilder();
+        return OutputUtilities.render(new OutputUtilities.Renderer() {
+            public void render(Appendable out) throws IOException {
+                renderContent(out);
+            }
+        });
+    }
 
+    /**
+     * Writes the formatted content to an output, without building a string
+     * for every nested element.
+     *
+     * @param sb
+     *            the output
+     * @throws IOException
+     *             if the output cannot be written
+     */
+    public void render(Appendable sb) throws IOException {
+        if (OutputUtilities.overridesFormatting(getClass(), TopLevelEnumeration.class)) {
+            sb.append(getFormattedContent());
+        } else {
+            renderContent(sb);
+        }
+    }
+
+    private void renderContent(Appendable sb) throws IOException {
         for (String fileCommentLine : fileCommentLines) {
             sb.append(fileCommentLine);
             newLine(sb);
@@ -96,9 +122,7 @@ public class TopLevelEnumeration extends InnerEnum implements CompilationUnit {
             newLine(sb);
         }
 
-        sb.append(super.getFormattedContent(0));
-
-        return sb.toString();
+        super.render(sb, 0);
     }
 
     /* (non-Javadoc)
@@ -15,6 +15,8 @@
  */
 package org.mybatis.generator.api.dom.xml;
 
+import java.io.IOException;
+
 import org.mybatis.generator.api.dom.OutputUtilities;
 
 /**
@@ -97,8 +99,31 @@ public class Document {
      * @return the formatted content
      */
     public String getFormattedContent() {
-        StringBuilder sb = new StringBuilder();
+        return OutputUtilities.render(new OutputUtilities.Renderer() {
+            public void render(Appendable out) throws IOException {
+                renderContent(out);
+            }
+        });
+    }
 
+    /**
+     * Writes the formatted content to an output, without building a string
+     * for every element.
+     *
+     * @param sb
+     *            the output
+     * @throws IOException
+     *             if the output cannot be written
+     */
+    public void render(Appendable sb) throws IOException {
+        if (OutputUtilities.overridesFormatting(getClass(), Document.class)) {
+            sb.append(getFormattedContent());
+        } else {
+            renderContent(sb);
+        }
+    }
+
+    private void renderContent(Appendable sb) throws IOException {
         sb.append("<?xml version=\"1.0\" encoding=\"UTF-8\" ?>"); //$NON-NLS-1$
 
         if (publicId != null && systemId != null) {
@@ -113,8 +138,6 @@ public class Document {
         }
 
         OutputUtilities.newLine(sb);
-        sb.append(rootElement.getFormattedContent(0));
-
-        return sb.toString();
+        rootElement.render(sb, 0);
     }
 }
@@ -15,6 +15,8 @@
  */
 package org.mybatis.generator.api.dom.xml;
 
+import java.io.IOException;
+
 /**
  * @author Jeff Butler
  */
@@ -28,4 +30,20 @@ public abstract class Element {
     }
 
     public abstract String getFormattedContent(int indentLevel);
+
+    /**
+     * Writes the formatted content to an output. Subclasses should override
+     * this method to write their children directly; this default simply
+     * appends the result of {@link #getFormattedContent(int)}.
+     *
+     * @param out
+     *            the output
+     * @param indentLevel
+     *            the indent level
+     * @throws IOException
+     *             if the output cannot be written
+     */
+    public void render(Appendable out, int indentLevel) throws IOException {
+        out.append(getFormattedContent(indentLevel));
+    }
 }
@@ -15,6 +15,8 @@
  */
 package org.mybatis.generator.api.dom.xml;
 
+import java.io.IOException;
+
 import org.mybatis.generator.api.dom.OutputUtilities;
 
 /**
@@ -42,11 +44,29 @@ public class TextElement extends Element {
      * @see org.mybatis.generator.api.dom.xml.Element#getFormattedContent(int)
      */
     @Override
-    public String getFormattedContent(int indentLevel) {
-        StringBuilder sb = new StringBuilder();
+    public String getFormattedContent(final int indentLevel) {
+        return OutputUtilities.render(new OutputUtilities.Renderer() {
+            public void render(Appendable out) throws IOException {
+                renderContent(out, indentLevel);
+            }
+        });
+    }
+
+    /* (non-Javadoc)
+     * @see org.mybatis.generator.api.dom.xml.Element#render(java.lang.Appendable, int)
+     */
+    @Override
+    public void render(Appendable sb, int indentLevel) throws IOException {
+        if (OutputUtilities.overridesFormatting(getClass(), TextElement.class, int.class)) {
+            sb.append(getFormattedContent(indentLevel));
+        } else {
+            renderContent(sb, indentLevel);
+        }
+    }
+
+    private void renderContent(Appendable sb, int indentLevel) throws IOException {
         OutputUtilities.xmlIndent(sb, indentLevel);
         sb.append(content);
-        return sb.toString();
     }
 
     /**
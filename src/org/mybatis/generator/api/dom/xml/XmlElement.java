@@ -15,6 +15,7 @@
  */
 package org.mybatis.generator.api.dom.xml;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -128,9 +129,27 @@ public class XmlElement extends Element {
      * @see org.mybatis.generator.api.dom.xml.Element#getFormattedContent(int)
      */
     @Override
-    public String getFormattedContent(int indentLevel) {
-        StringBuilder sb = new StringBuilder();
+    public String getFormattedContent(final int indentLevel) {
+        return OutputUtilities.render(new OutputUtilities.Renderer() {
+            public void render(Appendable out) throws IOException {
+                renderContent(out, indentLevel);
+            }
+        });
+    }
+
+    /* (non-Javadoc)
+     * @see org.mybatis.generator.api.dom.xml.Element#render(java.lang.Appendable, int)
+     */
+    @Override
+    public void render(Appendable sb, int indentLevel) throws IOException {
+        if (OutputUtilities.overridesFormatting(getClass(), XmlElement.class, int.class)) {
+            sb.append(getFormattedContent(indentLevel));
+        } else {
+            renderContent(sb, indentLevel);
+        }
+    }
 
+    private void renderContent(Appendable sb, int indentLevel) throws IOException {
         OutputUtilities.xmlIndent(sb, indentLevel);
         sb.append('<');
         sb.append(name);
@@ -144,7 +163,7 @@ public class XmlElement extends Element {
             sb.append(" >"); //$NON-NLS-1$
             for (Element element : elements) {
                 OutputUtilities.newLine(sb);
-                sb.append(element.getFormattedContent(indentLevel + 1));
+                element.render(sb, indentLevel + 1);
             }
             OutputUtilities.newLine(sb);
             OutputUtilities.xmlIndent(sb, indentLevel);
@@ -155,8 +174,6 @@ public class XmlElement extends Element {
         } else {
             sb.append(" />"); //$NON-NLS-1$
         }
-
-        return sb.toString();
     }
 
     /**
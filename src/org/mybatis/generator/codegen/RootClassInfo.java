@@ -44,13 +44,20 @@ public class RootClassInfo {
 
     public static RootClassInfo getInstance(String className,
             List<String> warnings) {
-        RootClassInfo classInfo = rootClassInfoMap.get(className);
-        if (classInfo == null) {
-            classInfo = new RootClassInfo(className, warnings);
-            rootClassInfoMap.put(className, classInfo);
+        RootClassInfo classInfo;
+        synchronized (rootClassInfoMap) {
+            classInfo = rootClassInfoMap.get(className);
+            if (classInfo == null) {
+                classInfo = new RootClassInfo(className, warnings);
+                rootClassInfoMap.put(className, classInfo);
+                return classInfo;
+            }
         }
 
-        return classInfo;
+        // the cached instance reports to the warnings of the table that
+        // created it, tables may be generated on different threads with
+        // their own warnings
+        return new RootClassInfo(classInfo, warnings);
     }
 
     private PropertyDescriptor[] propertyDescriptors;
@@ -76,6 +83,13 @@ public class RootClassInfo {
         }
     }
 
+    private RootClassInfo(RootClassInfo rootClassInfo, List<String> warnings) {
+        super();
+        this.className = rootClassInfo.className;
+        this.propertyDescriptors = rootClassInfo.propertyDescriptors;
+        this.warnings = warnings;
+    }
+
     public boolean containsProperty(IntrospectedColumn introspectedColumn) {
         if (propertyDescriptors == null) {
             return false;
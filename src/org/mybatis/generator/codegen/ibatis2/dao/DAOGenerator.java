@@ -104,9 +104,9 @@ public class DAOGenerator extends AbstractJavaClientGenerator {
     }
 
     protected TopLevelClass getTopLevelClassShell() {
-        FullyQualifiedJavaType interfaceType = new FullyQualifiedJavaType(
+        FullyQualifiedJavaType interfaceType = FullyQualifiedJavaType.getInstance(
                 introspectedTable.getDAOInterfaceType());
-        FullyQualifiedJavaType implementationType = new FullyQualifiedJavaType(
+        FullyQualifiedJavaType implementationType = FullyQualifiedJavaType.getInstance(
                 introspectedTable.getDAOImplementationType());
 
         CommentGenerator commentGenerator = context.getCommentGenerator();
@@ -145,7 +145,7 @@ public class DAOGenerator extends AbstractJavaClientGenerator {
     }
 
     protected Interface getInterfaceShell() {
-        Interface answer = new Interface(new FullyQualifiedJavaType(
+        Interface answer = new Interface(FullyQualifiedJavaType.getInstance(
                 introspectedTable.getDAOInterfaceType()));
         answer.setVisibility(JavaVisibility.PUBLIC);
 
@@ -157,7 +157,7 @@ public class DAOGenerator extends AbstractJavaClientGenerator {
         }
 
         if (stringHasValue(rootInterface)) {
-            FullyQualifiedJavaType fqjt = new FullyQualifiedJavaType(
+            FullyQualifiedJavaType fqjt = FullyQualifiedJavaType.getInstance(
                     rootInterface);
             answer.addSuperInterface(fqjt);
             answer.addImportedType(fqjt);
@@ -81,7 +81,7 @@ public class CountByExampleMethodGenerator extends AbstractDAOElementGenerator {
     }
 
     private Method getMethodShell(Set<FullyQualifiedJavaType> importedTypes) {
-        FullyQualifiedJavaType type = new FullyQualifiedJavaType(
+        FullyQualifiedJavaType type = FullyQualifiedJavaType.getInstance(
                 introspectedTable.getExampleType());
         importedTypes.add(type);
 
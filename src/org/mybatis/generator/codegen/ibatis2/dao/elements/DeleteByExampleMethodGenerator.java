@@ -71,7 +71,7 @@ public class DeleteByExampleMethodGenerator extends AbstractDAOElementGenerator
     }
 
     private Method getMethodShell(Set<FullyQualifiedJavaType> importedTypes) {
-        FullyQualifiedJavaType type = new FullyQualifiedJavaType(
+        FullyQualifiedJavaType type = FullyQualifiedJavaType.getInstance(
                 introspectedTable.getExampleType());
         importedTypes.add(type);
 
@@ -51,7 +51,7 @@ public class SelectByPrimaryKeyMethodGenerator extends
         if (!introspectedTable.getRules().generatePrimaryKeyClass()) {
             // no primary key class, but primary key is enabled. Primary
             // key columns must be in the base class.
-            FullyQualifiedJavaType keyType = new FullyQualifiedJavaType(
+            FullyQualifiedJavaType keyType = FullyQualifiedJavaType.getInstance(
                     introspectedTable.getBaseRecordType());
             topLevelClass.addImportedType(keyType);
 
@@ -120,7 +120,7 @@ public class SelectByPrimaryKeyMethodGenerator extends
                 .getSelectByPrimaryKeyMethodName(introspectedTable));
 
         if (introspectedTable.getRules().generatePrimaryKeyClass()) {
-            FullyQualifiedJavaType type = new FullyQualifiedJavaType(
+            FullyQualifiedJavaType type = FullyQualifiedJavaType.getInstance(
                     introspectedTable.getPrimaryKeyType());
             importedTypes.add(type);
             method.addParameter(new Parameter(type, "_key")); //$NON-NLS-1$
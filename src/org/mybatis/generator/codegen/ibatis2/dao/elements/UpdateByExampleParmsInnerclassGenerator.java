@@ -38,10 +38,10 @@ public class UpdateByExampleParmsInnerclassGenerator extends
 
     @Override
     public void addImplementationElements(TopLevelClass topLevelClass) {
-        topLevelClass.addImportedType(new FullyQualifiedJavaType(
+        topLevelClass.addImportedType(FullyQualifiedJavaType.getInstance(
                 introspectedTable.getExampleType()));
 
-        InnerClass innerClass = new InnerClass(new FullyQualifiedJavaType(
+        InnerClass innerClass = new InnerClass(FullyQualifiedJavaType.getInstance(
                 "UpdateByExampleParms")); //$NON-NLS-1$
         innerClass.setVisibility(JavaVisibility.PROTECTED);
         innerClass.setStatic(true);
@@ -55,7 +55,7 @@ public class UpdateByExampleParmsInnerclassGenerator extends
         method.setName(innerClass.getType().getShortName());
         method.addParameter(new Parameter(FullyQualifiedJavaType
                 .getObjectInstance(), "record")); //$NON-NLS-1$
-        method.addParameter(new Parameter(new FullyQualifiedJavaType(
+        method.addParameter(new Parameter(FullyQualifiedJavaType.getInstance(
                 introspectedTable.getExampleType()), "example")); //$NON-NLS-1$
         method.addBodyLine("super(example);"); //$NON-NLS-1$
         method.addBodyLine("this.record = record;"); //$NON-NLS-1$
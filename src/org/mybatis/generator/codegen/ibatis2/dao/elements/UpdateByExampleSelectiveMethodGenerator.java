@@ -79,13 +79,13 @@ public class UpdateByExampleSelectiveMethodGenerator extends
         FullyQualifiedJavaType parameterType;
 
         if (introspectedTable.getRules().generateRecordWithBLOBsClass()) {
-            parameterType = new FullyQualifiedJavaType(introspectedTable
+            parameterType = FullyQualifiedJavaType.getInstance(introspectedTable
                     .getRecordWithBLOBsType());
         } else if (introspectedTable.getRules().generateBaseRecordClass()) {
-            parameterType = new FullyQualifiedJavaType(introspectedTable
+            parameterType = FullyQualifiedJavaType.getInstance(introspectedTable
                     .getBaseRecordType());
         } else {
-            parameterType = new FullyQualifiedJavaType(introspectedTable
+            parameterType = FullyQualifiedJavaType.getInstance(introspectedTable
                     .getPrimaryKeyType());
         }
 
@@ -97,7 +97,7 @@ public class UpdateByExampleSelectiveMethodGenerator extends
         method.setName(getDAOMethodNameCalculator()
                 .getUpdateByExampleSelectiveMethodName(introspectedTable));
         method.addParameter(new Parameter(parameterType, "record")); //$NON-NLS-1$
-        method.addParameter(new Parameter(new FullyQualifiedJavaType(
+        method.addParameter(new Parameter(FullyQualifiedJavaType.getInstance(
                 introspectedTable.getExampleType()), "example")); //$NON-NLS-1$
 
         for (FullyQualifiedJavaType fqjt : daoTemplate.getCheckedExceptions()) {
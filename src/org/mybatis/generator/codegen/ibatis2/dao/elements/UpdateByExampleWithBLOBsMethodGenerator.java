@@ -80,10 +80,10 @@ public class UpdateByExampleWithBLOBsMethodGenerator extends
     private Method getMethodShell(Set<FullyQualifiedJavaType> importedTypes) {
         FullyQualifiedJavaType parameterType;
         if (introspectedTable.getRules().generateRecordWithBLOBsClass()) {
-            parameterType = new FullyQualifiedJavaType(introspectedTable
+            parameterType = FullyQualifiedJavaType.getInstance(introspectedTable
                     .getRecordWithBLOBsType());
         } else {
-            parameterType = new FullyQualifiedJavaType(introspectedTable
+            parameterType = FullyQualifiedJavaType.getInstance(introspectedTable
                     .getBaseRecordType());
         }
 
@@ -95,7 +95,7 @@ public class UpdateByExampleWithBLOBsMethodGenerator extends
         method.setName(getDAOMethodNameCalculator()
                 .getUpdateByExampleWithBLOBsMethodName(introspectedTable));
         method.addParameter(new Parameter(parameterType, "record")); //$NON-NLS-1$
-        method.addParameter(new Parameter(new FullyQualifiedJavaType(
+        method.addParameter(new Parameter(FullyQualifiedJavaType.getInstance(
                 introspectedTable.getExampleType()), "example")); //$NON-NLS-1$
 
         for (FullyQualifiedJavaType fqjt : daoTemplate.getCheckedExceptions()) {
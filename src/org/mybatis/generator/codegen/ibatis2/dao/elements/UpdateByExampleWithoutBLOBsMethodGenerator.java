@@ -80,10 +80,10 @@ public class UpdateByExampleWithoutBLOBsMethodGenerator extends
     private Method getMethodShell(Set<FullyQualifiedJavaType> importedTypes) {
         FullyQualifiedJavaType parameterType;
         if (introspectedTable.getRules().generateBaseRecordClass()) {
-            parameterType = new FullyQualifiedJavaType(introspectedTable
+            parameterType = FullyQualifiedJavaType.getInstance(introspectedTable
                     .getBaseRecordType());
         } else {
-            parameterType = new FullyQualifiedJavaType(introspectedTable
+            parameterType = FullyQualifiedJavaType.getInstance(introspectedTable
                     .getPrimaryKeyType());
         }
 
@@ -95,7 +95,7 @@ public class UpdateByExampleWithoutBLOBsMethodGenerator extends
         method.setName(getDAOMethodNameCalculator()
                 .getUpdateByExampleWithoutBLOBsMethodName(introspectedTable));
         method.addParameter(new Parameter(parameterType, "record")); //$NON-NLS-1$
-        method.addParameter(new Parameter(new FullyQualifiedJavaType(
+        method.addParameter(new Parameter(FullyQualifiedJavaType.getInstance(
                 introspectedTable.getExampleType()), "example")); //$NON-NLS-1$
 
         for (FullyQualifiedJavaType fqjt : daoTemplate.getCheckedExceptions()) {
@@ -76,10 +76,10 @@ public class UpdateByPrimaryKeySelectiveMethodGenerator extends
         FullyQualifiedJavaType parameterType;
 
         if (introspectedTable.getRules().generateRecordWithBLOBsClass()) {
-            parameterType = new FullyQualifiedJavaType(introspectedTable
+            parameterType = FullyQualifiedJavaType.getInstance(introspectedTable
                     .getRecordWithBLOBsType());
         } else {
-            parameterType = new FullyQualifiedJavaType(introspectedTable
+            parameterType = FullyQualifiedJavaType.getInstance(introspectedTable
                     .getBaseRecordType());
         }
 
@@ -73,7 +73,7 @@ public class UpdateByPrimaryKeyWithoutBLOBsMethodGenerator extends
     }
 
     private Method getMethodShell(Set<FullyQualifiedJavaType> importedTypes) {
-        FullyQualifiedJavaType parameterType = new FullyQualifiedJavaType(
+        FullyQualifiedJavaType parameterType = FullyQualifiedJavaType.getInstance(
                 introspectedTable.getBaseRecordType());
         importedTypes.add(parameterType);
 
@@ -123,12 +123,12 @@ public class BaseRecordGenerator extends AbstractJavaGenerator {
     private FullyQualifiedJavaType getSuperClass() {
         FullyQualifiedJavaType superClass;
         if (introspectedTable.getRules().generatePrimaryKeyClass()) {
-            superClass = new FullyQualifiedJavaType(introspectedTable
+            superClass = FullyQualifiedJavaType.getInstance(introspectedTable
                     .getPrimaryKeyType());
         } else {
             String rootClass = getRootClass();
             if (rootClass != null) {
-                superClass = new FullyQualifiedJavaType(rootClass);
+                superClass = FullyQualifiedJavaType.getInstance(rootClass);
             } else {
                 superClass = null;
             }
@@ -60,7 +60,7 @@ public class ExampleGenerator extends AbstractJavaGenerator {
                 "Progress.6", table.toString())); //$NON-NLS-1$
         CommentGenerator commentGenerator = context.getCommentGenerator();
 
-        FullyQualifiedJavaType type = new FullyQualifiedJavaType(
+        FullyQualifiedJavaType type = FullyQualifiedJavaType.getInstance(
                 introspectedTable.getExampleType());
         TopLevelClass topLevelClass = new TopLevelClass(type);
         topLevelClass.setVisibility(JavaVisibility.PUBLIC);
@@ -156,9 +156,9 @@ public class ExampleGenerator extends AbstractJavaGenerator {
 
         FullyQualifiedJavaType fqjt;
         if (generateForJava5) {
-            fqjt = new FullyQualifiedJavaType("java.util.List<Criteria>"); //$NON-NLS-1$
+            fqjt = FullyQualifiedJavaType.getInstance("java.util.List<Criteria>"); //$NON-NLS-1$
         } else {
-            fqjt = new FullyQualifiedJavaType("java.util.List"); //$NON-NLS-1$
+            fqjt = FullyQualifiedJavaType.getInstance("java.util.List"); //$NON-NLS-1$
         }
 
         field.setType(fqjt);
@@ -352,10 +352,10 @@ public class ExampleGenerator extends AbstractJavaGenerator {
         field.setVisibility(JavaVisibility.PROTECTED);
         FullyQualifiedJavaType listOfStrings;
         if (generateForJava5) {
-            listOfStrings = new FullyQualifiedJavaType(
+            listOfStrings = FullyQualifiedJavaType.getInstance(
                     "java.util.List<java.lang.String>"); //$NON-NLS-1$
         } else {
-            listOfStrings = new FullyQualifiedJavaType("java.util.List"); //$NON-NLS-1$
+            listOfStrings = FullyQualifiedJavaType.getInstance("java.util.List"); //$NON-NLS-1$
         }
         field.setType(listOfStrings);
         field.setName("criteriaWithoutValue"); //$NON-NLS-1$
@@ -371,10 +371,10 @@ public class ExampleGenerator extends AbstractJavaGenerator {
 
         FullyQualifiedJavaType listOfMaps;
         if (generateForJava5) {
-            listOfMaps = new FullyQualifiedJavaType(
+            listOfMaps = FullyQualifiedJavaType.getInstance(
                     "java.util.List<java.util.Map<java.lang.String, java.lang.Object>>"); //$NON-NLS-1$
         } else {
-            listOfMaps = new FullyQualifiedJavaType("java.util.List"); //$NON-NLS-1$
+            listOfMaps = FullyQualifiedJavaType.getInstance("java.util.List"); //$NON-NLS-1$
         }
 
         field = new Field();
@@ -459,10 +459,10 @@ public class ExampleGenerator extends AbstractJavaGenerator {
 
         FullyQualifiedJavaType listOfObjects;
         if (generateForJava5) {
-            listOfObjects = new FullyQualifiedJavaType(
+            listOfObjects = FullyQualifiedJavaType.getInstance(
                     "java.util.List<? extends java.lang.Object>"); //$NON-NLS-1$
         } else {
-            listOfObjects = new FullyQualifiedJavaType("java.util.List"); //$NON-NLS-1$
+            listOfObjects = FullyQualifiedJavaType.getInstance("java.util.List"); //$NON-NLS-1$
         }
 
         method = new Method();
@@ -525,10 +525,10 @@ public class ExampleGenerator extends AbstractJavaGenerator {
 
         FullyQualifiedJavaType listOfDates;
         if (generateForJava5) {
-            listOfDates = new FullyQualifiedJavaType(
+            listOfDates = FullyQualifiedJavaType.getInstance(
                     "java.util.List<java.util.Date>"); //$NON-NLS-1$
         } else {
-            listOfDates = new FullyQualifiedJavaType("java.util.List"); //$NON-NLS-1$
+            listOfDates = FullyQualifiedJavaType.getInstance("java.util.List"); //$NON-NLS-1$
         }
 
         if (introspectedTable.hasJDBCDateColumns()) {
@@ -729,10 +729,10 @@ public class ExampleGenerator extends AbstractJavaGenerator {
         // add new private fields and public accessors in the class
         FullyQualifiedJavaType listOfMaps;
         if (generateForJava5) {
-            listOfMaps = new FullyQualifiedJavaType(
+            listOfMaps = FullyQualifiedJavaType.getInstance(
                     "java.util.List<java.util.Map<java.lang.String, java.lang.Object>>"); //$NON-NLS-1$
         } else {
-            listOfMaps = new FullyQualifiedJavaType("java.util.List"); //$NON-NLS-1$
+            listOfMaps = FullyQualifiedJavaType.getInstance("java.util.List"); //$NON-NLS-1$
         }
 
         sb.setLength(0);
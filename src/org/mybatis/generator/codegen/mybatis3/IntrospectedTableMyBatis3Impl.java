@@ -16,7 +16,9 @@
 package org.mybatis.generator.codegen.mybatis3;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.Callable;
 
 import org.mybatis.generator.api.GeneratedJavaFile;
 import org.mybatis.generator.api.GeneratedXmlFile;
@@ -42,6 +44,7 @@ import org.mybatis.generator.codegen.mybatis3.service.ServiceImplGenerator;
 import org.mybatis.generator.codegen.mybatis3.service.ServiceInterfaceGenerator;
 import org.mybatis.generator.codegen.mybatis3.xmlmapper.XMLMapperGenerator;
 import org.mybatis.generator.config.PropertyRegistry;
+import org.mybatis.generator.internal.GenerationManifest;
 import org.mybatis.generator.internal.ObjectFactory;
 
 import static org.mybatis.generator.internal.util.StringUtility.isTrue;
@@ -67,6 +70,9 @@ public class IntrospectedTableMyBatis3Impl extends IntrospectedTable {
 	protected List<AbstractJavaGenerator> serviceImplGenerators;
 	protected List<AbstractJavaGenerator> controllerBaseGenerators;
 	protected List<AbstractJavaGenerator> controllerWebGenerators;
+
+	/** The fingerprint of the inputs of the generators, null without a generation manifest. */
+	protected String inputFingerprint;
 	
 	/**
 	 * Instantiates a new introspected table my batis3 impl.
@@ -90,17 +96,51 @@ public class IntrospectedTableMyBatis3Impl extends IntrospectedTable {
 	 */
 	@Override
 	public void calculateGenerators(List<String> warnings, ProgressCallback progressCallback) {
-		calculateJavaModelGenerators(warnings, progressCallback);// �������� java
-																	// Model��������
+		calculateJavaModelGenerators(warnings, progressCallback);// ? java
+																	// Model?
 
-		AbstractJavaClientGenerator javaClientGenerator = calculateClientGenerators(warnings, progressCallback);// ��������
+		AbstractJavaClientGenerator javaClientGenerator = calculateClientGenerators(warnings, progressCallback);// ?
 																												// java
-																												// Client��������
-		calculateServiceInterfaceGenerators(warnings, progressCallback);// ��������
-		calculateServiceImplGenerators(warnings, progressCallback);// ��������
+																												// Client?
+		calculateServiceInterfaceGenerators(warnings, progressCallback);// ?
+		calculateServiceImplGenerators(warnings, progressCallback);// ?
 		calculateControllerBaseGenerators(warnings, progressCallback);
 		calculateControllerWebGenerators(warnings, progressCallback);
 		calculateXmlMapperGenerator(javaClientGenerator, warnings, progressCallback);
+
+		GenerationManifest generationManifest = context.getGenerationManifest();
+		if (generationManifest != null) {
+			inputFingerprint = generationManifest.getInputFingerprint(this);
+			removeUpToDateGenerators(generationManifest);
+		}
+	}
+
+	/**
+	 * Removes the generators whose files of the last run are current, so only
+	 * the generators whose inputs changed are run.
+	 * 
+	 * @param generationManifest
+	 *            the generation manifest
+	 */
+	protected void removeUpToDateGenerators(GenerationManifest generationManifest) {
+		removeUpToDateGenerators(generationManifest, javaModelGenerators);
+		removeUpToDateGenerators(generationManifest, clientGenerators);
+		removeUpToDateGenerators(generationManifest, serviceInterfaceGenerators);
+		removeUpToDateGenerators(generationManifest, serviceImplGenerators);
+		removeUpToDateGenerators(generationManifest, controllerBaseGenerators);
+		removeUpToDateGenerators(generationManifest, controllerWebGenerators);
+
+		if (xmlMapperGenerator != null && generationManifest.keepIfUpToDate(GenerationManifest.getGeneratorKey(this, xmlMapperGenerator), inputFingerprint)) {
+			xmlMapperGenerator = null;
+		}
+	}
+
+	private void removeUpToDateGenerators(GenerationManifest generationManifest, List<AbstractJavaGenerator> javaGenerators) {
+		for (Iterator<AbstractJavaGenerator> iter = javaGenerators.iterator(); iter.hasNext();) {
+			if (generationManifest.keepIfUpToDate(GenerationManifest.getGeneratorKey(this, iter.next()), inputFingerprint)) {
+				iter.remove();
+			}
+		}
 	}
 
 	/**
@@ -114,18 +154,18 @@ public class IntrospectedTableMyBatis3Impl extends IntrospectedTable {
 	 *            the progress callback
 	 */
 	protected void calculateXmlMapperGenerator(AbstractJavaClientGenerator javaClientGenerator, List<String> warnings, ProgressCallback progressCallback) {
-		if (javaClientGenerator == null) {// ���javaClientGenerator�ǿյ�
-											// Ҳ���ǲ�����javaClientGenerator
-											// ʹ��XMLMapperGenerator ����xml�ļ�
+		if (javaClientGenerator == null) {// ?javaClientGenerator?
+											// ?javaClientGenerator
+											// ?XMLMapperGenerator ?xml?
 			if (context.getSqlMapGeneratorConfiguration() != null) {
 				xmlMapperGenerator = new XMLMapperGenerator();
 			}
 		} else {
-			xmlMapperGenerator = javaClientGenerator.getMatchedXMLGenerator();// ���javaClientGenerator���ǿյ�
-																				// ��ô�õ���Ӧ��xml������
+			xmlMapperGenerator = javaClientGenerator.getMatchedXMLGenerator();// ?javaClientGenerator?
+																				// ?xml?
 		}
 
-		initializeAbstractGenerator(xmlMapperGenerator, warnings, progressCallback);// ��ʼ��
+		initializeAbstractGenerator(xmlMapperGenerator, warnings, progressCallback);// ?
 	}
 
 	/**
@@ -245,11 +285,11 @@ public class IntrospectedTableMyBatis3Impl extends IntrospectedTable {
 
 		AbstractJavaClientGenerator javaGenerator;
 		if ("XMLMAPPER".equalsIgnoreCase(type)) { //$NON-NLS-1$
-			javaGenerator = new JavaMapperGenerator();// XML�ļ�ģʽ
+			javaGenerator = new JavaMapperGenerator();// XML?
 		} else if ("MIXEDMAPPER".equalsIgnoreCase(type)) { //$NON-NLS-1$
-			javaGenerator = new MixedClientGenerator();// ���ģʽ
+			javaGenerator = new MixedClientGenerator();// ?
 		} else if ("ANNOTATEDMAPPER".equalsIgnoreCase(type)) { //$NON-NLS-1$
-			javaGenerator = new AnnotatedClientGenerator();// ע��ģʽ
+			javaGenerator = new AnnotatedClientGenerator();// ?
 		} else if ("MAPPER".equalsIgnoreCase(type)) { //$NON-NLS-1$
 			javaGenerator = new JavaMapperGenerator();
 		} else {
@@ -295,27 +335,27 @@ public class IntrospectedTableMyBatis3Impl extends IntrospectedTable {
 	 *            the progress callback
 	 */
 	protected void calculateJavaModelGenerators(List<String> warnings, ProgressCallback progressCallback) {
-		if (getRules().generateExampleClass()) {// �Ƿ�����example��
+		if (getRules().generateExampleClass()) {// ?example?
 			AbstractJavaGenerator javaGenerator = new ExampleGenerator();
 			initializeAbstractGenerator(javaGenerator, warnings, progressCallback);
 			javaModelGenerators.add(javaGenerator);
 		}
 
-		if (getRules().generatePrimaryKeyClass()) {// �Ƿ�����������
+		if (getRules().generatePrimaryKeyClass()) {// ?
 			AbstractJavaGenerator javaGenerator = new PrimaryKeyGenerator();
-			initializeAbstractGenerator(javaGenerator, warnings, progressCallback);// ��ʼ������ν�ĳ�ʼ�����ǰ���Ҫ��ֵ���ø�javaGenerator
-																					// ����context���ð�
-																					// �����ð�ʲô��
+			initializeAbstractGenerator(javaGenerator, warnings, progressCallback);// ?javaGenerator
+																					// ?context?
+																					// ?
 			javaModelGenerators.add(javaGenerator);
 		}
 
-		if (getRules().generateBaseRecordClass()) {// �Ƿ�����baseRecord��
+		if (getRules().generateBaseRecordClass()) {// ?baseRecord?
 			AbstractJavaGenerator javaGenerator = new BaseRecordGenerator();
 			initializeAbstractGenerator(javaGenerator, warnings, progressCallback);
 			javaModelGenerators.add(javaGenerator);
 		}
 
-		if (getRules().generateRecordWithBLOBsClass()) {// ����blob��
+		if (getRules().generateRecordWithBLOBsClass()) {// ?blob?
 			AbstractJavaGenerator javaGenerator = new RecordWithBLOBsGenerator();
 			initializeAbstractGenerator(javaGenerator, warnings, progressCallback);
 			javaModelGenerators.add(javaGenerator);
@@ -352,51 +392,76 @@ public class IntrospectedTableMyBatis3Impl extends IntrospectedTable {
 	public List<GeneratedJavaFile> getGeneratedJavaFiles() {
 		List<GeneratedJavaFile> answer = new ArrayList<GeneratedJavaFile>();
 
-		for (AbstractJavaGenerator javaGenerator : javaModelGenerators) {
-			List<CompilationUnit> compilationUnits = javaGenerator.getCompilationUnits();
-			for (CompilationUnit compilationUnit : compilationUnits) {
-				GeneratedJavaFile gjf = new GeneratedJavaFile(compilationUnit, context.getJavaModelGeneratorConfiguration().getTargetProject(), context.getProperty(PropertyRegistry.CONTEXT_JAVA_FILE_ENCODING), context.getJavaFormatter());
-				answer.add(gjf);
-			}
+		for (AbstractJavaGenerator javaGenerator : getJavaGenerators()) {
+			answer.addAll(getGeneratedJavaFiles(javaGenerator));
 		}
 
-		for (AbstractJavaGenerator javaGenerator : clientGenerators) {
-			List<CompilationUnit> compilationUnits = javaGenerator.getCompilationUnits();
-			for (CompilationUnit compilationUnit : compilationUnits) {
-				GeneratedJavaFile gjf = new GeneratedJavaFile(compilationUnit, context.getJavaClientGeneratorConfiguration().getTargetProject(), context.getProperty(PropertyRegistry.CONTEXT_JAVA_FILE_ENCODING), context.getJavaFormatter());
-				answer.add(gjf);
-			}
-		}
-		
-		for (AbstractJavaGenerator javaGenerator : serviceInterfaceGenerators) {
-			List<CompilationUnit> compilationUnits = javaGenerator.getCompilationUnits();
-			for (CompilationUnit compilationUnit : compilationUnits) {
-				GeneratedJavaFile gjf = new GeneratedJavaFile(compilationUnit, context.getJavaClientGeneratorConfiguration().getTargetProject(), context.getProperty(PropertyRegistry.CONTEXT_JAVA_FILE_ENCODING), context.getJavaFormatter());
-				answer.add(gjf);
-			}
-		}
-		for (AbstractJavaGenerator javaGenerator : serviceImplGenerators) {
-			List<CompilationUnit> compilationUnits = javaGenerator.getCompilationUnits();
-			for (CompilationUnit compilationUnit : compilationUnits) {
-				GeneratedJavaFile gjf = new GeneratedJavaFile(compilationUnit, context.getJavaClientGeneratorConfiguration().getTargetProject(), context.getProperty(PropertyRegistry.CONTEXT_JAVA_FILE_ENCODING), context.getJavaFormatter());
-				answer.add(gjf);
-			}
+		return answer;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.mybatis.generator.api.IntrospectedTable#getJavaGenerationTasks()
+	 */
+	@Override
+	public List<Callable<List<GeneratedJavaFile>>> getJavaGenerationTasks() {
+		List<Callable<List<GeneratedJavaFile>>> answer = new ArrayList<Callable<List<GeneratedJavaFile>>>();
+
+		// the generators only share read-only state, so each one is a task
+		for (final AbstractJavaGenerator javaGenerator : getJavaGenerators()) {
+			answer.add(new Callable<List<GeneratedJavaFile>>() {
+				public List<GeneratedJavaFile> call() {
+					return getGeneratedJavaFiles(javaGenerator);
+				}
+			});
 		}
-		
-		for (AbstractJavaGenerator javaGenerator : controllerBaseGenerators) {
-			List<CompilationUnit> compilationUnits = javaGenerator.getCompilationUnits();
-			for (CompilationUnit compilationUnit : compilationUnits) {
-				GeneratedJavaFile gjf = new GeneratedJavaFile(compilationUnit, context.getJavaClientGeneratorConfiguration().getTargetProject(), context.getProperty(PropertyRegistry.CONTEXT_JAVA_FILE_ENCODING), context.getJavaFormatter());
-				answer.add(gjf);
-			}
+
+		return answer;
+	}
+
+	/**
+	 * Gets the Java generators in the order their files are generated.
+	 * 
+	 * @return the java generators
+	 */
+	private List<AbstractJavaGenerator> getJavaGenerators() {
+		List<AbstractJavaGenerator> answer = new ArrayList<AbstractJavaGenerator>();
+		answer.addAll(javaModelGenerators);
+		answer.addAll(clientGenerators);
+		answer.addAll(serviceInterfaceGenerators);
+		answer.addAll(serviceImplGenerators);
+		answer.addAll(controllerBaseGenerators);
+		answer.addAll(controllerWebGenerators);
+		return answer;
+	}
+
+	/**
+	 * Runs a generator and returns its compilation units as generated files.
+	 * The time of the generator is reported to the instrumentation callback.
+	 * 
+	 * @param javaGenerator
+	 *            the generator to run
+	 * @return the generated files
+	 */
+	private List<GeneratedJavaFile> getGeneratedJavaFiles(AbstractJavaGenerator javaGenerator) {
+		String targetProject;
+		if (javaModelGenerators.contains(javaGenerator)) {
+			targetProject = context.getJavaModelGeneratorConfiguration().getTargetProject();
+		} else {
+			targetProject = context.getJavaClientGeneratorConfiguration().getTargetProject();
 		}
 
-		for (AbstractJavaGenerator javaGenerator : controllerWebGenerators) {
-			List<CompilationUnit> compilationUnits = javaGenerator.getCompilationUnits();
-			for (CompilationUnit compilationUnit : compilationUnits) {
-				GeneratedJavaFile gjf = new GeneratedJavaFile(compilationUnit, context.getJavaClientGeneratorConfiguration().getTargetProject(), context.getProperty(PropertyRegistry.CONTEXT_JAVA_FILE_ENCODING), context.getJavaFormatter());
-				answer.add(gjf);
+		List<GeneratedJavaFile> answer = new ArrayList<GeneratedJavaFile>();
+		long startNanos = System.nanoTime();
+		List<CompilationUnit> compilationUnits = javaGenerator.getCompilationUnits();
+		context.getInstrumentationCallback().phaseFinished(javaGenerator.getClass().getSimpleName(), fullyQualifiedTable.toString(), System.nanoTime() - startNanos);
+		for (CompilationUnit compilationUnit : compilationUnits) {
+			GeneratedJavaFile gjf = new GeneratedJavaFile(compilationUnit, targetProject, context.getProperty(PropertyRegistry.CONTEXT_JAVA_FILE_ENCODING), context.getJavaFormatter());
+			if (inputFingerprint != null) {
+				gjf.setInputFingerprint(GenerationManifest.getGeneratorKey(this, javaGenerator), inputFingerprint);
 			}
+			answer.add(gjf);
 		}
 
 		return answer;
@@ -409,19 +474,66 @@ public class IntrospectedTableMyBatis3Impl extends IntrospectedTable {
 	 */
 	@Override
 	public List<GeneratedXmlFile> getGeneratedXmlFiles() {
+		return filterGeneratedXmlFiles(buildGeneratedXmlFiles());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.mybatis.generator.api.IntrospectedTable#getXmlGenerationTask()
+	 */
+	@Override
+	public Callable<List<GeneratedXmlFile>> getXmlGenerationTask() {
+		return new Callable<List<GeneratedXmlFile>>() {
+			public List<GeneratedXmlFile> call() {
+				return buildGeneratedXmlFiles();
+			}
+		};
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.mybatis.generator.api.IntrospectedTable#filterGeneratedXmlFiles(java
+	 * .util.List)
+	 */
+	@Override
+	public List<GeneratedXmlFile> filterGeneratedXmlFiles(List<GeneratedXmlFile> generatedXmlFiles) {
+		List<GeneratedXmlFile> answer = new ArrayList<GeneratedXmlFile>();
+
+		for (GeneratedXmlFile gxf : generatedXmlFiles) {
+			if (context.getPlugins().sqlMapGenerated(gxf, this)) {
+				answer.add(gxf);
+			}
+		}
+
+		return answer;
+	}
+
+	/**
+	 * Builds the XML mapper file of this table, without calling the plugins
+	 * receiving whole files.
+	 * 
+	 * @return the generated XML files
+	 */
+	private List<GeneratedXmlFile> buildGeneratedXmlFiles() {
 		List<GeneratedXmlFile> answer = new ArrayList<GeneratedXmlFile>();
 
 		if (xmlMapperGenerator != null) {
+			long startNanos = System.nanoTime();
 			Document document = xmlMapperGenerator.getDocument();
+			context.getInstrumentationCallback().phaseFinished(xmlMapperGenerator.getClass().getSimpleName(), fullyQualifiedTable.toString(), System.nanoTime() - startNanos);
 			GeneratedXmlFile gxf = new GeneratedXmlFile(document, getMyBatis3XmlMapperFileName(), getMyBatis3XmlMapperPackage(), context.getSqlMapGeneratorConfiguration().getTargetProject(), isTrue(context.getProperty(PropertyRegistry.CONTEXT_XML_MREGEABLE)), context.getXmlFormatter());// change
 																																																																								// by
 																																																																								// suman
 																																																																								// new
 			/* true, context.getXmlFormatter());//change by suman old */
-
-			if (context.getPlugins().sqlMapGenerated(gxf, this)) {
-				answer.add(gxf);
+			if (inputFingerprint != null) {
+				gxf.setInputFingerprint(GenerationManifest.getGeneratorKey(this, xmlMapperGenerator), inputFingerprint);
 			}
+
+			answer.add(gxf);
 		}
 
 		return answer;
@@ -434,7 +546,7 @@ public class IntrospectedTableMyBatis3Impl extends IntrospectedTable {
 	 */
 	@Override
 	public int getGenerationSteps() {
-		return javaModelGenerators.size() + clientGenerators.size()+serviceInterfaceGenerators.size() + (xmlMapperGenerator == null ? 0 : 1);
+		return javaModelGenerators.size() + clientGenerators.size() + serviceInterfaceGenerators.size() + serviceImplGenerators.size() + controllerBaseGenerators.size() + controllerWebGenerators.size() + (xmlMapperGenerator == null ? 0 : 1);
 	}
 
 	/*
@@ -90,17 +90,7 @@ public class MyBatis3FormattingUtilities {
             
             sb.append(getAliasedEscapedColumnName(introspectedColumn));
             sb.append(" as "); //$NON-NLS-1$
-            if (introspectedColumn.isColumnNameDelimited()) {
-                sb.append(introspectedColumn.getContext()
-                        .getBeginningDelimiter());
-            }
-            sb.append(introspectedColumn.getTableAlias());
-            sb.append('_');
-            sb.append(escapeStringForMyBatis3(introspectedColumn
-                    .getActualColumnName()));
-            if (introspectedColumn.isColumnNameDelimited()) {
-                sb.append(introspectedColumn.getContext().getEndingDelimiter());
-            }
+            sb.append(getSelectListAlias(introspectedColumn));
           
             return sb.toString();
         } else {
@@ -108,6 +98,37 @@ public class MyBatis3FormattingUtilities {
         }
     }
 
+    /**
+     * The name of the column in the result of a select list. If there is a
+     * table alias, the value will be "alias_columnName", the alias of the
+     * select list phrase.
+     *
+     * @param introspectedColumn
+     *            the introspected column
+     * @return the name of the result column
+     */
+    public static String getSelectListAlias(
+            IntrospectedColumn introspectedColumn) {
+        if (!stringHasValue(introspectedColumn.getTableAlias())) {
+            return getEscapedColumnName(introspectedColumn);
+        }
+
+        StringBuilder sb = new StringBuilder();
+        if (introspectedColumn.isColumnNameDelimited()) {
+            sb.append(introspectedColumn.getContext()
+                    .getBeginningDelimiter());
+        }
+        sb.append(introspectedColumn.getTableAlias());
+        sb.append('_');
+        sb.append(escapeStringForMyBatis3(introspectedColumn
+                .getActualColumnName()));
+        if (introspectedColumn.isColumnNameDelimited()) {
+            sb.append(introspectedColumn.getContext().getEndingDelimiter());
+        }
+
+        return sb.toString();
+    }
+
     /**
      * Gets the escaped column name.
      *
@@ -38,6 +38,7 @@ import org.mybatis.generator.api.dom.java.Parameter;
 import org.mybatis.generator.api.dom.java.TopLevelClass;
 import org.mybatis.generator.codegen.AbstractJavaGenerator;
 import org.mybatis.generator.codegen.RootClassInfo;
+import org.mybatis.generator.codegen.mybatis3.model.ExampleGenerator;
 
 /**
  * 
@@ -57,23 +58,23 @@ public class ControllerBaseGenerator extends AbstractJavaGenerator {
 		Plugin plugins = context.getPlugins();
 		CommentGenerator commentGenerator = context.getCommentGenerator();
 
-		FullyQualifiedJavaType type = new FullyQualifiedJavaType(introspectedTable.getBaseRecordType().replace(".model", ".controller.base")+"BaseController");
+		FullyQualifiedJavaType type = FullyQualifiedJavaType.getInstance(introspectedTable.getBaseRecordType().replace(".model", ".controller.base")+"BaseController");
 		TopLevelClass topLevelClass = new TopLevelClass(type);
 		topLevelClass.setVisibility(JavaVisibility.PUBLIC);
 		topLevelClass.setAbstract(true);
 		commentGenerator.addJavaFileComment(topLevelClass);
 
 		FullyQualifiedJavaType superClass = getSuperClass();
-		FullyQualifiedJavaType serviceType = new FullyQualifiedJavaType(introspectedTable.getMyBatis3JavaMapperType().replaceAll("Mapper", "Service").replaceAll(".mapper", ".service.adapter"));
+		FullyQualifiedJavaType serviceType = FullyQualifiedJavaType.getInstance(introspectedTable.getMyBatis3JavaMapperType().replaceAll("Mapper", "Service").replaceAll(".mapper", ".service.adapter"));
 		if (superClass != null) {
 			topLevelClass.setSuperClass(superClass);
 			
 			topLevelClass.addImportedType(superClass);
 		}
-		FullyQualifiedJavaType mapper = new FullyQualifiedJavaType(introspectedTable.getMyBatis3JavaMapperType());
+		FullyQualifiedJavaType mapper = FullyQualifiedJavaType.getInstance(introspectedTable.getMyBatis3JavaMapperType());
 		
-		topLevelClass.addImportedType( new FullyQualifiedJavaType("javax.annotation.Resource"));
-		topLevelClass.addImportedType( new FullyQualifiedJavaType(introspectedTable.getBaseRecordType()));
+		topLevelClass.addImportedType( FullyQualifiedJavaType.getInstance("javax.annotation.Resource"));
+		topLevelClass.addImportedType( FullyQualifiedJavaType.getInstance(introspectedTable.getBaseRecordType()));
 		topLevelClass.addImportedType(mapper);
 		Field field = new Field();
 		field.addAnnotation("@Resource");
@@ -87,21 +88,21 @@ public class ControllerBaseGenerator extends AbstractJavaGenerator {
 		method.setVisibility(JavaVisibility.PROTECTED);
 		method.setConstructor(false);
 		method.setName("getExample");
-		FullyQualifiedJavaType modelType = new FullyQualifiedJavaType(introspectedTable.getBaseRecordType());
-		FullyQualifiedJavaType exampleType = new FullyQualifiedJavaType(introspectedTable.getExampleType());
+		FullyQualifiedJavaType modelType = FullyQualifiedJavaType.getInstance(introspectedTable.getBaseRecordType());
+		FullyQualifiedJavaType exampleType = FullyQualifiedJavaType.getInstance(introspectedTable.getExampleType());
 		Parameter parameter = new Parameter(modelType,modelType.getShortName());
 		method.addParameter(parameter);
-		FullyQualifiedJavaType baseMapperType = new FullyQualifiedJavaType("com.viontech.base.BaseMapper<"+introspectedTable.getBaseRecordType()+">");
+		FullyQualifiedJavaType baseMapperType = FullyQualifiedJavaType.getInstance("com.viontech.base.BaseMapper<"+introspectedTable.getBaseRecordType()+">");
 		topLevelClass.addImportedType(baseMapperType);
 		topLevelClass.addImportedType(exampleType);
 		topLevelClass.addImportedType(serviceType);
-		FullyQualifiedJavaType baseExample = new FullyQualifiedJavaType("com.viontech.base.BaseExample");
+		FullyQualifiedJavaType baseExample = FullyQualifiedJavaType.getInstance("com.viontech.base.BaseExample");
 		topLevelClass.addImportedType(baseExample);
 		method.setReturnType(baseExample);
 		method.addBodyLine(exampleType.getShortName()+" "+getValidPropertyName(exampleType.getShortName()) +" = new "+exampleType.getShortName()+"();");
 		method.addBodyLine("return "+getValidPropertyName(exampleType.getShortName())+";");
 		topLevelClass.addMethod(method);
-		FullyQualifiedJavaType baseServiceType = new FullyQualifiedJavaType("com.viontech.base.BaseService<"+introspectedTable.getBaseRecordType()+">");
+		FullyQualifiedJavaType baseServiceType = FullyQualifiedJavaType.getInstance("com.viontech.base.BaseService<"+introspectedTable.getBaseRecordType()+">");
 		topLevelClass.addImportedType(baseServiceType);
 		method = new Method();
 		method.addAnnotation("@Override");
@@ -111,6 +112,10 @@ public class ControllerBaseGenerator extends AbstractJavaGenerator {
 		method.setReturnType(baseServiceType);
 		method.addBodyLine("return "+getValidPropertyName(serviceType.getShortName())+";");
 		topLevelClass.addMethod(method);
+
+		if (ExampleGenerator.isContinuationSupported(introspectedTable)) {
+			addPageAfterMethod(topLevelClass, serviceType);
+		}
 		
 		List<CompilationUnit> answer = new ArrayList<CompilationUnit>();
 		if (context.getPlugins().modelBaseRecordClassGenerated(topLevelClass, introspectedTable)) {
@@ -119,11 +124,87 @@ public class ControllerBaseGenerator extends AbstractJavaGenerator {
 		return answer;
 	}
 
+	/**
+	 * Adds the list endpoint that pages with a continuation token instead of a
+	 * page number. The token holds the key of the last row of the page, so the
+	 * next page is a keyset page that does not read the rows before it. The
+	 * token is only returned while the pages are full. A page size outside
+	 * 1..MAX_PAGE_SIZE or a token that cannot be decoded is answered with 400
+	 * Bad Request.
+	 * 
+	 * @param topLevelClass
+	 *            the base controller
+	 * @param serviceType
+	 *            the type of the service
+	 */
+	protected void addPageAfterMethod(TopLevelClass topLevelClass, FullyQualifiedJavaType serviceType) {
+		FullyQualifiedJavaType modelType = FullyQualifiedJavaType.getInstance(introspectedTable.getBaseRecordType());
+		FullyQualifiedJavaType exampleType = FullyQualifiedJavaType.getInstance(introspectedTable.getExampleType());
+		FullyQualifiedJavaType keyType = ExampleGenerator.getLastKeyType(introspectedTable);
+		FullyQualifiedJavaType resultType = FullyQualifiedJavaType.getInstance("java.util.Map<String, Object>");
+		FullyQualifiedJavaType returnType = new FullyQualifiedJavaType("org.springframework.http.ResponseEntity");
+		returnType.addTypeArgument(resultType);
+		String exampleName = getValidPropertyName(exampleType.getShortName());
+		String badRequest = "return new " + returnType.getShortName() + "(HttpStatus.BAD_REQUEST);";
+
+		Field field = new Field();
+		field.setVisibility(JavaVisibility.PROTECTED);
+		field.setStatic(true);
+		field.setFinal(true);
+		field.setType(FullyQualifiedJavaType.getIntInstance());
+		field.setName("MAX_PAGE_SIZE");
+		field.setInitializationString("1000");
+		topLevelClass.addField(field);
+
+		Method method = new Method();
+		method.addAnnotation("@RequestMapping(value = \"/pageAfter\", method = RequestMethod.GET)");
+		method.setVisibility(JavaVisibility.PUBLIC);
+		method.setReturnType(returnType);
+		method.setName("pageAfter");
+		method.addParameter(new Parameter(modelType, getValidPropertyName(modelType.getShortName())));
+		method.addParameter(new Parameter(FullyQualifiedJavaType.getStringInstance(), "continuation",
+				"@RequestParam(value = \"continuation\", required = false)"));
+		method.addParameter(new Parameter(FullyQualifiedJavaType.getIntInstance(), "pageSize",
+				"@RequestParam(value = \"pageSize\", defaultValue = \"20\")"));
+		method.addBodyLine("if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {");
+		method.addBodyLine(badRequest);
+		method.addBodyLine("}");
+		method.addBodyLine(exampleType.getShortName() + " " + exampleName + " = (" + exampleType.getShortName() + ") getExample("
+				+ getValidPropertyName(modelType.getShortName()) + ");");
+		method.addBodyLine("try {");
+		method.addBodyLine(exampleName + ".setContinuation(continuation);");
+		method.addBodyLine("} catch (IllegalArgumentException e) {");
+		method.addBodyLine(badRequest);
+		method.addBodyLine("}");
+		method.addBodyLine("List<" + keyType.getShortName() + "> rows = " + getValidPropertyName(serviceType.getShortName()) + "."
+				+ introspectedTable.getSelectPageAfterStatementId() + "(" + exampleName + ", " + exampleName
+				+ ".getLastKey(), pageSize);");
+		method.addBodyLine("Map<String, Object> result = new HashMap<String, Object>();");
+		method.addBodyLine("result.put(\"rows\", rows);");
+		method.addBodyLine("if (rows.size() == pageSize) {");
+		method.addBodyLine("result.put(\"continuation\", " + exampleType.getShortName()
+				+ ".getContinuation(rows.get(rows.size() - 1)));");
+		method.addBodyLine("}");
+		method.addBodyLine("return new " + returnType.getShortName() + "(result, HttpStatus.OK);");
+		context.getCommentGenerator().addGeneralMethodComment(method, introspectedTable);
+
+		topLevelClass.addImportedType(FullyQualifiedJavaType.getNewListInstance());
+		topLevelClass.addImportedType(FullyQualifiedJavaType.getNewMapInstance());
+		topLevelClass.addImportedType(FullyQualifiedJavaType.getNewHashMapInstance());
+		topLevelClass.addImportedType(keyType);
+		topLevelClass.addImportedType(returnType);
+		topLevelClass.addImportedType("org.springframework.http.HttpStatus");
+		topLevelClass.addImportedType("org.springframework.web.bind.annotation.RequestMapping");
+		topLevelClass.addImportedType("org.springframework.web.bind.annotation.RequestMethod");
+		topLevelClass.addImportedType("org.springframework.web.bind.annotation.RequestParam");
+		topLevelClass.addMethod(method);
+	}
+
 	private FullyQualifiedJavaType getSuperClass() {
 		FullyQualifiedJavaType superClass;
 		String rootClass = "com.viontech.base.BaseController<"+introspectedTable.getBaseRecordType()+">";
 		if (rootClass != null) {
-			superClass = new FullyQualifiedJavaType(rootClass);
+			superClass = FullyQualifiedJavaType.getInstance(rootClass);
 		} else {
 			superClass = null;
 		}
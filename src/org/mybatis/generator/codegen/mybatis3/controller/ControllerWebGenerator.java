@@ -56,15 +56,15 @@ public class ControllerWebGenerator extends AbstractJavaGenerator {
 		progressCallback.startTask(getString("Progress.8", table.toString())); //$NON-NLS-1$
 		Plugin plugins = context.getPlugins();
 		CommentGenerator commentGenerator = context.getCommentGenerator();
-		FullyQualifiedJavaType baseControllerType = new FullyQualifiedJavaType(introspectedTable.getBaseRecordType().replace(".model", ".controller.base")+"BaseController");
+		FullyQualifiedJavaType baseControllerType = FullyQualifiedJavaType.getInstance(introspectedTable.getBaseRecordType().replace(".model", ".controller.base")+"BaseController");
 		
-		FullyQualifiedJavaType type = new FullyQualifiedJavaType(introspectedTable.getBaseRecordType().replace(".model", ".controller.web")+"Controller");
+		FullyQualifiedJavaType type = FullyQualifiedJavaType.getInstance(introspectedTable.getBaseRecordType().replace(".model", ".controller.web")+"Controller");
 		TopLevelClass topLevelClass = new TopLevelClass(type);
 		topLevelClass.setVisibility(JavaVisibility.PUBLIC);
 		topLevelClass.setAbstract(false);
 		commentGenerator.addJavaFileComment(topLevelClass);
 		topLevelClass.addImportedType(baseControllerType);
-		FullyQualifiedJavaType modelType = new FullyQualifiedJavaType(introspectedTable.getBaseRecordType());
+		FullyQualifiedJavaType modelType = FullyQualifiedJavaType.getInstance(introspectedTable.getBaseRecordType());
 		topLevelClass.addImportedType("org.apache.shiro.authz.annotation.RequiresPermissions");
 		topLevelClass.addImportedType("org.springframework.stereotype.Controller");
 		topLevelClass.addImportedType("org.springframework.web.bind.annotation.RequestMapping");
@@ -72,7 +72,7 @@ public class ControllerWebGenerator extends AbstractJavaGenerator {
 		topLevelClass.addAnnotation("@RequestMapping(\"/"+getValidPropertyName(modelType.getShortName())+"\")");
 		topLevelClass.addAnnotation("@RequiresPermissions(\""+getValidPropertyName(modelType.getShortName())+"\")");
 		FullyQualifiedJavaType superClass = baseControllerType;
-		FullyQualifiedJavaType serviceType = new FullyQualifiedJavaType(introspectedTable.getMyBatis3JavaMapperType().replaceAll("Mapper", "Service").replaceAll(".mapper", ".service.adapter"));
+		FullyQualifiedJavaType serviceType = FullyQualifiedJavaType.getInstance(introspectedTable.getMyBatis3JavaMapperType().replaceAll("Mapper", "Service").replaceAll(".mapper", ".service.adapter"));
 		if (superClass != null) {
 			topLevelClass.setSuperClass(superClass);
 			
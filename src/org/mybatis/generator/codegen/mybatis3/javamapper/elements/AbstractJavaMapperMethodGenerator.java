@@ -57,7 +57,7 @@ public abstract class AbstractJavaMapperMethodGenerator extends
         
         if (stringHasValue(introspectedColumn.getTypeHandler())) {
             FullyQualifiedJavaType fqjt =
-                new FullyQualifiedJavaType(introspectedColumn.getTypeHandler());
+                FullyQualifiedJavaType.getInstance(introspectedColumn.getTypeHandler());
             interfaze.addImportedType(fqjt);
             sb.append(", typeHandler="); //$NON-NLS-1$
             sb.append(fqjt.getShortName());
@@ -80,13 +80,13 @@ public abstract class AbstractJavaMapperMethodGenerator extends
         IntrospectedColumn introspectedColumn = introspectedTable.getColumn(gk.getColumn());
         if (introspectedColumn != null) {
             if (gk.isJdbcStandard()) {
-                interfaze.addImportedType(new FullyQualifiedJavaType("org.apache.ibatis.annotations.Options")); //$NON-NLS-1$
+                interfaze.addImportedType(FullyQualifiedJavaType.getInstance("org.apache.ibatis.annotations.Options")); //$NON-NLS-1$
                 sb.append("@Options(useGeneratedKeys=true,keyProperty=\""); //$NON-NLS-1$
                 sb.append(introspectedColumn.getJavaProperty());
                 sb.append("\")"); //$NON-NLS-1$
                 method.addAnnotation(sb.toString());
             } else {
-                interfaze.addImportedType(new FullyQualifiedJavaType("org.apache.ibatis.annotations.SelectKey")); //$NON-NLS-1$
+                interfaze.addImportedType(FullyQualifiedJavaType.getInstance("org.apache.ibatis.annotations.SelectKey")); //$NON-NLS-1$
                 FullyQualifiedJavaType fqjt = introspectedColumn.getFullyQualifiedJavaType();
                 interfaze.addImportedType(fqjt);
                 sb.append("@SelectKey(statement=\""); //$NON-NLS-1$
@@ -38,7 +38,7 @@ public class CountByExampleMethodGenerator extends
 
     @Override
     public void addInterfaceElements(Interface interfaze) {
-        FullyQualifiedJavaType fqjt = new FullyQualifiedJavaType(
+        FullyQualifiedJavaType fqjt = FullyQualifiedJavaType.getInstance(
                 introspectedTable.getExampleType());
 
         Set<FullyQualifiedJavaType> importedTypes = new TreeSet<FullyQualifiedJavaType>();
@@ -50,7 +50,7 @@ public class DeleteByPrimaryKeyMethodGenerator extends
         method.setName(introspectedTable.getDeleteByPrimaryKeyStatementId());
 
         if (!isSimple && introspectedTable.getRules().generatePrimaryKeyClass()) {
-            FullyQualifiedJavaType type = new FullyQualifiedJavaType(
+            FullyQualifiedJavaType type = FullyQualifiedJavaType.getInstance(
                     introspectedTable.getPrimaryKeyType());
             importedTypes.add(type);
             method.addParameter(new Parameter(type, "key")); //$NON-NLS-1$
@@ -63,7 +63,7 @@ public class DeleteByPrimaryKeyMethodGenerator extends
                     .getPrimaryKeyColumns();
             boolean annotate = introspectedColumns.size() > 1;
             if (annotate) {
-                importedTypes.add(new FullyQualifiedJavaType(
+                importedTypes.add(FullyQualifiedJavaType.getInstance(
                         "org.apache.ibatis.annotations.Param")); //$NON-NLS-1$
             }
             StringBuilder sb = new StringBuilder();
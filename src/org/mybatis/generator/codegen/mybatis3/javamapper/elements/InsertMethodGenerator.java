@@ -49,7 +49,7 @@ public class InsertMethodGenerator extends AbstractJavaMapperMethodGenerator {
 
         FullyQualifiedJavaType parameterType;
         if (isSimple) {
-            parameterType = new FullyQualifiedJavaType(
+            parameterType = FullyQualifiedJavaType.getInstance(
                     introspectedTable.getBaseRecordType());
         } else {
             parameterType = introspectedTable.getRules()
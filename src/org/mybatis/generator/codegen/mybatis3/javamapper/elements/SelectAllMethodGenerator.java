@@ -46,7 +46,7 @@ public class SelectAllMethodGenerator extends AbstractJavaMapperMethodGenerator
         FullyQualifiedJavaType returnType = FullyQualifiedJavaType
                 .getNewListInstance();
         FullyQualifiedJavaType listType;
-        listType = new FullyQualifiedJavaType(
+        listType = FullyQualifiedJavaType.getInstance(
                 introspectedTable.getBaseRecordType());
 
         importedTypes.add(listType);
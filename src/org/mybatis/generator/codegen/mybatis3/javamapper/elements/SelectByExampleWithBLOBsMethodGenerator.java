@@ -39,7 +39,7 @@ public class SelectByExampleWithBLOBsMethodGenerator extends
     @Override
     public void addInterfaceElements(Interface interfaze) {
         Set<FullyQualifiedJavaType> importedTypes = new TreeSet<FullyQualifiedJavaType>();
-        FullyQualifiedJavaType type = new FullyQualifiedJavaType(
+        FullyQualifiedJavaType type = FullyQualifiedJavaType.getInstance(
                 introspectedTable.getExampleType());
         importedTypes.add(type);
         importedTypes.add(FullyQualifiedJavaType.getNewListInstance());
@@ -51,11 +51,11 @@ public class SelectByExampleWithBLOBsMethodGenerator extends
                 .getNewListInstance();
         FullyQualifiedJavaType listType;
         if (introspectedTable.getRules().generateRecordWithBLOBsClass()) {
-            listType = new FullyQualifiedJavaType(introspectedTable
+            listType = FullyQualifiedJavaType.getInstance(introspectedTable
                     .getRecordWithBLOBsType());
         } else {
             // the blob fields must be rolled up into the base class
-            listType = new FullyQualifiedJavaType(introspectedTable
+            listType = FullyQualifiedJavaType.getInstance(introspectedTable
                     .getBaseRecordType());
         }
 
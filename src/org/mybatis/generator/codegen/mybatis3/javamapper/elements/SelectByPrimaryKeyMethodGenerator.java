@@ -55,7 +55,7 @@ public class SelectByPrimaryKeyMethodGenerator extends
         method.setName(introspectedTable.getSelectByPrimaryKeyStatementId());
 
         if (!isSimple && introspectedTable.getRules().generatePrimaryKeyClass()) {
-            FullyQualifiedJavaType type = new FullyQualifiedJavaType(
+            FullyQualifiedJavaType type = FullyQualifiedJavaType.getInstance(
                     introspectedTable.getPrimaryKeyType());
             importedTypes.add(type);
             method.addParameter(new Parameter(type, "key")); //$NON-NLS-1$
@@ -68,7 +68,7 @@ public class SelectByPrimaryKeyMethodGenerator extends
                     .getPrimaryKeyColumns();
             boolean annotate = introspectedColumns.size() > 1;
             if (annotate) {
-                importedTypes.add(new FullyQualifiedJavaType(
+                importedTypes.add(FullyQualifiedJavaType.getInstance(
                         "org.apache.ibatis.annotations.Param")); //$NON-NLS-1$
             }
             StringBuilder sb = new StringBuilder();
@@ -46,23 +46,23 @@ public class UpdateByExampleWithoutBLOBsMethodGenerator extends
 
         FullyQualifiedJavaType parameterType;
         if (introspectedTable.getRules().generateBaseRecordClass()) {
-            parameterType = new FullyQualifiedJavaType(introspectedTable
+            parameterType = FullyQualifiedJavaType.getInstance(introspectedTable
                     .getBaseRecordType());
         } else {
-            parameterType = new FullyQualifiedJavaType(introspectedTable
+            parameterType = FullyQualifiedJavaType.getInstance(introspectedTable
                     .getPrimaryKeyType());
         }
         method.addParameter(new Parameter(parameterType,
                 "record", "@Param(\"record\")")); //$NON-NLS-1$ //$NON-NLS-2$
         importedTypes.add(parameterType);
 
-        FullyQualifiedJavaType exampleType = new FullyQualifiedJavaType(
+        FullyQualifiedJavaType exampleType = FullyQualifiedJavaType.getInstance(
                 introspectedTable.getExampleType());
         method.addParameter(new Parameter(exampleType,
                 "example", "@Param(\"example\")")); //$NON-NLS-1$ //$NON-NLS-2$
         importedTypes.add(exampleType);
 
-        importedTypes.add(new FullyQualifiedJavaType(
+        importedTypes.add(FullyQualifiedJavaType.getInstance(
                 "org.apache.ibatis.annotations.Param")); //$NON-NLS-1$
 
         context.getCommentGenerator().addGeneralMethodComment(method,
@@ -41,7 +41,7 @@ public class AnnotatedDeleteByPrimaryKeyMethodGenerator extends
 
     @Override
     public void addMapperAnnotations(Interface interfaze, Method method) {
-        interfaze.addImportedType(new FullyQualifiedJavaType("org.apache.ibatis.annotations.Delete")); //$NON-NLS-1$
+        interfaze.addImportedType(FullyQualifiedJavaType.getInstance("org.apache.ibatis.annotations.Delete")); //$NON-NLS-1$
         
         method.addAnnotation("@Delete({"); //$NON-NLS-1$
         
@@ -44,7 +44,7 @@ public class AnnotatedInsertMethodGenerator extends
 
     @Override
     public void addMapperAnnotations(Interface interfaze, Method method) {
-        interfaze.addImportedType(new FullyQualifiedJavaType("org.apache.ibatis.annotations.Insert")); //$NON-NLS-1$
+        interfaze.addImportedType(FullyQualifiedJavaType.getInstance("org.apache.ibatis.annotations.Insert")); //$NON-NLS-1$
         
         GeneratedKey gk = introspectedTable.getGeneratedKey();
         
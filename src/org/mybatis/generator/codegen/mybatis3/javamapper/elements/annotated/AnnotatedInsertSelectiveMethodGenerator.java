@@ -34,8 +34,8 @@ public class AnnotatedInsertSelectiveMethodGenerator extends
 
     @Override
     public void addMapperAnnotations(Interface interfaze, Method method) {
-        FullyQualifiedJavaType fqjt = new FullyQualifiedJavaType(introspectedTable.getMyBatis3SqlProviderType());
-        interfaze.addImportedType(new FullyQualifiedJavaType("org.apache.ibatis.annotations.InsertProvider")); //$NON-NLS-1$
+        FullyQualifiedJavaType fqjt = FullyQualifiedJavaType.getInstance(introspectedTable.getMyBatis3SqlProviderType());
+        interfaze.addImportedType(FullyQualifiedJavaType.getInstance("org.apache.ibatis.annotations.InsertProvider")); //$NON-NLS-1$
         StringBuilder sb = new StringBuilder();
         sb.append("@InsertProvider(type="); //$NON-NLS-1$
         sb.append(fqjt.getShortName());
@@ -38,16 +38,16 @@ public class AnnotatedSelectByExampleWithBLOBsMethodGenerator extends
 
     @Override
     public void addMapperAnnotations(Interface interfaze, Method method) {
-        FullyQualifiedJavaType fqjt = new FullyQualifiedJavaType(introspectedTable.getMyBatis3SqlProviderType());
-        interfaze.addImportedType(new FullyQualifiedJavaType("org.apache.ibatis.annotations.SelectProvider")); //$NON-NLS-1$
-        interfaze.addImportedType(new FullyQualifiedJavaType("org.apache.ibatis.type.JdbcType")); //$NON-NLS-1$
+        FullyQualifiedJavaType fqjt = FullyQualifiedJavaType.getInstance(introspectedTable.getMyBatis3SqlProviderType());
+        interfaze.addImportedType(FullyQualifiedJavaType.getInstance("org.apache.ibatis.annotations.SelectProvider")); //$NON-NLS-1$
+        interfaze.addImportedType(FullyQualifiedJavaType.getInstance("org.apache.ibatis.type.JdbcType")); //$NON-NLS-1$
 
         if (introspectedTable.isConstructorBased()) {
-            interfaze.addImportedType(new FullyQualifiedJavaType("org.apache.ibatis.annotations.Arg")); //$NON-NLS-1$
-            interfaze.addImportedType(new FullyQualifiedJavaType("org.apache.ibatis.annotations.ConstructorArgs")); //$NON-NLS-1$
+            interfaze.addImportedType(FullyQualifiedJavaType.getInstance("org.apache.ibatis.annotations.Arg")); //$NON-NLS-1$
+            interfaze.addImportedType(FullyQualifiedJavaType.getInstance("org.apache.ibatis.annotations.ConstructorArgs")); //$NON-NLS-1$
         } else {
-            interfaze.addImportedType(new FullyQualifiedJavaType("org.apache.ibatis.annotations.Result")); //$NON-NLS-1$
-            interfaze.addImportedType(new FullyQualifiedJavaType("org.apache.ibatis.annotations.Results")); //$NON-NLS-1$
+            interfaze.addImportedType(FullyQualifiedJavaType.getInstance("org.apache.ibatis.annotations.Result")); //$NON-NLS-1$
+            interfaze.addImportedType(FullyQualifiedJavaType.getInstance("org.apache.ibatis.annotations.Results")); //$NON-NLS-1$
         }
         
         StringBuilder sb = new StringBuilder();
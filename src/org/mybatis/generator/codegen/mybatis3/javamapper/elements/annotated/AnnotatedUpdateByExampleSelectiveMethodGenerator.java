@@ -33,8 +33,8 @@ public class AnnotatedUpdateByExampleSelectiveMethodGenerator extends
 
     @Override
     public void addMapperAnnotations(Interface interfaze, Method method) {
-        FullyQualifiedJavaType fqjt = new FullyQualifiedJavaType(introspectedTable.getMyBatis3SqlProviderType());
-        interfaze.addImportedType(new FullyQualifiedJavaType("org.apache.ibatis.annotations.UpdateProvider")); //$NON-NLS-1$
+        FullyQualifiedJavaType fqjt = FullyQualifiedJavaType.getInstance(introspectedTable.getMyBatis3SqlProviderType());
+        interfaze.addImportedType(FullyQualifiedJavaType.getInstance("org.apache.ibatis.annotations.UpdateProvider")); //$NON-NLS-1$
         StringBuilder sb = new StringBuilder();
         sb.append("@UpdateProvider(type="); //$NON-NLS-1$
         sb.append(fqjt.getShortName());
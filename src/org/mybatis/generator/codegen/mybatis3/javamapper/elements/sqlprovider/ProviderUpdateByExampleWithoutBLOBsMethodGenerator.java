@@ -56,12 +56,12 @@ public class ProviderUpdateByExampleWithoutBLOBsMethodGenerator extends
         	importedTypes.add(NEW_BUILDER_IMPORT);
         }
 
-        importedTypes.add(new FullyQualifiedJavaType("java.util.Map")); //$NON-NLS-1$
+        importedTypes.add(FullyQualifiedJavaType.getInstance("java.util.Map")); //$NON-NLS-1$
         
         Method method = new Method(getMethodName());
         method.setReturnType(FullyQualifiedJavaType.getStringInstance());
         method.setVisibility(JavaVisibility.PUBLIC);
-        method.addParameter(new Parameter(new FullyQualifiedJavaType("java.util.Map<java.lang.String, java.lang.Object>"), //$NON-NLS-1$
+        method.addParameter(new Parameter(FullyQualifiedJavaType.getInstance("java.util.Map<java.lang.String, java.lang.Object>"), //$NON-NLS-1$
                 "parameter")); //$NON-NLS-1$
         
         context.getCommentGenerator().addGeneralMethodComment(method,
@@ -92,7 +92,7 @@ public class ProviderUpdateByExampleWithoutBLOBsMethodGenerator extends
         method.addBodyLine(""); //$NON-NLS-1$
         
         FullyQualifiedJavaType example =
-            new FullyQualifiedJavaType(introspectedTable.getExampleType());
+            FullyQualifiedJavaType.getInstance(introspectedTable.getExampleType());
         importedTypes.add(example);
         method.addBodyLine(String.format("%s example = (%s) parameter.get(\"example\");", //$NON-NLS-1$
                 example.getShortName(), example.getShortName()));
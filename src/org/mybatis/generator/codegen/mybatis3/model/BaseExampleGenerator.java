@@ -37,7 +37,7 @@ public class BaseExampleGenerator  extends AbstractJavaGenerator {
 		progressCallback.startTask(getString("Progress.6", "baseExample"));
 		CommentGenerator commentGenerator = context.getCommentGenerator();
 
-		FullyQualifiedJavaType type = new FullyQualifiedJavaType(context.getBaseExampleName());
+		FullyQualifiedJavaType type = FullyQualifiedJavaType.getInstance(context.getBaseExampleName());
 		TopLevelClass topLevelClass = new TopLevelClass(type);
 		topLevelClass.setVisibility(JavaVisibility.PUBLIC);
 		topLevelClass.setAbstract(true);
@@ -120,11 +120,60 @@ public class BaseExampleGenerator  extends AbstractJavaGenerator {
 		commentGenerator.addGeneralMethodComment(method, introspectedTable);
 		topLevelClass.addMethod(method);
 
+		// add fields, getters, setters for the page of the select by example
+		field = new Field();
+		field.setVisibility(JavaVisibility.PROTECTED);
+		field.setType(FullyQualifiedJavaType.getIntInstance());
+		field.setName("offset");
+		commentGenerator.addFieldComment(field, introspectedTable);
+		topLevelClass.addField(field);
+
+		method = new Method();
+		method.setVisibility(JavaVisibility.PUBLIC);
+		method.setName("setOffset");
+		method.addParameter(new Parameter(FullyQualifiedJavaType.getIntInstance(), "offset"));
+		method.addBodyLine("this.offset = offset;");
+		commentGenerator.addGeneralMethodComment(method, introspectedTable);
+		topLevelClass.addMethod(method);
+
+		method = new Method();
+		method.setVisibility(JavaVisibility.PUBLIC);
+		method.setReturnType(FullyQualifiedJavaType.getIntInstance());
+		method.setName("getOffset");
+		method.addBodyLine("return offset;");
+		commentGenerator.addGeneralMethodComment(method, introspectedTable);
+		topLevelClass.addMethod(method);
+
+		// a null limit selects all the rows
+		FullyQualifiedJavaType integerType = FullyQualifiedJavaType.getInstance("java.lang.Integer");
+		field = new Field();
+		field.setVisibility(JavaVisibility.PROTECTED);
+		field.setType(integerType);
+		field.setName("limit");
+		commentGenerator.addFieldComment(field, introspectedTable);
+		topLevelClass.addField(field);
+
+		method = new Method();
+		method.setVisibility(JavaVisibility.PUBLIC);
+		method.setName("setLimit");
+		method.addParameter(new Parameter(integerType, "limit"));
+		method.addBodyLine("this.limit = limit;");
+		commentGenerator.addGeneralMethodComment(method, introspectedTable);
+		topLevelClass.addMethod(method);
+
+		method = new Method();
+		method.setVisibility(JavaVisibility.PUBLIC);
+		method.setReturnType(integerType);
+		method.setName("getLimit");
+		method.addBodyLine("return limit;");
+		commentGenerator.addGeneralMethodComment(method, introspectedTable);
+		topLevelClass.addMethod(method);
+
 		// add field and methods for the list of ored criteria
 		field = new Field();
 		field.setVisibility(JavaVisibility.PROTECTED);
 
-		FullyQualifiedJavaType fqjt = new FullyQualifiedJavaType("java.util.List<GeneratedCriteria>");
+		FullyQualifiedJavaType fqjt = FullyQualifiedJavaType.getInstance("java.util.List<GeneratedCriteria>");
 		field.setType(fqjt);
 		field.setName("oredCriteria");
 		commentGenerator.addFieldComment(field, introspectedTable);
@@ -145,7 +194,7 @@ public class BaseExampleGenerator  extends AbstractJavaGenerator {
 		field = new Field();
 		field.setVisibility(JavaVisibility.PROTECTED);
 
-		fqjt = new FullyQualifiedJavaType("java.util.Map<String,ColumnContainerBase>");
+		fqjt = FullyQualifiedJavaType.getInstance("java.util.Map<String,ColumnContainerBase>");
 		field.setType(fqjt);
 		field.setName("columnContainerMap");
 		commentGenerator.addFieldComment(field, introspectedTable);
@@ -153,7 +202,7 @@ public class BaseExampleGenerator  extends AbstractJavaGenerator {
 		
 		method = new Method();
 		method.setVisibility(JavaVisibility.PUBLIC);
-		method.setReturnType(new FullyQualifiedJavaType("java.util.Set<ColumnContainerBase>"));
+		method.setReturnType(FullyQualifiedJavaType.getInstance("java.util.Set<ColumnContainerBase>"));
 		method.setName("getColumnContainerSet");
 		method.addBodyLine("if(columnContainerMap.size()==0){");
 		method.addBodyLine("columnContainerMap.put(getTableName(), createColumns());");
@@ -164,7 +213,7 @@ public class BaseExampleGenerator  extends AbstractJavaGenerator {
 		field = new Field();
 		field.setVisibility(JavaVisibility.PROTECTED);
 
-		FullyQualifiedJavaType fqjtype = new FullyQualifiedJavaType("java.util.Set<String>");
+		FullyQualifiedJavaType fqjtype = FullyQualifiedJavaType.getInstance("java.util.Set<String>");
 		field.setType(fqjtype);
 		field.setName("leftJoinTableSet");
 		commentGenerator.addFieldComment(field, introspectedTable);
@@ -284,9 +333,90 @@ public class BaseExampleGenerator  extends AbstractJavaGenerator {
 		method.addBodyLine("leftJoinTableSet.clear();");
 		method.addBodyLine("orderByClause = null;");
 		method.addBodyLine("distinct = false;");
+		method.addBodyLine("offset = 0;");
+		method.addBodyLine("limit = null;");
 		commentGenerator.addGeneralMethodComment(method, introspectedTable);
 		topLevelClass.addMethod(method);
 
+		// add the codec of the continuation tokens of keyset pages; the key
+		// values are hex encoded, so the token is opaque and safe in a URL.
+		// The tokens come from clients, so decoding checks the length and
+		// every character, and any bad token is an IllegalArgumentException
+		FullyQualifiedJavaType stringArray = FullyQualifiedJavaType.getInstance("java.lang.String[]");
+		field = new Field();
+		field.setVisibility(JavaVisibility.PRIVATE);
+		field.setStatic(true);
+		field.setFinal(true);
+		field.setType(FullyQualifiedJavaType.getIntInstance());
+		field.setName("MAX_CONTINUATION_LENGTH");
+		field.setInitializationString("1024");
+		topLevelClass.addField(field);
+
+		method = new Method();
+		method.setVisibility(JavaVisibility.PROTECTED);
+		method.setStatic(true);
+		method.setReturnType(FullyQualifiedJavaType.getStringInstance());
+		method.setName("encodeContinuation");
+		method.addParameter(new Parameter(stringArray, "values"));
+		method.addBodyLine("StringBuilder sb = new StringBuilder();");
+		method.addBodyLine("for (int i = 0; i < values.length; i++) {");
+		method.addBodyLine("if (i > 0) {");
+		method.addBodyLine("sb.append('.');");
+		method.addBodyLine("}");
+		method.addBodyLine("for (byte b : values[i].getBytes(Charset.forName(\"UTF-8\"))) {");
+		method.addBodyLine("sb.append(Character.forDigit((b >> 4) & 0xf, 16));");
+		method.addBodyLine("sb.append(Character.forDigit(b & 0xf, 16));");
+		method.addBodyLine("}");
+		method.addBodyLine("}");
+		method.addBodyLine("return sb.toString();");
+		commentGenerator.addGeneralMethodComment(method, introspectedTable);
+		topLevelClass.addMethod(method);
+
+		method = new Method();
+		method.setVisibility(JavaVisibility.PROTECTED);
+		method.setStatic(true);
+		method.setReturnType(stringArray);
+		method.setName("decodeContinuation");
+		method.addParameter(new Parameter(FullyQualifiedJavaType.getStringInstance(), "continuation"));
+		method.addParameter(new Parameter(FullyQualifiedJavaType.getIntInstance(), "count"));
+		method.addBodyLine("if (continuation.length() > MAX_CONTINUATION_LENGTH) {");
+		method.addBodyLine("throw new IllegalArgumentException(\"Invalid continuation\");");
+		method.addBodyLine("}");
+		method.addBodyLine("String[] values = continuation.split(\"\\\\.\", -1);");
+		method.addBodyLine("if (values.length != count) {");
+		method.addBodyLine("throw new IllegalArgumentException(\"Invalid continuation\");");
+		method.addBodyLine("}");
+		method.addBodyLine("for (int i = 0; i < values.length; i++) {");
+		method.addBodyLine("if (values[i].length() % 2 != 0) {");
+		method.addBodyLine("throw new IllegalArgumentException(\"Invalid continuation\");");
+		method.addBodyLine("}");
+		method.addBodyLine("byte[] bytes = new byte[values[i].length() / 2];");
+		method.addBodyLine("for (int j = 0; j < bytes.length; j++) {");
+		method.addBodyLine("bytes[j] = (byte) ((hexDigit(values[i].charAt(2 * j)) << 4) | hexDigit(values[i].charAt(2 * j + 1)));");
+		method.addBodyLine("}");
+		method.addBodyLine("values[i] = new String(bytes, Charset.forName(\"UTF-8\"));");
+		method.addBodyLine("}");
+		method.addBodyLine("return values;");
+		commentGenerator.addGeneralMethodComment(method, introspectedTable);
+		topLevelClass.addMethod(method);
+
+		method = new Method();
+		method.setVisibility(JavaVisibility.PRIVATE);
+		method.setStatic(true);
+		method.setReturnType(FullyQualifiedJavaType.getIntInstance());
+		method.setName("hexDigit");
+		method.addParameter(new Parameter(FullyQualifiedJavaType.getInstance("char"), "c"));
+		method.addBodyLine("if (c >= '0' && c <= '9') {");
+		method.addBodyLine("return c - '0';");
+		method.addBodyLine("}");
+		method.addBodyLine("if (c >= 'a' && c <= 'f') {");
+		method.addBodyLine("return c - 'a' + 10;");
+		method.addBodyLine("}");
+		method.addBodyLine("throw new IllegalArgumentException(\"Invalid continuation\");");
+		commentGenerator.addGeneralMethodComment(method, introspectedTable);
+		topLevelClass.addMethod(method);
+		topLevelClass.addImportedType(FullyQualifiedJavaType.getInstance("java.nio.charset.Charset"));
+
 		// now generate the inner class that holds the AND conditions
 		topLevelClass.addInnerClass(getGeneratedCriteriaInnerClass(topLevelClass));
 
@@ -323,6 +453,7 @@ public class BaseExampleGenerator  extends AbstractJavaGenerator {
 		method.addBodyLine("super();");
 		// add by suman start 
 		method.addBodyLine("columnContainerStr = new StringBuffer();");
+		method.addBodyLine("columnAliasStr = new StringBuffer();");
 		method.addBodyLine("this.tableName = tableName;");
 		// add by suman end
 		answer.addMethod(method);
@@ -338,7 +469,7 @@ public class BaseExampleGenerator  extends AbstractJavaGenerator {
 		answer.addMethod(method);
 
 
-		//��Ӵ���getAllColumn���������
+		//?getAllColumn?
 		method = new Method();
 		method.setVisibility(JavaVisibility.PUBLIC);
 		method.setName("getAllColumn");
@@ -359,6 +490,20 @@ public class BaseExampleGenerator  extends AbstractJavaGenerator {
 		method.setName(getGetterMethodName(field.getName(), field.getType()));
 		method.addBodyLine("return columnContainerStr;");
 		answer.addMethod(method);
+
+		// the result column names of the columns, which the Oracle pagination
+		// selects from the nested query
+		field = new Field();
+		field.setVisibility(JavaVisibility.PRIVATE);
+		field.setType(FullyQualifiedJavaType.getStringBufferInstance());
+		field.setName("columnAliasStr");
+		answer.addField(field);
+		method = new Method();
+		method.setVisibility(JavaVisibility.PUBLIC);
+		method.setReturnType(field.getType());
+		method.setName(getGetterMethodName(field.getName(), field.getType()));
+		method.addBodyLine("return columnAliasStr;");
+		answer.addMethod(method);
 		
 		method = new Method();
 		method.setVisibility(JavaVisibility.PROTECTED);
@@ -366,8 +511,11 @@ public class BaseExampleGenerator  extends AbstractJavaGenerator {
 		method.addParameter(new Parameter(FullyQualifiedJavaType.getStringInstance(), "column"));
 		method.addBodyLine("if (columnContainerStr.length() > 0) {");
 		method.addBodyLine("columnContainerStr.append(\",\");");
+		method.addBodyLine("columnAliasStr.append(\",\");");
 		method.addBodyLine("}");
 		method.addBodyLine("columnContainerStr.append(column);");
+		method.addBodyLine("int index = column.lastIndexOf(\" as \");");
+		method.addBodyLine("columnAliasStr.append(index < 0 ? column : column.substring(index + 4));");
 
 		answer.addMethod(method);
 		// add by suman start
@@ -395,7 +543,7 @@ public class BaseExampleGenerator  extends AbstractJavaGenerator {
 		Field field;
 		Method method;
 
-		InnerClass answer = new InnerClass(new FullyQualifiedJavaType("Criterion"));
+		InnerClass answer = new InnerClass(FullyQualifiedJavaType.getInstance("Criterion"));
 		answer.setVisibility(JavaVisibility.PUBLIC);
 		answer.setStatic(true);
 		context.getCommentGenerator().addClassComment(answer, introspectedTable);
@@ -560,7 +708,7 @@ public class BaseExampleGenerator  extends AbstractJavaGenerator {
 		
 		field = new Field();
 		field.setVisibility(JavaVisibility.PROTECTED);
-		FullyQualifiedJavaType listOfCriterion = new FullyQualifiedJavaType("java.util.List<Criterion>");
+		FullyQualifiedJavaType listOfCriterion = FullyQualifiedJavaType.getInstance("java.util.List<Criterion>");
 		field.setType(listOfCriterion);
 		field.setName("criteria");
 		answer.addField(field);
@@ -59,7 +59,7 @@ public class BaseRecordGenerator extends AbstractJavaGenerator {
 		Plugin plugins = context.getPlugins();
 		CommentGenerator commentGenerator = context.getCommentGenerator();
 
-		FullyQualifiedJavaType type = new FullyQualifiedJavaType(introspectedTable.getBaseRecordType());
+		FullyQualifiedJavaType type = FullyQualifiedJavaType.getInstance(introspectedTable.getBaseRecordType());
 		TopLevelClass topLevelClass = new TopLevelClass(type);
 		topLevelClass.setVisibility(JavaVisibility.PUBLIC);
 		commentGenerator.addJavaFileComment(topLevelClass);
@@ -117,7 +117,7 @@ public class BaseRecordGenerator extends AbstractJavaGenerator {
 					
 					IntrospectedTable introspectedImportTable = introspectedImportColumn.getIntrospectedTable();
 					
-					FullyQualifiedJavaType importType = new FullyQualifiedJavaType(introspectedImportTable.getBaseRecordType());
+					FullyQualifiedJavaType importType = FullyQualifiedJavaType.getInstance(introspectedImportTable.getBaseRecordType());
 					Field field = new Field();
 					field.setVisibility(JavaVisibility.PRIVATE);
 					field.setType(importType);
@@ -151,11 +151,11 @@ public class BaseRecordGenerator extends AbstractJavaGenerator {
 	private FullyQualifiedJavaType getSuperClass() {
 		FullyQualifiedJavaType superClass;
 		if (introspectedTable.getRules().generatePrimaryKeyClass()) {
-			superClass = new FullyQualifiedJavaType(introspectedTable.getPrimaryKeyType());
+			superClass = FullyQualifiedJavaType.getInstance(introspectedTable.getPrimaryKeyType());
 		} else {
 			String rootClass = getRootClass();
 			if (rootClass != null) {
-				superClass = new FullyQualifiedJavaType(rootClass);
+				superClass = FullyQualifiedJavaType.getInstance(rootClass);
 			} else {
 				superClass = null;
 			}
@@ -16,6 +16,7 @@
 package org.mybatis.generator.codegen.mybatis3.model;
 
 import static org.mybatis.generator.internal.util.JavaBeansUtil.getGetterMethodName;
+import static org.mybatis.generator.internal.util.JavaBeansUtil.getSetterMethodName;
 import static org.mybatis.generator.internal.util.StringUtility.stringHasValue;
 import static org.mybatis.generator.internal.util.messages.Messages.getString;
 import static org.mybatis.generator.internal.util.JavaBeansUtil.getValidPropertyName;
@@ -54,6 +55,8 @@ import org.mybatis.generator.codegen.mybatis3.MyBatis3FormattingUtilities;
  */
 public class ExampleGenerator extends AbstractJavaGenerator {
 
+	private static final String DATE_TYPE = "java.util.Date";
+
 	public ExampleGenerator() {
 		super();
 	}
@@ -64,10 +67,10 @@ public class ExampleGenerator extends AbstractJavaGenerator {
 		progressCallback.startTask(getString("Progress.6", table.toString()));
 		CommentGenerator commentGenerator = context.getCommentGenerator();
 
-		FullyQualifiedJavaType type = new FullyQualifiedJavaType(introspectedTable.getExampleType());
+		FullyQualifiedJavaType type = FullyQualifiedJavaType.getInstance(introspectedTable.getExampleType());
 		TopLevelClass topLevelClass = new TopLevelClass(type);
 		topLevelClass.setVisibility(JavaVisibility.PUBLIC);
-		FullyQualifiedJavaType superType = new FullyQualifiedJavaType(context.getBaseExampleName());
+		FullyQualifiedJavaType superType = FullyQualifiedJavaType.getInstance(context.getBaseExampleName());
 		topLevelClass.setSuperClass(superType);
 		topLevelClass.addImportedType(superType);
 		commentGenerator.addJavaFileComment(topLevelClass);
@@ -160,7 +163,7 @@ public class ExampleGenerator extends AbstractJavaGenerator {
 	/*	field = new Field();
 		field.setVisibility(JavaVisibility.PROTECTED);
 
-		FullyQualifiedJavaType fqjt = new FullyQualifiedJavaType("java.util.List<Criteria>");
+		FullyQualifiedJavaType fqjt = FullyQualifiedJavaType.getInstance("java.util.List<Criteria>");
 		field.setType(fqjt);
 		field.setName("oredCriteria");
 		commentGenerator.addFieldComment(field, introspectedTable);
@@ -240,6 +243,10 @@ public class ExampleGenerator extends AbstractJavaGenerator {
 		commentGenerator.addGeneralMethodComment(method, introspectedTable);
 		topLevelClass.addMethod(method);*/
 
+		if (introspectedTable.getRules().generateSelectPageAfter()) {
+			addLastKeyMethods(topLevelClass);
+		}
+
 		// now generate the inner class that holds the AND conditions
 		topLevelClass.addInnerClass(getCriteriaInnerClass(topLevelClass));
 
@@ -257,8 +264,173 @@ public class ExampleGenerator extends AbstractJavaGenerator {
 		return answer;
 	}
 
+	/**
+	 * Adds the last key of the keyset page, a clear method that also drops it
+	 * and, if all the key columns can be written as text, the methods that read
+	 * and write the last key as an opaque continuation token. A null key value
+	 * has no text form, getContinuation rejects it with an
+	 * IllegalArgumentException.
+	 * 
+	 * @param topLevelClass
+	 *            the example class
+	 */
+	private void addLastKeyMethods(TopLevelClass topLevelClass) {
+		CommentGenerator commentGenerator = context.getCommentGenerator();
+		FullyQualifiedJavaType keyType = getLastKeyType(introspectedTable);
+
+		Field field = new Field();
+		field.setVisibility(JavaVisibility.PROTECTED);
+		field.setType(keyType);
+		field.setName("lastKey");
+		commentGenerator.addFieldComment(field, introspectedTable);
+		topLevelClass.addField(field);
+
+		Method method = new Method();
+		method.setVisibility(JavaVisibility.PUBLIC);
+		method.setName("setLastKey");
+		method.addParameter(new Parameter(keyType, "lastKey"));
+		method.addBodyLine("this.lastKey = lastKey;");
+		commentGenerator.addGeneralMethodComment(method, introspectedTable);
+		topLevelClass.addMethod(method);
+
+		method = new Method();
+		method.setVisibility(JavaVisibility.PUBLIC);
+		method.setReturnType(keyType);
+		method.setName("getLastKey");
+		method.addBodyLine("return lastKey;");
+		commentGenerator.addGeneralMethodComment(method, introspectedTable);
+		topLevelClass.addMethod(method);
+		topLevelClass.addImportedType(keyType);
+
+		method = new Method();
+		method.addAnnotation("@Override");
+		method.setVisibility(JavaVisibility.PUBLIC);
+		method.setName("clear");
+		method.addBodyLine("super.clear();");
+		method.addBodyLine("lastKey = null;");
+		commentGenerator.addGeneralMethodComment(method, introspectedTable);
+		topLevelClass.addMethod(method);
+
+		if (!isContinuationSupported(introspectedTable)) {
+			return;
+		}
+
+		List<IntrospectedColumn> keyColumns = introspectedTable.getPrimaryKeyColumns();
+		method = new Method();
+		method.setVisibility(JavaVisibility.PUBLIC);
+		method.setName("setContinuation");
+		method.addParameter(new Parameter(FullyQualifiedJavaType.getStringInstance(), "continuation"));
+		method.addBodyLine("if (continuation == null || continuation.length() == 0) {");
+		method.addBodyLine("lastKey = null;");
+		method.addBodyLine("return;");
+		method.addBodyLine("}");
+		method.addBodyLine("String[] values = decodeContinuation(continuation, " + keyColumns.size() + ");");
+		method.addBodyLine("lastKey = new " + keyType.getShortName() + "();");
+		for (int i = 0; i < keyColumns.size(); i++) {
+			IntrospectedColumn introspectedColumn = keyColumns.get(i);
+			method.addBodyLine("lastKey." + getSetterMethodName(introspectedColumn.getJavaProperty()) + "("
+					+ getParseExpression(introspectedColumn.getFullyQualifiedJavaType(), "values[" + i + "]") + ");");
+			if (!introspectedColumn.getFullyQualifiedJavaType().isPrimitive()) {
+				topLevelClass.addImportedType(introspectedColumn.getFullyQualifiedJavaType());
+			}
+		}
+		commentGenerator.addGeneralMethodComment(method, introspectedTable);
+		topLevelClass.addMethod(method);
+
+		method = new Method();
+		method.setVisibility(JavaVisibility.PUBLIC);
+		method.setStatic(true);
+		method.setReturnType(FullyQualifiedJavaType.getStringInstance());
+		method.setName("getContinuation");
+		method.addParameter(new Parameter(keyType, "record"));
+		for (IntrospectedColumn introspectedColumn : keyColumns) {
+			if (introspectedColumn.getFullyQualifiedJavaType().isPrimitive()) {
+				continue;
+			}
+			method.addBodyLine("if (record." + getGetterMethodName(introspectedColumn.getJavaProperty(),
+					introspectedColumn.getFullyQualifiedJavaType()) + "() == null) {");
+			method.addBodyLine("throw new IllegalArgumentException(\"" + introspectedColumn.getJavaProperty()
+					+ " of the last key is null\");");
+			method.addBodyLine("}");
+		}
+		StringBuilder sb = new StringBuilder();
+		sb.append("return encodeContinuation(new String[] { ");
+		for (int i = 0; i < keyColumns.size(); i++) {
+			IntrospectedColumn introspectedColumn = keyColumns.get(i);
+			if (i > 0) {
+				sb.append(", ");
+			}
+			sb.append("String.valueOf(record.");
+			sb.append(getGetterMethodName(introspectedColumn.getJavaProperty(), introspectedColumn.getFullyQualifiedJavaType()));
+			sb.append("()");
+			if (DATE_TYPE.equals(introspectedColumn.getFullyQualifiedJavaType().getFullyQualifiedName())) {
+				sb.append(".getTime()");
+			}
+			sb.append(')');
+		}
+		sb.append(" });");
+		method.addBodyLine(sb.toString());
+		commentGenerator.addGeneralMethodComment(method, introspectedTable);
+		topLevelClass.addMethod(method);
+	}
+
+	/**
+	 * Returns the type of the last key of a keyset page, which is the type of the
+	 * rows returned by the select by example.
+	 * 
+	 * @param introspectedTable
+	 *            the table
+	 * @return the type of the last key
+	 */
+	public static FullyQualifiedJavaType getLastKeyType(IntrospectedTable introspectedTable) {
+		if (introspectedTable.getRules().generateBaseRecordClass()) {
+			return FullyQualifiedJavaType.getInstance(introspectedTable.getBaseRecordType());
+		}
+		return FullyQualifiedJavaType.getInstance(introspectedTable.getPrimaryKeyType());
+	}
+
+	/**
+	 * Checks if the primary key of the table can be written to a continuation
+	 * token, that is if every key column has a type that can be parsed back from
+	 * text.
+	 * 
+	 * @param introspectedTable
+	 *            the table
+	 * @return true if the example gets the continuation token methods
+	 */
+	public static boolean isContinuationSupported(IntrospectedTable introspectedTable) {
+		if (!introspectedTable.getRules().generateSelectPageAfter()) {
+			return false;
+		}
+		for (IntrospectedColumn introspectedColumn : introspectedTable.getPrimaryKeyColumns()) {
+			if (getParseExpression(introspectedColumn.getFullyQualifiedJavaType(), "") == null) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static String getParseExpression(FullyQualifiedJavaType type, String value) {
+		if (type.isPrimitive()) {
+			type = type.getPrimitiveTypeWrapper();
+		}
+		String name = type.getFullyQualifiedName();
+		if ("java.lang.String".equals(name)) {
+			return value;
+		} else if (DATE_TYPE.equals(name)) {
+			return "new Date(Long.parseLong(" + value + "))";
+		} else if ("java.math.BigDecimal".equals(name) || "java.math.BigInteger".equals(name)) {
+			return "new " + type.getShortName() + "(" + value + ")";
+		} else if ("java.lang.Long".equals(name) || "java.lang.Integer".equals(name) || "java.lang.Short".equals(name)
+				|| "java.lang.Byte".equals(name) || "java.lang.Double".equals(name) || "java.lang.Float".equals(name)
+				|| "java.lang.Boolean".equals(name)) {
+			return type.getShortName() + ".valueOf(" + value + ")";
+		}
+		return null;
+	}
+
 	private Method getCreateOtherExampleColumnsMethod(IntrospectedTable introspectedImportTable){
-		FullyQualifiedJavaType importType = new FullyQualifiedJavaType(introspectedImportTable.getExampleType());
+		FullyQualifiedJavaType importType = FullyQualifiedJavaType.getInstance(introspectedImportTable.getExampleType());
 		StringBuffer sb = new StringBuffer();
 		Method method = new Method();
 		method.setVisibility(JavaVisibility.PUBLIC);
@@ -269,7 +441,7 @@ public class ExampleGenerator extends AbstractJavaGenerator {
 		sb.setLength(0);
 		sb.append(importType.getShortName());
 		sb.append(".ColumnContainer");
-		method.setReturnType(new FullyQualifiedJavaType(sb.toString()),false);
+		method.setReturnType(FullyQualifiedJavaType.getInstance(sb.toString()),false);
 		sb.setLength(0);
 		sb.append(importType.getShortName());
 		sb.append(" ");
@@ -304,7 +476,7 @@ public class ExampleGenerator extends AbstractJavaGenerator {
 		return method;
 	}
 	private Method getAndOtherExampleCriteriaMethod(IntrospectedTable introspectedImportTable){
-		FullyQualifiedJavaType importType = new FullyQualifiedJavaType(introspectedImportTable.getExampleType());
+		FullyQualifiedJavaType importType = FullyQualifiedJavaType.getInstance(introspectedImportTable.getExampleType());
 		StringBuffer sb = new StringBuffer();
 		Method method = new Method();
 		method.setVisibility(JavaVisibility.PUBLIC);
@@ -315,7 +487,7 @@ public class ExampleGenerator extends AbstractJavaGenerator {
 		sb.setLength(0);
 		sb.append(importType.getShortName());
 		sb.append(".Criteria");
-		method.setReturnType(new FullyQualifiedJavaType(sb.toString()),false);
+		method.setReturnType(FullyQualifiedJavaType.getInstance(sb.toString()),false);
 		sb.setLength(0);
 		sb.append(importType.getShortName());
 		sb.append(" ");
@@ -343,10 +515,10 @@ public class ExampleGenerator extends AbstractJavaGenerator {
 		return method;
 	}
 	private Method getAndOtherExampleCriteriaMethodWithCriteria(IntrospectedTable introspectedImportTable){
-		FullyQualifiedJavaType importType = new FullyQualifiedJavaType(introspectedImportTable.getExampleType());
+		FullyQualifiedJavaType importType = FullyQualifiedJavaType.getInstance(introspectedImportTable.getExampleType());
 		StringBuffer sb = new StringBuffer();
 		Method method = new Method();
-		method.addParameter(new Parameter(new FullyQualifiedJavaType("Criteria"), "criteria"));
+		method.addParameter(new Parameter(FullyQualifiedJavaType.getInstance("Criteria"), "criteria"));
 		method.setVisibility(JavaVisibility.PUBLIC);
 		sb.append("and");
 		sb.append(importType.getShortName().replace("Example", ""));
@@ -355,7 +527,7 @@ public class ExampleGenerator extends AbstractJavaGenerator {
 		sb.setLength(0);
 		sb.append(importType.getShortName());
 		sb.append(".Criteria");
-		method.setReturnType(new FullyQualifiedJavaType(sb.toString()),false);
+		method.setReturnType(FullyQualifiedJavaType.getInstance(sb.toString()),false);
 		sb.setLength(0);
 		sb.append(importType.getShortName());
 		sb.append(" ");
@@ -377,7 +549,7 @@ public class ExampleGenerator extends AbstractJavaGenerator {
 	}
 
 	private Method getOrOtherExampleCriteriaMethod(IntrospectedTable introspectedImportTable){
-		FullyQualifiedJavaType importType = new FullyQualifiedJavaType(introspectedImportTable.getExampleType());
+		FullyQualifiedJavaType importType = FullyQualifiedJavaType.getInstance(introspectedImportTable.getExampleType());
 		StringBuffer sb = new StringBuffer();
 		Method method = new Method();
 		method.setVisibility(JavaVisibility.PUBLIC);
@@ -388,7 +560,7 @@ public class ExampleGenerator extends AbstractJavaGenerator {
 		sb.setLength(0);
 		sb.append(importType.getShortName());
 		sb.append(".Criteria");
-		method.setReturnType(new FullyQualifiedJavaType(sb.toString()),false);
+		method.setReturnType(FullyQualifiedJavaType.getInstance(sb.toString()),false);
 		sb.setLength(0);
 		sb.append(importType.getShortName());
 		sb.append(" ");
@@ -443,7 +615,7 @@ public class ExampleGenerator extends AbstractJavaGenerator {
 		answer.addMethod(method);
 
 
-		//��Ӵ���getAllColumn���������
+		//?getAllColumn?
 		method = new Method();
 		method.setVisibility(JavaVisibility.PUBLIC);
 		method.setName("getAllColumn");
@@ -497,7 +669,7 @@ public class ExampleGenerator extends AbstractJavaGenerator {
 		Field field;
 		Method method;
 
-		InnerClass answer = new InnerClass(new FullyQualifiedJavaType("Criterion"));
+		InnerClass answer = new InnerClass(FullyQualifiedJavaType.getInstance("Criterion"));
 		answer.setVisibility(JavaVisibility.PUBLIC);
 		answer.setStatic(true);
 		context.getCommentGenerator().addClassComment(answer, introspectedTable);
@@ -709,7 +881,7 @@ public class ExampleGenerator extends AbstractJavaGenerator {
 		if (criteriaLists.size() > 1) {
 			field = new Field();
 			field.setName("allCriteria");
-			field.setType(new FullyQualifiedJavaType("List<Criterion>"));
+			field.setType(FullyQualifiedJavaType.getInstance("List<Criterion>"));
 			field.setVisibility(JavaVisibility.PROTECTED);
 			answer.addField(field);
 		}
@@ -717,7 +889,7 @@ public class ExampleGenerator extends AbstractJavaGenerator {
 		method = new Method();
 		method.setVisibility(JavaVisibility.PUBLIC);
 		method.setName("getAllCriteria");
-		method.setReturnType(new FullyQualifiedJavaType("List<Criterion>"));
+		method.setReturnType(FullyQualifiedJavaType.getInstance("List<Criterion>"));
 		if (criteriaLists.size() < 2) {
 			method.addBodyLine("return criteria;");
 		} else {
@@ -737,7 +909,7 @@ public class ExampleGenerator extends AbstractJavaGenerator {
 		method = new Method();
 		method.setVisibility(JavaVisibility.PUBLIC);
 		method.setName("setAllCriteria");
-		method.addParameter(new Parameter(new FullyQualifiedJavaType("List<Criterion>"), "criteria"));
+		method.addParameter(new Parameter(FullyQualifiedJavaType.getInstance("List<Criterion>"), "criteria"));
 		method.addBodyLine("this.criteria = criteria;");
 		answer.addMethod(method);
 
@@ -750,7 +922,7 @@ public class ExampleGenerator extends AbstractJavaGenerator {
 
 		/*field = new Field();
 		field.setVisibility(JavaVisibility.PROTECTED);
-		FullyQualifiedJavaType listOfCriterion = new FullyQualifiedJavaType("java.util.List<Criterion>");
+		FullyQualifiedJavaType listOfCriterion = FullyQualifiedJavaType.getInstance("java.util.List<Criterion>");
 		field.setType(listOfCriterion);
 		field.setName("criteria");
 		answer.addField(field);
@@ -807,7 +979,7 @@ public class ExampleGenerator extends AbstractJavaGenerator {
 		}
 		answer.addMethod(method);
 
-		FullyQualifiedJavaType listOfDates = new FullyQualifiedJavaType("java.util.List<java.util.Date>");
+		FullyQualifiedJavaType listOfDates = FullyQualifiedJavaType.getInstance("java.util.List<java.util.Date>");
 
 		if (introspectedTable.hasJDBCDateColumns()) {
 			topLevelClass.addImportedType(FullyQualifiedJavaType.getDateInstance());
@@ -1189,7 +1361,7 @@ public class ExampleGenerator extends AbstractJavaGenerator {
 
 		Field field = new Field();
 		field.setVisibility(JavaVisibility.PROTECTED);
-		field.setType(new FullyQualifiedJavaType("java.util.List<Criterion>"));
+		field.setType(FullyQualifiedJavaType.getInstance("java.util.List<Criterion>"));
 		field.setName(answer);
 		innerClass.addField(field);
 
@@ -56,7 +56,7 @@ public class SimpleModelGenerator extends AbstractJavaGenerator {
 		Plugin plugins = context.getPlugins();
 		CommentGenerator commentGenerator = context.getCommentGenerator();
 
-		FullyQualifiedJavaType type = new FullyQualifiedJavaType(introspectedTable.getBaseRecordType());
+		FullyQualifiedJavaType type = FullyQualifiedJavaType.getInstance(introspectedTable.getBaseRecordType());
 		TopLevelClass topLevelClass = new TopLevelClass(type);
 		topLevelClass.setVisibility(JavaVisibility.PUBLIC);
 		commentGenerator.addJavaFileComment(topLevelClass);
@@ -114,7 +114,7 @@ public class SimpleModelGenerator extends AbstractJavaGenerator {
 			
 			IntrospectedTable introspectedImportTable = introspectedImportColumn.getIntrospectedTable();
 			
-			FullyQualifiedJavaType importType = new FullyQualifiedJavaType(introspectedImportTable.getBaseRecordType());
+			FullyQualifiedJavaType importType = FullyQualifiedJavaType.getInstance(introspectedImportTable.getBaseRecordType());
 			Field field = new Field();
 			field.setVisibility(JavaVisibility.PRIVATE);
 			field.setType(importType);
@@ -150,7 +150,7 @@ public class SimpleModelGenerator extends AbstractJavaGenerator {
 		FullyQualifiedJavaType superClass;
 		String rootClass = getRootClass();
 		if (rootClass != null) {
-			superClass = new FullyQualifiedJavaType(rootClass);
+			superClass = FullyQualifiedJavaType.getInstance(rootClass);
 		} else {
 			superClass = null;
 		}
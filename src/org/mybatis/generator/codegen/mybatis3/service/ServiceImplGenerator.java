@@ -19,9 +19,11 @@ import static org.mybatis.generator.internal.util.JavaBeansUtil.getJavaBeansFiel
 import static org.mybatis.generator.internal.util.JavaBeansUtil.getJavaBeansGetter;
 import static org.mybatis.generator.internal.util.JavaBeansUtil.getJavaBeansSetter;
 import static org.mybatis.generator.internal.util.JavaBeansUtil.getValidPropertyName;
+import static org.mybatis.generator.internal.util.StringUtility.stringHasValue;
 import static org.mybatis.generator.internal.util.messages.Messages.getString;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.mybatis.generator.api.CommentGenerator;
@@ -38,6 +40,9 @@ import org.mybatis.generator.api.dom.java.Parameter;
 import org.mybatis.generator.api.dom.java.TopLevelClass;
 import org.mybatis.generator.codegen.AbstractJavaGenerator;
 import org.mybatis.generator.codegen.RootClassInfo;
+import org.mybatis.generator.codegen.mybatis3.model.ExampleGenerator;
+import org.mybatis.generator.codegen.mybatis3.xmlmapper.elements.UpdateBatchByPrimaryKeyElementGenerator;
+import org.mybatis.generator.config.PropertyRegistry;
 
 /**
  * 
@@ -57,13 +62,13 @@ public class ServiceImplGenerator extends AbstractJavaGenerator {
 		Plugin plugins = context.getPlugins();
 		CommentGenerator commentGenerator = context.getCommentGenerator();
 
-		FullyQualifiedJavaType type = new FullyQualifiedJavaType(introspectedTable.getBaseRecordType().replace(".model", ".service.impl")+"ServiceImpl");
+		FullyQualifiedJavaType type = FullyQualifiedJavaType.getInstance(introspectedTable.getBaseRecordType().replace(".model", ".service.impl")+"ServiceImpl");
 		TopLevelClass topLevelClass = new TopLevelClass(type);
 		topLevelClass.setVisibility(JavaVisibility.PUBLIC);
 		commentGenerator.addJavaFileComment(topLevelClass);
 
 		FullyQualifiedJavaType superClass = getSuperClass();
-		FullyQualifiedJavaType superInterface = new FullyQualifiedJavaType(introspectedTable.getMyBatis3JavaMapperType().replaceAll("Mapper", "Service").replaceAll(".mapper", ".service.adapter"));
+		FullyQualifiedJavaType superInterface = FullyQualifiedJavaType.getInstance(introspectedTable.getMyBatis3JavaMapperType().replaceAll("Mapper", "Service").replaceAll(".mapper", ".service.adapter"));
 		topLevelClass.addSuperInterface(superInterface);
 		if (superClass != null) {
 			topLevelClass.setSuperClass(superClass);
@@ -72,11 +77,11 @@ public class ServiceImplGenerator extends AbstractJavaGenerator {
 			topLevelClass.addImportedType(superClass);
 		}
 		topLevelClass.addAnnotation("@Service");
-		FullyQualifiedJavaType mapper = new FullyQualifiedJavaType(introspectedTable.getMyBatis3JavaMapperType());
+		FullyQualifiedJavaType mapper = FullyQualifiedJavaType.getInstance(introspectedTable.getMyBatis3JavaMapperType());
 		
-		topLevelClass.addImportedType( new FullyQualifiedJavaType("org.springframework.stereotype.Service"));
-		topLevelClass.addImportedType( new FullyQualifiedJavaType("javax.annotation.Resource"));
-		topLevelClass.addImportedType( new FullyQualifiedJavaType(introspectedTable.getBaseRecordType()));
+		topLevelClass.addImportedType( FullyQualifiedJavaType.getInstance("org.springframework.stereotype.Service"));
+		topLevelClass.addImportedType( FullyQualifiedJavaType.getInstance("javax.annotation.Resource"));
+		topLevelClass.addImportedType( FullyQualifiedJavaType.getInstance(introspectedTable.getBaseRecordType()));
 		topLevelClass.addImportedType(mapper);
 		Field field = new Field();
 		field.addAnnotation("@Resource");
@@ -91,7 +96,7 @@ public class ServiceImplGenerator extends AbstractJavaGenerator {
 		method.setConstructor(false);
 		
 		method.setName("getMapper");
-		FullyQualifiedJavaType returnType = new FullyQualifiedJavaType(
+		FullyQualifiedJavaType returnType = FullyQualifiedJavaType.getInstance(
                 "com.viontech.base.BaseMapper<"+introspectedTable.getBaseRecordType()+">");
 		topLevelClass.addImportedType(returnType);
 		method.setReturnType(returnType);
@@ -99,6 +104,28 @@ public class ServiceImplGenerator extends AbstractJavaGenerator {
 		//method.addBodyLine("leftJoinTableSet = new HashSet<String>();");
 		
 		topLevelClass.addMethod(method);
+
+		String mapperField = getValidPropertyName(mapper.getShortName());
+		if (introspectedTable.getRules().generateInsertBatch()) {
+			addBatchSizeField(topLevelClass, "BATCH_SIZE", getInsertBindVariablesPerRow()); //$NON-NLS-1$
+			addInsertBatchMethod(topLevelClass, mapperField);
+		}
+		if (introspectedTable.getRules().generateUpsert()) {
+			addUpsertMethod(topLevelClass, mapperField, introspectedTable.getUpsertStatementId());
+			addUpsertMethod(topLevelClass, mapperField, introspectedTable.getUpsertSelectiveStatementId());
+		}
+		if (isUpdateAllSupported(introspectedTable)) {
+			addBatchSizeField(topLevelClass, "UPDATE_BATCH_SIZE", //$NON-NLS-1$
+					UpdateBatchByPrimaryKeyElementGenerator.getBindVariablesPerRow(introspectedTable));
+			addUpdateAllMethod(topLevelClass, mapper, mapperField);
+		} else if (introspectedTable.getRules().generateUpdateBatchByPrimaryKey()) {
+			warnings.add(getString("Warning.30", table.toString(), //$NON-NLS-1$
+					PropertyRegistry.CONTEXT_BATCH_SQL_SESSION_TEMPLATE));
+		}
+		if (introspectedTable.getRules().generateSelectPageAfter()) {
+			addSelectPageAfterMethod(topLevelClass, mapperField);
+		}
+
 		List<CompilationUnit> answer = new ArrayList<CompilationUnit>();
 		if (context.getPlugins().modelBaseRecordClassGenerated(topLevelClass, introspectedTable)) {
 			answer.add(topLevelClass);
@@ -106,11 +133,276 @@ public class ServiceImplGenerator extends AbstractJavaGenerator {
 		return answer;
 	}
 
+	/**
+	 * Adds a constant that limits the rows of one batch statement. It is the
+	 * batchSize of the context, lowered for wide tables so that the statement
+	 * has at most Context.getMaxBindVariables() bind variables. The length of
+	 * the statement is not limited, a batch of long rows may still need a
+	 * larger max_allowed_packet on MySQL.
+	 * 
+	 * @param topLevelClass
+	 *            the service implementation
+	 * @param name
+	 *            the name of the constant
+	 * @param bindVariablesPerRow
+	 *            the bind variables the statement has for each row
+	 */
+	protected void addBatchSizeField(TopLevelClass topLevelClass, String name, int bindVariablesPerRow) {
+		Field field = new Field();
+		field.setVisibility(JavaVisibility.PRIVATE);
+		field.setStatic(true);
+		field.setFinal(true);
+		field.setType(FullyQualifiedJavaType.getIntInstance());
+		field.setName(name);
+		field.setInitializationString(Integer.toString(context.getBatchSize(bindVariablesPerRow)));
+		topLevelClass.addField(field);
+	}
+
+	private int getInsertBindVariablesPerRow() {
+		int bindVariablesPerRow = 0;
+		for (IntrospectedColumn introspectedColumn : introspectedTable.getAllColumns()) {
+			// the multi-row insert binds every column but the identity columns
+			if (!introspectedColumn.isIdentity()) {
+				bindVariablesPerRow++;
+			}
+		}
+		return bindVariablesPerRow;
+	}
+
+	/**
+	 * Adds the method that inserts a list of records with the multi-row insert of
+	 * the mapper, BATCH_SIZE records per statement.
+	 * 
+	 * @param topLevelClass
+	 *            the service implementation
+	 * @param mapperField
+	 *            the name of the mapper field
+	 */
+	protected void addInsertBatchMethod(TopLevelClass topLevelClass, String mapperField) {
+		FullyQualifiedJavaType recordType = introspectedTable.getRules().calculateAllFieldsClass();
+		FullyQualifiedJavaType parameterType = FullyQualifiedJavaType.getNewListInstance();
+		parameterType.addTypeArgument(recordType);
+
+		Method method = new Method();
+		method.addAnnotation("@Override"); //$NON-NLS-1$
+		method.setVisibility(JavaVisibility.PUBLIC);
+		method.setReturnType(FullyQualifiedJavaType.getIntInstance());
+		method.setName(introspectedTable.getInsertBatchStatementId());
+		method.addParameter(new Parameter(parameterType, "records")); //$NON-NLS-1$
+		method.addBodyLine("int count = 0;"); //$NON-NLS-1$
+		method.addBodyLine("for (int i = 0; i < records.size(); i += BATCH_SIZE) {"); //$NON-NLS-1$
+		method.addBodyLine("count += " + mapperField + "." + introspectedTable.getInsertBatchStatementId() //$NON-NLS-1$ //$NON-NLS-2$
+				+ "(records.subList(i, Math.min(i + BATCH_SIZE, records.size())));"); //$NON-NLS-1$
+		method.addBodyLine("}"); //$NON-NLS-1$
+		method.addBodyLine("return count;"); //$NON-NLS-1$
+		context.getCommentGenerator().addGeneralMethodComment(method, introspectedTable);
+
+		topLevelClass.addImportedType(FullyQualifiedJavaType.getNewListInstance());
+		topLevelClass.addImportedType(recordType);
+		topLevelClass.addMethod(method);
+	}
+
+	/**
+	 * Adds a method that passes the record to the upsert statement of the same
+	 * name in the mapper.
+	 * 
+	 * @param topLevelClass
+	 *            the service implementation
+	 * @param mapperField
+	 *            the name of the mapper field
+	 * @param statementId
+	 *            the id of the upsert statement
+	 */
+	protected void addUpsertMethod(TopLevelClass topLevelClass, String mapperField, String statementId) {
+		FullyQualifiedJavaType recordType = introspectedTable.getRules().calculateAllFieldsClass();
+
+		Method method = new Method();
+		method.addAnnotation("@Override"); //$NON-NLS-1$
+		method.setVisibility(JavaVisibility.PUBLIC);
+		method.setReturnType(FullyQualifiedJavaType.getIntInstance());
+		method.setName(statementId);
+		method.addParameter(new Parameter(recordType, "record")); //$NON-NLS-1$
+		method.addBodyLine("return " + mapperField + "." + statementId + "(record);"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		context.getCommentGenerator().addGeneralMethodComment(method, introspectedTable);
+
+		topLevelClass.addImportedType(recordType);
+		topLevelClass.addMethod(method);
+	}
+
+	/**
+	 * Checks if updateAll is generated. It needs the batch update by primary
+	 * key and a SqlSessionTemplate bean with ExecutorType.BATCH, which the
+	 * context property batchSqlSessionTemplate names.
+	 * 
+	 * @param introspectedTable
+	 *            the introspected table
+	 * @return true if the service has an updateAll method
+	 */
+	public static boolean isUpdateAllSupported(IntrospectedTable introspectedTable) {
+		return introspectedTable.getRules().generateUpdateBatchByPrimaryKey()
+				&& stringHasValue(introspectedTable.getContext().getProperty(
+						PropertyRegistry.CONTEXT_BATCH_SQL_SESSION_TEMPLATE));
+	}
+
+	/**
+	 * Adds the lines on the transaction of updateAll to the generated comment of
+	 * the method, unless comments are suppressed.
+	 * 
+	 * @param method
+	 *            the updateAll method of the service or its implementation
+	 */
+	static void addUpdateAllJavaDocLines(Method method) {
+		List<String> javaDocLines = method.getJavaDocLines();
+		if (javaDocLines.isEmpty()) {
+			return;
+		}
+
+		// before the closing line of the comment
+		javaDocLines.addAll(javaDocLines.size() - 1, Arrays.asList(
+				" *", //$NON-NLS-1$
+				" * The records are updated in a new transaction, which commits when the", //$NON-NLS-1$
+				" * method returns. A rollback of the calling transaction does not undo", //$NON-NLS-1$
+				" * the update, and rows the calling transaction has locked are waited for,", //$NON-NLS-1$
+				" * so do not change the records in that transaction before this call.")); //$NON-NLS-1$
+	}
+
+	/**
+	 * Adds the method that updates a list of records by primary key. Lists of up
+	 * to UPDATE_BATCH_SIZE records are updated with the batch update of the
+	 * mapper, larger lists with a JDBC batch of single row updates, so no
+	 * statement grows with the list. The JDBC batch runs on the SqlSessionTemplate
+	 * bean with ExecutorType.BATCH that the context property
+	 * batchSqlSessionTemplate names. Spring cannot switch the executor type of
+	 * a session that a transaction already holds, so the method runs with
+	 * Propagation.REQUIRES_NEW: it never joins the transaction of the caller
+	 * and is not atomic with it. Rows a driver reports as SUCCESS_NO_INFO are
+	 * counted as one row each.
+	 * 
+	 * @param topLevelClass
+	 *            the service implementation
+	 * @param mapper
+	 *            the type of the mapper
+	 * @param mapperField
+	 *            the name of the mapper field
+	 */
+	protected void addUpdateAllMethod(TopLevelClass topLevelClass, FullyQualifiedJavaType mapper, String mapperField) {
+		FullyQualifiedJavaType sqlSessionTemplate = FullyQualifiedJavaType.getInstance("org.mybatis.spring.SqlSessionTemplate"); //$NON-NLS-1$
+		FullyQualifiedJavaType transactional = FullyQualifiedJavaType.getInstance("org.springframework.transaction.annotation.Transactional"); //$NON-NLS-1$
+		FullyQualifiedJavaType propagation = FullyQualifiedJavaType.getInstance("org.springframework.transaction.annotation.Propagation"); //$NON-NLS-1$
+		FullyQualifiedJavaType executorType = FullyQualifiedJavaType.getInstance("org.apache.ibatis.session.ExecutorType"); //$NON-NLS-1$
+		FullyQualifiedJavaType batchResult = FullyQualifiedJavaType.getInstance("org.apache.ibatis.executor.BatchResult"); //$NON-NLS-1$
+		FullyQualifiedJavaType statement = FullyQualifiedJavaType.getInstance("java.sql.Statement"); //$NON-NLS-1$
+
+		Field field = new Field();
+		field.addAnnotation("@Resource(name = \"" //$NON-NLS-1$
+				+ context.getProperty(PropertyRegistry.CONTEXT_BATCH_SQL_SESSION_TEMPLATE) + "\")"); //$NON-NLS-1$
+		field.setVisibility(JavaVisibility.PRIVATE);
+		field.setType(sqlSessionTemplate);
+		field.setName("batchSqlSessionTemplate"); //$NON-NLS-1$
+		topLevelClass.addField(field);
+
+		String updateStatementId;
+		if (introspectedTable.getRules().generateUpdateByPrimaryKeyWithBLOBs()) {
+			updateStatementId = introspectedTable.getUpdateByPrimaryKeyWithBLOBsStatementId();
+		} else {
+			updateStatementId = introspectedTable.getUpdateByPrimaryKeyStatementId();
+		}
+
+		FullyQualifiedJavaType recordType = introspectedTable.getRules().calculateAllFieldsClass();
+		FullyQualifiedJavaType parameterType = FullyQualifiedJavaType.getNewListInstance();
+		parameterType.addTypeArgument(recordType);
+
+		Method method = new Method();
+		method.addAnnotation("@Override"); //$NON-NLS-1$
+		method.addAnnotation("@Transactional(propagation = Propagation.REQUIRES_NEW)"); //$NON-NLS-1$
+		method.setVisibility(JavaVisibility.PUBLIC);
+		method.setReturnType(FullyQualifiedJavaType.getIntInstance());
+		method.setName("updateAll"); //$NON-NLS-1$
+		method.addParameter(new Parameter(parameterType, "records")); //$NON-NLS-1$
+		method.addBodyLine("if (records.isEmpty()) {"); //$NON-NLS-1$
+		method.addBodyLine("return 0;"); //$NON-NLS-1$
+		method.addBodyLine("}"); //$NON-NLS-1$
+		method.addBodyLine("if (records.size() <= UPDATE_BATCH_SIZE) {"); //$NON-NLS-1$
+		method.addBodyLine("return " + mapperField + "." + introspectedTable.getUpdateBatchByPrimaryKeyStatementId() + "(records);"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		method.addBodyLine("}"); //$NON-NLS-1$
+		method.addBodyLine("if (batchSqlSessionTemplate.getExecutorType() != ExecutorType.BATCH) {"); //$NON-NLS-1$
+		method.addBodyLine("throw new IllegalStateException(\"batchSqlSessionTemplate must use ExecutorType.BATCH\");"); //$NON-NLS-1$
+		method.addBodyLine("}"); //$NON-NLS-1$
+		method.addBodyLine("int count = 0;"); //$NON-NLS-1$
+		method.addBodyLine(mapper.getShortName() + " batchMapper = batchSqlSessionTemplate.getMapper(" + mapper.getShortName() + ".class);"); //$NON-NLS-1$ //$NON-NLS-2$
+		method.addBodyLine("for (int i = 0; i < records.size(); i += UPDATE_BATCH_SIZE) {"); //$NON-NLS-1$
+		method.addBodyLine("for (" + recordType.getShortName() //$NON-NLS-1$
+				+ " record : records.subList(i, Math.min(i + UPDATE_BATCH_SIZE, records.size()))) {"); //$NON-NLS-1$
+		method.addBodyLine("batchMapper." + updateStatementId + "(record);"); //$NON-NLS-1$ //$NON-NLS-2$
+		method.addBodyLine("}"); //$NON-NLS-1$
+		method.addBodyLine("for (BatchResult batchResult : batchSqlSessionTemplate.flushStatements()) {"); //$NON-NLS-1$
+		method.addBodyLine("for (int updateCount : batchResult.getUpdateCounts()) {"); //$NON-NLS-1$
+		method.addBodyLine("if (updateCount == Statement.SUCCESS_NO_INFO) {"); //$NON-NLS-1$
+		method.addBodyLine("count++;"); //$NON-NLS-1$
+		method.addBodyLine("} else if (updateCount > 0) {"); //$NON-NLS-1$
+		method.addBodyLine("count += updateCount;"); //$NON-NLS-1$
+		method.addBodyLine("}"); //$NON-NLS-1$
+		method.addBodyLine("}"); //$NON-NLS-1$
+		method.addBodyLine("}"); //$NON-NLS-1$
+		method.addBodyLine("}"); //$NON-NLS-1$
+		method.addBodyLine("return count;"); //$NON-NLS-1$
+		context.getCommentGenerator().addGeneralMethodComment(method, introspectedTable);
+		addUpdateAllJavaDocLines(method);
+
+		topLevelClass.addImportedType(sqlSessionTemplate);
+		topLevelClass.addImportedType(transactional);
+		topLevelClass.addImportedType(propagation);
+		topLevelClass.addImportedType(executorType);
+		topLevelClass.addImportedType(batchResult);
+		topLevelClass.addImportedType(statement);
+		topLevelClass.addImportedType(FullyQualifiedJavaType.getNewListInstance());
+		topLevelClass.addImportedType(recordType);
+		topLevelClass.addMethod(method);
+	}
+
+	/**
+	 * Adds the method that selects the keyset page after the last key. The key
+	 * and the page size are set on the example, which is the only parameter of
+	 * the mapper statement. The generated method changes the example of the
+	 * caller: it sets its lastKey, its offset to 0 and its limit to the page
+	 * size, so an example reused for another query must be reset first.
+	 * 
+	 * @param topLevelClass
+	 *            the service implementation
+	 * @param mapperField
+	 *            the name of the mapper field
+	 */
+	protected void addSelectPageAfterMethod(TopLevelClass topLevelClass, String mapperField) {
+		FullyQualifiedJavaType exampleType = FullyQualifiedJavaType.getInstance(introspectedTable.getExampleType());
+		FullyQualifiedJavaType keyType = ExampleGenerator.getLastKeyType(introspectedTable);
+		FullyQualifiedJavaType returnType = FullyQualifiedJavaType.getNewListInstance();
+		returnType.addTypeArgument(keyType);
+
+		Method method = new Method();
+		method.addAnnotation("@Override"); //$NON-NLS-1$
+		method.setVisibility(JavaVisibility.PUBLIC);
+		method.setReturnType(returnType);
+		method.setName(introspectedTable.getSelectPageAfterStatementId());
+		method.addParameter(new Parameter(exampleType, "example")); //$NON-NLS-1$
+		method.addParameter(new Parameter(keyType, "lastKey")); //$NON-NLS-1$
+		method.addParameter(new Parameter(FullyQualifiedJavaType.getIntInstance(), "pageSize")); //$NON-NLS-1$
+		method.addBodyLine("example.setLastKey(lastKey);"); //$NON-NLS-1$
+		method.addBodyLine("example.setOffset(0);"); //$NON-NLS-1$
+		method.addBodyLine("example.setLimit(pageSize);"); //$NON-NLS-1$
+		method.addBodyLine("return " + mapperField + "." + introspectedTable.getSelectPageAfterStatementId() + "(example);"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		context.getCommentGenerator().addGeneralMethodComment(method, introspectedTable);
+
+		topLevelClass.addImportedType(FullyQualifiedJavaType.getNewListInstance());
+		topLevelClass.addImportedType(exampleType);
+		topLevelClass.addImportedType(keyType);
+		topLevelClass.addMethod(method);
+	}
+
 	private FullyQualifiedJavaType getSuperClass() {
 		FullyQualifiedJavaType superClass;
 		String rootClass = "com.viontech.base.BaseServiceImpl<"+introspectedTable.getBaseRecordType()+">";
 		if (rootClass != null) {
-			superClass = new FullyQualifiedJavaType(rootClass);
+			superClass = FullyQualifiedJavaType.getInstance(rootClass);
 		} else {
 			superClass = null;
 		}
@@ -27,12 +27,17 @@ import org.mybatis.generator.api.dom.java.CompilationUnit;
 import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
 import org.mybatis.generator.api.dom.java.Interface;
 import org.mybatis.generator.api.dom.java.JavaVisibility;
+import org.mybatis.generator.api.dom.java.Method;
+import org.mybatis.generator.api.dom.java.Parameter;
 import org.mybatis.generator.codegen.AbstractJavaClientGenerator;
 import org.mybatis.generator.codegen.AbstractXmlGenerator;
 import org.mybatis.generator.codegen.mybatis3.javamapper.elements.AbstractJavaMapperMethodGenerator;
 import org.mybatis.generator.codegen.mybatis3.javamapper.elements.CountByExampleMethodGenerator;
 import org.mybatis.generator.codegen.mybatis3.javamapper.elements.DeleteByExampleMethodGenerator;
 import org.mybatis.generator.codegen.mybatis3.javamapper.elements.DeleteByPrimaryKeyMethodGenerator;
+import org.mybatis.generator.codegen.mybatis3.javamapper.elements.InsertBatchMethodGenerator;
+import org.mybatis.generator.codegen.mybatis3.javamapper.elements.UpsertMethodGenerator;
+import org.mybatis.generator.codegen.mybatis3.model.ExampleGenerator;
 import org.mybatis.generator.codegen.mybatis3.javamapper.elements.InsertMethodGenerator;
 import org.mybatis.generator.codegen.mybatis3.javamapper.elements.InsertSelectiveMethodGenerator;
 import org.mybatis.generator.codegen.mybatis3.javamapper.elements.SelectByExampleWithBLOBsMethodGenerator;
@@ -70,7 +75,7 @@ public class ServiceInterfaceGenerator extends AbstractJavaClientGenerator {
                 introspectedTable.getFullyQualifiedTable().toString()));
         CommentGenerator commentGenerator = context.getCommentGenerator();
 
-        FullyQualifiedJavaType type = new FullyQualifiedJavaType(
+        FullyQualifiedJavaType type = FullyQualifiedJavaType.getInstance(
                 introspectedTable.getMyBatis3JavaMapperType().replaceAll("Mapper", "Service").replaceAll(".mapper", ".service.adapter"));
         Interface interfaze = new Interface(type);
         interfaze.setVisibility(JavaVisibility.PUBLIC);
@@ -83,11 +88,16 @@ public class ServiceInterfaceGenerator extends AbstractJavaClientGenerator {
         }
 
         if (stringHasValue(rootInterface)) {
-            FullyQualifiedJavaType fqjt = new FullyQualifiedJavaType(
+            FullyQualifiedJavaType fqjt = FullyQualifiedJavaType.getInstance(
                     rootInterface);
             interfaze.addSuperInterface(fqjt);
             interfaze.addImportedType(fqjt);
         }
+
+        addInsertBatchMethod(interfaze);
+        addUpsertMethods(interfaze);
+        addUpdateAllMethod(interfaze);
+        addSelectPageAfterMethod(interfaze);
         
         List<CompilationUnit> answer = new ArrayList<CompilationUnit>();
         if (context.getPlugins().clientGenerated(interfaze, null,
@@ -104,6 +114,73 @@ public class ServiceInterfaceGenerator extends AbstractJavaClientGenerator {
     }
 
 
+    protected void addInsertBatchMethod(Interface interfaze) {
+        if (introspectedTable.getRules().generateInsertBatch()) {
+            AbstractJavaMapperMethodGenerator methodGenerator = new InsertBatchMethodGenerator();
+            initializeAndExecuteGenerator(methodGenerator, interfaze);
+        }
+    }
+
+    protected void addUpsertMethods(Interface interfaze) {
+        if (introspectedTable.getRules().generateUpsert()) {
+            initializeAndExecuteGenerator(new UpsertMethodGenerator(false),
+                    interfaze);
+            initializeAndExecuteGenerator(new UpsertMethodGenerator(true),
+                    interfaze);
+        }
+    }
+
+    protected void addUpdateAllMethod(Interface interfaze) {
+        if (ServiceImplGenerator.isUpdateAllSupported(introspectedTable)) {
+            FullyQualifiedJavaType recordType = introspectedTable.getRules()
+                    .calculateAllFieldsClass();
+            FullyQualifiedJavaType parameterType = FullyQualifiedJavaType
+                    .getNewListInstance();
+            parameterType.addTypeArgument(recordType);
+
+            Method method = new Method();
+            method.setReturnType(FullyQualifiedJavaType.getIntInstance());
+            method.setVisibility(JavaVisibility.PUBLIC);
+            method.setName("updateAll"); //$NON-NLS-1$
+            method.addParameter(new Parameter(parameterType, "records")); //$NON-NLS-1$
+            context.getCommentGenerator().addGeneralMethodComment(method,
+                    introspectedTable);
+            ServiceImplGenerator.addUpdateAllJavaDocLines(method);
+
+            interfaze.addImportedType(FullyQualifiedJavaType.getNewListInstance());
+            interfaze.addImportedType(recordType);
+            interfaze.addMethod(method);
+        }
+    }
+
+    protected void addSelectPageAfterMethod(Interface interfaze) {
+        if (introspectedTable.getRules().generateSelectPageAfter()) {
+            FullyQualifiedJavaType exampleType = FullyQualifiedJavaType
+                    .getInstance(introspectedTable.getExampleType());
+            FullyQualifiedJavaType keyType = ExampleGenerator
+                    .getLastKeyType(introspectedTable);
+            FullyQualifiedJavaType returnType = FullyQualifiedJavaType
+                    .getNewListInstance();
+            returnType.addTypeArgument(keyType);
+
+            Method method = new Method();
+            method.setReturnType(returnType);
+            method.setVisibility(JavaVisibility.PUBLIC);
+            method.setName(introspectedTable.getSelectPageAfterStatementId());
+            method.addParameter(new Parameter(exampleType, "example")); //$NON-NLS-1$
+            method.addParameter(new Parameter(keyType, "lastKey")); //$NON-NLS-1$
+            method.addParameter(new Parameter(FullyQualifiedJavaType
+                    .getIntInstance(), "pageSize")); //$NON-NLS-1$
+            context.getCommentGenerator().addGeneralMethodComment(method,
+                    introspectedTable);
+
+            interfaze.addImportedType(FullyQualifiedJavaType.getNewListInstance());
+            interfaze.addImportedType(exampleType);
+            interfaze.addImportedType(keyType);
+            interfaze.addMethod(method);
+        }
+    }
+
     protected void initializeAndExecuteGenerator(
             AbstractJavaMapperMethodGenerator methodGenerator,
             Interface interfaze) {
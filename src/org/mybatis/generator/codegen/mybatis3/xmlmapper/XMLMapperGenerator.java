@@ -31,6 +31,7 @@ import org.mybatis.generator.codegen.mybatis3.xmlmapper.elements.CountByExampleE
 import org.mybatis.generator.codegen.mybatis3.xmlmapper.elements.DeleteByExampleElementGenerator;
 import org.mybatis.generator.codegen.mybatis3.xmlmapper.elements.DeleteByPrimaryKeyElementGenerator;
 import org.mybatis.generator.codegen.mybatis3.xmlmapper.elements.ExampleWhereClauseElementGenerator;
+import org.mybatis.generator.codegen.mybatis3.xmlmapper.elements.InsertBatchElementGenerator;
 import org.mybatis.generator.codegen.mybatis3.xmlmapper.elements.InsertElementGenerator;
 import org.mybatis.generator.codegen.mybatis3.xmlmapper.elements.InsertSelectiveElementGenerator;
 import org.mybatis.generator.codegen.mybatis3.xmlmapper.elements.LeftJoinElementGenerator;
@@ -39,12 +40,15 @@ import org.mybatis.generator.codegen.mybatis3.xmlmapper.elements.ResultMapWithou
 import org.mybatis.generator.codegen.mybatis3.xmlmapper.elements.SelectByExampleWithBLOBsElementGenerator;
 import org.mybatis.generator.codegen.mybatis3.xmlmapper.elements.SelectByExampleWithoutBLOBsElementGenerator;
 import org.mybatis.generator.codegen.mybatis3.xmlmapper.elements.SelectByPrimaryKeyElementGenerator;
+import org.mybatis.generator.codegen.mybatis3.xmlmapper.elements.SelectPageAfterElementGenerator;
+import org.mybatis.generator.codegen.mybatis3.xmlmapper.elements.UpdateBatchByPrimaryKeyElementGenerator;
 import org.mybatis.generator.codegen.mybatis3.xmlmapper.elements.UpdateByExampleSelectiveElementGenerator;
 import org.mybatis.generator.codegen.mybatis3.xmlmapper.elements.UpdateByExampleWithBLOBsElementGenerator;
 import org.mybatis.generator.codegen.mybatis3.xmlmapper.elements.UpdateByExampleWithoutBLOBsElementGenerator;
 import org.mybatis.generator.codegen.mybatis3.xmlmapper.elements.UpdateByPrimaryKeySelectiveElementGenerator;
 import org.mybatis.generator.codegen.mybatis3.xmlmapper.elements.UpdateByPrimaryKeyWithBLOBsElementGenerator;
 import org.mybatis.generator.codegen.mybatis3.xmlmapper.elements.UpdateByPrimaryKeyWithoutBLOBsElementGenerator;
+import org.mybatis.generator.codegen.mybatis3.xmlmapper.elements.UpsertElementGenerator;
 
 /**
  * 
@@ -77,16 +81,21 @@ public class XMLMapperGenerator extends AbstractXmlGenerator {
 		addBlobColumnListElement(answer);
 		addSelectByExampleWithBLOBsElement(answer);
 		addSelectByExampleWithoutBLOBsElement(answer);
+		addSelectPageAfterElement(answer);
 		addSelectByPrimaryKeyElement(answer);
 		addDeleteByPrimaryKeyElement(answer);
 		addDeleteByExampleElement(answer);
 		addInsertElement(answer);
 		addInsertSelectiveElement(answer);
+		addInsertBatchElement(answer);
+		addUpsertElement(answer);
+		addUpsertSelectiveElement(answer);
 		addCountByExampleElement(answer);
 		addUpdateByExampleSelectiveElement(answer);
 		addUpdateByExampleWithBLOBsElement(answer);
 		addUpdateByExampleWithoutBLOBsElement(answer);
 		addUpdateByPrimaryKeySelectiveElement(answer);
+		addUpdateBatchByPrimaryKeyElement(answer);
 		addUpdateByPrimaryKeyWithBLOBsElement(answer);
 		addUpdateByPrimaryKeyWithoutBLOBsElement(answer);
 
@@ -156,6 +165,13 @@ public class XMLMapperGenerator extends AbstractXmlGenerator {
 		}
 	}
 
+	protected void addSelectPageAfterElement(XmlElement parentElement) {
+		if (introspectedTable.getRules().generateSelectPageAfter()) {
+			AbstractXmlElementGenerator elementGenerator = new SelectPageAfterElementGenerator();
+			initializeAndExecuteGenerator(elementGenerator, parentElement);
+		}
+	}
+
 	protected void addSelectByExampleWithBLOBsElement(XmlElement parentElement) {
 		if (introspectedTable.getRules().generateSelectByExampleWithBLOBs()) {
 			AbstractXmlElementGenerator elementGenerator = new SelectByExampleWithBLOBsElementGenerator();
@@ -198,6 +214,27 @@ public class XMLMapperGenerator extends AbstractXmlGenerator {
 		}
 	}
 
+	protected void addInsertBatchElement(XmlElement parentElement) {
+		if (introspectedTable.getRules().generateInsertBatch()) {
+			AbstractXmlElementGenerator elementGenerator = new InsertBatchElementGenerator();
+			initializeAndExecuteGenerator(elementGenerator, parentElement);
+		}
+	}
+
+	protected void addUpsertElement(XmlElement parentElement) {
+		if (introspectedTable.getRules().generateUpsert()) {
+			AbstractXmlElementGenerator elementGenerator = new UpsertElementGenerator(false);
+			initializeAndExecuteGenerator(elementGenerator, parentElement);
+		}
+	}
+
+	protected void addUpsertSelectiveElement(XmlElement parentElement) {
+		if (introspectedTable.getRules().generateUpsert()) {
+			AbstractXmlElementGenerator elementGenerator = new UpsertElementGenerator(true);
+			initializeAndExecuteGenerator(elementGenerator, parentElement);
+		}
+	}
+
 	protected void addCountByExampleElement(XmlElement parentElement) {
 		if (introspectedTable.getRules().generateCountByExample()) {
 			AbstractXmlElementGenerator elementGenerator = new CountByExampleElementGenerator();
@@ -233,6 +270,13 @@ public class XMLMapperGenerator extends AbstractXmlGenerator {
 		}
 	}
 
+	protected void addUpdateBatchByPrimaryKeyElement(XmlElement parentElement) {
+		if (introspectedTable.getRules().generateUpdateBatchByPrimaryKey()) {
+			AbstractXmlElementGenerator elementGenerator = new UpdateBatchByPrimaryKeyElementGenerator();
+			initializeAndExecuteGenerator(elementGenerator, parentElement);
+		}
+	}
+
 	protected void addUpdateByPrimaryKeyWithBLOBsElement(XmlElement parentElement) {
 		if (introspectedTable.getRules().generateUpdateByPrimaryKeyWithBLOBs()) {
 			AbstractXmlElementGenerator elementGenerator = new UpdateByPrimaryKeyWithBLOBsElementGenerator();
@@ -15,12 +15,20 @@
  */
 package org.mybatis.generator.codegen.mybatis3.xmlmapper.elements;
 
+import static org.mybatis.generator.internal.util.StringUtility.stringHasValue;
+
+import java.util.Iterator;
+import java.util.List;
+
 import org.mybatis.generator.api.IntrospectedColumn;
+import org.mybatis.generator.api.IntrospectedTable;
 import org.mybatis.generator.api.dom.xml.Attribute;
 import org.mybatis.generator.api.dom.xml.TextElement;
 import org.mybatis.generator.api.dom.xml.XmlElement;
 import org.mybatis.generator.codegen.AbstractGenerator;
+import org.mybatis.generator.codegen.mybatis3.MyBatis3FormattingUtilities;
 import org.mybatis.generator.config.GeneratedKey;
+import org.mybatis.generator.internal.db.DatabaseDialects;
 
 /**
  * 
@@ -95,6 +103,175 @@ public abstract class AbstractXmlElementGenerator extends AbstractGenerator {
 		return includeElement;
 	}
 
+	/**
+	 * Adds the start of the pagination of a select by example. Only Oracle needs
+	 * one, as it pages by nesting the query in two selects on ROWNUM. The outer
+	 * select lists the result columns by their aliases, so the ROWNUM column of
+	 * the nesting is not returned.
+	 * 
+	 * @param answer
+	 *            the select element
+	 * @param withBLOBs
+	 *            true if the query selects the BLOB columns as well
+	 */
+	protected void addPaginationStartElement(XmlElement answer, boolean withBLOBs) {
+		if (context.getDatabaseDialect() != DatabaseDialects.ORACLE) {
+			return;
+		}
+
+		XmlElement ifElement = new XmlElement("if");
+		ifElement.addAttribute(new Attribute("test", "limit != null"));
+		ifElement.addElement(new TextElement("select"));
+		if (stringHasValue(introspectedTable.getSelectByExampleQueryId())) {
+			ifElement.addElement(new TextElement("QUERYID,"));
+		}
+
+		// the columns of the example, as in the base column list
+		XmlElement foreachElement = new XmlElement("foreach");
+		foreachElement.addAttribute(new Attribute("collection", "columnContainerSet"));
+		foreachElement.addAttribute(new Attribute("item", "columns"));
+		foreachElement.addAttribute(new Attribute("separator", ","));
+		XmlElement chooseElement = new XmlElement("choose");
+		chooseElement.addElement(getColumnAliasWhenElement(introspectedTable));
+		for (IntrospectedColumn introspectedColumn : introspectedTable.getAllColumns()) {
+			IntrospectedColumn introspectedImportColumn = introspectedColumn.getIntrospectedImportColumn();
+			if (introspectedImportColumn == null) {
+				continue;
+			}
+			IntrospectedTable introspectedImportTable = introspectedImportColumn.getIntrospectedTable();
+			if (introspectedImportTable.equals(introspectedTable)) {
+				continue;
+			}
+			chooseElement.addElement(getColumnAliasWhenElement(introspectedImportTable));
+		}
+		foreachElement.addElement(chooseElement);
+		ifElement.addElement(foreachElement);
+
+		if (withBLOBs) {
+			ifElement.addElement(new TextElement(","));
+			addColumnAliasElements(ifElement, introspectedTable.getBLOBColumns());
+		}
+		ifElement.addElement(new TextElement("from (select PAGE_.*, rownum PAGE_ROWNUM_ from ("));
+		answer.addElement(ifElement);
+	}
+
+	private XmlElement getColumnAliasWhenElement(IntrospectedTable table) {
+		XmlElement whenElement = new XmlElement("when");
+		whenElement.addAttribute(new Attribute("test", "columns.tableName == '"
+				+ table.getActualTableName().getTableName() + "'.toString()"));
+
+		XmlElement ifElement = new XmlElement("if");
+		ifElement.addAttribute(new Attribute("test", "columns.valid"));
+		ifElement.addElement(new TextElement("${columns.columnAliasStr}"));
+		whenElement.addElement(ifElement);
+
+		ifElement = new XmlElement("if");
+		ifElement.addAttribute(new Attribute("test", "!columns.valid"));
+		addColumnAliasElements(ifElement, table.getNonBLOBColumns());
+		whenElement.addElement(ifElement);
+		return whenElement;
+	}
+
+	private void addColumnAliasElements(XmlElement parentElement, List<IntrospectedColumn> columns) {
+		StringBuilder sb = new StringBuilder();
+		Iterator<IntrospectedColumn> iter = columns.iterator();
+		while (iter.hasNext()) {
+			sb.append(MyBatis3FormattingUtilities.getSelectListAlias(iter.next()));
+
+			if (iter.hasNext()) {
+				sb.append(", ");
+			}
+
+			if (sb.length() > 80) {
+				parentElement.addElement(new TextElement(sb.toString()));
+				sb.setLength(0);
+			}
+		}
+
+		if (sb.length() > 0) {
+			parentElement.addElement(new TextElement(sb.toString()));
+		}
+	}
+
+	/**
+	 * Adds the order by clause of a select by example. The standard OFFSET ...
+	 * FETCH pagination needs an order to return stable pages, and SQL Server
+	 * rejects it without one, so there the rows of a page are ordered by the
+	 * primary key if the example has no order. SQL Server orders a table
+	 * without a key by (select null).
+	 * 
+	 * @param answer
+	 *            the select element
+	 */
+	protected void addOrderByElement(XmlElement answer) {
+		XmlElement ifElement = new XmlElement("if");
+		ifElement.addAttribute(new Attribute("test", "orderByClause != null"));
+		ifElement.addElement(new TextElement("order by ${orderByClause}"));
+		answer.addElement(ifElement);
+
+		DatabaseDialects dialect = context.getDatabaseDialect();
+		if (dialect == null || dialect == DatabaseDialects.ORACLE || dialect == DatabaseDialects.MYSQL) {
+			return;
+		}
+
+		String order;
+		if (introspectedTable.hasPrimaryKeyColumns()) {
+			order = getPrimaryKeyOrder();
+		} else if (dialect == DatabaseDialects.SQLSERVER) {
+			order = "(select null)";
+		} else {
+			return;
+		}
+		ifElement = new XmlElement("if");
+		ifElement.addAttribute(new Attribute("test", "orderByClause == null and limit != null"));
+		ifElement.addElement(new TextElement("order by " + order));
+		answer.addElement(ifElement);
+	}
+
+	/**
+	 * Gets the primary key columns as the list of an order by clause.
+	 * 
+	 * @return the aliased primary key columns, separated by commas
+	 */
+	protected String getPrimaryKeyOrder() {
+		StringBuilder sb = new StringBuilder();
+		for (IntrospectedColumn introspectedColumn : introspectedTable.getPrimaryKeyColumns()) {
+			if (sb.length() > 0) {
+				sb.append(", ");
+			}
+			sb.append(MyBatis3FormattingUtilities.getAliasedEscapedColumnName(introspectedColumn));
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Adds the end of the pagination of a select by example, so the database
+	 * returns only the rows of the page set by the offset and limit of the
+	 * example. Nothing is added if the dialect is not known, as the databases
+	 * do not agree on the syntax.
+	 * 
+	 * @param answer
+	 *            the select element
+	 */
+	protected void addPaginationEndElement(XmlElement answer) {
+		DatabaseDialects dialect = context.getDatabaseDialect();
+		if (dialect == null) {
+			return;
+		}
+
+		XmlElement ifElement = new XmlElement("if");
+		ifElement.addAttribute(new Attribute("test", "limit != null"));
+		if (dialect == DatabaseDialects.ORACLE) {
+			ifElement.addElement(new TextElement(") PAGE_ where rownum &lt;= #{offset} + #{limit})"));
+			ifElement.addElement(new TextElement("where PAGE_ROWNUM_ &gt; #{offset}"));
+		} else if (dialect == DatabaseDialects.MYSQL) {
+			ifElement.addElement(new TextElement("limit #{offset}, #{limit}"));
+		} else {
+			ifElement.addElement(new TextElement("offset #{offset} rows fetch first #{limit} rows only"));
+		}
+		answer.addElement(ifElement);
+	}
+
 	protected XmlElement getUpdateByExampleIncludeElement() {
 		XmlElement ifElement = new XmlElement("if");
 		ifElement.addAttribute(new Attribute("test", "_parameter != null"));
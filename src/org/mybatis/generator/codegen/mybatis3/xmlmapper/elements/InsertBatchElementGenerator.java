@@ -0,0 +1,165 @@
+/*
+ *  Copyright 2009 The Apache Software Foundation
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mybatis.generator.codegen.mybatis3.xmlmapper.elements;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.mybatis.generator.api.IntrospectedColumn;
+import org.mybatis.generator.api.dom.OutputUtilities;
+import org.mybatis.generator.api.dom.xml.Attribute;
+import org.mybatis.generator.api.dom.xml.TextElement;
+import org.mybatis.generator.api.dom.xml.XmlElement;
+import org.mybatis.generator.codegen.mybatis3.MyBatis3FormattingUtilities;
+import org.mybatis.generator.config.GeneratedKey;
+import org.mybatis.generator.internal.db.DatabaseDialects;
+
+/**
+ * Generates an insert of all the records of a list in one statement. MySQL and
+ * standard SQL get one <code>values</code> row per record, Oracle gets one
+ * <code>select ... from dual</code> per record joined with
+ * <code>union all</code>.
+ * 
+ * <p>Identity columns are left out as in the single row insert. Generated keys
+ * are read back where the driver returns them for all the rows: with
+ * <code>useGeneratedKeys</code> on MySQL and for JDBC standard keys on other
+ * databases. Oracle cannot return the keys of an insert from a select, and keys
+ * from a selectKey statement cannot be read per row, so such keys must be set
+ * on the records before they are inserted.
+ */
+public class InsertBatchElementGenerator extends AbstractXmlElementGenerator {
+
+    public InsertBatchElementGenerator() {
+        super();
+    }
+
+    @Override
+    public void addElements(XmlElement parentElement) {
+        XmlElement answer = new XmlElement("insert"); //$NON-NLS-1$
+
+        answer.addAttribute(new Attribute(
+                "id", introspectedTable.getInsertBatchStatementId())); //$NON-NLS-1$
+        answer.addAttribute(new Attribute("parameterType", //$NON-NLS-1$
+                "java.util.List")); //$NON-NLS-1$
+
+        context.getCommentGenerator().addComment(answer);
+
+        DatabaseDialects dialect = context.getDatabaseDialect();
+        GeneratedKey gk = introspectedTable.getGeneratedKey();
+        if (gk != null && isKeyRetrievable(gk, dialect)) {
+            IntrospectedColumn introspectedColumn = introspectedTable
+                    .getColumn(gk.getColumn());
+            // if the column is null, then it's a configuration error. The
+            // warning has already been reported
+            if (introspectedColumn != null) {
+                answer.addAttribute(new Attribute(
+                        "useGeneratedKeys", "true")); //$NON-NLS-1$ //$NON-NLS-2$
+                answer.addAttribute(new Attribute(
+                        "keyProperty", introspectedColumn.getJavaProperty())); //$NON-NLS-1$
+                answer.addAttribute(new Attribute(
+                        "keyColumn", introspectedColumn.getActualColumnName())); //$NON-NLS-1$
+            }
+        }
+
+        List<IntrospectedColumn> columns = new ArrayList<IntrospectedColumn>();
+        for (IntrospectedColumn introspectedColumn : introspectedTable
+                .getAllColumns()) {
+            if (!introspectedColumn.isIdentity()) {
+                columns.add(introspectedColumn);
+            }
+        }
+
+        StringBuilder insertClause = new StringBuilder();
+        StringBuilder valuesClause = new StringBuilder();
+        List<String> valuesClauses = new ArrayList<String>();
+
+        insertClause.append("insert into "); //$NON-NLS-1$
+        insertClause.append(introspectedTable
+                .getFullyQualifiedTableNameAtRuntime());
+        insertClause.append(" ("); //$NON-NLS-1$
+
+        boolean oracle = dialect == DatabaseDialects.ORACLE;
+        valuesClause.append(oracle ? "select " : "("); //$NON-NLS-1$ //$NON-NLS-2$
+
+        for (int i = 0; i < columns.size(); i++) {
+            IntrospectedColumn introspectedColumn = columns.get(i);
+
+            insertClause.append(MyBatis3FormattingUtilities
+                    .getEscapedColumnName(introspectedColumn));
+            valuesClause.append(MyBatis3FormattingUtilities
+                    .getParameterClause(introspectedColumn, "item.")); //$NON-NLS-1$
+            if (i + 1 < columns.size()) {
+                insertClause.append(", "); //$NON-NLS-1$
+                valuesClause.append(", "); //$NON-NLS-1$
+            }
+
+            if (valuesClause.length() > 80) {
+                answer.addElement(new TextElement(insertClause.toString()));
+                insertClause.setLength(0);
+                OutputUtilities.xmlIndent(insertClause, 1);
+
+                valuesClauses.add(valuesClause.toString());
+                valuesClause.setLength(0);
+                OutputUtilities.xmlIndent(valuesClause, 1);
+            }
+        }
+
+        insertClause.append(')');
+        answer.addElement(new TextElement(insertClause.toString()));
+
+        if (oracle) {
+            valuesClause.append(" from dual"); //$NON-NLS-1$
+        } else {
+            valuesClause.append(')');
+            answer.addElement(new TextElement("values")); //$NON-NLS-1$
+        }
+        valuesClauses.add(valuesClause.toString());
+
+        XmlElement foreach = new XmlElement("foreach"); //$NON-NLS-1$
+        foreach.addAttribute(new Attribute("collection", "list")); //$NON-NLS-1$ //$NON-NLS-2$
+        foreach.addAttribute(new Attribute("item", "item")); //$NON-NLS-1$ //$NON-NLS-2$
+        foreach.addAttribute(new Attribute("separator", //$NON-NLS-1$
+                oracle ? "union all" : ",")); //$NON-NLS-1$ //$NON-NLS-2$
+        for (String clause : valuesClauses) {
+            foreach.addElement(new TextElement(clause));
+        }
+        answer.addElement(foreach);
+
+        if (context.getPlugins().sqlMapInsertBatchElementGenerated(answer,
+                introspectedTable)) {
+            parentElement.addElement(answer);
+        }
+    }
+
+    /**
+     * Checks if the generated keys of all the inserted rows can be read back.
+     * 
+     * @param gk
+     *            the generated key of the table
+     * @param dialect
+     *            the database dialect, or null for standard SQL
+     * @return true if useGeneratedKeys returns the keys of all the rows
+     */
+    private boolean isKeyRetrievable(GeneratedKey gk,
+            DatabaseDialects dialect) {
+        if (dialect == DatabaseDialects.ORACLE) {
+            return false;
+        }
+
+        return gk.isJdbcStandard()
+                || (dialect == DatabaseDialects.MYSQL && gk.isIdentity());
+    }
+}
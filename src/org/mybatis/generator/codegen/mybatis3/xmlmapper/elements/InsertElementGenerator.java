@@ -50,7 +50,7 @@ public class InsertElementGenerator extends AbstractXmlElementGenerator {
 
         FullyQualifiedJavaType parameterType;
         if (isSimple) {
-            parameterType = new FullyQualifiedJavaType(
+            parameterType = FullyQualifiedJavaType.getInstance(
                     introspectedTable.getBaseRecordType());
         } else {
             parameterType = introspectedTable.getRules()
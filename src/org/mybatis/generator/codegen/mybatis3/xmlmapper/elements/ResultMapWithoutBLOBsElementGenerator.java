@@ -43,11 +43,11 @@ public class ResultMapWithoutBLOBsElementGenerator extends AbstractXmlElementGen
 
 	@Override
 	public void addElements(XmlElement parentElement) {
-		XmlElement answer = new XmlElement("resultMap");//����resultMap��ǩ
-		answer.addAttribute(new Attribute("id", introspectedTable.getBaseResultMapRootId()));//������� id
+		XmlElement answer = new XmlElement("resultMap");//?resultMap?
+		answer.addAttribute(new Attribute("id", introspectedTable.getBaseResultMapRootId()));//? id
 
 		String returnType;
-		if (isSimple) {// ����Ǽ���ģʽ
+		if (isSimple) {// ?
 			returnType = introspectedTable.getBaseRecordType();
 		} else {
 			if (introspectedTable.getRules().generateBaseRecordClass()) {
@@ -61,7 +61,7 @@ public class ResultMapWithoutBLOBsElementGenerator extends AbstractXmlElementGen
 
 		context.getCommentGenerator().addComment(answer);
 
-		if (introspectedTable.isConstructorBased()) {// �Ƿ����ɹ��캯��
+		if (introspectedTable.isConstructorBased()) {// ?
 			addResultMapConstructorElements(answer);
 		} else {
 			addResultMapElements(answer);
@@ -70,8 +70,8 @@ public class ResultMapWithoutBLOBsElementGenerator extends AbstractXmlElementGen
 		if (context.getPlugins().sqlMapResultMapWithoutBLOBsElementGenerated(answer, introspectedTable)) {
 			parentElement.addElement(answer);
 		}
-		answer = new XmlElement("resultMap");//����resultMap��ǩ
-		answer.addAttribute(new Attribute("id", introspectedTable.getBaseResultMapId()));//������� id
+		answer = new XmlElement("resultMap");//?resultMap?
+		answer.addAttribute(new Attribute("id", introspectedTable.getBaseResultMapId()));//? id
 		answer.addAttribute(new Attribute("type", returnType));
 		answer.addAttribute(new Attribute("extends", introspectedTable.getBaseResultMapRootId()));
 
@@ -176,10 +176,10 @@ public class ResultMapWithoutBLOBsElementGenerator extends AbstractXmlElementGen
 			String resultMap = introspectedImportTable.getMyBatis3SqlMapNamespace()+"."+introspectedImportTable.getBaseResultMapRootId();
 			if(introspectedImportTable.equals(introspectedTable)){
 				 //resultMap = introspectedImportTable.getMyBatis3SqlMapNamespace()+"."+introspectedImportTable.getBaseResultMapRootId();
-				continue; //ͬ����������� �����˰�
+				continue; //? ?
 			}
 			XmlElement association = new XmlElement("association");
-			FullyQualifiedJavaType type = new FullyQualifiedJavaType(introspectedImportTable.getBaseRecordType());
+			FullyQualifiedJavaType type = FullyQualifiedJavaType.getInstance(introspectedImportTable.getBaseRecordType());
 			association.addAttribute(new Attribute("property", getValidPropertyName(type.getShortName())));
 			association.addAttribute(new Attribute("resultMap",resultMap));
 
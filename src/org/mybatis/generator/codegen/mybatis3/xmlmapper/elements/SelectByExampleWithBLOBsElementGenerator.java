@@ -43,6 +43,8 @@ public class SelectByExampleWithBLOBsElementGenerator extends AbstractXmlElement
 
 		context.getCommentGenerator().addComment(answer);
 
+		addPaginationStartElement(answer, true);
+
 		answer.addElement(new TextElement("select"));
 		XmlElement ifElement = new XmlElement("if");
 		ifElement.addAttribute(new Attribute("test", "distinct"));
@@ -68,10 +70,8 @@ public class SelectByExampleWithBLOBsElementGenerator extends AbstractXmlElement
 		answer.addElement(getLeftJoinIncludeElement());
 		answer.addElement(getExampleIncludeElement());
 
-		ifElement = new XmlElement("if");
-		ifElement.addAttribute(new Attribute("test", "orderByClause != null"));
-		ifElement.addElement(new TextElement("order by ${orderByClause}"));
-		answer.addElement(ifElement);
+		addOrderByElement(answer);
+		addPaginationEndElement(answer);
 
 		if (context.getPlugins().sqlMapSelectByExampleWithBLOBsElementGenerated(answer, introspectedTable)) {
 			parentElement.addElement(answer);
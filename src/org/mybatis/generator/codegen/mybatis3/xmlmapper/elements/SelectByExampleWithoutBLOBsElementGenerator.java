@@ -47,6 +47,8 @@ public class SelectByExampleWithoutBLOBsElementGenerator extends
 
         context.getCommentGenerator().addComment(answer);
 
+        addPaginationStartElement(answer, false);
+
         answer.addElement(new TextElement("select")); //$NON-NLS-1$
         XmlElement ifElement = new XmlElement("if"); //$NON-NLS-1$
         ifElement.addAttribute(new Attribute("test", "distinct")); //$NON-NLS-1$ //$NON-NLS-2$
@@ -71,10 +73,8 @@ public class SelectByExampleWithoutBLOBsElementGenerator extends
         answer.addElement(getLeftJoinIncludeElement());
         answer.addElement(getExampleIncludeElement());
 
-        ifElement = new XmlElement("if"); //$NON-NLS-1$
-        ifElement.addAttribute(new Attribute("test", "orderByClause != null")); //$NON-NLS-1$ //$NON-NLS-2$
-        ifElement.addElement(new TextElement("order by ${orderByClause}")); //$NON-NLS-1$
-        answer.addElement(ifElement);
+        addOrderByElement(answer);
+        addPaginationEndElement(answer);
 
         if (context.getPlugins()
                 .sqlMapSelectByExampleWithoutBLOBsElementGenerated(answer,
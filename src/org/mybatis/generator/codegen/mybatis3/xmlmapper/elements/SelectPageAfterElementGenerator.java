@@ -0,0 +1,173 @@
+/*
+ *  Copyright 2009 The Apache Software Foundation
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mybatis.generator.codegen.mybatis3.xmlmapper.elements;
+
+import static org.mybatis.generator.internal.util.StringUtility.stringHasValue;
+
+import java.util.List;
+
+import org.mybatis.generator.api.IntrospectedColumn;
+import org.mybatis.generator.api.dom.xml.Attribute;
+import org.mybatis.generator.api.dom.xml.TextElement;
+import org.mybatis.generator.api.dom.xml.XmlElement;
+import org.mybatis.generator.codegen.mybatis3.MyBatis3FormattingUtilities;
+import org.mybatis.generator.internal.db.DatabaseDialects;
+
+/**
+ * Generates the keyset page of a select by example: the rows after the last
+ * key of the example in primary key order, at most limit rows. The seek
+ * predicate lets the database start at the key in the index instead of
+ * reading and skipping the rows of the previous pages.
+ * 
+ * <p>Compound keys are compared as a row value on standard SQL. Oracle does not
+ * support row value comparisons and MySQL does not use an index for them, so
+ * those get the comparison expanded into OR'ed terms.
+ */
+public class SelectPageAfterElementGenerator extends
+        AbstractXmlElementGenerator {
+
+    public SelectPageAfterElementGenerator() {
+        super();
+    }
+
+    @Override
+    public void addElements(XmlElement parentElement) {
+        String fqjt = introspectedTable.getExampleType();
+
+        XmlElement answer = new XmlElement("select"); //$NON-NLS-1$
+
+        answer.addAttribute(new Attribute("id", //$NON-NLS-1$
+                introspectedTable.getSelectPageAfterStatementId()));
+        answer.addAttribute(new Attribute(
+                "resultMap", introspectedTable.getBaseResultMapId())); //$NON-NLS-1$
+        answer.addAttribute(new Attribute("parameterType", fqjt)); //$NON-NLS-1$
+
+        context.getCommentGenerator().addComment(answer);
+
+        addPaginationStartElement(answer, false);
+
+        answer.addElement(new TextElement("select")); //$NON-NLS-1$
+        XmlElement ifElement = new XmlElement("if"); //$NON-NLS-1$
+        ifElement.addAttribute(new Attribute("test", "distinct")); //$NON-NLS-1$ //$NON-NLS-2$
+        ifElement.addElement(new TextElement("distinct")); //$NON-NLS-1$
+        answer.addElement(ifElement);
+
+        StringBuilder sb = new StringBuilder();
+        if (stringHasValue(introspectedTable
+                .getSelectByExampleQueryId())) {
+            sb.append('\'');
+            sb.append(introspectedTable.getSelectByExampleQueryId());
+            sb.append("' as QUERYID,"); //$NON-NLS-1$
+            answer.addElement(new TextElement(sb.toString()));
+        }
+        answer.addElement(getBaseColumnListElement());
+
+        sb.setLength(0);
+        sb.append("from "); //$NON-NLS-1$
+        sb.append(introspectedTable
+                .getAliasedFullyQualifiedTableNameAtRuntime());
+        answer.addElement((new TextElement(sb.toString())));
+        answer.addElement(getLeftJoinIncludeElement());
+
+        XmlElement whereElement = new XmlElement("where"); //$NON-NLS-1$
+        ifElement = new XmlElement("if"); //$NON-NLS-1$
+        ifElement.addAttribute(new Attribute("test", "lastKey != null")); //$NON-NLS-1$ //$NON-NLS-2$
+        addSeekPredicate(ifElement);
+        whereElement.addElement(ifElement);
+
+        // the trim turns the where clause of the example into a condition
+        // that is and'ed to the seek predicate
+        XmlElement trimElement = new XmlElement("trim"); //$NON-NLS-1$
+        trimElement.addAttribute(new Attribute("prefix", "and (")); //$NON-NLS-1$ //$NON-NLS-2$
+        trimElement.addAttribute(new Attribute("suffix", ")")); //$NON-NLS-1$ //$NON-NLS-2$
+        trimElement.addAttribute(new Attribute("prefixOverrides", "where")); //$NON-NLS-1$ //$NON-NLS-2$
+        XmlElement includeElement = new XmlElement("include"); //$NON-NLS-1$
+        includeElement.addAttribute(new Attribute("refid", //$NON-NLS-1$
+                introspectedTable.getExampleWhereClauseId()));
+        trimElement.addElement(includeElement);
+        whereElement.addElement(trimElement);
+        answer.addElement(whereElement);
+
+        answer.addElement(new TextElement("order by " + getPrimaryKeyOrder())); //$NON-NLS-1$
+
+        addPaginationEndElement(answer);
+
+        if (context.getPlugins().sqlMapSelectPageAfterElementGenerated(answer,
+                introspectedTable)) {
+            parentElement.addElement(answer);
+        }
+    }
+
+    private void addSeekPredicate(XmlElement ifElement) {
+        List<IntrospectedColumn> keyColumns = introspectedTable
+                .getPrimaryKeyColumns();
+        StringBuilder sb = new StringBuilder();
+
+        if (keyColumns.size() == 1) {
+            sb.append(getComparison(keyColumns.get(0), " &gt; ")); //$NON-NLS-1$
+            ifElement.addElement(new TextElement(sb.toString()));
+            return;
+        }
+
+        DatabaseDialects dialect = context.getDatabaseDialect();
+        if (dialect != DatabaseDialects.ORACLE
+                && dialect != DatabaseDialects.MYSQL) {
+            StringBuilder values = new StringBuilder();
+            sb.append('(');
+            values.append('(');
+            for (int i = 0; i < keyColumns.size(); i++) {
+                if (i > 0) {
+                    sb.append(", "); //$NON-NLS-1$
+                    values.append(", "); //$NON-NLS-1$
+                }
+                sb.append(MyBatis3FormattingUtilities
+                        .getAliasedEscapedColumnName(keyColumns.get(i)));
+                values.append(MyBatis3FormattingUtilities.getParameterClause(
+                        keyColumns.get(i), "lastKey.")); //$NON-NLS-1$
+            }
+            sb.append(") &gt; "); //$NON-NLS-1$
+            sb.append(values);
+            sb.append(')');
+            ifElement.addElement(new TextElement(sb.toString()));
+            return;
+        }
+
+        // (a > ?) or (a = ? and b > ?) or (a = ? and b = ? and c > ?) ...
+        for (int i = 0; i < keyColumns.size(); i++) {
+            sb.setLength(0);
+            sb.append(i == 0 ? "((" : "or ("); //$NON-NLS-1$ //$NON-NLS-2$
+            for (int j = 0; j < i; j++) {
+                sb.append(getComparison(keyColumns.get(j), " = ")); //$NON-NLS-1$
+                sb.append(" and "); //$NON-NLS-1$
+            }
+            sb.append(getComparison(keyColumns.get(i), " &gt; ")); //$NON-NLS-1$
+            sb.append(')');
+            if (i + 1 == keyColumns.size()) {
+                sb.append(')');
+            }
+            ifElement.addElement(new TextElement(sb.toString()));
+        }
+    }
+
+    private String getComparison(IntrospectedColumn introspectedColumn,
+            String operator) {
+        return MyBatis3FormattingUtilities
+                .getAliasedEscapedColumnName(introspectedColumn)
+                + operator
+                + MyBatis3FormattingUtilities.getParameterClause(
+                        introspectedColumn, "lastKey."); //$NON-NLS-1$
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ *  Copyright 2009 The Apache Software Foundation
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mybatis.generator.codegen.mybatis3.xmlmapper.elements;
+
+import java.util.Iterator;
+import java.util.List;
+
+import org.mybatis.generator.api.IntrospectedColumn;
+import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.api.dom.OutputUtilities;
+import org.mybatis.generator.api.dom.xml.Attribute;
+import org.mybatis.generator.api.dom.xml.TextElement;
+import org.mybatis.generator.api.dom.xml.XmlElement;
+import org.mybatis.generator.codegen.mybatis3.MyBatis3FormattingUtilities;
+
+/**
+ * Generates an update of all the records of a list by primary key in one
+ * statement. Every column is set with a <code>case</code> on the primary key
+ * that picks the value of the matching record, and the rows are selected with
+ * <code>in</code> on the primary key (or with <code>or</code> for a compound
+ * key). All the columns are updated, as in updateByPrimaryKeyWithBLOBs.
+ * 
+ * <p>The statement grows with every record: it binds
+ * {@link #getBindVariablesPerRow(IntrospectedTable)} variables per record, and
+ * Oracle allows at most 1000 values in an <code>in</code> list. So large lists
+ * must be split, the generated services do so.
+ */
+public class UpdateBatchByPrimaryKeyElementGenerator extends
+        AbstractXmlElementGenerator {
+
+    public UpdateBatchByPrimaryKeyElementGenerator() {
+        super();
+    }
+
+    @Override
+    public void addElements(XmlElement parentElement) {
+        XmlElement answer = new XmlElement("update"); //$NON-NLS-1$
+
+        answer.addAttribute(new Attribute(
+                "id", introspectedTable.getUpdateBatchByPrimaryKeyStatementId())); //$NON-NLS-1$
+        answer.addAttribute(new Attribute("parameterType", //$NON-NLS-1$
+                "java.util.List")); //$NON-NLS-1$
+
+        context.getCommentGenerator().addComment(answer);
+
+        StringBuilder sb = new StringBuilder();
+
+        sb.append("update "); //$NON-NLS-1$
+        sb.append(introspectedTable.getFullyQualifiedTableNameAtRuntime());
+        answer.addElement(new TextElement(sb.toString()));
+
+        List<IntrospectedColumn> primaryKeyColumns = introspectedTable
+                .getPrimaryKeyColumns();
+        boolean singleKey = primaryKeyColumns.size() == 1;
+
+        // set up for first column
+        sb.setLength(0);
+        sb.append("set "); //$NON-NLS-1$
+
+        Iterator<IntrospectedColumn> iter = introspectedTable
+                .getNonPrimaryKeyColumns().iterator();
+        while (iter.hasNext()) {
+            IntrospectedColumn introspectedColumn = iter.next();
+
+            sb.append(MyBatis3FormattingUtilities
+                    .getEscapedColumnName(introspectedColumn));
+            sb.append(" = case"); //$NON-NLS-1$
+            if (singleKey) {
+                sb.append(' ');
+                sb.append(MyBatis3FormattingUtilities
+                        .getEscapedColumnName(primaryKeyColumns.get(0)));
+            }
+            answer.addElement(new TextElement(sb.toString()));
+
+            sb.setLength(0);
+            sb.append("when "); //$NON-NLS-1$
+            if (singleKey) {
+                sb.append(MyBatis3FormattingUtilities.getParameterClause(
+                        primaryKeyColumns.get(0), "item.")); //$NON-NLS-1$
+            } else {
+                appendKeyCondition(sb, primaryKeyColumns);
+            }
+            sb.append(" then "); //$NON-NLS-1$
+            sb.append(MyBatis3FormattingUtilities.getParameterClause(
+                    introspectedColumn, "item.")); //$NON-NLS-1$
+            XmlElement foreach = getForeachElement();
+            foreach.addElement(new TextElement(sb.toString()));
+            answer.addElement(foreach);
+
+            sb.setLength(0);
+            OutputUtilities.xmlIndent(sb, 1);
+            sb.append("end"); //$NON-NLS-1$
+            if (iter.hasNext()) {
+                sb.append(',');
+            }
+            answer.addElement(new TextElement(sb.toString()));
+
+            // set up for the next column
+            sb.setLength(0);
+            OutputUtilities.xmlIndent(sb, 1);
+        }
+
+        XmlElement foreach = getForeachElement();
+        sb.setLength(0);
+        sb.append("where "); //$NON-NLS-1$
+        if (singleKey) {
+            sb.append(MyBatis3FormattingUtilities
+                    .getEscapedColumnName(primaryKeyColumns.get(0)));
+            sb.append(" in"); //$NON-NLS-1$
+            foreach.addAttribute(new Attribute("open", "(")); //$NON-NLS-1$ //$NON-NLS-2$
+            foreach.addAttribute(new Attribute("separator", ",")); //$NON-NLS-1$ //$NON-NLS-2$
+            foreach.addAttribute(new Attribute("close", ")")); //$NON-NLS-1$ //$NON-NLS-2$
+            foreach.addElement(new TextElement(MyBatis3FormattingUtilities
+                    .getParameterClause(primaryKeyColumns.get(0), "item."))); //$NON-NLS-1$
+        } else {
+            foreach.addAttribute(new Attribute("separator", "or")); //$NON-NLS-1$ //$NON-NLS-2$
+            StringBuilder condition = new StringBuilder();
+            condition.append('(');
+            appendKeyCondition(condition, primaryKeyColumns);
+            condition.append(')');
+            foreach.addElement(new TextElement(condition.toString()));
+        }
+        answer.addElement(new TextElement(sb.toString()));
+        answer.addElement(foreach);
+
+        if (context.getPlugins().sqlMapUpdateBatchByPrimaryKeyElementGenerated(
+                answer, introspectedTable)) {
+            parentElement.addElement(answer);
+        }
+    }
+
+    /**
+     * Counts the bind variables of one record in the statement: the key and
+     * the value in the <code>case</code> of every non key column, and the key
+     * in the <code>where</code> clause.
+     * 
+     * @param introspectedTable
+     *            the table
+     * @return the bind variables per record
+     */
+    public static int getBindVariablesPerRow(
+            IntrospectedTable introspectedTable) {
+        int keyColumns = introspectedTable.getPrimaryKeyColumns().size();
+        return introspectedTable.getNonPrimaryKeyColumns().size()
+                * (keyColumns + 1) + keyColumns;
+    }
+
+    private XmlElement getForeachElement() {
+        XmlElement foreach = new XmlElement("foreach"); //$NON-NLS-1$
+        foreach.addAttribute(new Attribute("collection", "list")); //$NON-NLS-1$ //$NON-NLS-2$
+        foreach.addAttribute(new Attribute("item", "item")); //$NON-NLS-1$ //$NON-NLS-2$
+        return foreach;
+    }
+
+    private void appendKeyCondition(StringBuilder sb,
+            List<IntrospectedColumn> primaryKeyColumns) {
+        boolean and = false;
+        for (IntrospectedColumn introspectedColumn : primaryKeyColumns) {
+            if (and) {
+                sb.append(" and "); //$NON-NLS-1$
+            } else {
+                and = true;
+            }
+
+            sb.append(MyBatis3FormattingUtilities
+                    .getEscapedColumnName(introspectedColumn));
+            sb.append(" = "); //$NON-NLS-1$
+            sb.append(MyBatis3FormattingUtilities.getParameterClause(
+                    introspectedColumn, "item.")); //$NON-NLS-1$
+        }
+    }
+}
@@ -0,0 +1,312 @@
+/*
+ *  Copyright 2009 The Apache Software Foundation
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mybatis.generator.codegen.mybatis3.xmlmapper.elements;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.mybatis.generator.api.IntrospectedColumn;
+import org.mybatis.generator.api.dom.OutputUtilities;
+import org.mybatis.generator.api.dom.java.FullyQualifiedJavaType;
+import org.mybatis.generator.api.dom.xml.Attribute;
+import org.mybatis.generator.api.dom.xml.TextElement;
+import org.mybatis.generator.api.dom.xml.XmlElement;
+import org.mybatis.generator.codegen.mybatis3.MyBatis3FormattingUtilities;
+import org.mybatis.generator.internal.db.DatabaseDialects;
+
+/**
+ * Generates an insert that updates the row instead if a row with the same
+ * primary key exists. MySQL gets <code>insert ... on duplicate key
+ * update</code>, Oracle gets <code>merge into ... using dual</code> and other
+ * databases get a standard <code>merge</code> with the key as a one row
+ * <code>values</code> source.
+ * 
+ * <p>The selective variant only inserts and updates the fields that are not
+ * null. The key is always written, so it must be set on the record; generated
+ * keys are not read back.
+ */
+public class UpsertElementGenerator extends AbstractXmlElementGenerator {
+
+    private boolean isSelective;
+
+    public UpsertElementGenerator(boolean isSelective) {
+        super();
+        this.isSelective = isSelective;
+    }
+
+    @Override
+    public void addElements(XmlElement parentElement) {
+        XmlElement answer = new XmlElement("insert"); //$NON-NLS-1$
+
+        answer.addAttribute(new Attribute("id", isSelective //$NON-NLS-1$
+                ? introspectedTable.getUpsertSelectiveStatementId()
+                : introspectedTable.getUpsertStatementId()));
+
+        FullyQualifiedJavaType parameterType = introspectedTable.getRules()
+                .calculateAllFieldsClass();
+
+        answer.addAttribute(new Attribute("parameterType", //$NON-NLS-1$
+                parameterType.getFullyQualifiedName()));
+
+        context.getCommentGenerator().addComment(answer);
+
+        DatabaseDialects dialect = context.getDatabaseDialect();
+        if (dialect == DatabaseDialects.MYSQL) {
+            addInsertOnDuplicateKeyUpdate(answer);
+        } else {
+            addMerge(answer, dialect);
+        }
+
+        boolean rc;
+        if (isSelective) {
+            rc = context.getPlugins().sqlMapUpsertSelectiveElementGenerated(
+                    answer, introspectedTable);
+        } else {
+            rc = context.getPlugins().sqlMapUpsertElementGenerated(answer,
+                    introspectedTable);
+        }
+
+        if (rc) {
+            parentElement.addElement(answer);
+        }
+    }
+
+    private void addInsertOnDuplicateKeyUpdate(XmlElement answer) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("insert into "); //$NON-NLS-1$
+        sb.append(introspectedTable.getFullyQualifiedTableNameAtRuntime());
+        addInsertClauses(answer, sb.toString());
+
+        // assigning a key column to itself keeps the update list valid when
+        // there is nothing else to update
+        sb.setLength(0);
+        String escapedKey = MyBatis3FormattingUtilities
+                .getEscapedColumnName(introspectedTable.getPrimaryKeyColumns()
+                        .get(0));
+        sb.append(escapedKey);
+        sb.append(" = "); //$NON-NLS-1$
+        sb.append(escapedKey);
+        String noOpAssignment = sb.toString();
+
+        List<String> assignments = new ArrayList<String>();
+        for (IntrospectedColumn introspectedColumn : introspectedTable
+                .getNonPrimaryKeyColumns()) {
+            String escapedColumn = MyBatis3FormattingUtilities
+                    .getEscapedColumnName(introspectedColumn);
+            assignments.add(escapedColumn + " = values(" + escapedColumn + ")"); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+
+        if (isSelective) {
+            answer.addElement(new TextElement("on duplicate key update")); //$NON-NLS-1$
+            List<IntrospectedColumn> columns = introspectedTable
+                    .getNonPrimaryKeyColumns();
+            for (int i = 0; i < columns.size(); i++) {
+                addSelectiveText(answer, columns.get(i), assignments.get(i)
+                        + ","); //$NON-NLS-1$
+            }
+            answer.addElement(new TextElement(noOpAssignment));
+        } else {
+            if (assignments.isEmpty()) {
+                assignments.add(noOpAssignment);
+            }
+            addList(answer, "on duplicate key update ", assignments, ""); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+    }
+
+    private void addMerge(XmlElement answer, DatabaseDialects dialect) {
+        boolean oracle = dialect == DatabaseDialects.ORACLE;
+        List<IntrospectedColumn> keyColumns = introspectedTable
+                .getPrimaryKeyColumns();
+        StringBuilder sb = new StringBuilder();
+
+        sb.append("merge into "); //$NON-NLS-1$
+        sb.append(introspectedTable.getFullyQualifiedTableNameAtRuntime());
+        if (!oracle) {
+            sb.append(" t"); //$NON-NLS-1$
+        }
+        answer.addElement(new TextElement(sb.toString()));
+
+        List<String> keyConditions = new ArrayList<String>();
+        if (oracle) {
+            for (IntrospectedColumn introspectedColumn : keyColumns) {
+                keyConditions.add(MyBatis3FormattingUtilities
+                        .getEscapedColumnName(introspectedColumn)
+                        + " = " //$NON-NLS-1$
+                        + MyBatis3FormattingUtilities
+                                .getParameterClause(introspectedColumn));
+            }
+            answer.addElement(new TextElement("using dual")); //$NON-NLS-1$
+        } else {
+            List<String> keyParameters = new ArrayList<String>();
+            List<String> keyNames = new ArrayList<String>();
+            for (IntrospectedColumn introspectedColumn : keyColumns) {
+                String escapedColumn = MyBatis3FormattingUtilities
+                        .getEscapedColumnName(introspectedColumn);
+                keyParameters.add(MyBatis3FormattingUtilities
+                        .getParameterClause(introspectedColumn));
+                keyNames.add(escapedColumn);
+                keyConditions.add("t." + escapedColumn + " = s." + escapedColumn); //$NON-NLS-1$ //$NON-NLS-2$
+            }
+            addList(answer, "using (values (", keyParameters, ")) s (" //$NON-NLS-1$ //$NON-NLS-2$
+                    + join(keyNames, ", ") + ")"); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+        answer.addElement(new TextElement("on (" + join(keyConditions, " and ") + ")")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+        List<IntrospectedColumn> columns = introspectedTable
+                .getNonPrimaryKeyColumns();
+        if (isSelective) {
+            // the trim drops the whole clause if no field is set, which both
+            // dialects allow
+            XmlElement updateTrimElement = new XmlElement("trim"); //$NON-NLS-1$
+            updateTrimElement.addAttribute(new Attribute("prefix", //$NON-NLS-1$
+                    "when matched then update set")); //$NON-NLS-1$
+            updateTrimElement.addAttribute(new Attribute("suffixOverrides", ",")); //$NON-NLS-1$ //$NON-NLS-2$
+            for (IntrospectedColumn introspectedColumn : columns) {
+                addSelectiveText(updateTrimElement, introspectedColumn,
+                        getAssignment(introspectedColumn) + ","); //$NON-NLS-1$
+            }
+            answer.addElement(updateTrimElement);
+        } else if (!columns.isEmpty()) {
+            List<String> assignments = new ArrayList<String>();
+            for (IntrospectedColumn introspectedColumn : columns) {
+                assignments.add(getAssignment(introspectedColumn));
+            }
+            addList(answer, "when matched then update set ", assignments, ""); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+
+        addInsertClauses(answer, "when not matched then insert"); //$NON-NLS-1$
+
+        // SQL Server requires the terminator after MERGE
+        if (dialect == DatabaseDialects.SQLSERVER) {
+            answer.addElement(new TextElement(";")); //$NON-NLS-1$
+        }
+    }
+
+    /**
+     * Adds the column list and the values of the insert. Key columns are
+     * always inserted, the other columns only if they are set in the selective
+     * variant.
+     */
+    private void addInsertClauses(XmlElement answer, String insertClause) {
+        if (!isSelective) {
+            List<String> columnNames = new ArrayList<String>();
+            List<String> parameters = new ArrayList<String>();
+            for (IntrospectedColumn introspectedColumn : introspectedTable
+                    .getAllColumns()) {
+                columnNames.add(MyBatis3FormattingUtilities
+                        .getEscapedColumnName(introspectedColumn));
+                parameters.add(MyBatis3FormattingUtilities
+                        .getParameterClause(introspectedColumn));
+            }
+            addList(answer, insertClause + " (", columnNames, ")"); //$NON-NLS-1$ //$NON-NLS-2$
+            addList(answer, "values (", parameters, ")"); //$NON-NLS-1$ //$NON-NLS-2$
+            return;
+        }
+
+        answer.addElement(new TextElement(insertClause));
+
+        XmlElement insertTrimElement = new XmlElement("trim"); //$NON-NLS-1$
+        insertTrimElement.addAttribute(new Attribute("prefix", "(")); //$NON-NLS-1$ //$NON-NLS-2$
+        insertTrimElement.addAttribute(new Attribute("suffix", ")")); //$NON-NLS-1$ //$NON-NLS-2$
+        insertTrimElement.addAttribute(new Attribute("suffixOverrides", ",")); //$NON-NLS-1$ //$NON-NLS-2$
+        answer.addElement(insertTrimElement);
+
+        XmlElement valuesTrimElement = new XmlElement("trim"); //$NON-NLS-1$
+        valuesTrimElement.addAttribute(new Attribute("prefix", "values (")); //$NON-NLS-1$ //$NON-NLS-2$
+        valuesTrimElement.addAttribute(new Attribute("suffix", ")")); //$NON-NLS-1$ //$NON-NLS-2$
+        valuesTrimElement.addAttribute(new Attribute("suffixOverrides", ",")); //$NON-NLS-1$ //$NON-NLS-2$
+        answer.addElement(valuesTrimElement);
+
+        for (IntrospectedColumn introspectedColumn : introspectedTable
+                .getPrimaryKeyColumns()) {
+            insertTrimElement.addElement(new TextElement(
+                    MyBatis3FormattingUtilities
+                            .getEscapedColumnName(introspectedColumn) + ",")); //$NON-NLS-1$
+            valuesTrimElement.addElement(new TextElement(
+                    MyBatis3FormattingUtilities
+                            .getParameterClause(introspectedColumn) + ",")); //$NON-NLS-1$
+        }
+
+        for (IntrospectedColumn introspectedColumn : introspectedTable
+                .getNonPrimaryKeyColumns()) {
+            addSelectiveText(insertTrimElement, introspectedColumn,
+                    MyBatis3FormattingUtilities
+                            .getEscapedColumnName(introspectedColumn) + ","); //$NON-NLS-1$
+            addSelectiveText(valuesTrimElement, introspectedColumn,
+                    MyBatis3FormattingUtilities
+                            .getParameterClause(introspectedColumn) + ","); //$NON-NLS-1$
+        }
+    }
+
+    private String getAssignment(IntrospectedColumn introspectedColumn) {
+        return MyBatis3FormattingUtilities
+                .getEscapedColumnName(introspectedColumn)
+                + " = " //$NON-NLS-1$
+                + MyBatis3FormattingUtilities
+                        .getParameterClause(introspectedColumn);
+    }
+
+    /**
+     * Adds the text in a null check of the column, unless the field is
+     * primitive and cannot be null.
+     */
+    private void addSelectiveText(XmlElement parentElement,
+            IntrospectedColumn introspectedColumn, String text) {
+        if (introspectedColumn.getFullyQualifiedJavaType().isPrimitive()) {
+            parentElement.addElement(new TextElement(text));
+            return;
+        }
+
+        XmlElement isNotNullElement = new XmlElement("if"); //$NON-NLS-1$
+        isNotNullElement.addAttribute(new Attribute(
+                "test", introspectedColumn.getJavaProperty() + " != null")); //$NON-NLS-1$ //$NON-NLS-2$
+        isNotNullElement.addElement(new TextElement(text));
+        parentElement.addElement(isNotNullElement);
+    }
+
+    /**
+     * Adds a comma separated list, wrapped into lines of about 80 characters.
+     */
+    private void addList(XmlElement answer, String prefix, List<String> items,
+            String suffix) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(prefix);
+        for (int i = 0; i < items.size(); i++) {
+            sb.append(items.get(i));
+            if (i + 1 < items.size()) {
+                sb.append(", "); //$NON-NLS-1$
+                if (sb.length() > 80) {
+                    answer.addElement(new TextElement(sb.toString()));
+                    sb.setLength(0);
+                    OutputUtilities.xmlIndent(sb, 1);
+                }
+            }
+        }
+        sb.append(suffix);
+        answer.addElement(new TextElement(sb.toString()));
+    }
+
+    private String join(List<String> items, String separator) {
+        StringBuilder sb = new StringBuilder();
+        for (String item : items) {
+            if (sb.length() > 0) {
+                sb.append(separator);
+            }
+            sb.append(item);
+        }
+        return sb.toString();
+    }
+}
@@ -15,23 +15,38 @@
  */
 package org.mybatis.generator.config;
 
+import static org.mybatis.generator.internal.util.JavaBeansUtil.getCamelCaseString;
 import static org.mybatis.generator.internal.util.StringUtility.composeFullyQualifiedTableName;
 import static org.mybatis.generator.internal.util.StringUtility.isTrue;
 import static org.mybatis.generator.internal.util.StringUtility.stringHasValue;
 import static org.mybatis.generator.internal.util.messages.Messages.getString;
 
+import java.io.File;
+import java.io.IOException;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.mybatis.generator.api.CommentGenerator;
+import org.mybatis.generator.api.GeneratedFileHandler;
 import org.mybatis.generator.api.GeneratedJavaFile;
 import org.mybatis.generator.api.GeneratedXmlFile;
 import org.mybatis.generator.api.ImportColumn;
+import org.mybatis.generator.api.InstrumentationCallback;
 import org.mybatis.generator.api.IntrospectedColumn;
 import org.mybatis.generator.api.JavaFormatter;
 import org.mybatis.generator.api.Plugin;
@@ -44,11 +59,19 @@ import org.mybatis.generator.api.dom.xml.Attribute;
 import org.mybatis.generator.api.dom.xml.XmlElement;
 import org.mybatis.generator.codegen.AbstractJavaGenerator;
 import org.mybatis.generator.codegen.mybatis3.model.BaseExampleGenerator;
+import org.mybatis.generator.internal.GenerationManifest;
+import org.mybatis.generator.internal.NullInstrumentationCallback;
 import org.mybatis.generator.internal.ObjectFactory;
 import org.mybatis.generator.internal.PluginAggregator;
+import org.mybatis.generator.internal.SynchronizedProgressCallback;
 import org.mybatis.generator.internal.db.ActualTableName;
+import org.mybatis.generator.internal.db.ConnectionCache;
 import org.mybatis.generator.internal.db.ConnectionFactory;
+import org.mybatis.generator.internal.db.DatabaseDialects;
 import org.mybatis.generator.internal.db.DatabaseIntrospector;
+import org.mybatis.generator.internal.db.JdbcRoundTripCounter;
+import org.mybatis.generator.internal.db.SchemaChangeDetector;
+import org.mybatis.generator.internal.db.SchemaSnapshot;
 
 /**
  * The Class Context.
@@ -56,6 +79,37 @@ import org.mybatis.generator.internal.db.DatabaseIntrospector;
  * @author Jeff Butler
  */
 public class Context extends PropertyHolder {
+
+    /** The number of rows in one batch statement if batchSize is not set. */
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    /**
+     * The largest number of bind variables in one statement. MySQL and Oracle
+     * reject prepared statements with more.
+     */
+    public static final int MAX_BIND_VARIABLES = 65535;
+
+    /**
+     * The largest number of bind variables in one statement on SQL Server. It
+     * accepts 2100 parameters in a request, two of which the driver may use to
+     * prepare the statement.
+     */
+    public static final int MAX_SQLSERVER_BIND_VARIABLES = 2098;
+
+    /**
+     * The largest batchSize on SQL Server, which allows at most 1000 rows in a
+     * VALUES list.
+     */
+    public static final int MAX_SQLSERVER_BATCH_SIZE = 1000;
+
+    /**
+     * The largest batchSize on Oracle, which allows at most 1000 values in an
+     * in list (ORA-01795).
+     */
+    public static final int MAX_ORACLE_BATCH_SIZE = 1000;
+
+    /** The seconds to wait for the worker threads after a run is aborted. */
+    private static final long WORKER_TERMINATION_SECONDS = 30;
     
     /** The id. */
     private String id;
@@ -114,6 +168,17 @@ public class Context extends PropertyHolder {
     /** The xml formatter. */
     private XmlFormatter xmlFormatter;
 
+    private static final InstrumentationCallback NULL_INSTRUMENTATION_CALLBACK = new NullInstrumentationCallback();
+
+    /** The instrumentation callback, null if timings are not collected. */
+    private InstrumentationCallback instrumentationCallback;
+
+    /** The connections shared with other contexts, may be null. */
+    private ConnectionCache connectionCache;
+
+    /** The manifest of the files generated by the last run, may be null. */
+    private GenerationManifest generationManifest;
+
     /**
      * Constructs a Context object.
      * 
@@ -267,6 +332,34 @@ public class Context extends PropertyHolder {
         for (PluginConfiguration pluginConfiguration : pluginConfigurations) {
             pluginConfiguration.validate(errors, id);
         }
+
+        String introspectionThreads = getProperty(PropertyRegistry.CONTEXT_INTROSPECTION_THREADS);
+        if (stringHasValue(introspectionThreads) && parsePositiveInt(introspectionThreads) < 1) {
+            errors.add(getString("ValidationError.26", PropertyRegistry.CONTEXT_INTROSPECTION_THREADS, id)); //$NON-NLS-1$
+        }
+
+        String generationThreads = getProperty(PropertyRegistry.CONTEXT_GENERATION_THREADS);
+        if (stringHasValue(generationThreads) && parsePositiveInt(generationThreads) < 1) {
+            errors.add(getString("ValidationError.26", PropertyRegistry.CONTEXT_GENERATION_THREADS, id)); //$NON-NLS-1$
+        }
+
+        String batchSize = getProperty(PropertyRegistry.CONTEXT_BATCH_SIZE);
+        if (stringHasValue(batchSize) && parsePositiveInt(batchSize) < 1) {
+            errors.add(getString("ValidationError.26", PropertyRegistry.CONTEXT_BATCH_SIZE, id)); //$NON-NLS-1$
+        } else if (getDatabaseDialect() == DatabaseDialects.ORACLE
+                && getBatchSize() > MAX_ORACLE_BATCH_SIZE) {
+            errors.add(getString("ValidationError.28", //$NON-NLS-1$
+                    PropertyRegistry.CONTEXT_BATCH_SIZE, id, Integer.toString(MAX_ORACLE_BATCH_SIZE)));
+        } else if (getDatabaseDialect() == DatabaseDialects.SQLSERVER
+                && getBatchSize() > MAX_SQLSERVER_BATCH_SIZE) {
+            errors.add(getString("ValidationError.29", //$NON-NLS-1$
+                    PropertyRegistry.CONTEXT_BATCH_SIZE, id, Integer.toString(MAX_SQLSERVER_BATCH_SIZE)));
+        }
+
+        String databaseDialect = getProperty(PropertyRegistry.CONTEXT_DATABASE_DIALECT);
+        if (stringHasValue(databaseDialect) && DatabaseDialects.getDatabaseDialect(databaseDialect) == null) {
+            errors.add(getString("ValidationError.27", databaseDialect, id)); //$NON-NLS-1$
+        }
     }
 
     /**
@@ -530,6 +623,77 @@ public class Context extends PropertyHolder {
         return pluginAggregator;
     }
 
+    /**
+     * Gets the dialect of the generated SQL. The <code>databaseDialect</code>
+     * property names it; if it is not set, Oracle, MySQL and MariaDB are
+     * recognized by their drivers.
+     *
+     * @return the database dialect, or null if it is not known. The SQL that
+     *         differs between databases, the upsert, the keyset pagination and
+     *         the pagination of selectByExample, is not generated then
+     */
+    public DatabaseDialects getDatabaseDialect() {
+        String databaseDialect = getProperty(PropertyRegistry.CONTEXT_DATABASE_DIALECT);
+        if (stringHasValue(databaseDialect)) {
+            return DatabaseDialects.getDatabaseDialect(databaseDialect);
+        }
+
+        String driverClass = jdbcConnectionConfiguration == null ? null
+                : jdbcConnectionConfiguration.getDriverClass();
+        if (driverClass != null && driverClass.startsWith("oracle.jdbc.")) { //$NON-NLS-1$
+            return DatabaseDialects.ORACLE;
+        } else if (driverClass != null && (driverClass.startsWith("com.mysql.") //$NON-NLS-1$
+                || driverClass.startsWith("org.mariadb."))) { //$NON-NLS-1$
+            return DatabaseDialects.MYSQL;
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Gets the largest number of rows the generated services send in one
+     * batch statement.
+     *
+     * @return the batch size
+     */
+    public int getBatchSize() {
+        String batchSize = getProperty(PropertyRegistry.CONTEXT_BATCH_SIZE);
+        if (!stringHasValue(batchSize)) {
+            return DEFAULT_BATCH_SIZE;
+        }
+
+        return Math.max(parsePositiveInt(batchSize), 1);
+    }
+
+    /**
+     * Gets the largest number of rows of a batch statement that binds the
+     * given number of variables per row. It is the batch size, lowered so
+     * that the statement has at most the bind variables the database accepts.
+     *
+     * @param bindVariablesPerRow
+     *            the bind variables of one row
+     * @return the batch size for the statement, at least 1
+     */
+    public int getBatchSize(int bindVariablesPerRow) {
+        int rows = getMaxBindVariables() / Math.max(bindVariablesPerRow, 1);
+        return Math.max(Math.min(getBatchSize(), rows), 1);
+    }
+
+    /**
+     * Gets the largest number of bind variables the database accepts in one
+     * statement.
+     *
+     * @return MAX_SQLSERVER_BIND_VARIABLES on SQL Server, MAX_BIND_VARIABLES
+     *         on the other databases
+     */
+    public int getMaxBindVariables() {
+        if (getDatabaseDialect() == DatabaseDialects.SQLSERVER) {
+            return MAX_SQLSERVER_BIND_VARIABLES;
+        }
+
+        return MAX_BIND_VARIABLES;
+    }
+
     /**
      * Gets the target runtime.
      *
@@ -568,6 +732,62 @@ public class Context extends PropertyHolder {
         this.introspectedColumnImpl = introspectedColumnImpl;
     }
 
+    /**
+     * Gets the instrumentation callback. A callback that does nothing is
+     * returned if none was set.
+     *
+     * @return the instrumentation callback
+     */
+    public InstrumentationCallback getInstrumentationCallback() {
+        if (instrumentationCallback == null) {
+            return NULL_INSTRUMENTATION_CALLBACK;
+        }
+        return instrumentationCallback;
+    }
+
+    /**
+     * Sets the instrumentation callback. If it is set, the connections of the
+     * context also count their calls to the database.
+     *
+     * @param instrumentationCallback
+     *            the instrumentation callback, may be null
+     */
+    public void setInstrumentationCallback(InstrumentationCallback instrumentationCallback) {
+        this.instrumentationCallback = instrumentationCallback;
+    }
+
+    /**
+     * Sets the connection cache. If it is set, the connections of the context
+     * are taken from and released to the cache instead of being opened and
+     * closed.
+     *
+     * @param connectionCache
+     *            the connection cache, may be null
+     */
+    public void setConnectionCache(ConnectionCache connectionCache) {
+        this.connectionCache = connectionCache;
+    }
+
+    /**
+     * Gets the generation manifest.
+     *
+     * @return the generation manifest, or null if every file is generated
+     */
+    public GenerationManifest getGenerationManifest() {
+        return generationManifest;
+    }
+
+    /**
+     * Sets the generation manifest. If it is set, the generators whose inputs
+     * have not changed since the last run are not run.
+     *
+     * @param generationManifest
+     *            the generation manifest, may be null
+     */
+    public void setGenerationManifest(GenerationManifest generationManifest) {
+        this.generationManifest = generationManifest;
+    }
+
     // methods related to code generation.
     //
     // Methods should be called in this order:
@@ -627,79 +847,524 @@ public class Context extends PropertyHolder {
     public void introspectTables(ProgressCallback callback,
             List<String> warnings, Set<String> fullyQualifiedTableNames)
             throws SQLException, InterruptedException {
+        introspectTables(callback, warnings, fullyQualifiedTableNames, false, false);
+    }
+
+    /**
+     * Introspect tables based on the configuration specified in the
+     * constructor, using the schema snapshot of the context if there is one.
+     * This method is long running.
+     *
+     * <p>A snapshot is used if the context has a
+     * <code>schemaSnapshotDirectory</code> property, or if offline or refresh
+     * is requested (the snapshot is then kept in the current directory). Table
+     * configurations found in the snapshot are not read from the database, and
+     * no connection is opened if the snapshot has all of them.
+     *
+     * <p>With the <code>incrementalIntrospection</code> property, the current
+     * version of every table is read first with one cheap query per schema,
+     * and only the tables that changed since the last run are introspected.
+     * 
+     * @param callback
+     *            a progress callback if progress information is desired, or
+     *            <code>null</code>
+     * @param warnings
+     *            any warning generated from this method will be added to the
+     *            List. Warnings are always Strings.
+     * @param fullyQualifiedTableNames
+     *            a set of table names to generate, or null for all tables
+     * @param offline
+     *            if true, the tables are only read from the schema snapshot and
+     *            no database connection is opened
+     * @param refreshSchema
+     *            if true, the tables are read from the database and the schema
+     *            snapshot is rewritten
+     * 
+     * @throws SQLException
+     *             if some error arises while introspecting the specified
+     *             database tables, or a table is missing from the snapshot in
+     *             offline mode.
+     * @throws InterruptedException
+     *             if the progress callback reports a cancel
+     */
+    public void introspectTables(ProgressCallback callback,
+            List<String> warnings, Set<String> fullyQualifiedTableNames,
+            boolean offline, boolean refreshSchema)
+            throws SQLException, InterruptedException {
 
         introspectedTables = new ArrayList<IntrospectedTable>();
         // add by suman start
-        Map<ActualTableName, IntrospectedTable> introspectedTableMap = new HashMap<ActualTableName, IntrospectedTable>();
+        Map<ActualTableName, Map<String, IntrospectedColumn>> columnIndex = new HashMap<ActualTableName, Map<String, IntrospectedColumn>>();
         // add by suman end
         JavaTypeResolver javaTypeResolver = ObjectFactory.createJavaTypeResolver(this, warnings);
 
+        SchemaSnapshot schemaSnapshot = createSchemaSnapshot(offline, refreshSchema, warnings);
+        boolean incrementalIntrospection = schemaSnapshot != null && !offline && isIncrementalIntrospection();
+        SchemaChangeDetector schemaChangeDetector = null;
         Connection connection = null;
 
         try {
             callback.startTask(getString("Progress.0")); //$NON-NLS-1$
-            connection = getConnection();
+            if (!offline && (schemaSnapshot == null || incrementalIntrospection
+                    || !schemaSnapshot.containsAll(getTableConfigurations(fullyQualifiedTableNames)))) {
+                connection = getConnection();
+            }
 
-            DatabaseIntrospector databaseIntrospector = new DatabaseIntrospector(this, connection.getMetaData(), javaTypeResolver, warnings);
+            if (incrementalIntrospection) {
+                int startRoundTrips = JdbcRoundTripCounter.getRoundTrips(connection);
+                schemaChangeDetector = new SchemaChangeDetector(connection);
+                schemaSnapshot.removeChangedTables(getTableConfigurations(fullyQualifiedTableNames), schemaChangeDetector);
+                getInstrumentationCallback().jdbcRoundTrips(null, JdbcRoundTripCounter.getRoundTrips(connection) - startRoundTrips);
+            }
 
-            for (TableConfiguration tc : tableConfigurations) {//��������
-                String tableName = composeFullyQualifiedTableName(tc.getCatalog(), tc.getSchema(), tc.getTableName(), '.');
-                //ƴ��������� catalog.schema.tableName
-                if (fullyQualifiedTableNames != null&& fullyQualifiedTableNames.size() > 0) {//����������ñ�������������Ҳ���������� ���
-                    if (!fullyQualifiedTableNames.contains(tableName)) {
+            int introspectionThreads = connection == null ? 1 : getIntrospectionThreads();
+            if (introspectionThreads > 1) {
+                introspectTablesInParallel(callback, warnings, fullyQualifiedTableNames, connection, introspectionThreads, columnIndex, schemaSnapshot);
+            } else {
+                DatabaseIntrospector databaseIntrospector = new DatabaseIntrospector(this, connection == null ? null : connection.getMetaData(), javaTypeResolver, warnings);
+                databaseIntrospector.setSchemaSnapshot(schemaSnapshot);
+
+                for (TableConfiguration tc : tableConfigurations) {//?
+                    String tableName = composeFullyQualifiedTableName(tc.getCatalog(), tc.getSchema(), tc.getTableName(), '.');
+                    //? catalog.schema.tableName
+                    if (fullyQualifiedTableNames != null&& fullyQualifiedTableNames.size() > 0) {//? ?
+                        if (!fullyQualifiedTableNames.contains(tableName)) {
+                            continue;
+                        }
+                    }
+
+                    if (!tc.areAnyStatementsEnabled()) {//?
+                        warnings.add(getString("Warning.0", tableName)); //$NON-NLS-1$
                         continue;
                     }
+
+                    callback.startTask(getString("Progress.1", tableName)); //$NON-NLS-1$
+                    List<IntrospectedTable> tables = databaseIntrospector.introspectTables(tc);
+                
+                    if (tables != null) {
+                        introspectedTables.addAll(tables);
+                        // add by suman start
+                        indexColumns(tables, columnIndex);
+                        // add by suman end
+                    }
+               
+
+                    callback.checkCancel();
+                }
+            }
+            //add by suman start
+            long startNanos = System.nanoTime();
+            resolveForeignKeys(warnings, columnIndex, connection, offline, schemaSnapshot);
+            getInstrumentationCallback().phaseFinished(InstrumentationCallback.FOREIGN_KEYS, null, System.nanoTime() - startNanos);
+            //add by suman end
+
+            if (schemaChangeDetector != null) {
+                schemaSnapshot.recordTableVersions(schemaChangeDetector);
+            }
+
+            if (schemaSnapshot != null && schemaSnapshot.isChanged()) {
+                try {
+                    schemaSnapshot.save();
+                } catch (IOException e) {
+                    warnings.add(getString("Warning.27", schemaSnapshot.getFile().getAbsolutePath(), e.getMessage())); //$NON-NLS-1$
                 }
+            }
+        } finally {
+            closeConnection(connection);
+        }
+    }
 
-                if (!tc.areAnyStatementsEnabled()) {//�����Ҫ����κβ�ѯ���
+    /**
+     * Adds the columns of the introspected tables to the column index.
+     *
+     * @param tables
+     *            the introspected tables
+     * @param columnIndex
+     *            the columns keyed by actual table name and column name
+     */
+    private static void indexColumns(List<IntrospectedTable> tables,
+            Map<ActualTableName, Map<String, IntrospectedColumn>> columnIndex) {
+        for (IntrospectedTable introspectedTable : tables) {
+            Map<String, IntrospectedColumn> columns = new HashMap<String, IntrospectedColumn>();
+            for (IntrospectedColumn introspectedColumn : introspectedTable.getAllColumns()) {
+                columns.put(introspectedColumn.getActualColumnName(), introspectedColumn);
+            }
+            columnIndex.put(introspectedTable.getActualTableName(), columns);
+        }
+    }
+
+    /**
+     * Links every foreign key column of the introspected tables to the column
+     * it references. The referenced columns are found in the column index, so
+     * the work is linear in the number of foreign key columns.
+     *
+     * <p>A referenced table that is not in the configuration is introspected
+     * on demand if the <code>introspectReferencedTables</code> property is
+     * set. The generated join methods use the example class of the referenced
+     * table, so code is generated for it too, and its own foreign keys are
+     * resolved in turn. Otherwise the foreign key column is left unresolved
+     * with a warning.
+     *
+     * @param warnings
+     *            the warnings
+     * @param columnIndex
+     *            the columns keyed by actual table name and column name
+     * @param connection
+     *            the open connection, or null if none was needed so far
+     * @param offline
+     *            true if no connection may be opened
+     * @param schemaSnapshot
+     *            the schema snapshot, may be null
+     * @throws SQLException
+     *             if a referenced table cannot be introspected
+     */
+    private void resolveForeignKeys(List<String> warnings,
+            Map<ActualTableName, Map<String, IntrospectedColumn>> columnIndex,
+            Connection connection, boolean offline,
+            SchemaSnapshot schemaSnapshot) throws SQLException {
+        boolean introspectReferencedTables = isTrue(getProperty(PropertyRegistry.CONTEXT_INTROSPECT_REFERENCED_TABLES));
+        Set<ActualTableName> missingTables = new HashSet<ActualTableName>();
+        DatabaseIntrospector databaseIntrospector = null;
+        Connection referencedTableConnection = null;
+
+        try {
+            // the list grows while referenced tables are introspected
+            for (int i = 0; i < introspectedTables.size(); i++) {
+                IntrospectedTable introspectedTable = introspectedTables.get(i);
+                List<IntrospectedColumn> foreignKeyColumns = introspectedTable.getForeignKeyColumns();
+                if (foreignKeyColumns == null) {
+                    continue;
+                }
+
+                for (IntrospectedColumn foreignKeyColumn : foreignKeyColumns) {
+                    ImportColumn importColumn = foreignKeyColumn.getImportColumn();
+                    if (importColumn == null || importColumn.getImportTable() == null) {
+                        continue;
+                    }
+
+                    ActualTableName importTable = importColumn.getImportTable();
+                    Map<String, IntrospectedColumn> importColumns = columnIndex.get(importTable);
+                    if (importColumns == null && introspectReferencedTables && !missingTables.contains(importTable)) {
+                        if (databaseIntrospector == null) {
+                            if (connection == null && !offline) {
+                                referencedTableConnection = getConnection();
+                                connection = referencedTableConnection;
+                            }
+                            JavaTypeResolver javaTypeResolver = ObjectFactory.createJavaTypeResolver(this, warnings);
+                            databaseIntrospector = new DatabaseIntrospector(this, connection == null ? null : connection.getMetaData(), javaTypeResolver, warnings);
+                            databaseIntrospector.setSchemaSnapshot(schemaSnapshot);
+                        }
+
+                        List<IntrospectedTable> tables = databaseIntrospector.introspectTables(createReferencedTableConfiguration(importTable, introspectedTable));
+                        if (tables != null) {
+                            introspectedTables.addAll(tables);
+                            indexColumns(tables, columnIndex);
+                        }
+                        importColumns = columnIndex.get(importTable);
+                    }
+
+                    IntrospectedColumn importTableColumn = importColumns == null ? null : importColumns.get(importColumn.getImportColumnName());
+                    if (importTableColumn != null) {
+                        foreignKeyColumn.setIntrospectedImportColumn(importTableColumn);
+                    } else if (missingTables.add(importTable) || importColumns != null) {
+                        warnings.add(getString("Warning.29", //$NON-NLS-1$
+                                foreignKeyColumn.getActualColumnName(),
+                                introspectedTable.getFullyQualifiedTable().toString(),
+                                importTable.toString() + '.' + importColumn.getImportColumnName()));
+                    }
+                }
+            }
+        } finally {
+            closeConnection(referencedTableConnection);
+        }
+    }
+
+    /**
+     * Creates the table configuration used to introspect a referenced table
+     * that is not in the configuration.
+     *
+     * @param atn
+     *            the referenced table
+     * @param referencingTable
+     *            the table holding the foreign key
+     * @return the table configuration
+     */
+    private TableConfiguration createReferencedTableConfiguration(ActualTableName atn,
+            IntrospectedTable referencingTable) {
+        TableConfiguration tc = new TableConfiguration(this);
+        ActualTableName referencingAtn = referencingTable.getActualTableName();
+        if (referencingAtn != null
+                && stringsEqual(atn.getCatalog(), referencingAtn.getCatalog())
+                && stringsEqual(atn.getSchema(), referencingAtn.getSchema())) {
+            // same schema, so use the same names (and packages) as the
+            // referencing table
+            tc.setCatalog(referencingTable.getTableConfiguration().getCatalog());
+            tc.setSchema(referencingTable.getTableConfiguration().getSchema());
+        } else {
+            tc.setCatalog(atn.getCatalog());
+            tc.setSchema(atn.getSchema());
+        }
+        tc.setTableName(atn.getTableName());
+        // the generated joins qualify the columns with the table alias
+        tc.setAlias(getCamelCaseString(atn.getTableName(), false));
+        // the names come from the database, so match them exactly
+        tc.setWildcardEscapingEnabled(true);
+        return tc;
+    }
+
+    private static boolean stringsEqual(String s1, String s2) {
+        return s1 == null ? s2 == null : s1.equals(s2);
+    }
+
+    /**
+     * Creates and loads the schema snapshot of the context.
+     *
+     * @param offline
+     *            true if generating without a database connection
+     * @param refreshSchema
+     *            true if the snapshot must be read again from the database
+     * @param warnings
+     *            the warnings
+     * @return the schema snapshot, or null if the context does not use one
+     * @throws SQLException
+     *             if offline and the snapshot cannot be read
+     */
+    private SchemaSnapshot createSchemaSnapshot(boolean offline,
+            boolean refreshSchema, List<String> warnings) throws SQLException {
+        String directory = getProperty(PropertyRegistry.CONTEXT_SCHEMA_SNAPSHOT_DIRECTORY);
+        if (!stringHasValue(directory)) {
+            if (!offline && !refreshSchema && !isIncrementalIntrospection()) {
+                return null;
+            }
+            directory = "."; //$NON-NLS-1$
+        }
+
+        File file = SchemaSnapshot.getSnapshotFile(new File(directory), id,
+                jdbcConnectionConfiguration.getConnectionURL(),
+                jdbcConnectionConfiguration.getUserId());
+        SchemaSnapshot schemaSnapshot = new SchemaSnapshot(file, refreshSchema && !offline);
+        try {
+            schemaSnapshot.load();
+        } catch (IOException e) {
+            if (offline) {
+                throw new SQLException(getString("RuntimeError.25", file.getAbsolutePath(), e.getMessage())); //$NON-NLS-1$
+            }
+            warnings.add(getString("Warning.28", file.getAbsolutePath(), e.getMessage())); //$NON-NLS-1$
+            schemaSnapshot = new SchemaSnapshot(file, true);
+        }
+
+        return schemaSnapshot;
+    }
+
+    /**
+     * Checks if only changed tables are introspected.
+     *
+     * @return true, if incremental introspection is enabled
+     */
+    private boolean isIncrementalIntrospection() {
+        return isTrue(getProperty(PropertyRegistry.CONTEXT_INCREMENTAL_INTROSPECTION));
+    }
+
+    /**
+     * Returns the table configurations selected by the table names.
+     *
+     * @param fullyQualifiedTableNames
+     *            the table names to generate, or null for all tables
+     * @return the table configurations
+     */
+    private List<TableConfiguration> getTableConfigurations(Set<String> fullyQualifiedTableNames) {
+        List<TableConfiguration> answer = new ArrayList<TableConfiguration>();
+        for (TableConfiguration tc : tableConfigurations) {
+            String tableName = composeFullyQualifiedTableName(tc.getCatalog(), tc.getSchema(), tc.getTableName(), '.');
+            if (fullyQualifiedTableNames != null && fullyQualifiedTableNames.size() > 0) {
+                if (!fullyQualifiedTableNames.contains(tableName)) {
+                    continue;
+                }
+            }
+
+            if (tc.areAnyStatementsEnabled()) {
+                answer.add(tc);
+            }
+        }
+
+        return answer;
+    }
+
+    /**
+     * Introspects the table configurations on several connections at once. Each
+     * table configuration is introspected by its own DatabaseIntrospector with
+     * its own warnings list. The results are merged on the calling thread in
+     * configuration order, so the introspected tables and warnings are the same
+     * as those of a serial run.
+     *
+     * @param callback
+     *            the progress callback
+     * @param warnings
+     *            the warnings
+     * @param fullyQualifiedTableNames
+     *            the table names to generate, or null for all tables
+     * @param connection
+     *            an open connection, used as the first connection of the pool
+     * @param introspectionThreads
+     *            the maximum number of connections used at once
+     * @param columnIndex
+     *            the columns of the introspected tables, keyed by actual table
+     *            name and column name
+     * @param schemaSnapshot
+     *            the schema snapshot, may be null
+     * @throws SQLException
+     *             if some error arises while introspecting the tables
+     * @throws InterruptedException
+     *             if the progress callback reports a cancel
+     */
+    private void introspectTablesInParallel(ProgressCallback callback,
+            List<String> warnings, Set<String> fullyQualifiedTableNames,
+            Connection connection, int introspectionThreads,
+            Map<ActualTableName, Map<String, IntrospectedColumn>> columnIndex,
+            final SchemaSnapshot schemaSnapshot)
+            throws SQLException, InterruptedException {
+
+        List<TableConfiguration> tablesToIntrospect = new ArrayList<TableConfiguration>();
+        for (TableConfiguration tc : tableConfigurations) {
+            String tableName = composeFullyQualifiedTableName(tc.getCatalog(), tc.getSchema(), tc.getTableName(), '.');
+            if (fullyQualifiedTableNames != null && fullyQualifiedTableNames.size() > 0) {
+                if (!fullyQualifiedTableNames.contains(tableName)) {
+                    continue;
+                }
+            }
+
+            tablesToIntrospect.add(tc);
+        }
+
+        int poolSize = Math.min(introspectionThreads, tablesToIntrospect.size());
+        final BlockingQueue<Connection> connectionPool = new ArrayBlockingQueue<Connection>(Math.max(poolSize, 1));
+        connectionPool.add(connection);
+        List<Connection> pooledConnections = new ArrayList<Connection>();
+        ExecutorService executor = null;
+
+        try {
+            for (int i = 1; i < poolSize; i++) {
+                Connection pooledConnection = getConnection();
+                pooledConnections.add(pooledConnection);
+                connectionPool.add(pooledConnection);
+            }
+
+            executor = Executors.newFixedThreadPool(Math.max(poolSize, 1));
+            List<Future<List<IntrospectedTable>>> results = new ArrayList<Future<List<IntrospectedTable>>>();
+            List<List<String>> tableWarnings = new ArrayList<List<String>>();
+            for (final TableConfiguration tc : tablesToIntrospect) {
+                final List<String> localWarnings = new ArrayList<String>();
+                tableWarnings.add(localWarnings);
+                if (!tc.areAnyStatementsEnabled()) {
+                    results.add(null);
+                    continue;
+                }
+
+                results.add(executor.submit(new Callable<List<IntrospectedTable>>() {
+                    public List<IntrospectedTable> call() throws Exception {
+                        Connection pooledConnection = connectionPool.take();
+                        try {
+                            JavaTypeResolver javaTypeResolver = ObjectFactory.createJavaTypeResolver(Context.this, localWarnings);
+                            DatabaseIntrospector databaseIntrospector = new DatabaseIntrospector(Context.this,
+                                    pooledConnection.getMetaData(), javaTypeResolver, localWarnings);
+                            databaseIntrospector.setSchemaSnapshot(schemaSnapshot);
+                            return databaseIntrospector.introspectTables(tc);
+                        } finally {
+                            connectionPool.put(pooledConnection);
+                        }
+                    }
+                }));
+            }
+
+            for (int i = 0; i < tablesToIntrospect.size(); i++) {
+                TableConfiguration tc = tablesToIntrospect.get(i);
+                String tableName = composeFullyQualifiedTableName(tc.getCatalog(), tc.getSchema(), tc.getTableName(), '.');
+                Future<List<IntrospectedTable>> result = results.get(i);
+                if (result == null) {
                     warnings.add(getString("Warning.0", tableName)); //$NON-NLS-1$
                     continue;
                 }
 
                 callback.startTask(getString("Progress.1", tableName)); //$NON-NLS-1$
-                List<IntrospectedTable> tables = databaseIntrospector.introspectTables(tc);
-                
+                List<IntrospectedTable> tables;
+                try {
+                    tables = result.get();
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof SQLException) {
+                        throw (SQLException) e.getCause();
+                    } else if (e.getCause() instanceof RuntimeException) {
+                        throw (RuntimeException) e.getCause();
+                    } else {
+                        throw new RuntimeException(e.getCause());
+                    }
+                }
+
+                warnings.addAll(tableWarnings.get(i));
                 if (tables != null) {
                     introspectedTables.addAll(tables);
-                    // add by suman start
-                    for (IntrospectedTable introspectedTable : tables) {
-                    	introspectedTableMap.put(introspectedTable.getActualTableName(), introspectedTable);
-					}
-                    // add by suman end
+                    indexColumns(tables, columnIndex);
                 }
-               
 
                 callback.checkCancel();
             }
-            //add by suman start
-            
-            for (IntrospectedTable introspectedTable : introspectedTables) {//�������еı�
-				List<IntrospectedColumn> foreignKeyColumns = introspectedTable.getForeignKeyColumns();//�õ���������
-				if(foreignKeyColumns == null) continue;//���û������� ���
-				for (IntrospectedColumn foreignKeyColumn : foreignKeyColumns) {//���������
-					ImportColumn importColumn = foreignKeyColumn.getImportColumn();//�õ�����ж�Ӧ��������
-					if(importColumn == null) continue;
-					ActualTableName importTable = importColumn.getImportTable();//�õ������
-					if(importTable == null) continue;
-					
-					IntrospectedTable importIntrospectedTable = introspectedTableMap.get(importTable);//�õ���������
-					if(importIntrospectedTable == null){
-						System.out.println();
-					}
-					List<IntrospectedColumn> allColumns = importIntrospectedTable.getAllColumns();//������������
-					for (IntrospectedColumn importTableColumn : allColumns) {
-						if(importTableColumn.getActualColumnName().equals(importColumn.getImportColumnName())){
-							foreignKeyColumn.setIntrospectedImportColumn(importTableColumn);//������� ����������
-							System.out.println(importIntrospectedTable+" "+importTableColumn);
-						}
-					}
-				}
-            	
-			}
-            //add by suman end
-            
         } finally {
-            closeConnection(connection);
+            // the workers may still be inside JDBC calls, so the connections
+            // are released only after they have stopped
+            if (executor != null) {
+                shutdownAndAwait(executor);
+            }
+            for (Connection pooledConnection : pooledConnections) {
+                closeConnection(pooledConnection);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of connections used to introspect the tables.
+     * Bulk introspection reads each schema once per connection, so it is
+     * always done on a single connection.
+     *
+     * @return the introspection threads
+     */
+    private int getIntrospectionThreads() {
+        if (isTrue(getProperty(PropertyRegistry.CONTEXT_BULK_INTROSPECTION))) {
+            return 1;
+        }
+
+        String introspectionThreads = getProperty(PropertyRegistry.CONTEXT_INTROSPECTION_THREADS);
+        if (!stringHasValue(introspectionThreads)) {
+            return 1;
+        }
+
+        return Math.max(parsePositiveInt(introspectionThreads), 1);
+    }
+
+    /**
+     * Gets the number of threads used to generate the files.
+     *
+     * @return the generation threads
+     */
+    private int getGenerationThreads() {
+        String generationThreads = getProperty(PropertyRegistry.CONTEXT_GENERATION_THREADS);
+        if (!stringHasValue(generationThreads)) {
+            return 1;
+        }
+
+        return Math.max(parsePositiveInt(generationThreads), 1);
+    }
+
+    /**
+     * Parses a positive integer property value.
+     *
+     * @param s
+     *            the property value
+     * @return the value, or -1 if the value is not a number
+     */
+    private static int parsePositiveInt(String s) {
+        try {
+            return Integer.parseInt(s.trim());
+        } catch (NumberFormatException e) {
+            return -1;
         }
     }
 
@@ -735,44 +1400,94 @@ public class Context extends PropertyHolder {
      *             the interrupted exception
      */
     public void generateFiles(ProgressCallback callback,
-            List<GeneratedJavaFile> generatedJavaFiles,
-            List<GeneratedXmlFile> generatedXmlFiles, List<String> warnings)
+            final List<GeneratedJavaFile> generatedJavaFiles,
+            final List<GeneratedXmlFile> generatedXmlFiles, List<String> warnings)
             throws InterruptedException {
 
-        pluginAggregator = new PluginAggregator();//��������
+        try {
+            generateFiles(callback, new GeneratedFileHandler() {
+                public void filesGenerated(List<GeneratedJavaFile> javaFiles,
+                        List<GeneratedXmlFile> xmlFiles) {
+                    generatedJavaFiles.addAll(javaFiles);
+                    generatedXmlFiles.addAll(xmlFiles);
+                }
+            }, warnings);
+        } catch (IOException e) {
+            // cannot happen, the handler only collects the files
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Generates the files of the introspected tables and passes them to the
+     * handler table by table, so the handler can save them before the next
+     * table is generated. The files the plugins add for the whole context are
+     * passed last.
+     *
+     * @param callback
+     *            the callback
+     * @param handler
+     *            the handler receiving the generated files
+     * @param warnings
+     *            the warnings
+     * @throws InterruptedException
+     *             the interrupted exception
+     * @throws IOException
+     *             if the handler cannot save a file
+     */
+    public void generateFiles(ProgressCallback callback,
+            GeneratedFileHandler handler, List<String> warnings)
+            throws InterruptedException, IOException {
+
+        pluginAggregator = new PluginAggregator();//?
         for (PluginConfiguration pluginConfiguration : pluginConfigurations) {
             Plugin plugin = ObjectFactory.createPlugin(this,pluginConfiguration);
             if (plugin.validate(warnings)) {
-                pluginAggregator.addPlugin(plugin);//����������������
+                pluginAggregator.addPlugin(plugin);//?
             } else {
                 warnings.add(getString("Warning.24",pluginConfiguration.getConfigurationType(), id));
             }
         }
 
-        
-        if (introspectedTables != null) {//����б� Ϊÿ������ɶ�Ӧ�������
-        	
-        	generatedJavaFiles.addAll(getBaseExampleGeneratedJavaFile(callback, warnings));//���base��java�����
-            for (IntrospectedTable introspectedTable : introspectedTables) {
-                callback.checkCancel();
+        if (introspectedTables != null && !introspectedTables.isEmpty()
+                && getDatabaseDialect() == null) {
+            warnings.add(getString("Warning.31", id, //$NON-NLS-1$
+                    PropertyRegistry.CONTEXT_DATABASE_DIALECT));
+        }
 
-                introspectedTable.initialize();
-                introspectedTable.calculateGenerators(warnings, callback);//��ʼ�������
-            
-            }
-            
-            for (IntrospectedTable introspectedTable : introspectedTables) {
-            
-                generatedJavaFiles.addAll(introspectedTable.getGeneratedJavaFiles());//���java�����
-                generatedXmlFiles.addAll(introspectedTable.getGeneratedXmlFiles());//���xml�����
+        List<GeneratedXmlFile> noXmlFiles = new ArrayList<GeneratedXmlFile>();
+        if (introspectedTables != null) {//? ?
+        	handler.filesGenerated(getBaseExampleGeneratedJavaFile(callback, warnings), noXmlFiles);//?base?java?
 
-                generatedJavaFiles.addAll(pluginAggregator.contextGenerateAdditionalJavaFiles(introspectedTable));
-                generatedXmlFiles.addAll(pluginAggregator.contextGenerateAdditionalXmlFiles(introspectedTable));
+            // the generators of a table use the attributes of the tables it
+            // references, so every table is initialized first
+            int generationThreads = getGenerationThreads();
+            if (generationThreads > 1) {
+                generateTablesInParallel(callback, handler, warnings, generationThreads);
+            } else {
+                for (IntrospectedTable introspectedTable : introspectedTables) {
+                    callback.checkCancel();
+
+                    introspectedTable.initialize();
+                    introspectedTable.calculateGenerators(warnings, callback);//?
+                }
+
+                for (IntrospectedTable introspectedTable : introspectedTables) {
+                    List<GeneratedJavaFile> generatedJavaFiles = new ArrayList<GeneratedJavaFile>();
+                    List<GeneratedXmlFile> generatedXmlFiles = new ArrayList<GeneratedXmlFile>();
+                    generatedJavaFiles.addAll(introspectedTable.getGeneratedJavaFiles());//?java?
+                    generatedXmlFiles.addAll(introspectedTable.getGeneratedXmlFiles());//?xml?
+
+                    generatedJavaFiles.addAll(pluginAggregator.contextGenerateAdditionalJavaFiles(introspectedTable));
+                    generatedXmlFiles.addAll(pluginAggregator.contextGenerateAdditionalXmlFiles(introspectedTable));
+
+                    handler.filesGenerated(generatedJavaFiles, generatedXmlFiles);
+                }
             }
         }
 
-        generatedJavaFiles.addAll(pluginAggregator.contextGenerateAdditionalJavaFiles());
-        generatedXmlFiles.addAll(pluginAggregator.contextGenerateAdditionalXmlFiles());
+        handler.filesGenerated(pluginAggregator.contextGenerateAdditionalJavaFiles(),
+                pluginAggregator.contextGenerateAdditionalXmlFiles());
     }
     
     
@@ -782,7 +1497,9 @@ public class Context extends PropertyHolder {
     	baseExampleGenerator.setContext(this);
     	baseExampleGenerator.setProgressCallback(callback);
     	baseExampleGenerator.setWarnings(warnings);
+    	long startNanos = System.nanoTime();
     	List<CompilationUnit> compilationUnits = baseExampleGenerator.getCompilationUnits();
+    	getInstrumentationCallback().phaseFinished(baseExampleGenerator.getClass().getSimpleName(), null, System.nanoTime() - startNanos);
 		for (CompilationUnit compilationUnit : compilationUnits) {
 			GeneratedJavaFile gjf = new GeneratedJavaFile(compilationUnit, this.getJavaModelGeneratorConfiguration().getTargetProject(), this.getProperty(PropertyRegistry.CONTEXT_JAVA_FILE_ENCODING), this.getJavaFormatter());
 			answer.add(gjf);
@@ -790,6 +1507,142 @@ public class Context extends PropertyHolder {
     	return answer;
     }
 
+    /**
+     * Generates the files of the introspected tables on several threads. The
+     * tables are initialized on the calling thread, then the Java generators
+     * and the XML generator of each table run as separate tasks. The tasks of
+     * a limited number of tables are submitted ahead, and the files are passed
+     * to the handler in table order, so the files, the plugin calls on the
+     * XML files and the warnings are in the same order as in a serial run.
+     *
+     * @param callback
+     *            the callback
+     * @param handler
+     *            the handler receiving the generated files
+     * @param warnings
+     *            the warnings
+     * @param generationThreads
+     *            the number of threads
+     * @throws InterruptedException
+     *             the interrupted exception
+     * @throws IOException
+     *             if the handler cannot save a file
+     */
+    private void generateTablesInParallel(ProgressCallback callback,
+            GeneratedFileHandler handler, List<String> warnings,
+            int generationThreads) throws InterruptedException, IOException {
+
+        // the generators use these objects from every thread, so they are
+        // created before the threads start
+        getCommentGenerator();
+        getJavaFormatter();
+        getXmlFormatter();
+
+        callback = new SynchronizedProgressCallback(callback);
+        List<List<String>> tableWarnings = new ArrayList<List<String>>();
+        for (IntrospectedTable introspectedTable : introspectedTables) {
+            callback.checkCancel();
+
+            List<String> localWarnings = Collections.synchronizedList(new ArrayList<String>());
+            tableWarnings.add(localWarnings);
+            introspectedTable.initialize();
+            introspectedTable.calculateGenerators(localWarnings, callback);
+            warnings.addAll(localWarnings);
+            localWarnings.clear();
+        }
+
+        int tablesAhead = generationThreads * 2;
+        List<List<Future<List<GeneratedJavaFile>>>> javaResults = new ArrayList<List<Future<List<GeneratedJavaFile>>>>();
+        List<Future<List<GeneratedXmlFile>>> xmlResults = new ArrayList<Future<List<GeneratedXmlFile>>>();
+        ExecutorService executor = Executors.newFixedThreadPool(generationThreads);
+
+        try {
+            for (int i = 0; i < introspectedTables.size(); i++) {
+                while (javaResults.size() < introspectedTables.size()
+                        && javaResults.size() <= i + tablesAhead) {
+                    IntrospectedTable introspectedTable = introspectedTables.get(javaResults.size());
+                    List<Future<List<GeneratedJavaFile>>> tableResults = new ArrayList<Future<List<GeneratedJavaFile>>>();
+                    for (Callable<List<GeneratedJavaFile>> task : introspectedTable.getJavaGenerationTasks()) {
+                        tableResults.add(executor.submit(task));
+                    }
+                    javaResults.add(tableResults);
+
+                    Callable<List<GeneratedXmlFile>> xmlTask = introspectedTable.getXmlGenerationTask();
+                    xmlResults.add(xmlTask == null ? null : executor.submit(xmlTask));
+                }
+
+                IntrospectedTable introspectedTable = introspectedTables.get(i);
+                List<GeneratedJavaFile> generatedJavaFiles = new ArrayList<GeneratedJavaFile>();
+                List<GeneratedXmlFile> generatedXmlFiles = new ArrayList<GeneratedXmlFile>();
+                for (Future<List<GeneratedJavaFile>> result : javaResults.get(i)) {
+                    generatedJavaFiles.addAll(getResult(result));
+                }
+
+                Future<List<GeneratedXmlFile>> xmlResult = xmlResults.get(i);
+                if (xmlResult == null) {
+                    generatedXmlFiles.addAll(introspectedTable.getGeneratedXmlFiles());
+                } else {
+                    generatedXmlFiles.addAll(introspectedTable.filterGeneratedXmlFiles(getResult(xmlResult)));
+                }
+
+                // release the files of the table
+                javaResults.set(i, null);
+                xmlResults.set(i, null);
+
+                generatedJavaFiles.addAll(pluginAggregator.contextGenerateAdditionalJavaFiles(introspectedTable));
+                generatedXmlFiles.addAll(pluginAggregator.contextGenerateAdditionalXmlFiles(introspectedTable));
+
+                warnings.addAll(tableWarnings.get(i));
+                handler.filesGenerated(generatedJavaFiles, generatedXmlFiles);
+                callback.checkCancel();
+            }
+        } finally {
+            shutdownAndAwait(executor);
+        }
+    }
+
+    /**
+     * Stops the threads of an executor and waits a bounded time for the
+     * running tasks to end. A task blocked in a JDBC call that ignores the
+     * interrupt is left behind after the wait, closing its connection is then
+     * the only way to abort it.
+     *
+     * @param executor
+     *            the executor
+     */
+    private static void shutdownAndAwait(ExecutorService executor) {
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(WORKER_TERMINATION_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Waits for the result of a generation task.
+     *
+     * @param result
+     *            the result of the task
+     * @return the generated files
+     * @throws InterruptedException
+     *             if the thread is interrupted while waiting
+     */
+    private static <T> List<T> getResult(Future<List<T>> result)
+            throws InterruptedException {
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            } else {
+                throw new RuntimeException(e.getCause());
+            }
+        }
+    }
+
     /**
      * Gets the connection.
      *
@@ -798,20 +1651,33 @@ public class Context extends PropertyHolder {
      *             the SQL exception
      */
     private Connection getConnection() throws SQLException {
-        Connection connection = ConnectionFactory.getInstance().getConnection(
-                jdbcConnectionConfiguration);
+        long startNanos = System.nanoTime();
+        Connection connection;
+        if (connectionCache == null) {
+            connection = ConnectionFactory.getInstance().getConnection(
+                    jdbcConnectionConfiguration);
+        } else {
+            connection = connectionCache.getConnection(jdbcConnectionConfiguration);
+        }
+
+        if (instrumentationCallback != null) {
+            instrumentationCallback.phaseFinished(InstrumentationCallback.CONNECT, null, System.nanoTime() - startNanos);
+            connection = JdbcRoundTripCounter.wrap(connection);
+        }
 
         return connection;
     }
 
     /**
-     * Close connection.
+     * Closes the connection, or releases it to the connection cache.
      *
      * @param connection
      *            the connection
      */
     private void closeConnection(Connection connection) {
-        if (connection != null) {
+        if (connection != null && connectionCache != null) {
+            connectionCache.releaseConnection(JdbcRoundTripCounter.unwrap(connection));
+        } else if (connection != null) {
             try {
                 connection.close();
             } catch (SQLException e) {
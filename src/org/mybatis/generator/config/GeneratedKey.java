@@ -69,7 +69,7 @@ public class GeneratedKey {
 
         DatabaseDialects dialect = DatabaseDialects
                 .getDatabaseDialect(configuredSqlStatement);
-        if (dialect == null) {
+        if (dialect == null || dialect.getIdentityRetrievalStatement() == null) {
             this.runtimeSqlStatement = configuredSqlStatement;
         } else {
             this.runtimeSqlStatement = dialect.getIdentityRetrievalStatement();
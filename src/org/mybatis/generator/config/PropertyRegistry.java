@@ -49,6 +49,14 @@ public class PropertyRegistry {
     public static final String TABLE_MODEL_ONLY = "modelOnly"; //$NON-NLS-1$
     public static final String TABLE_SELECT_ALL_ORDER_BY_CLAUSE = "selectAllOrderByClause"; //$NON-NLS-1$
 
+    /**
+     * recognized by table and context, the context value applies to all tables
+     */
+    public static final String TABLE_ENABLE_INSERT_BATCH = "enableInsertBatch"; //$NON-NLS-1$
+    public static final String TABLE_ENABLE_UPDATE_BATCH = "enableUpdateBatch"; //$NON-NLS-1$
+    public static final String TABLE_ENABLE_UPSERT = "enableUpsert"; //$NON-NLS-1$
+    public static final String TABLE_ENABLE_SELECT_PAGE_AFTER = "enableSelectPageAfter"; //$NON-NLS-1$
+
     public static final String CONTEXT_BEGINNING_DELIMITER = "beginningDelimiter"; //$NON-NLS-1$
     public static final String CONTEXT_ENDING_DELIMITER = "endingDelimiter"; //$NON-NLS-1$
     public static final String CONTEXT_AUTO_DELIMIT_KEYWORDS = "autoDelimitKeywords"; //$NON-NLS-1$
@@ -57,6 +65,16 @@ public class PropertyRegistry {
     public static final String CONTEXT_XML_FORMATTER = "xmlFormatter";
     
     public static final String CONTEXT_XML_MREGEABLE= "xmlMergeable";// add by suman
+    public static final String CONTEXT_BULK_INTROSPECTION = "bulkIntrospection"; //$NON-NLS-1$
+    public static final String CONTEXT_INTROSPECTION_THREADS = "introspectionThreads"; //$NON-NLS-1$
+    public static final String CONTEXT_GENERATION_THREADS = "generationThreads"; //$NON-NLS-1$
+    public static final String CONTEXT_SCHEMA_SNAPSHOT_DIRECTORY = "schemaSnapshotDirectory"; //$NON-NLS-1$
+    public static final String CONTEXT_INCREMENTAL_INTROSPECTION = "incrementalIntrospection"; //$NON-NLS-1$
+    public static final String CONTEXT_INTROSPECTION_STRATEGY = "introspectionStrategy"; //$NON-NLS-1$
+    public static final String CONTEXT_INTROSPECT_REFERENCED_TABLES = "introspectReferencedTables"; //$NON-NLS-1$
+    public static final String CONTEXT_DATABASE_DIALECT = "databaseDialect"; //$NON-NLS-1$
+    public static final String CONTEXT_BATCH_SIZE = "batchSize"; //$NON-NLS-1$
+    public static final String CONTEXT_BATCH_SQL_SESSION_TEMPLATE = "batchSqlSessionTemplate"; //$NON-NLS-1$
 
     public static final String CLIENT_USE_LEGACY_BUILDER = "useLegacyBuilder"; //$NON-NLS-1$
     
@@ -19,6 +19,7 @@ import static org.mybatis.generator.internal.util.EqualsUtil.areEqual;
 import static org.mybatis.generator.internal.util.HashCodeUtil.hash;
 import static org.mybatis.generator.internal.util.HashCodeUtil.SEED;
 import static org.mybatis.generator.internal.util.messages.Messages.getString;
+import static org.mybatis.generator.internal.util.StringUtility.caseInsensitiveKey;
 import static org.mybatis.generator.internal.util.StringUtility.composeFullyQualifiedTableName;
 import static org.mybatis.generator.internal.util.StringUtility.isTrue;
 import static org.mybatis.generator.internal.util.StringUtility.stringHasValue;
@@ -62,12 +63,43 @@ public class TableConfiguration extends PropertyHolder {
 	/** The update by example statement enabled. */
 	private boolean updateByExampleStatementEnabled;
 
+	/** The insert batch statement enabled. */
+	private boolean insertBatchStatementEnabled;
+
+	/** The update batch statement enabled. */
+	private boolean updateBatchStatementEnabled;
+
+	/** The upsert statement enabled. */
+	private boolean upsertStatementEnabled;
+
+	/** The select page after statement enabled. */
+	private boolean selectPageAfterStatementEnabled;
+
 	/** The column overrides. */
 	private List<ColumnOverride> columnOverrides;
 
 	/** The ignored columns. */
 	private Map<IgnoredColumn, Boolean> ignoredColumns;
 
+	// The following indexes are built on first use and dropped when a column
+	// override or ignored column is added. Delimited column names are indexed
+	// by their exact name, other names by their case insensitive key.
+
+	/** The delimited column overrides by column name. */
+	private Map<String, ColumnOverride> delimitedColumnOverrides;
+
+	/** The other column overrides by case insensitive column name. */
+	private Map<String, ColumnOverride> columnOverridesByName;
+
+	/** The number of column overrides when the index was built. */
+	private int indexedColumnOverrideCount;
+
+	/** The delimited ignored columns by column name. */
+	private Map<String, IgnoredColumn> delimitedIgnoredColumns;
+
+	/** The other ignored columns by case insensitive column name. */
+	private Map<String, IgnoredColumn> ignoredColumnsByName;
+
 	/** The generated key. */
 	private GeneratedKey generatedKey;
 
@@ -218,22 +250,29 @@ public class TableConfiguration extends PropertyHolder {
 	 * @return true, if is column ignored
 	 */
 	public boolean isColumnIgnored(String columnName) {
-		for (Map.Entry<IgnoredColumn, Boolean> entry : ignoredColumns.entrySet()) {
-			IgnoredColumn ic = entry.getKey();
-			if (ic.isColumnNameDelimited()) {
-				if (columnName.equals(ic.getColumnName())) {
-					entry.setValue(Boolean.TRUE);
-					return true;
-				}
-			} else {
-				if (columnName.equalsIgnoreCase(ic.getColumnName())) {
-					entry.setValue(Boolean.TRUE);
-					return true;
+		if (ignoredColumnsByName == null) {
+			delimitedIgnoredColumns = new HashMap<String, IgnoredColumn>();
+			ignoredColumnsByName = new HashMap<String, IgnoredColumn>();
+			for (IgnoredColumn ic : ignoredColumns.keySet()) {
+				if (ic.isColumnNameDelimited()) {
+					delimitedIgnoredColumns.put(ic.getColumnName(), ic);
+				} else {
+					ignoredColumnsByName.put(caseInsensitiveKey(ic.getColumnName()), ic);
 				}
 			}
 		}
 
-		return false;
+		IgnoredColumn ic = delimitedIgnoredColumns.get(columnName);
+		if (ic == null) {
+			ic = ignoredColumnsByName.get(caseInsensitiveKey(columnName));
+		}
+
+		if (ic == null) {
+			return false;
+		}
+
+		ignoredColumns.put(ic, Boolean.TRUE);
+		return true;
 	}
 
 	/**
@@ -244,6 +283,7 @@ public class TableConfiguration extends PropertyHolder {
 	 */
 	public void addIgnoredColumn(IgnoredColumn ignoredColumn) {
 		ignoredColumns.put(ignoredColumn, Boolean.FALSE);
+		ignoredColumnsByName = null;
 	}
 
 	/**
@@ -254,6 +294,7 @@ public class TableConfiguration extends PropertyHolder {
 	 */
 	public void addColumnOverride(ColumnOverride columnOverride) {
 		columnOverrides.add(columnOverride);
+		columnOverridesByName = null;
 	}
 
 	/*
@@ -318,19 +359,32 @@ public class TableConfiguration extends PropertyHolder {
 	 * @return the column override (if any) related to this column
 	 */
 	public ColumnOverride getColumnOverride(String columnName) {
-		for (ColumnOverride co : columnOverrides) {
-			if (co.isColumnNameDelimited()) {
-				if (columnName.equals(co.getColumnName())) {
-					return co;
-				}
-			} else {
-				if (columnName.equalsIgnoreCase(co.getColumnName())) {
-					return co;
+		// the list is also changed through getColumnOverrides()
+		if (columnOverridesByName == null || indexedColumnOverrideCount != columnOverrides.size()) {
+			delimitedColumnOverrides = new HashMap<String, ColumnOverride>();
+			columnOverridesByName = new HashMap<String, ColumnOverride>();
+			// the first override of a column wins, as it did in a scan of the list
+			for (ColumnOverride co : columnOverrides) {
+				if (co.isColumnNameDelimited()) {
+					if (!delimitedColumnOverrides.containsKey(co.getColumnName())) {
+						delimitedColumnOverrides.put(co.getColumnName(), co);
+					}
+				} else {
+					String key = caseInsensitiveKey(co.getColumnName());
+					if (!columnOverridesByName.containsKey(key)) {
+						columnOverridesByName.put(key, co);
+					}
 				}
 			}
+			indexedColumnOverrideCount = columnOverrides.size();
+		}
+
+		ColumnOverride co = delimitedColumnOverrides.get(columnName);
+		if (co == null) {
+			co = columnOverridesByName.get(caseInsensitiveKey(columnName));
 		}
 
-		return null;
+		return co;
 	}
 
 	/**
@@ -753,6 +807,82 @@ public class TableConfiguration extends PropertyHolder {
 		this.updateByExampleStatementEnabled = updateByExampleStatementEnabled;
 	}
 
+	/**
+	 * Checks if is select page after statement enabled.
+	 * 
+	 * @return true, if is select page after statement enabled
+	 */
+	public boolean isSelectPageAfterStatementEnabled() {
+		return selectPageAfterStatementEnabled;
+	}
+
+	/**
+	 * Sets the select page after statement enabled.
+	 * 
+	 * @param selectPageAfterStatementEnabled
+	 *            the new select page after statement enabled
+	 */
+	public void setSelectPageAfterStatementEnabled(boolean selectPageAfterStatementEnabled) {
+		this.selectPageAfterStatementEnabled = selectPageAfterStatementEnabled;
+	}
+
+	/**
+	 * Checks if is upsert statement enabled.
+	 * 
+	 * @return true, if is upsert statement enabled
+	 */
+	public boolean isUpsertStatementEnabled() {
+		return upsertStatementEnabled;
+	}
+
+	/**
+	 * Sets the upsert statement enabled.
+	 * 
+	 * @param upsertStatementEnabled
+	 *            the new upsert statement enabled
+	 */
+	public void setUpsertStatementEnabled(boolean upsertStatementEnabled) {
+		this.upsertStatementEnabled = upsertStatementEnabled;
+	}
+
+	/**
+	 * Checks if is update batch statement enabled.
+	 * 
+	 * @return true, if is update batch statement enabled
+	 */
+	public boolean isUpdateBatchStatementEnabled() {
+		return updateBatchStatementEnabled;
+	}
+
+	/**
+	 * Sets the update batch statement enabled.
+	 * 
+	 * @param updateBatchStatementEnabled
+	 *            the new update batch statement enabled
+	 */
+	public void setUpdateBatchStatementEnabled(boolean updateBatchStatementEnabled) {
+		this.updateBatchStatementEnabled = updateBatchStatementEnabled;
+	}
+
+	/**
+	 * Checks if is insert batch statement enabled.
+	 * 
+	 * @return true, if is insert batch statement enabled
+	 */
+	public boolean isInsertBatchStatementEnabled() {
+		return insertBatchStatementEnabled;
+	}
+
+	/**
+	 * Sets the insert batch statement enabled.
+	 * 
+	 * @param insertBatchStatementEnabled
+	 *            the new insert batch statement enabled
+	 */
+	public void setInsertBatchStatementEnabled(boolean insertBatchStatementEnabled) {
+		this.insertBatchStatementEnabled = insertBatchStatementEnabled;
+	}
+
 	/**
 	 * Validate.
 	 * 
@@ -36,6 +36,7 @@ import org.mybatis.generator.config.JavaTypeResolverConfiguration;
 import org.mybatis.generator.config.ModelType;
 import org.mybatis.generator.config.PluginConfiguration;
 import org.mybatis.generator.config.PropertyHolder;
+import org.mybatis.generator.config.PropertyRegistry;
 import org.mybatis.generator.config.SqlMapGeneratorConfiguration;
 import org.mybatis.generator.config.TableConfiguration;
 import org.mybatis.generator.exception.XMLParserException;
@@ -353,6 +354,37 @@ public class MyBatisGeneratorConfigurationParser {
 				parseColumnRenamingRule(tc, childNode);
 			}
 		}
+
+		// the DTD has no attributes for these statements, they are enabled by a
+		// table property or, for all tables, by the context property
+		String enableInsertBatch = getTableProperty(context, tc, PropertyRegistry.TABLE_ENABLE_INSERT_BATCH);
+		if (stringHasValue(enableInsertBatch)) {
+			tc.setInsertBatchStatementEnabled(isTrue(enableInsertBatch));
+		}
+
+		String enableUpdateBatch = getTableProperty(context, tc, PropertyRegistry.TABLE_ENABLE_UPDATE_BATCH);
+		if (stringHasValue(enableUpdateBatch)) {
+			tc.setUpdateBatchStatementEnabled(isTrue(enableUpdateBatch));
+		}
+
+		String enableUpsert = getTableProperty(context, tc, PropertyRegistry.TABLE_ENABLE_UPSERT);
+		if (stringHasValue(enableUpsert)) {
+			tc.setUpsertStatementEnabled(isTrue(enableUpsert));
+		}
+
+		String enableSelectPageAfter = getTableProperty(context, tc, PropertyRegistry.TABLE_ENABLE_SELECT_PAGE_AFTER);
+		if (stringHasValue(enableSelectPageAfter)) {
+			tc.setSelectPageAfterStatementEnabled(isTrue(enableSelectPageAfter));
+		}
+	}
+
+	private String getTableProperty(Context context, TableConfiguration tc, String name) {
+		String value = tc.getProperty(name);
+		if (stringHasValue(value)) {
+			return value;
+		}
+
+		return context.getProperty(name);
 	}
 
 	private void parseColumnOverride(TableConfiguration tc, Node node) {
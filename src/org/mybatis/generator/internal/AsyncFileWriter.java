@@ -0,0 +1,314 @@
+/*
+ *  Copyright 2005 The Apache Software Foundation
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mybatis.generator.internal;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.mybatis.generator.api.InstrumentationCallback;
+
+/**
+ * This class writes files on a small pool of background threads. The content
+ * of a file is encoded and written through a file channel by a writer thread,
+ * so the calling thread can format the next file while the previous ones are
+ * written. Only a limited number of files may wait to be written, a caller
+ * adding more files waits until a writer thread is done with one.
+ *
+ * <p>A file that already has the content is not written again, so its
+ * timestamp is kept and tools watching the file do not see a change.
+ *
+ * <p>A failed write is thrown by the next call to <code>write</code>, or by
+ * <code>close</code>.
+ */
+public class AsyncFileWriter {
+
+    /** The number of files that may wait for each writer thread. */
+    private static final int PENDING_FILES_PER_THREAD = 16;
+
+    private ExecutorService executor;
+
+    private Semaphore pendingFiles;
+
+    private Map<File, Future<?>> pendingWrites;
+
+    private InstrumentationCallback instrumentationCallback;
+
+    private volatile IOException failure;
+
+    private AtomicInteger writtenFiles;
+
+    private AtomicInteger unchangedFiles;
+
+    /**
+     * @param threads
+     *            the number of writer threads
+     * @param instrumentationCallback
+     *            the callback receiving the write times, must be thread safe
+     */
+    public AsyncFileWriter(int threads,
+            InstrumentationCallback instrumentationCallback) {
+        super();
+        this.instrumentationCallback = instrumentationCallback;
+        pendingFiles = new Semaphore(threads * PENDING_FILES_PER_THREAD);
+        pendingWrites = new HashMap<File, Future<?>>();
+        writtenFiles = new AtomicInteger();
+        unchangedFiles = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "AsyncFileWriter"); //$NON-NLS-1$
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * Queues a file to be written, or overwritten, with the content.
+     *
+     * @param file
+     *            the file
+     * @param content
+     *            the content
+     * @param fileEncoding
+     *            the file encoding, or null for the platform encoding
+     * @throws IOException
+     *             if an earlier write failed
+     * @throws InterruptedException
+     *             if the thread is interrupted while waiting for a writer
+     *             thread
+     */
+    public void write(final File file, final CharSequence content,
+            final String fileEncoding) throws IOException, InterruptedException {
+        checkFailure();
+
+        // a later write of the same file must not overtake this one
+        awaitWrite(file);
+
+        pendingFiles.acquire();
+        Future<?> future;
+        try {
+            future = executor.submit(new Callable<Object>() {
+                public Object call() throws Exception {
+                    try {
+                        writeFile(file, content, fileEncoding);
+                    } catch (IOException e) {
+                        if (failure == null) {
+                            failure = e;
+                        }
+                    } finally {
+                        pendingFiles.release();
+                    }
+
+                    return null;
+                }
+            });
+        } catch (RuntimeException e) {
+            pendingFiles.release();
+            throw e;
+        }
+
+        synchronized (pendingWrites) {
+            pendingWrites.put(file.getAbsoluteFile(), future);
+        }
+    }
+
+    /**
+     * Waits until a queued write of the file is finished. This must be called
+     * before the current content of a file is read.
+     *
+     * @param file
+     *            the file
+     * @throws IOException
+     *             if a write failed
+     * @throws InterruptedException
+     *             if the thread is interrupted while waiting
+     */
+    public void awaitWrite(File file) throws IOException, InterruptedException {
+        Future<?> future;
+        synchronized (pendingWrites) {
+            future = pendingWrites.remove(file.getAbsoluteFile());
+        }
+
+        if (future != null) {
+            await(future);
+            checkFailure();
+        }
+    }
+
+    /**
+     * Waits until every queued file is written, and stops the writer threads.
+     *
+     * @throws IOException
+     *             if a write failed
+     * @throws InterruptedException
+     *             if the thread is interrupted while waiting
+     */
+    public void close() throws IOException, InterruptedException {
+        try {
+            Future<?>[] futures;
+            synchronized (pendingWrites) {
+                futures = pendingWrites.values().toArray(new Future<?>[pendingWrites.size()]);
+                pendingWrites.clear();
+            }
+
+            for (Future<?> future : futures) {
+                await(future);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        checkFailure();
+    }
+
+    /**
+     * Stops the writer threads without waiting for the queued files. This is
+     * used when the generation fails, it does nothing after
+     * <code>close</code>.
+     */
+    public void cancel() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Gets the number of files written so far.
+     *
+     * @return the number of written files
+     */
+    public int getWrittenFileCount() {
+        return writtenFiles.get();
+    }
+
+    /**
+     * Gets the number of files that were not written because they already
+     * had the content.
+     *
+     * @return the number of unchanged files
+     */
+    public int getUnchangedFileCount() {
+        return unchangedFiles.get();
+    }
+
+    private void writeFile(File file, CharSequence content, String fileEncoding)
+            throws IOException {
+        long startNanos = System.nanoTime();
+        Charset charset;
+        if (fileEncoding == null) {
+            charset = Charset.defaultCharset();
+        } else {
+            try {
+                charset = Charset.forName(fileEncoding);
+            } catch (IllegalArgumentException e) {
+                throw new UnsupportedEncodingException(fileEncoding);
+            }
+        }
+
+        ByteBuffer buffer = charset.encode(CharBuffer.wrap(content));
+        long bytes = buffer.remaining();
+        if (hasContent(file, buffer)) {
+            unchangedFiles.incrementAndGet();
+            instrumentationCallback.phaseFinished(InstrumentationCallback.WRITE, null, System.nanoTime() - startNanos);
+            return;
+        }
+
+        FileOutputStream fos = new FileOutputStream(file, false);
+        try {
+            FileChannel channel = fos.getChannel();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } finally {
+            fos.close();
+        }
+
+        instrumentationCallback.phaseFinished(InstrumentationCallback.WRITE, null, System.nanoTime() - startNanos);
+        writtenFiles.incrementAndGet();
+        instrumentationCallback.fileWritten(file.getAbsolutePath(), bytes);
+    }
+
+    /**
+     * Checks if a file has exactly the content. Files of another length are
+     * not read.
+     *
+     * @param file
+     *            the file
+     * @param content
+     *            the encoded content, its position is not changed
+     * @return true if the file exists and has the content
+     * @throws IOException
+     *             if the file cannot be read
+     */
+    private static boolean hasContent(File file, ByteBuffer content)
+            throws IOException {
+        if (!file.isFile() || file.length() != content.remaining()) {
+            return false;
+        }
+
+        ByteBuffer existing = ByteBuffer.allocate(content.remaining());
+        FileInputStream fis = new FileInputStream(file);
+        try {
+            FileChannel channel = fis.getChannel();
+            while (existing.hasRemaining()) {
+                if (channel.read(existing) < 0) {
+                    return false;
+                }
+            }
+        } finally {
+            fis.close();
+        }
+
+        existing.flip();
+        return existing.equals(content);
+    }
+
+    private void checkFailure() throws IOException {
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static void await(Future<?> future) throws InterruptedException {
+        try {
+            future.get();
+        } catch (ExecutionException e) {
+            // IOExceptions are kept in failure
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            } else {
+                throw new RuntimeException(e.getCause());
+            }
+        }
+    }
+}
@@ -0,0 +1,399 @@
+/*
+ *  Copyright 2005 The Apache Software Foundation
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mybatis.generator.internal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.mybatis.generator.api.GeneratedFile;
+import org.mybatis.generator.api.IntrospectedColumn;
+import org.mybatis.generator.api.IntrospectedTable;
+import org.mybatis.generator.api.dom.xml.Element;
+import org.mybatis.generator.api.dom.xml.XmlElement;
+import org.mybatis.generator.codegen.AbstractGenerator;
+import org.mybatis.generator.config.Context;
+
+/**
+ * This class remembers the files generated by each generator of each table,
+ * and a fingerprint of the inputs they were generated from. The inputs are the
+ * introspected columns of the table and of the tables it references, the
+ * table configuration, the context configuration without the other tables
+ * (plugins, generators, properties) and the generator version. A generator
+ * whose inputs have not changed since the last run, and whose files still
+ * exist, does not have to run again.
+ *
+ * <p>The manifest is a properties file. The key of each entry is the absolute
+ * name of a generated file, the value is the fingerprint and the generator.
+ * A run limited to some tables or contexts keeps the entries of the other
+ * generators, so a later full run does not regenerate them.
+ *
+ * <p>This class is thread safe.
+ */
+public class GenerationManifest {
+
+    /** Changed when the generated code changes without a version change. */
+    private static final String FORMAT = "1"; //$NON-NLS-1$
+
+    private static final String GENERATOR_VERSION = calculateGeneratorVersion();
+
+    private File file;
+
+    /** The files of the last run by generator key. */
+    private Map<String, List<File>> previousFiles;
+
+    /** The input fingerprint of the last run by generator key. */
+    private Map<String, String> previousFingerprints;
+
+    /** The generator keys checked in this run. */
+    private Set<String> checkedGenerators;
+
+    /** The generator keys whose files of the last run are still current. */
+    private Set<String> keptGenerators;
+
+    /** The generator key and fingerprint of the files of this run. */
+    private Map<File, String[]> files;
+
+    private Map<Context, String> contextFingerprints;
+
+    /**
+     * Constructs a manifest.
+     *
+     * @param file
+     *            the manifest file
+     */
+    public GenerationManifest(File file) {
+        super();
+        this.file = file;
+        previousFiles = new HashMap<String, List<File>>();
+        previousFingerprints = new HashMap<String, String>();
+        checkedGenerators = new HashSet<String>();
+        keptGenerators = new HashSet<String>();
+        files = new HashMap<File, String[]>();
+        contextFingerprints = new IdentityHashMap<Context, String>();
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Returns the key of a generator of a table in the manifest.
+     *
+     * @param introspectedTable
+     *            the table
+     * @param generator
+     *            the generator
+     * @return the generator key
+     */
+    public static String getGeneratorKey(IntrospectedTable introspectedTable,
+            AbstractGenerator generator) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(introspectedTable.getContext().getId());
+        sb.append('/');
+        sb.append(introspectedTable.getFullyQualifiedTable());
+        sb.append('/');
+        sb.append(introspectedTable.getFullyQualifiedTable().getDomainObjectName());
+        sb.append('/');
+        sb.append(generator.getClass().getName());
+        return sb.toString();
+    }
+
+    /**
+     * Checks if the files a generator made in the last run are current. If
+     * they are, they stay in the manifest although the generator does not
+     * run.
+     *
+     * @param generatorKey
+     *            the generator key
+     * @param fingerprint
+     *            the fingerprint of the current inputs
+     * @return true if the inputs are unchanged and every file still exists
+     */
+    public synchronized boolean keepIfUpToDate(String generatorKey,
+            String fingerprint) {
+        checkedGenerators.add(generatorKey);
+        if (!fingerprint.equals(previousFingerprints.get(generatorKey))) {
+            return false;
+        }
+
+        for (File previousFile : previousFiles.get(generatorKey)) {
+            if (!previousFile.isFile()) {
+                return false;
+            }
+        }
+
+        keptGenerators.add(generatorKey);
+        return true;
+    }
+
+    /**
+     * Records a file saved in this run.
+     *
+     * @param generatedFile
+     *            the generated file, files without a generator key are not
+     *            recorded
+     * @param savedFile
+     *            the file the content was saved to
+     */
+    public synchronized void addFile(GeneratedFile generatedFile, File savedFile) {
+        if (generatedFile.getGeneratorKey() != null) {
+            files.put(savedFile.getAbsoluteFile(), new String[] {
+                    generatedFile.getGeneratorKey(),
+                    generatedFile.getInputFingerprint() });
+        }
+    }
+
+    /**
+     * Returns the fingerprint of the inputs of the generators of a table.
+     *
+     * @param introspectedTable
+     *            the table
+     * @return the fingerprint
+     */
+    public String getInputFingerprint(IntrospectedTable introspectedTable) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(GENERATOR_VERSION);
+        sb.append('\n');
+        sb.append(getContextFingerprint(introspectedTable.getContext()));
+        sb.append('\n');
+        appendTable(sb, introspectedTable);
+
+        // the generated joins use the columns of the referenced tables
+        for (IntrospectedColumn column : introspectedTable.getForeignKeyColumns()) {
+            IntrospectedColumn importColumn = column.getIntrospectedImportColumn();
+            if (importColumn != null && importColumn.getIntrospectedTable() != null) {
+                appendTable(sb, importColumn.getIntrospectedTable());
+            }
+        }
+
+        return digest(sb.toString());
+    }
+
+    /**
+     * Loads the manifest file. Nothing is loaded if the file does not exist.
+     *
+     * @throws IOException
+     *             if the file cannot be read
+     */
+    public synchronized void load() throws IOException {
+        if (!file.isFile()) {
+            return;
+        }
+
+        Properties properties = new Properties();
+        InputStream in = new BufferedInputStream(new FileInputStream(file));
+        try {
+            properties.load(in);
+        } finally {
+            in.close();
+        }
+
+        for (Map.Entry<Object, Object> entry : properties.entrySet()) {
+            String value = (String) entry.getValue();
+            int index = value.indexOf(' ');
+            if (index == -1) {
+                continue;
+            }
+
+            String fingerprint = value.substring(0, index);
+            String generatorKey = value.substring(index + 1);
+            List<File> generatorFiles = previousFiles.get(generatorKey);
+            if (generatorFiles == null) {
+                generatorFiles = new ArrayList<File>();
+                previousFiles.put(generatorKey, generatorFiles);
+                previousFingerprints.put(generatorKey, fingerprint);
+            } else if (!fingerprint.equals(previousFingerprints.get(generatorKey))) {
+                // can only happen to an edited manifest
+                previousFingerprints.put(generatorKey, ""); //$NON-NLS-1$
+            }
+
+            generatorFiles.add(new File((String) entry.getKey()));
+        }
+    }
+
+    /**
+     * Writes the files saved in this run, the kept files of the last run and
+     * the files of the generators that did not take part in this run to the
+     * manifest file.
+     *
+     * @throws IOException
+     *             if the file cannot be written
+     */
+    public synchronized void save() throws IOException {
+        Set<String> generatorsRun = new HashSet<String>();
+        for (String[] value : files.values()) {
+            generatorsRun.add(value[0]);
+        }
+
+        Properties properties = new Properties();
+        for (Map.Entry<String, List<File>> entry : previousFiles.entrySet()) {
+            String generatorKey = entry.getKey();
+            boolean kept = keptGenerators.contains(generatorKey);
+            if (!kept && (checkedGenerators.contains(generatorKey) || generatorsRun.contains(generatorKey))) {
+                continue;
+            }
+
+            for (File previousFile : entry.getValue()) {
+                // the files of removed tables are dropped once they are deleted
+                if (kept || previousFile.isFile()) {
+                    properties.setProperty(previousFile.getPath(),
+                            previousFingerprints.get(generatorKey) + ' ' + generatorKey);
+                }
+            }
+        }
+
+        for (Map.Entry<File, String[]> entry : files.entrySet()) {
+            properties.setProperty(entry.getKey().getPath(),
+                    entry.getValue()[1] + ' ' + entry.getValue()[0]);
+        }
+
+        File directory = file.getAbsoluteFile().getParentFile();
+        if (directory != null && !directory.exists()) {
+            directory.mkdirs();
+        }
+
+        OutputStream out = new BufferedOutputStream(new FileOutputStream(file));
+        try {
+            properties.store(out, "MyBatis Generator manifest"); //$NON-NLS-1$
+        } finally {
+            out.close();
+        }
+    }
+
+    private synchronized String getContextFingerprint(Context context) {
+        String answer = contextFingerprints.get(context);
+        if (answer == null) {
+            // the other tables of the context are not inputs of a table
+            XmlElement xmlElement = context.toXmlElement();
+            for (Iterator<Element> iter = xmlElement.getElements().iterator(); iter.hasNext();) {
+                Element element = iter.next();
+                if (element instanceof XmlElement
+                        && "table".equals(((XmlElement) element).getName())) { //$NON-NLS-1$
+                    iter.remove();
+                }
+            }
+
+            answer = digest(xmlElement.getFormattedContent(0));
+            contextFingerprints.put(context, answer);
+        }
+
+        return answer;
+    }
+
+    private static void appendTable(StringBuilder sb,
+            IntrospectedTable introspectedTable) {
+        sb.append(introspectedTable.getFullyQualifiedTable());
+        sb.append('\n');
+        sb.append(introspectedTable.getTableConfiguration().toXmlElement().getFormattedContent(0));
+        sb.append('\n');
+        appendColumns(sb, "primaryKey", introspectedTable.getPrimaryKeyColumns()); //$NON-NLS-1$
+        appendColumns(sb, "base", introspectedTable.getBaseColumns()); //$NON-NLS-1$
+        appendColumns(sb, "blob", introspectedTable.getBLOBColumns()); //$NON-NLS-1$
+    }
+
+    private static void appendColumns(StringBuilder sb, String kind,
+            List<IntrospectedColumn> columns) {
+        for (IntrospectedColumn column : columns) {
+            sb.append(kind);
+            sb.append('|').append(column.getActualColumnName());
+            sb.append('|').append(column.getJdbcType());
+            sb.append('|').append(column.getJdbcTypeName());
+            sb.append('|').append(column.isNullable());
+            sb.append('|').append(column.getLength());
+            sb.append('|').append(column.getScale());
+            sb.append('|').append(column.isIdentity());
+            sb.append('|').append(column.isSequenceColumn());
+            sb.append('|').append(column.getJavaProperty());
+            sb.append('|').append(column.getFullyQualifiedJavaType().getFullyQualifiedName());
+            sb.append('|').append(column.getTableAlias());
+            sb.append('|').append(column.getTypeHandler());
+            sb.append('|').append(column.isColumnNameDelimited());
+            sb.append('|').append(column.getRemarks());
+            sb.append('|').append(column.getDefaultValue());
+            sb.append('|').append(new TreeMap<Object, Object>(column.getProperties()));
+            if (column.getIntrospectedImportColumn() != null) {
+                sb.append('|').append(column.getIntrospectedImportColumn().getIntrospectedTable().getFullyQualifiedTable());
+                sb.append('.').append(column.getIntrospectedImportColumn().getActualColumnName());
+            }
+            sb.append('\n');
+        }
+    }
+
+    private static String digest(String s) {
+        try {
+            byte[] bytes = MessageDigest.getInstance("SHA-1").digest(s.getBytes("UTF-8")); //$NON-NLS-1$ //$NON-NLS-2$
+            StringBuilder sb = new StringBuilder();
+            for (byte b : bytes) {
+                sb.append(Character.forDigit((b >> 4) & 0xf, 16));
+                sb.append(Character.forDigit(b & 0xf, 16));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform has SHA-1
+            throw new RuntimeException(e);
+        } catch (UnsupportedEncodingException e) {
+            // every Java platform has UTF-8
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Returns the version of the generator: the implementation version of the
+     * jar, and the location and time of the jar or class directory, so a
+     * rebuilt generator regenerates every file.
+     */
+    private static String calculateGeneratorVersion() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(FORMAT);
+        Package pkg = GenerationManifest.class.getPackage();
+        if (pkg != null && pkg.getImplementationVersion() != null) {
+            sb.append('/');
+            sb.append(pkg.getImplementationVersion());
+        }
+
+        CodeSource codeSource = GenerationManifest.class.getProtectionDomain().getCodeSource();
+        if (codeSource != null && codeSource.getLocation() != null
+                && "file".equals(codeSource.getLocation().getProtocol())) { //$NON-NLS-1$
+            File location = new File(codeSource.getLocation().getPath());
+            sb.append('/');
+            sb.append(location.getPath());
+            sb.append('/');
+            sb.append(location.lastModified());
+        }
+
+        return sb.toString();
+    }
+}
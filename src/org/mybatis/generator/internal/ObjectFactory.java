@@ -19,6 +19,7 @@ import static org.mybatis.generator.internal.util.StringUtility.stringHasValue;
 import static org.mybatis.generator.internal.util.messages.Messages.getString;
 
 import java.net.URL;
+import java.sql.DatabaseMetaData;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -42,6 +43,10 @@ import org.mybatis.generator.config.PluginConfiguration;
 import org.mybatis.generator.config.JavaTypeResolverConfiguration;
 import org.mybatis.generator.config.PropertyRegistry;
 import org.mybatis.generator.config.TableConfiguration;
+import org.mybatis.generator.internal.db.IntrospectionStrategy;
+import org.mybatis.generator.internal.db.JdbcIntrospectionStrategy;
+import org.mybatis.generator.internal.db.MySQLIntrospectionStrategy;
+import org.mybatis.generator.internal.db.OracleIntrospectionStrategy;
 import org.mybatis.generator.internal.types.JavaTypeResolverDefaultImpl;
 import org.mybatis.generator.internal.util.StringUtility;
 
@@ -325,6 +330,50 @@ public class ObjectFactory {
         return answer;
     }
     
+    /**
+     * Creates the strategy that reads the tables from the database. The
+     * <code>introspectionStrategy</code> context property may be "JDBC",
+     * "Oracle", "MySQL" or the name of a class implementing
+     * IntrospectionStrategy. If it is not set, the Oracle and MySQL strategies
+     * are used with their drivers and the JDBC strategy otherwise.
+     *
+     * @param context
+     *            the context
+     * @param databaseMetaData
+     *            the meta data of the connection to read from
+     * @param warnings
+     *            the warnings
+     * @return the introspection strategy
+     */
+    public static IntrospectionStrategy createIntrospectionStrategy(
+            Context context, DatabaseMetaData databaseMetaData,
+            List<String> warnings) {
+        String type = context.getProperty(PropertyRegistry.CONTEXT_INTROSPECTION_STRATEGY);
+        if (!StringUtility.stringHasValue(type)) {
+            String driverClass = context.getJdbcConnectionConfiguration().getDriverClass();
+            if (driverClass != null && driverClass.startsWith("oracle.jdbc.")) { //$NON-NLS-1$
+                type = OracleIntrospectionStrategy.class.getName();
+            } else if (driverClass != null && driverClass.startsWith("com.mysql.jdbc.")) { //$NON-NLS-1$
+                type = MySQLIntrospectionStrategy.class.getName();
+            } else {
+                type = JdbcIntrospectionStrategy.class.getName();
+            }
+        } else if ("JDBC".equalsIgnoreCase(type)) { //$NON-NLS-1$
+            type = JdbcIntrospectionStrategy.class.getName();
+        } else if ("Oracle".equalsIgnoreCase(type)) { //$NON-NLS-1$
+            type = OracleIntrospectionStrategy.class.getName();
+        } else if ("MySQL".equalsIgnoreCase(type)) { //$NON-NLS-1$
+            type = MySQLIntrospectionStrategy.class.getName();
+        }
+
+        IntrospectionStrategy answer = (IntrospectionStrategy) createInternalObject(type);
+        answer.setWarnings(warnings);
+        answer.setDatabaseMetaData(databaseMetaData);
+        answer.setContext(context);
+
+        return answer;
+    }
+
     /**
      * Creates a new Object object.
      *
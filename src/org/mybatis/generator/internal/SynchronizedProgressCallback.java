@@ -0,0 +1,61 @@
+/*
+ *  Copyright 2005 The Apache Software Foundation
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mybatis.generator.internal;
+
+import org.mybatis.generator.api.ProgressCallback;
+
+/**
+ * This class passes the calls of several threads to a progress callback one
+ * at a time. It is used when the files of a context are generated on several
+ * threads, because the progress callbacks are not required to be thread safe.
+ */
+public class SynchronizedProgressCallback implements ProgressCallback {
+
+    private ProgressCallback delegate;
+
+    /**
+     * @param delegate
+     *            the callback receiving the calls
+     */
+    public SynchronizedProgressCallback(ProgressCallback delegate) {
+        super();
+        this.delegate = delegate;
+    }
+
+    public synchronized void generationStarted(int totalTasks) {
+        delegate.generationStarted(totalTasks);
+    }
+
+    public synchronized void introspectionStarted(int totalTasks) {
+        delegate.introspectionStarted(totalTasks);
+    }
+
+    public synchronized void saveStarted(int totalTasks) {
+        delegate.saveStarted(totalTasks);
+    }
+
+    public synchronized void startTask(String taskName) {
+        delegate.startTask(taskName);
+    }
+
+    public synchronized void checkCancel() throws InterruptedException {
+        delegate.checkCancel();
+    }
+
+    public synchronized void done() {
+        delegate.done();
+    }
+}
@@ -0,0 +1,616 @@
+/*
+ *  Copyright 2005 The Apache Software Foundation
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mybatis.generator.internal;
+
+import static org.mybatis.generator.internal.util.messages.Messages.getString;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLResolver;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.mybatis.generator.api.GeneratedXmlFile;
+import org.mybatis.generator.api.dom.OutputUtilities;
+import org.mybatis.generator.api.dom.xml.Attribute;
+import org.mybatis.generator.api.dom.xml.Document;
+import org.mybatis.generator.api.dom.xml.Element;
+import org.mybatis.generator.api.dom.xml.XmlElement;
+import org.mybatis.generator.config.MergeConstants;
+import org.mybatis.generator.exception.ShellException;
+
+/**
+ * This class merges a generated XML file into an existing XML file while
+ * reading the existing file as a stream. The result is the same merge as the
+ * one done by {@link XmlFileMergerJaxp}:
+ * <ul>
+ * <li>the root element gets the attributes of the generated root element</li>
+ * <li>the generated elements come first, in place of the generated elements of
+ * the existing file</li>
+ * <li>all other nodes of the existing file follow</li>
+ * </ul>
+ * 
+ * <p>The generated elements are written straight from the document of the
+ * generated file, so they look exactly like they do in a newly generated
+ * file. The doctype declaration is copied as it is, and the other nodes are
+ * copied in the format of {@link DomWriter}, so the other nodes of a file
+ * merged by the DOM based merger do not change. Only one node of the
+ * existing file is held in memory at a time.
+ */
+public class XmlFileMergerStax {
+
+    /** The start of a doctype declaration, with the name of the doctype. */
+    private static final Pattern DOCTYPE_PATTERN = Pattern.compile(
+            "<!DOCTYPE\\s+([^\\s\\[>]+)"); //$NON-NLS-1$
+
+    /** Sorts attributes by name, as the DomWriter does. */
+    private static final Comparator<Attribute> ATTRIBUTE_ORDER = new Comparator<Attribute>() {
+        public int compare(Attribute a1, Attribute a2) {
+            return a1.getName().compareTo(a2.getName());
+        }
+    };
+
+    /**
+     * The input factory. A factory is expensive to create, so it is shared; it
+     * is not thread safe, so readers are created while holding its lock.
+     */
+    private static final XMLInputFactory inputFactory = createInputFactory();
+
+    /**
+     * Utility class - no instances allowed
+     */
+    private XmlFileMergerStax() {
+        super();
+    }
+
+    /**
+     * Merges a generated XML file into an existing file.
+     * 
+     * @param generatedXmlFile
+     *            the generated file
+     * @param existingFile
+     *            the existing file
+     * @return the merged source
+     * @throws ShellException
+     *             if the files cannot be merged
+     */
+    public static String getMergedSource(GeneratedXmlFile generatedXmlFile,
+            File existingFile) throws ShellException {
+        StringBuilder sb = new StringBuilder();
+        merge(generatedXmlFile, existingFile, sb);
+        return sb.toString();
+    }
+
+    /**
+     * Merges a generated XML file into an existing file, and writes the result
+     * to an output. Files with a custom XML formatter are merged by
+     * {@link XmlFileMergerJaxp}, because only the formatter knows what their
+     * generated elements look like.
+     * 
+     * @param generatedXmlFile
+     *            the generated file
+     * @param existingFile
+     *            the existing file
+     * @param out
+     *            the output
+     * @throws ShellException
+     *             if the files cannot be merged
+     */
+    public static void merge(GeneratedXmlFile generatedXmlFile,
+            File existingFile, Appendable out) throws ShellException {
+        try {
+            if (!generatedXmlFile.isFormattedByDocument()) {
+                out.append(XmlFileMergerJaxp.getMergedSource(generatedXmlFile, existingFile));
+                return;
+            }
+
+            Reader reader = new InputStreamReader(new BufferedInputStream(
+                    new FileInputStream(existingFile)), "UTF-8"); //$NON-NLS-1$
+            try {
+                XMLStreamReader existing;
+                synchronized (inputFactory) {
+                    existing = inputFactory.createXMLStreamReader(reader);
+                }
+
+                try {
+                    new Merger(generatedXmlFile.getDocument(), existing, out,
+                            existingFile.getName()).merge();
+                } finally {
+                    existing.close();
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (IOException e) {
+            throw new ShellException(getString("Warning.13", //$NON-NLS-1$
+                    existingFile.getName()), e);
+        } catch (XMLStreamException e) {
+            throw new ShellException(getString("Warning.13", //$NON-NLS-1$
+                    existingFile.getName()), e);
+        }
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        // element and attribute names are copied as they are written
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.FALSE);
+        factory.setProperty(XMLInputFactory.IS_REPLACING_ENTITY_REFERENCES, Boolean.FALSE);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.FALSE);
+        // the doctype is still reported, but the DTD is not read. It is not
+        // needed for the merge and reading it can cause problems on systems
+        // that aren't Internet connected.
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+        factory.setXMLResolver(new XMLResolver() {
+            public Object resolveEntity(String publicID, String systemID,
+                    String baseURI, String namespace) {
+                return new ByteArrayInputStream(new byte[0]);
+            }
+        });
+        String reportCdata = "http://java.sun.com/xml/stream/properties/report-cdata-event"; //$NON-NLS-1$
+        if (factory.isPropertySupported(reportCdata)) {
+            factory.setProperty(reportCdata, Boolean.TRUE);
+        }
+
+        return factory;
+    }
+
+    /**
+     * The state of one merge.
+     */
+    private static class Merger {
+
+        /** The generated document. */
+        private Document newDocument;
+
+        /** The existing file. */
+        private XMLStreamReader existing;
+
+        /** The output. */
+        private Appendable out;
+
+        /** The existing file name. */
+        private String existingFileName;
+
+        /** True if the existing file is XML 1.1. */
+        private boolean isXML11;
+
+        /**
+         * True if the start tag of the last element is not closed yet. The tag
+         * is closed with " />" if the element turns out to be empty.
+         */
+        private boolean startTagOpen;
+
+        /** The text of the root element since its last child node. */
+        private StringBuilder rootText = new StringBuilder();
+
+        Merger(Document newDocument, XMLStreamReader existing, Appendable out,
+                String existingFileName) {
+            super();
+            this.newDocument = newDocument;
+            this.existing = existing;
+            this.out = out;
+            this.existingFileName = existingFileName;
+        }
+
+        void merge() throws XMLStreamException, IOException, ShellException {
+            isXML11 = "1.1".equals(existing.getVersion()); //$NON-NLS-1$
+            String doctype = null;
+            while (existing.next() != XMLStreamConstants.START_ELEMENT) {
+                if (existing.getEventType() == XMLStreamConstants.DTD) {
+                    doctype = existing.getText();
+                }
+            }
+
+            writeHeader(doctype);
+            mergeRootElement();
+        }
+
+        /**
+         * Writes the XML declaration and the doctype declaration of the
+         * existing file, after checking that it is the doctype of the
+         * generated file.
+         */
+        private void writeHeader(String doctype) throws IOException, ShellException {
+            XmlElement newRootElement = newDocument.getRootElement();
+            String newDoctypeName = null;
+            if (newDocument.getPublicId() != null && newDocument.getSystemId() != null) {
+                newDoctypeName = newRootElement.getName();
+            }
+
+            String doctypeName = null;
+            if (doctype != null) {
+                Matcher matcher = DOCTYPE_PATTERN.matcher(doctype);
+                if (matcher.lookingAt()) {
+                    doctypeName = matcher.group(1);
+                }
+            }
+
+            if (newDoctypeName == null ? doctypeName != null
+                    : !newDoctypeName.equals(doctypeName)) {
+                throw new ShellException(getString("Warning.12", //$NON-NLS-1$
+                        existingFileName));
+            }
+
+            if (isXML11) {
+                out.append("<?xml version=\"1.1\" encoding=\"UTF-8\"?>"); //$NON-NLS-1$
+            } else {
+                out.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>"); //$NON-NLS-1$
+            }
+            OutputUtilities.newLine(out);
+
+            if (doctypeName != null) {
+                out.append(doctype);
+                OutputUtilities.newLine(out);
+            }
+        }
+
+        /**
+         * Writes the root element: the existing name with the generated
+         * attributes, the generated elements and then the other children of
+         * the existing root element. The reader is on the root start tag.
+         */
+        private void mergeRootElement() throws XMLStreamException, IOException {
+            XmlElement newRootElement = newDocument.getRootElement();
+            String rootName = getElementName();
+            out.append('<');
+            out.append(rootName);
+            List<Attribute> attributes = new ArrayList<Attribute>(newRootElement.getAttributes());
+            Collections.sort(attributes, ATTRIBUTE_ORDER);
+            for (Attribute attribute : attributes) {
+                writeAttribute(attribute.getName(), attribute.getValue());
+            }
+            startTagOpen = true;
+
+            for (Element element : newRootElement.getElements()) {
+                closeStartTag();
+                OutputUtilities.newLine(out);
+                element.render(out, 1);
+            }
+
+            while (true) {
+                int event = existing.next();
+                switch (event) {
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.SPACE:
+                    rootText.append(existing.getTextCharacters(),
+                            existing.getTextStart(), existing.getTextLength());
+                    break;
+
+                case XMLStreamConstants.START_ELEMENT:
+                    mergeRootChild();
+                    break;
+
+                case XMLStreamConstants.END_ELEMENT:
+                    writeRootText();
+                    writeEndTag(rootName);
+                    return;
+
+                default:
+                    writeRootText();
+                    copyNode();
+                    break;
+                }
+            }
+        }
+
+        /**
+         * Handles an element of the existing root element. Generated elements
+         * are skipped, together with the white space before them; all other
+         * elements are copied. The reader is on the start tag.
+         */
+        private void mergeRootChild() throws XMLStreamException, IOException {
+            if (hasGeneratedId()) {
+                rootText.setLength(0);
+                skipElement(1);
+                return;
+            }
+
+            // an element is also generated if one of the comments before its
+            // first other child node has a generated element tag
+            String name = getElementName();
+            Map<String, String> attributes = getAttributes();
+            boolean generated = false;
+            List<String> leadingNodes = new ArrayList<String>();
+            int event = existing.next();
+            while (true) {
+                if ((event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.SPACE)
+                        && existing.isWhiteSpace()) {
+                    leadingNodes.add(existing.getText());
+                } else if (event == XMLStreamConstants.COMMENT) {
+                    String comment = existing.getText();
+                    for (String tag : MergeConstants.OLD_ELEMENT_TAGS) {
+                        if (comment.contains(tag)) {
+                            generated = true;
+                        }
+                    }
+                    leadingNodes.add(null);
+                    leadingNodes.add(comment);
+                } else {
+                    break;
+                }
+                event = existing.next();
+            }
+
+            // the reader is on the end tag, or on the first node after the
+            // leading nodes, which may be the start tag of a child element
+            int depth = event == XMLStreamConstants.START_ELEMENT ? 2 : 1;
+            if (generated) {
+                rootText.setLength(0);
+                if (event != XMLStreamConstants.END_ELEMENT) {
+                    skipElement(depth);
+                }
+                return;
+            }
+
+            writeRootText();
+            writeStartTag(name, attributes);
+            for (int i = 0; i < leadingNodes.size(); i++) {
+                closeStartTag();
+                String node = leadingNodes.get(i);
+                if (node == null) {
+                    writeComment(leadingNodes.get(++i));
+                } else {
+                    normalizeAndWrite(node, false);
+                }
+            }
+
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                writeEndTag(name);
+            } else {
+                copyNode();
+                copyContent(depth);
+            }
+        }
+
+        /**
+         * Writes the text of the root element that is not followed by a
+         * generated element.
+         */
+        private void writeRootText() throws IOException {
+            if (rootText.length() > 0) {
+                closeStartTag();
+                normalizeAndWrite(rootText, false);
+                rootText.setLength(0);
+            }
+        }
+
+        private boolean hasGeneratedId() {
+            String id = existing.getAttributeValue(null, "id"); //$NON-NLS-1$
+            if (id != null) {
+                for (String prefix : MergeConstants.OLD_XML_ELEMENT_PREFIXES) {
+                    if (id.startsWith(prefix)) {
+                        return true;
+                    }
+                }
+            }
+
+            return false;
+        }
+
+        /**
+         * Skips the rest of the current element.
+         * 
+         * @param depth
+         *            the number of elements the reader is in
+         */
+        private void skipElement(int depth) throws XMLStreamException {
+            while (depth > 0) {
+                int event = existing.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    depth++;
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    depth--;
+                }
+            }
+        }
+
+        /**
+         * Copies the rest of the current element, up to and including its end
+         * tag.
+         * 
+         * @param depth
+         *            the number of elements the reader is in
+         */
+        private void copyContent(int depth) throws XMLStreamException, IOException {
+            while (depth > 0) {
+                int event = existing.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    depth++;
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    depth--;
+                }
+                copyNode();
+            }
+        }
+
+        /**
+         * Copies the node of the current event.
+         */
+        private void copyNode() throws XMLStreamException, IOException {
+            switch (existing.getEventType()) {
+            case XMLStreamConstants.START_ELEMENT:
+                writeStartTag(getElementName(), getAttributes());
+                break;
+
+            case XMLStreamConstants.END_ELEMENT:
+                writeEndTag(getElementName());
+                break;
+
+            case XMLStreamConstants.CHARACTERS:
+            case XMLStreamConstants.SPACE:
+                closeStartTag();
+                normalizeAndWrite(existing.getText(), false);
+                break;
+
+            case XMLStreamConstants.CDATA:
+                closeStartTag();
+                out.append("<![CDATA["); //$NON-NLS-1$
+                out.append(existing.getText());
+                out.append("]]>"); //$NON-NLS-1$
+                break;
+
+            case XMLStreamConstants.COMMENT:
+                closeStartTag();
+                writeComment(existing.getText());
+                break;
+
+            case XMLStreamConstants.PROCESSING_INSTRUCTION:
+                closeStartTag();
+                out.append("<?"); //$NON-NLS-1$
+                out.append(existing.getPITarget());
+                String data = existing.getPIData();
+                if (data != null && data.length() > 0) {
+                    out.append(' ');
+                    out.append(data);
+                }
+                out.append("?>"); //$NON-NLS-1$
+                break;
+
+            case XMLStreamConstants.ENTITY_REFERENCE:
+                closeStartTag();
+                out.append('&');
+                out.append(existing.getLocalName());
+                out.append(';');
+                break;
+
+            default:
+                break;
+            }
+        }
+
+        private String getElementName() {
+            String prefix = existing.getPrefix();
+            if (prefix == null || prefix.length() == 0) {
+                return existing.getLocalName();
+            } else {
+                return prefix + ':' + existing.getLocalName();
+            }
+        }
+
+        /**
+         * Gets the attributes of the current start tag, sorted by name.
+         */
+        private Map<String, String> getAttributes() {
+            Map<String, String> attributes = new TreeMap<String, String>();
+            for (int i = 0; i < existing.getAttributeCount(); i++) {
+                String prefix = existing.getAttributePrefix(i);
+                String name = existing.getAttributeLocalName(i);
+                if (prefix != null && prefix.length() > 0) {
+                    name = prefix + ':' + name;
+                }
+                attributes.put(name, existing.getAttributeValue(i));
+            }
+
+            return attributes;
+        }
+
+        private void writeStartTag(String name, Map<String, String> attributes) throws IOException {
+            closeStartTag();
+            out.append('<');
+            out.append(name);
+            for (Map.Entry<String, String> attribute : attributes.entrySet()) {
+                writeAttribute(attribute.getKey(), attribute.getValue());
+            }
+            startTagOpen = true;
+        }
+
+        private void writeAttribute(String name, String value) throws IOException {
+            out.append(' ');
+            out.append(name);
+            out.append("=\""); //$NON-NLS-1$
+            normalizeAndWrite(value, true);
+            out.append('"');
+        }
+
+        private void closeStartTag() throws IOException {
+            if (startTagOpen) {
+                out.append('>');
+                startTagOpen = false;
+            }
+        }
+
+        private void writeEndTag(String name) throws IOException {
+            if (startTagOpen) {
+                out.append(" />"); //$NON-NLS-1$
+                startTagOpen = false;
+            } else {
+                out.append("</"); //$NON-NLS-1$
+                out.append(name);
+                out.append('>');
+            }
+        }
+
+        private void writeComment(String comment) throws IOException {
+            out.append("<!--"); //$NON-NLS-1$
+            out.append(comment);
+            out.append("-->"); //$NON-NLS-1$
+        }
+
+        /**
+         * Writes text or an attribute value, escaped as the DomWriter does.
+         */
+        private void normalizeAndWrite(CharSequence s, boolean isAttValue) throws IOException {
+            int len = s.length();
+            for (int i = 0; i < len; i++) {
+                char c = s.charAt(i);
+                switch (c) {
+                case '<':
+                    out.append("&lt;"); //$NON-NLS-1$
+                    break;
+                case '>':
+                    out.append("&gt;"); //$NON-NLS-1$
+                    break;
+                case '&':
+                    out.append("&amp;"); //$NON-NLS-1$
+                    break;
+                case '"':
+                    out.append(isAttValue ? "&quot;" : "\""); //$NON-NLS-1$ //$NON-NLS-2$
+                    break;
+                case '\r':
+                    out.append("&#xD;"); //$NON-NLS-1$
+                    break;
+                default:
+                    if (isXML11
+                            && ((c >= 0x01 && c <= 0x1F && c != 0x09 && c != 0x0A)
+                                    || (c >= 0x7F && c <= 0x9F) || c == 0x2028)
+                            || isAttValue && (c == 0x09 || c == 0x0A)) {
+                        out.append("&#x"); //$NON-NLS-1$
+                        out.append(Integer.toHexString(c).toUpperCase());
+                        out.append(';');
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ *  Copyright 2005 The Apache Software Foundation
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mybatis.generator.internal.db;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import org.mybatis.generator.config.JDBCConnectionConfiguration;
+
+/**
+ * This class shares database connections between the contexts of one
+ * generation run. Contexts with the same driver, URL, user, password and
+ * properties get the connections the others have released, instead of
+ * opening new ones. A connection is only handed to one caller at a time, so
+ * a context introspecting on several threads still gets one connection per
+ * thread.
+ *
+ * <p>A released connection is validated before it is handed out again, so a
+ * cache kept by a long running daemon replaces the connections the server or
+ * a firewall has dropped in the meantime.
+ *
+ * <p>The connections are closed by <code>closeAll</code> at the end of the
+ * run.
+ */
+public class ConnectionCache {
+
+    /** The seconds a released connection may take to answer the validation. */
+    private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+
+    /** The released connections keyed by connection configuration. */
+    private Map<List<Object>, LinkedList<Connection>> idleConnections;
+
+    /** The configuration key of every connection opened by the cache. */
+    private Map<Connection, List<Object>> connectionKeys;
+
+    public ConnectionCache() {
+        super();
+        idleConnections = new HashMap<List<Object>, LinkedList<Connection>>();
+        connectionKeys = new IdentityHashMap<Connection, List<Object>>();
+    }
+
+    /**
+     * Returns a released connection of an equal configuration, or opens a new
+     * one.
+     *
+     * @param config
+     *            the connection configuration
+     * @return the connection
+     * @throws SQLException
+     *             if the connection cannot be opened
+     */
+    public Connection getConnection(JDBCConnectionConfiguration config)
+            throws SQLException {
+        List<Object> key = getKey(config);
+
+        Connection connection;
+        while ((connection = takeIdleConnection(key)) != null) {
+            if (isValid(connection)) {
+                return connection;
+            }
+
+            synchronized (this) {
+                connectionKeys.remove(connection);
+            }
+            close(connection);
+        }
+
+        connection = ConnectionFactory.getInstance().getConnection(config);
+        synchronized (this) {
+            connectionKeys.put(connection, key);
+        }
+
+        return connection;
+    }
+
+    /**
+     * Makes a connection returned by this cache available to the next caller.
+     * Other connections are closed.
+     *
+     * @param connection
+     *            the connection
+     */
+    public synchronized void releaseConnection(Connection connection) {
+        List<Object> key = connectionKeys.get(connection);
+        if (key == null) {
+            close(connection);
+            return;
+        }
+
+        LinkedList<Connection> connections = idleConnections.get(key);
+        if (connections == null) {
+            connections = new LinkedList<Connection>();
+            idleConnections.put(key, connections);
+        }
+        connections.addFirst(connection);
+    }
+
+    /**
+     * Closes every connection opened by this cache.
+     */
+    public synchronized void closeAll() {
+        for (Connection connection : new ArrayList<Connection>(connectionKeys.keySet())) {
+            close(connection);
+        }
+        connectionKeys.clear();
+        idleConnections.clear();
+    }
+
+    private synchronized Connection takeIdleConnection(List<Object> key) {
+        LinkedList<Connection> connections = idleConnections.get(key);
+        if (connections == null || connections.isEmpty()) {
+            return null;
+        }
+
+        return connections.removeFirst();
+    }
+
+    /**
+     * Checks if a released connection can still be used. The check is done
+     * outside the lock of the cache, it may need a round trip.
+     *
+     * @param connection
+     *            the connection
+     * @return true if the connection answers
+     */
+    private static boolean isValid(Connection connection) {
+        try {
+            return connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        } catch (AbstractMethodError e) {
+            // a JDBC 3 driver, it cannot tell more than isClosed
+            try {
+                return !connection.isClosed();
+            } catch (SQLException e1) {
+                return false;
+            }
+        }
+    }
+
+    private static List<Object> getKey(JDBCConnectionConfiguration config) {
+        return Arrays.asList(new Object[] { config.getDriverClass(),
+                config.getConnectionURL(), config.getUserId(),
+                config.getPassword(), config.getProperties() });
+    }
+
+    private static void close(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            // ignore
+            ;
+        }
+    }
+}
@@ -21,6 +21,8 @@ import static org.mybatis.generator.internal.util.messages.Messages.getString;
 import java.sql.Connection;
 import java.sql.Driver;
 import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Properties;
 
 import org.mybatis.generator.config.JDBCConnectionConfiguration;
@@ -38,6 +40,12 @@ public class ConnectionFactory {
 
     private static ConnectionFactory instance = new ConnectionFactory();
 
+    /**
+     * The driver instances keyed by driver class. A class is specific to its
+     * classloader, so drivers loaded by different classloaders are kept apart.
+     */
+    private Map<Class<?>, Driver> drivers;
+
     public static ConnectionFactory getInstance() {
         return instance;
     }
@@ -47,6 +55,7 @@ public class ConnectionFactory {
 	 */
     private ConnectionFactory() {
         super();
+        drivers = new HashMap<Class<?>, Driver>();
     }
 
     public Connection getConnection(JDBCConnectionConfiguration config)
@@ -80,7 +89,13 @@ public class ConnectionFactory {
 
         try {
             Class<?> clazz = ObjectFactory.externalClassForName(driverClass);
-            driver = (Driver) clazz.newInstance();
+            synchronized (drivers) {
+                driver = drivers.get(clazz);
+                if (driver == null) {
+                    driver = (Driver) clazz.newInstance();
+                    drivers.put(clazz, driver);
+                }
+            }
         } catch (Exception e) {
             throw new RuntimeException(getString("RuntimeError.8"), e); //$NON-NLS-1$
         }
@@ -39,7 +39,9 @@ public enum DatabaseDialects {
     /** The D b2_ mf. */
  DB2_MF("SELECT IDENTITY_VAL_LOCAL() FROM SYSIBM.SYSDUMMY1"), //$NON-NLS-1$
     /** The informix. */
- INFORMIX("select dbinfo('sqlca.sqlerrd1') from systables where tabid=1"); //$NON-NLS-1$
+ INFORMIX("select dbinfo('sqlca.sqlerrd1') from systables where tabid=1"), //$NON-NLS-1$
+    /** The oracle. Oracle has no identity retrieval statement, keys come from sequences. */
+ ORACLE(null);
 
     /** The identity retrieval statement. */
  private String identityRetrievalStatement;
@@ -57,7 +59,8 @@ public enum DatabaseDialects {
     /**
      * Gets the identity retrieval statement.
      *
-     * @return the identity retrieval statement
+     * @return the identity retrieval statement, or null if the database has
+     *         no identity columns
      */
     public String getIdentityRetrievalStatement() {
         return identityRetrievalStatement;
@@ -92,6 +95,8 @@ public enum DatabaseDialects {
             returnValue = DB2_MF;
         } else if ("Informix".equalsIgnoreCase(database)) { //$NON-NLS-1$
             returnValue = INFORMIX;
+        } else if ("Oracle".equalsIgnoreCase(database)) { //$NON-NLS-1$
+            returnValue = ORACLE;
         }
 
         return returnValue;
@@ -25,7 +25,6 @@ import static org.mybatis.generator.internal.util.StringUtility.stringHasValue;
 import static org.mybatis.generator.internal.util.messages.Messages.getString;
 
 import java.sql.DatabaseMetaData;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -33,12 +32,12 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.StringTokenizer;
-import java.util.TreeMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.mybatis.generator.api.FullyQualifiedTable;
 import org.mybatis.generator.api.ImportColumn;
+import org.mybatis.generator.api.InstrumentationCallback;
 import org.mybatis.generator.api.IntrospectedColumn;
 import org.mybatis.generator.api.IntrospectedTable;
 import org.mybatis.generator.api.JavaTypeResolver;
@@ -75,6 +74,12 @@ public class DatabaseIntrospector {
 	/** The logger. */
 	private Log logger;
 
+	/** The strategy reading the tables from the database. */
+	private IntrospectionStrategy introspectionStrategy;
+
+	/** The schema snapshot, may be null. */
+	private SchemaSnapshot schemaSnapshot;
+
 	/**
 	 * Instantiates a new database introspector.
 	 * 
@@ -94,60 +99,33 @@ public class DatabaseIntrospector {
 		this.javaTypeResolver = javaTypeResolver;
 		this.warnings = warnings;
 		logger = LogFactory.getLog(getClass());
+		if (databaseMetaData != null) {
+			introspectionStrategy = ObjectFactory.createIntrospectionStrategy(context, databaseMetaData, warnings);
+		}
 	}
 
 	/**
-	 * Calculate primary key.
+	 * Sets the schema snapshot. Tables found in the snapshot are not read
+	 * from the database, tables read from the database are added to it.
 	 * 
-	 * @param table
-	 *            the table
-	 * @param introspectedTable
-	 *            the introspected table
+	 * @param schemaSnapshot
+	 *            the schema snapshot
 	 */
-	private void calculatePrimaryKey(FullyQualifiedTable table, IntrospectedTable introspectedTable) {
-		ResultSet rs = null;
-
-		try {
-			rs = databaseMetaData.getPrimaryKeys(table.getIntrospectedCatalog(), table.getIntrospectedSchema(), table.getIntrospectedTableName());
-		} catch (SQLException e) {
-			closeResultSet(rs);
-			warnings.add(getString("Warning.15"));
-			return;
-		}
-
-		try {
-			// keep primary columns in key sequence order
-			Map<Short, String> keyColumns = new TreeMap<Short, String>();
-			while (rs.next()) {
-				String columnName = rs.getString("COLUMN_NAME");
-				short keySeq = rs.getShort("KEY_SEQ");
-				keyColumns.put(keySeq, columnName);
-			}
-
-			for (String columnName : keyColumns.values()) {
-				introspectedTable.addPrimaryKeyColumn(columnName);
-			}
-		} catch (SQLException e) {
-			// ignore the primary key if there's any error
-		} finally {
-			closeResultSet(rs);
-		}
+	public void setSchemaSnapshot(SchemaSnapshot schemaSnapshot) {
+		this.schemaSnapshot = schemaSnapshot;
 	}
 
 	/**
-	 * Close result set.
+	 * Calculate primary key.
 	 * 
-	 * @param rs
-	 *            the rs
+	 * @param tableMetaData
+	 *            the raw meta data of the table
+	 * @param introspectedTable
+	 *            the introspected table
 	 */
-	private void closeResultSet(ResultSet rs) {
-		if (rs != null) {
-			try {
-				rs.close();
-			} catch (SQLException e) {
-				// ignore
-				;
-			}
+	private void calculatePrimaryKey(SchemaMetaData tableMetaData, IntrospectedTable introspectedTable) {
+		for (String columnName : tableMetaData.getPrimaryKeyColumns(introspectedTable.getActualTableName())) {
+			introspectedTable.addPrimaryKeyColumn(columnName);
 		}
 	}
 
@@ -203,9 +181,32 @@ public class DatabaseIntrospector {
 	 *             the SQL exception
 	 */
 	public List<IntrospectedTable> introspectTables(TableConfiguration tc) throws SQLException {
+		long startNanos = System.nanoTime();
+		int startRoundTrips = JdbcRoundTripCounter.getRoundTrips(databaseMetaData);
+		try {
+			return readIntrospectedTables(tc);
+		} finally {
+			String tableName = composeFullyQualifiedTableName(tc.getCatalog(), tc.getSchema(), tc.getTableName(), '.');
+			InstrumentationCallback instrumentationCallback = context.getInstrumentationCallback();
+			instrumentationCallback.phaseFinished(InstrumentationCallback.INTROSPECT, tableName, System.nanoTime() - startNanos);
+			instrumentationCallback.jdbcRoundTrips(tableName, JdbcRoundTripCounter.getRoundTrips(databaseMetaData) - startRoundTrips);
+		}
+	}
+
+	/**
+	 * Reads the tables matching the table configuration and validates them.
+	 * 
+	 * @param tc
+	 *            the tc
+	 * @return a list of introspected tables
+	 * @throws SQLException
+	 *             the SQL exception
+	 */
+	private List<IntrospectedTable> readIntrospectedTables(TableConfiguration tc) throws SQLException {
 
 		// get the raw columns from the DB
-		Map<ActualTableName, List<IntrospectedColumn>> columns = getColumns(tc);
+		SchemaMetaData tableMetaData = getTableMetaData(tc);
+		Map<ActualTableName, List<IntrospectedColumn>> columns = getColumns(tc, tableMetaData);
 
 		if (columns.isEmpty()) {
 			warnings.add(getString("Warning.19", tc.getCatalog(), tc.getSchema(), tc.getTableName()));
@@ -217,7 +218,7 @@ public class DatabaseIntrospector {
 		applyColumnOverrides(tc, columns);// Ӧи
 		calculateIdentityColumns(tc, columns);// 
 
-		List<IntrospectedTable> introspectedTables = calculateIntrospectedTables(tc, columns);
+		List<IntrospectedTable> introspectedTables = calculateIntrospectedTables(tc, columns, tableMetaData);
 
 		// now introspectedTables has all the columns from all the
 		// tables in the configuration. Do some validation...
@@ -428,7 +429,7 @@ public class DatabaseIntrospector {
 				}
 
 				if (stringHasValue(columnOverride.getJavaType())) {
-					introspectedColumn.setFullyQualifiedJavaType(new FullyQualifiedJavaType(columnOverride.getJavaType()));
+					introspectedColumn.setFullyQualifiedJavaType(FullyQualifiedJavaType.getInstance(columnOverride.getJavaType()));
 				}
 
 				if (stringHasValue(columnOverride.getJdbcType())) {
@@ -455,16 +456,110 @@ public class DatabaseIntrospector {
 	 * 
 	 * @param tc
 	 *            the tc
+	 * @param tableMetaData
+	 *            the raw meta data of the tables matching the table
+	 *            configuration
 	 * @return introspected columns
+	 */
+	private Map<ActualTableName, List<IntrospectedColumn>> getColumns(TableConfiguration tc, SchemaMetaData tableMetaData) {
+		Map<ActualTableName, List<IntrospectedColumn>> answer = new HashMap<ActualTableName, List<IntrospectedColumn>>();
+
+		for (ActualTableName atn : tableMetaData.getTableNames()) {
+			Map<String, ImportColumn> importColumnMap = tableMetaData.getImportedKeys(atn);
+			List<IntrospectedColumn> columns = new ArrayList<IntrospectedColumn>();
+			for (ColumnMetaData columnMetaData : tableMetaData.getColumns(atn)) {
+				IntrospectedColumn introspectedColumn = createIntrospectedColumn(tc, columnMetaData);
+				//add by suman
+				if (importColumnMap != null) {
+					ImportColumn importColumn = importColumnMap.get(columnMetaData.getColumnName());
+					if (importColumn != null) {
+						introspectedColumn.setImportColumn(importColumn);
+					}
+				}
+
+				columns.add(introspectedColumn);
+
+				if (logger.isDebugEnabled()) {
+					logger.debug(getString("Tracing.2", introspectedColumn.getActualColumnName(), Integer.toString(introspectedColumn.getJdbcType()), atn.toString()));
+				}
+			}
+
+			answer.put(atn, columns);
+		}
+
+		return answer;
+	}
+
+	/**
+	 * Returns the raw columns and keys of the tables matching the table
+	 * configuration. They are taken from the schema snapshot if it has them,
+	 * otherwise they are read from the database (and recorded in the snapshot).
+	 * 
+	 * @param tc
+	 *            the tc
+	 * @return the raw meta data of the matching tables
+	 * @throws SQLException
+	 *             the SQL exception
+	 */
+	private SchemaMetaData getTableMetaData(TableConfiguration tc) throws SQLException {
+		SchemaMetaData tableMetaData = null;
+		if (schemaSnapshot != null) {
+			tableMetaData = schemaSnapshot.getTableMetaData(tc);
+		}
+
+		if (tableMetaData == null) {
+			if (databaseMetaData == null) {
+				// offline, and the snapshot does not know the table
+				String tableName = composeFullyQualifiedTableName(tc.getCatalog(), tc.getSchema(), tc.getTableName(), '.');
+				throw new SQLException(getString("RuntimeError.23", tableName, schemaSnapshot.getFile().getAbsolutePath()));
+			}
+
+			tableMetaData = readTableMetaData(tc);
+
+			if (schemaSnapshot != null) {
+				schemaSnapshot.putTableMetaData(tc, tableMetaData);
+			}
+		}
+
+		if (tableMetaData.getTableNames().size() > 1 && !stringContainsSQLWildcard(tc.getSchema()) && !stringContainsSQLWildcard(tc.getTableName())) {
+			// issue a warning if there is more than one table and
+			// no wildcards were used
+			ActualTableName inputAtn = new ActualTableName(tc.getCatalog(), tc.getSchema(), tc.getTableName());
+
+			StringBuilder sb = new StringBuilder();
+			boolean comma = false;
+			for (ActualTableName atn : tableMetaData.getTableNames()) {
+				if (comma) {
+					sb.append(',');
+				} else {
+					comma = true;
+				}
+				sb.append(atn.toString());
+			}
+
+			warnings.add(getString("Warning.25", inputAtn.toString(), sb.toString()));
+		}
+
+		return tableMetaData;
+	}
+
+	/**
+	 * Reads the raw columns and keys of the tables matching the table
+	 * configuration from the database.
+	 * 
+	 * @param tc
+	 *            the tc
+	 * @return the raw meta data of the matching tables
 	 * @throws SQLException
 	 *             the SQL exception
 	 */
-	private Map<ActualTableName, List<IntrospectedColumn>> getColumns(TableConfiguration tc) throws SQLException {
+	private SchemaMetaData readTableMetaData(TableConfiguration tc) throws SQLException {
 		String localCatalog;
 		String localSchema;
 		String localTableName;
 
 		boolean delimitIdentifiers = tc.isDelimitIdentifiers() || stringContainsSpace(tc.getCatalog()) || stringContainsSpace(tc.getSchema()) || stringContainsSpace(tc.getTableName());
+		boolean caseSensitive = true;
 
 		if (delimitIdentifiers) {
 			localCatalog = tc.getCatalog();
@@ -482,6 +577,7 @@ public class DatabaseIntrospector {
 			localCatalog = tc.getCatalog();
 			localSchema = tc.getSchema();
 			localTableName = tc.getTableName();
+			caseSensitive = false;
 		}
 		// ǷҪԱ_ % ת
 		if (tc.isWildcardEscapingEnabled()) {
@@ -513,93 +609,35 @@ public class DatabaseIntrospector {
 			localTableName = sb.toString();
 		}
 
-		Map<ActualTableName, List<IntrospectedColumn>> answer = new HashMap<ActualTableName, List<IntrospectedColumn>>();
-
 		if (logger.isDebugEnabled()) {
 			String fullTableName = composeFullyQualifiedTableName(localCatalog, localSchema, localTableName, '.');
 			logger.debug(getString("Tracing.1", fullTableName));
 		}
-		
-		//add by suman
-		Map<ActualTableName,Map> importTableMap = new HashMap<ActualTableName,Map>();
-		ResultSet rs = databaseMetaData.getImportedKeys(localCatalog, localSchema, localTableName);// ȡ
-		while (rs.next()) {
-
-			ActualTableName importAtn = new ActualTableName(localCatalog, rs.getString("PKTABLE_SCHEM"), rs.getString("PKTABLE_NAME"));
-			ImportColumn importColumn = new ImportColumn(importAtn, rs.getString("PKCOLUMN_NAME"));		
-			
-			ActualTableName atn = new ActualTableName(localCatalog, rs.getString("FKTABLE_SCHEM"), rs.getString("FKTABLE_NAME"));
-			System.out.println(rs.getString("FKCOLUMN_NAME"));// 
-			Map<String,ImportColumn> importColumnMap = importTableMap.get(atn);
-			if(importColumnMap == null) {
-				importColumnMap = new HashMap<String,ImportColumn>();
-				importTableMap.put(atn, importColumnMap);
-			}
-			importColumnMap.put(rs.getString("FKCOLUMN_NAME"), importColumn);
-
-		}
-		//add by suman
-
-		rs = databaseMetaData.getColumns(localCatalog, localSchema, localTableName, null);// õݿֶ
-		
-		
-		while (rs.next()) {
-			IntrospectedColumn introspectedColumn = ObjectFactory.createIntrospectedColumn(context);// һֶηʡ
-
-			introspectedColumn.setTableAlias(tc.getAlias());// ֶıı
-			introspectedColumn.setJdbcType(rs.getInt("DATA_TYPE")); // ֶεݿ
-			introspectedColumn.setLength(rs.getInt("COLUMN_SIZE")); // ֶεĳ
-			introspectedColumn.setActualColumnName(rs.getString("COLUMN_NAME")); // е
-			introspectedColumn.setNullable(rs.getInt("NULLABLE") == DatabaseMetaData.columnNullable); // ֶǷΪ
-			introspectedColumn.setScale(rs.getInt("DECIMAL_DIGITS")); // Сֵλ
-			introspectedColumn.setRemarks(rs.getString("REMARKS")); // ע
-			introspectedColumn.setDefaultValue(rs.getString("COLUMN_DEF")); // Ĭֵ
-			ActualTableName atn = new ActualTableName(localCatalog, rs.getString("TABLE_SCHEM"), rs.getString("TABLE_NAME"));
-
-			List<IntrospectedColumn> columns = answer.get(atn);
-			if (columns == null) {
-				columns = new ArrayList<IntrospectedColumn>();
-				answer.put(atn, columns);
-			}
-
-			columns.add(introspectedColumn);
-			//add by suman
-			Map<String,ImportColumn> importColumnMap = importTableMap.get(atn);
-			if(importColumnMap != null ){
-				ImportColumn importColumn = importColumnMap.get(rs.getString("COLUMN_NAME"));
-				if(importColumn!=null){
-					introspectedColumn.setImportColumn(importColumn);
-				}
-			}
-			
-			if (logger.isDebugEnabled()) {
-				logger.debug(getString("Tracing.2", introspectedColumn.getActualColumnName(), Integer.toString(introspectedColumn.getJdbcType()), atn.toString()));
-			}
-		}
 
-		closeResultSet(rs);
-		
-		
-		if (answer.size() > 1 && !stringContainsSQLWildcard(localSchema) && !stringContainsSQLWildcard(localTableName)) {
-			// issue a warning if there is more than one table and
-			// no wildcards were used
-			ActualTableName inputAtn = new ActualTableName(tc.getCatalog(), tc.getSchema(), tc.getTableName());
-
-			StringBuilder sb = new StringBuilder();
-			boolean comma = false;
-			for (ActualTableName atn : answer.keySet()) {
-				if (comma) {
-					sb.append(',');
-				} else {
-					comma = true;
-				}
-				sb.append(atn.toString());
-			}
-
-			warnings.add(getString("Warning.25", inputAtn.toString(), sb.toString()));
-		}
+		return introspectionStrategy.getTableMetaData(tc, localCatalog, localSchema, localTableName, caseSensitive);
+	}
 
-		return answer;
+	/**
+	 * Creates an introspected column for the table configuration.
+	 * 
+	 * @param tc
+	 *            the tc
+	 * @param columnMetaData
+	 *            the column meta data
+	 * @return the introspected column
+	 */
+	private IntrospectedColumn createIntrospectedColumn(TableConfiguration tc, ColumnMetaData columnMetaData) {
+		IntrospectedColumn introspectedColumn = ObjectFactory.createIntrospectedColumn(context);// һֶηʡ
+
+		introspectedColumn.setTableAlias(tc.getAlias());// ֶıı
+		introspectedColumn.setJdbcType(columnMetaData.getJdbcType()); // ֶεݿ
+		introspectedColumn.setLength(columnMetaData.getLength()); // ֶεĳ
+		introspectedColumn.setActualColumnName(columnMetaData.getColumnName()); // е
+		introspectedColumn.setNullable(columnMetaData.isNullable()); // ֶǷΪ
+		introspectedColumn.setScale(columnMetaData.getScale()); // Сֵλ
+		introspectedColumn.setRemarks(columnMetaData.getRemarks()); // ע
+		introspectedColumn.setDefaultValue(columnMetaData.getDefaultValue()); // Ĭֵ
+		return introspectedColumn;
 	}
 
 	/**
@@ -609,9 +647,11 @@ public class DatabaseIntrospector {
 	 *            the tc
 	 * @param columns
 	 *            the columns
+	 * @param tableMetaData
+	 *            the raw meta data of the tables
 	 * @return the list
 	 */
-	private List<IntrospectedTable> calculateIntrospectedTables(TableConfiguration tc, Map<ActualTableName, List<IntrospectedColumn>> columns) {
+	private List<IntrospectedTable> calculateIntrospectedTables(TableConfiguration tc, Map<ActualTableName, List<IntrospectedColumn>> columns, SchemaMetaData tableMetaData) {
 		boolean delimitIdentifiers = tc.isDelimitIdentifiers() || stringContainsSpace(tc.getCatalog()) || stringContainsSpace(tc.getSchema()) || stringContainsSpace(tc.getTableName());
 
 		List<IntrospectedTable> answer = new ArrayList<IntrospectedTable>();
@@ -634,7 +674,7 @@ public class DatabaseIntrospector {
 				introspectedTable.addColumn(introspectedColumn);
 			}
 
-			calculatePrimaryKey(table, introspectedTable);
+			calculatePrimaryKey(tableMetaData, introspectedTable);
 
 			answer.add(introspectedTable);
 		}
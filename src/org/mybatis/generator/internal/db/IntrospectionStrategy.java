@@ -0,0 +1,85 @@
+/*
+ *  Copyright 2005 The Apache Software Foundation
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mybatis.generator.internal.db;
+
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.mybatis.generator.config.Context;
+import org.mybatis.generator.config.TableConfiguration;
+
+/**
+ * Objects implementing this interface read the raw columns, primary keys and
+ * imported keys of tables from the database. The DatabaseIntrospector turns
+ * them into introspected tables, so every strategy produces the same model.
+ *
+ * <p>The strategy is chosen by the <code>introspectionStrategy</code> context
+ * property (see ObjectFactory.createIntrospectionStrategy). One instance is
+ * created for each DatabaseIntrospector, so implementations do not need to be
+ * thread safe.
+ */
+public interface IntrospectionStrategy {
+
+    /**
+     * Sets the context. Configuration can be read from the context
+     * properties.
+     *
+     * @param context
+     *            the context
+     */
+    void setContext(Context context);
+
+    /**
+     * Sets the meta data of the connection to read from.
+     *
+     * @param databaseMetaData
+     *            the database meta data
+     */
+    void setDatabaseMetaData(DatabaseMetaData databaseMetaData);
+
+    /**
+     * Sets the list of warnings to add to.
+     *
+     * @param warnings
+     *            the warnings
+     */
+    void setWarnings(List<String> warnings);
+
+    /**
+     * Reads the columns and keys of the tables matching a table configuration.
+     * The names are already converted to the case stored in the database, and
+     * the wildcards are escaped if the table configuration asks for it.
+     *
+     * @param tc
+     *            the table configuration
+     * @param localCatalog
+     *            the catalog as stored in the database, may be null
+     * @param localSchema
+     *            the schema pattern as stored in the database, may be null
+     * @param localTableName
+     *            the table name pattern as stored in the database
+     * @param caseSensitive
+     *            true if the database compares the names exactly
+     * @return the raw meta data of the matching tables, in the order the
+     *         database returns them
+     * @throws SQLException
+     *             if the meta data cannot be read
+     */
+    SchemaMetaData getTableMetaData(TableConfiguration tc, String localCatalog,
+            String localSchema, String localTableName, boolean caseSensitive)
+            throws SQLException;
+}
@@ -0,0 +1,432 @@
+/*
+ *  Copyright 2005 The Apache Software Foundation
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mybatis.generator.internal.db;
+
+import static org.mybatis.generator.internal.util.StringUtility.isTrue;
+import static org.mybatis.generator.internal.util.StringUtility.stringHasValue;
+import static org.mybatis.generator.internal.util.messages.Messages.getString;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.mybatis.generator.api.ImportColumn;
+import org.mybatis.generator.config.Context;
+import org.mybatis.generator.config.PropertyRegistry;
+import org.mybatis.generator.config.TableConfiguration;
+import org.mybatis.generator.logging.Log;
+import org.mybatis.generator.logging.LogFactory;
+
+/**
+ * This is the default introspection strategy. It reads the tables through the
+ * standard <code>DatabaseMetaData</code> calls, so it works with any JDBC
+ * driver.
+ *
+ * <p>With the <code>bulkIntrospection</code> context property, the columns and
+ * keys of a whole catalog/schema are read once and the later table
+ * configurations are answered from memory.
+ */
+public class JdbcIntrospectionStrategy implements IntrospectionStrategy {
+
+    private DatabaseMetaData databaseMetaData;
+
+    private List<String> warnings;
+
+    private Log logger;
+
+    /** True if columns and keys are read once per catalog/schema. */
+    private boolean bulkIntrospection;
+
+    /** The schema meta data read so far, keyed by catalog and schema. */
+    private Map<String, SchemaMetaData> schemaMetaDataCache;
+
+    public JdbcIntrospectionStrategy() {
+        super();
+        logger = LogFactory.getLog(getClass());
+        schemaMetaDataCache = new HashMap<String, SchemaMetaData>();
+    }
+
+    public void setContext(Context context) {
+        bulkIntrospection = isTrue(context.getProperty(PropertyRegistry.CONTEXT_BULK_INTROSPECTION));
+    }
+
+    public void setDatabaseMetaData(DatabaseMetaData databaseMetaData) {
+        this.databaseMetaData = databaseMetaData;
+    }
+
+    public void setWarnings(List<String> warnings) {
+        this.warnings = warnings;
+    }
+
+    public SchemaMetaData getTableMetaData(TableConfiguration tc, String localCatalog, String localSchema, String localTableName, boolean caseSensitive) throws SQLException {
+        if (bulkIntrospection) {
+            return getTableMetaDataFromSchema(tc, localCatalog, localSchema, localTableName, caseSensitive);
+        } else {
+            return getTableMetaDataFromTables(tc, localCatalog, localSchema, localTableName);
+        }
+    }
+
+    /**
+     * Reads the primary key of a table into the raw meta data.
+     * 
+     * @param tc
+     *            the tc
+     * @param tableMetaData
+     *            the raw meta data of the tables matching the table
+     *            configuration
+     * @param atn
+     *            the table
+     */
+    private void readPrimaryKey(TableConfiguration tc, SchemaMetaData tableMetaData, ActualTableName atn) {
+        // use the same catalog and schema as the FullyQualifiedTable, they
+        // are only used if something was specified on the table configuration
+        String catalog = stringHasValue(tc.getCatalog()) ? atn.getCatalog() : null;
+        String schema = stringHasValue(tc.getSchema()) ? atn.getSchema() : null;
+        ResultSet rs = null;
+
+        try {
+            rs = databaseMetaData.getPrimaryKeys(catalog, schema, atn.getTableName());
+        } catch (SQLException e) {
+            closeResultSet(rs);
+            warnings.add(getString("Warning.15"));
+            return;
+        }
+
+        try {
+            while (rs.next()) {
+                String columnName = rs.getString("COLUMN_NAME");
+                short keySeq = rs.getShort("KEY_SEQ");
+                tableMetaData.addPrimaryKeyColumn(atn, keySeq, columnName);
+            }
+        } catch (SQLException e) {
+            // ignore the primary key if there's any error
+        } finally {
+            closeResultSet(rs);
+        }
+    }
+
+    /**
+     * Close result set.
+     * 
+     * @param rs
+     *            the rs
+     */
+    static void closeResultSet(ResultSet rs) {
+        if (rs != null) {
+            try {
+                rs.close();
+            } catch (SQLException e) {
+                // ignore
+                ;
+            }
+        }
+    }
+
+    /**
+     * Reads the columns and keys of the tables matching the local table name
+     * with one <code>getImportedKeys</code> and one <code>getColumns</code>
+     * call, and one <code>getPrimaryKeys</code> call per table.
+     * 
+     * @param tc
+     *            the tc
+     * @param localCatalog
+     *            the catalog as stored in the database
+     * @param localSchema
+     *            the schema pattern as stored in the database
+     * @param localTableName
+     *            the table name pattern as stored in the database
+     * @return the raw meta data of the matching tables
+     * @throws SQLException
+     *             the SQL exception
+     */
+    private SchemaMetaData getTableMetaDataFromTables(TableConfiguration tc, String localCatalog, String localSchema, String localTableName) throws SQLException {
+        SchemaMetaData tableMetaData = new SchemaMetaData();
+
+        //add by suman
+        Map<ActualTableName, Map<String, ImportColumn>> importTableMap = getImportedKeys(localCatalog, localSchema, localTableName);// ȡ
+        //add by suman
+
+        ResultSet rs = databaseMetaData.getColumns(localCatalog, localSchema, localTableName, null);// õݿֶ
+        try {
+            while (rs.next()) {
+                ActualTableName atn = new ActualTableName(localCatalog, rs.getString("TABLE_SCHEM"), rs.getString("TABLE_NAME"));
+                tableMetaData.addColumn(atn, readColumnMetaData(rs));
+            }
+        } finally {
+            closeResultSet(rs);
+        }
+
+        for (ActualTableName atn : tableMetaData.getTableNames()) {
+            Map<String, ImportColumn> importColumnMap = importTableMap.get(atn);
+            if (importColumnMap != null) {
+                for (Map.Entry<String, ImportColumn> entry : importColumnMap.entrySet()) {
+                    tableMetaData.addImportedKey(atn, entry.getKey(), entry.getValue());
+                }
+            }
+
+            readPrimaryKey(tc, tableMetaData, atn);
+        }
+
+        return tableMetaData;
+    }
+
+    /**
+     * Returns the columns and keys of the tables matching the local table name
+     * from the bulk loaded meta data of the catalog/schema. The meta data is
+     * read from the database the first time the catalog/schema is used, later
+     * table configurations are answered from memory.
+     * 
+     * @param tc
+     *            the tc
+     * @param localCatalog
+     *            the catalog as stored in the database
+     * @param localSchema
+     *            the schema pattern as stored in the database
+     * @param localTableName
+     *            the table name pattern as stored in the database
+     * @param caseSensitive
+     *            true if the table name pattern must match exactly
+     * @return the raw meta data of the matching tables
+     * @throws SQLException
+     *             the SQL exception
+     */
+    private SchemaMetaData getTableMetaDataFromSchema(TableConfiguration tc, String localCatalog, String localSchema, String localTableName, boolean caseSensitive) throws SQLException {
+        SchemaMetaData schemaMetaData = getSchemaMetaData(localCatalog, localSchema);
+        Map<ActualTableName, Map<String, ImportColumn>> importTableMap = null;
+        if (!schemaMetaData.hasImportedKeys()) {
+            importTableMap = getImportedKeys(localCatalog, localSchema, localTableName);
+        }
+        String escapeString = tc.isWildcardEscapingEnabled() ? databaseMetaData.getSearchStringEscape() : null;
+        Pattern tablePattern = compileSQLPattern(localTableName, escapeString, caseSensitive);
+
+        SchemaMetaData tableMetaData = new SchemaMetaData();
+        for (ActualTableName atn : schemaMetaData.getTableNames()) {
+            if (!tablePattern.matcher(atn.getTableName()).matches()) {
+                continue;
+            }
+
+            tableMetaData.copyTable(schemaMetaData, atn);
+
+            if (importTableMap != null) {
+                Map<String, ImportColumn> importColumnMap = importTableMap.get(atn);
+                if (importColumnMap != null) {
+                    for (Map.Entry<String, ImportColumn> entry : importColumnMap.entrySet()) {
+                        tableMetaData.addImportedKey(atn, entry.getKey(), entry.getValue());
+                    }
+                }
+            }
+
+            if (!schemaMetaData.hasPrimaryKeys()) {
+                readPrimaryKey(tc, tableMetaData, atn);
+            }
+        }
+
+        return tableMetaData;
+    }
+
+    /**
+     * Returns the bulk loaded meta data of a catalog/schema, reading it from the
+     * database if this is the first table configuration that uses it.
+     * 
+     * @param localCatalog
+     *            the catalog as stored in the database
+     * @param localSchema
+     *            the schema pattern as stored in the database
+     * @return the schema meta data
+     * @throws SQLException
+     *             the SQL exception
+     */
+    private SchemaMetaData getSchemaMetaData(String localCatalog, String localSchema) throws SQLException {
+        String key = localCatalog + '.' + localSchema;
+        SchemaMetaData schemaMetaData = schemaMetaDataCache.get(key);
+        if (schemaMetaData != null) {
+            return schemaMetaData;
+        }
+
+        if (logger.isDebugEnabled()) {
+            logger.debug(getString("Tracing.5", localCatalog, localSchema));
+        }
+
+        schemaMetaData = new SchemaMetaData();
+
+        ResultSet rs = databaseMetaData.getColumns(localCatalog, localSchema, "%", null);
+        try {
+            while (rs.next()) {
+                ActualTableName atn = new ActualTableName(localCatalog, rs.getString("TABLE_SCHEM"), rs.getString("TABLE_NAME"));
+                schemaMetaData.addColumn(atn, readColumnMetaData(rs));
+            }
+        } finally {
+            closeResultSet(rs);
+        }
+
+        // JDBC requires a table name for the key queries, but many drivers
+        // accept null and return the keys of the whole schema. If the driver
+        // refuses, or returns nothing, the keys are read per table later.
+        rs = null;
+        try {
+            rs = databaseMetaData.getPrimaryKeys(localCatalog, localSchema, null);
+            while (rs.next()) {
+                ActualTableName atn = new ActualTableName(localCatalog, rs.getString("TABLE_SCHEM"), rs.getString("TABLE_NAME"));
+                schemaMetaData.addPrimaryKeyColumn(atn, rs.getShort("KEY_SEQ"), rs.getString("COLUMN_NAME"));
+            }
+        } catch (SQLException e) {
+            schemaMetaData.clearPrimaryKeys();
+        } finally {
+            closeResultSet(rs);
+        }
+
+        rs = null;
+        try {
+            rs = databaseMetaData.getImportedKeys(localCatalog, localSchema, null);
+            while (rs.next()) {
+                ActualTableName importAtn = new ActualTableName(localCatalog, rs.getString("PKTABLE_SCHEM"), rs.getString("PKTABLE_NAME"));
+                ActualTableName atn = new ActualTableName(localCatalog, rs.getString("FKTABLE_SCHEM"), rs.getString("FKTABLE_NAME"));
+                schemaMetaData.addImportedKey(atn, rs.getString("FKCOLUMN_NAME"), new ImportColumn(importAtn, rs.getString("PKCOLUMN_NAME")));
+            }
+        } catch (SQLException e) {
+            schemaMetaData.clearImportedKeys();
+        } finally {
+            closeResultSet(rs);
+        }
+
+        schemaMetaDataCache.put(key, schemaMetaData);
+
+        return schemaMetaData;
+    }
+
+    /**
+     * Reads the imported keys of the tables of a meta data object with one
+     * <code>getImportedKeys</code> call per table. The dictionary strategies
+     * use this when their imported keys query fails.
+     * 
+     * @param databaseMetaData
+     *            the database meta data
+     * @param tableMetaData
+     *            the meta data receiving the imported keys
+     * @throws SQLException
+     *             the SQL exception
+     */
+    static void readImportedKeys(DatabaseMetaData databaseMetaData, SchemaMetaData tableMetaData) throws SQLException {
+        for (ActualTableName atn : tableMetaData.getTableNames()) {
+            ResultSet rs = databaseMetaData.getImportedKeys(atn.getCatalog(), atn.getSchema(), atn.getTableName());
+            try {
+                while (rs.next()) {
+                    // keep the table names of the strategy, MySQL names tables without a schema
+                    String importSchema = atn.getSchema() == null ? null : rs.getString("PKTABLE_SCHEM");
+                    ActualTableName importAtn = new ActualTableName(atn.getCatalog(), importSchema, rs.getString("PKTABLE_NAME"));
+                    tableMetaData.addImportedKey(atn, rs.getString("FKCOLUMN_NAME"), new ImportColumn(importAtn, rs.getString("PKCOLUMN_NAME")));
+                }
+            } finally {
+                closeResultSet(rs);
+            }
+        }
+    }
+
+    /**
+     * Reads the imported keys of the tables matching the local table name.
+     * 
+     * @param localCatalog
+     *            the catalog as stored in the database
+     * @param localSchema
+     *            the schema pattern as stored in the database
+     * @param localTableName
+     *            the table name pattern as stored in the database
+     * @return the imported keys of each table, keyed by foreign key column name
+     * @throws SQLException
+     *             the SQL exception
+     */
+    private Map<ActualTableName, Map<String, ImportColumn>> getImportedKeys(String localCatalog, String localSchema, String localTableName) throws SQLException {
+        Map<ActualTableName, Map<String, ImportColumn>> importTableMap = new HashMap<ActualTableName, Map<String, ImportColumn>>();
+        ResultSet rs = databaseMetaData.getImportedKeys(localCatalog, localSchema, localTableName);
+        try {
+            while (rs.next()) {
+                ActualTableName importAtn = new ActualTableName(localCatalog, rs.getString("PKTABLE_SCHEM"), rs.getString("PKTABLE_NAME"));
+                ImportColumn importColumn = new ImportColumn(importAtn, rs.getString("PKCOLUMN_NAME"));
+
+                ActualTableName atn = new ActualTableName(localCatalog, rs.getString("FKTABLE_SCHEM"), rs.getString("FKTABLE_NAME"));
+                Map<String, ImportColumn> importColumnMap = importTableMap.get(atn);
+                if (importColumnMap == null) {
+                    importColumnMap = new HashMap<String, ImportColumn>();
+                    importTableMap.put(atn, importColumnMap);
+                }
+                importColumnMap.put(rs.getString("FKCOLUMN_NAME"), importColumn);
+            }
+        } finally {
+            closeResultSet(rs);
+        }
+
+        return importTableMap;
+    }
+
+    /**
+     * Reads the current row of a <code>DatabaseMetaData.getColumns</code>
+     * result set.
+     * 
+     * @param rs
+     *            the result set
+     * @return the column meta data
+     * @throws SQLException
+     *             the SQL exception
+     */
+    private ColumnMetaData readColumnMetaData(ResultSet rs) throws SQLException {
+        ColumnMetaData columnMetaData = new ColumnMetaData();
+        columnMetaData.setJdbcType(rs.getInt("DATA_TYPE"));
+        columnMetaData.setLength(rs.getInt("COLUMN_SIZE"));
+        columnMetaData.setColumnName(rs.getString("COLUMN_NAME"));
+        columnMetaData.setNullable(rs.getInt("NULLABLE") == DatabaseMetaData.columnNullable);
+        columnMetaData.setScale(rs.getInt("DECIMAL_DIGITS"));
+        columnMetaData.setRemarks(rs.getString("REMARKS"));
+        columnMetaData.setDefaultValue(rs.getString("COLUMN_DEF"));
+        return columnMetaData;
+    }
+
+    /**
+     * Compiles an SQL LIKE pattern, as it would be passed to
+     * <code>DatabaseMetaData</code>, into a regular expression.
+     * 
+     * @param sqlPattern
+     *            the pattern
+     * @param escapeString
+     *            the search string escape, or <code>null</code> if wildcards
+     *            are not escaped
+     * @param caseSensitive
+     *            true if the pattern must match exactly
+     * @return the compiled pattern
+     */
+    static Pattern compileSQLPattern(String sqlPattern, String escapeString, boolean caseSensitive) {
+        StringBuilder sb = new StringBuilder();
+        int i = 0;
+        while (i < sqlPattern.length()) {
+            if (stringHasValue(escapeString) && sqlPattern.startsWith(escapeString, i) && i + escapeString.length() < sqlPattern.length()) {
+                i += escapeString.length();
+                sb.append(Pattern.quote(sqlPattern.substring(i, i + 1)));
+            } else if (sqlPattern.charAt(i) == '%') {
+                sb.append(".*");
+            } else if (sqlPattern.charAt(i) == '_') {
+                sb.append('.');
+            } else {
+                sb.append(Pattern.quote(sqlPattern.substring(i, i + 1)));
+            }
+            i++;
+        }
+
+        return caseSensitive ? Pattern.compile(sb.toString(), Pattern.DOTALL) : Pattern.compile(sb.toString(), Pattern.DOTALL | Pattern.CASE_INSENSITIVE);
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ *  Copyright 2005 The Apache Software Foundation
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mybatis.generator.internal.db;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class counts the calls a connection makes to the database. A connection
+ * wrapped by this class counts every DatabaseMetaData method that returns a
+ * ResultSet, and every execution of a statement. Each wrapped connection has
+ * its own count, which can be read from the connection or from its meta data.
+ */
+public class JdbcRoundTripCounter implements InvocationHandler {
+
+    private Object target;
+
+    private AtomicInteger roundTrips;
+
+    private JdbcRoundTripCounter(Object target, AtomicInteger roundTrips) {
+        super();
+        this.target = target;
+        this.roundTrips = roundTrips;
+    }
+
+    /**
+     * Wraps a connection so that its calls to the database are counted.
+     *
+     * @param connection
+     *            the connection
+     * @return the counting connection
+     */
+    public static Connection wrap(Connection connection) {
+        return (Connection) wrap(connection, Connection.class, new AtomicInteger());
+    }
+
+    /**
+     * Returns the calls made so far through a connection, or through the
+     * connection of a DatabaseMetaData.
+     *
+     * @param jdbcObject
+     *            a connection or meta data, may be null
+     * @return the number of calls, or 0 if the object was not wrapped
+     */
+    public static int getRoundTrips(Object jdbcObject) {
+        if (jdbcObject != null && Proxy.isProxyClass(jdbcObject.getClass())) {
+            InvocationHandler handler = Proxy.getInvocationHandler(jdbcObject);
+            if (handler instanceof JdbcRoundTripCounter) {
+                return ((JdbcRoundTripCounter) handler).roundTrips.get();
+            }
+        }
+
+        return 0;
+    }
+
+    /**
+     * Returns the connection wrapped by <code>wrap</code>.
+     *
+     * @param connection
+     *            a connection, may be null
+     * @return the wrapped connection, or the connection itself if it was not
+     *         wrapped
+     */
+    public static Connection unwrap(Connection connection) {
+        if (connection != null && Proxy.isProxyClass(connection.getClass())) {
+            InvocationHandler handler = Proxy.getInvocationHandler(connection);
+            if (handler instanceof JdbcRoundTripCounter) {
+                return (Connection) ((JdbcRoundTripCounter) handler).target;
+            }
+        }
+
+        return connection;
+    }
+
+    private static Object wrap(Object target, Class<?> type,
+            AtomicInteger roundTrips) {
+        return Proxy.newProxyInstance(JdbcRoundTripCounter.class.getClassLoader(),
+                new Class<?>[] { type },
+                new JdbcRoundTripCounter(target, roundTrips));
+    }
+
+    public Object invoke(Object proxy, Method method, Object[] args)
+            throws Throwable {
+        Object answer;
+        try {
+            answer = method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+
+        Class<?> returnType = method.getReturnType();
+        if (target instanceof DatabaseMetaData) {
+            if (ResultSet.class.equals(returnType)) {
+                roundTrips.incrementAndGet();
+            } else if (Connection.class.equals(returnType)) {
+                // getConnection must return the counting connection
+                answer = wrap(answer, Connection.class, roundTrips);
+            }
+        } else if (target instanceof Statement) {
+            if (method.getName().startsWith("execute")) { //$NON-NLS-1$
+                roundTrips.incrementAndGet();
+            }
+        } else if (answer instanceof DatabaseMetaData) {
+            answer = wrap(answer, DatabaseMetaData.class, roundTrips);
+        } else if (answer instanceof Statement && returnType.isInterface()) {
+            // Statement, PreparedStatement or CallableStatement
+            answer = wrap(answer, returnType, roundTrips);
+        }
+
+        return answer;
+    }
+}
@@ -0,0 +1,278 @@
+/*
+ *  Copyright 2005 The Apache Software Foundation
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mybatis.generator.internal.db;
+
+import static org.mybatis.generator.internal.util.messages.Messages.getString;
+
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.mybatis.generator.api.ImportColumn;
+import org.mybatis.generator.config.Context;
+import org.mybatis.generator.config.TableConfiguration;
+import org.mybatis.generator.logging.Log;
+import org.mybatis.generator.logging.LogFactory;
+
+/**
+ * This introspection strategy reads MySQL tables from
+ * <code>information_schema</code>. The MySQL driver runs
+ * <code>SHOW CREATE TABLE</code> and parses the result for every
+ * <code>getImportedKeys</code> call, which is very slow on large databases.
+ * This strategy reads the columns, primary keys and foreign keys of a whole
+ * database with three queries (on <code>COLUMNS</code>,
+ * <code>TABLE_CONSTRAINTS</code> and <code>KEY_COLUMN_USAGE</code>) the first
+ * time the database is used, and answers every table configuration from
+ * memory.
+ *
+ * <p>Data types are mapped to JDBC types as the MySQL driver maps them,
+ * including <code>tinyInt1isBit</code>.
+ */
+public class MySQLIntrospectionStrategy implements IntrospectionStrategy {
+
+    private static final String COLUMNS_QUERY = "SELECT TABLE_NAME, COLUMN_NAME, DATA_TYPE, COLUMN_TYPE, CHARACTER_MAXIMUM_LENGTH, NUMERIC_PRECISION, NUMERIC_SCALE, IS_NULLABLE, COLUMN_COMMENT, COLUMN_DEFAULT" //$NON-NLS-1$
+            + " FROM information_schema.COLUMNS" //$NON-NLS-1$
+            + " WHERE TABLE_SCHEMA = COALESCE(?, DATABASE())" //$NON-NLS-1$
+            + " ORDER BY TABLE_NAME, ORDINAL_POSITION"; //$NON-NLS-1$
+
+    private static final String KEYS_QUERY = "SELECT k.TABLE_NAME, k.COLUMN_NAME, k.ORDINAL_POSITION, k.REFERENCED_TABLE_NAME, k.REFERENCED_COLUMN_NAME" //$NON-NLS-1$
+            + " FROM information_schema.TABLE_CONSTRAINTS c, information_schema.KEY_COLUMN_USAGE k" //$NON-NLS-1$
+            + " WHERE k.CONSTRAINT_SCHEMA = c.CONSTRAINT_SCHEMA AND k.CONSTRAINT_NAME = c.CONSTRAINT_NAME AND k.TABLE_NAME = c.TABLE_NAME" //$NON-NLS-1$
+            + " AND c.CONSTRAINT_TYPE = ? AND c.TABLE_SCHEMA = COALESCE(?, DATABASE())"; //$NON-NLS-1$
+
+    private DatabaseMetaData databaseMetaData;
+
+    private List<String> warnings;
+
+    private Log logger;
+
+    /** True if TINYINT(1) columns are reported as BIT, as the driver does. */
+    private boolean tinyInt1isBit;
+
+    /** The database meta data read so far, keyed by catalog. */
+    private Map<String, SchemaMetaData> schemaMetaDataCache;
+
+    public MySQLIntrospectionStrategy() {
+        super();
+        logger = LogFactory.getLog(getClass());
+        schemaMetaDataCache = new HashMap<String, SchemaMetaData>();
+    }
+
+    public void setContext(Context context) {
+        // the driver property defaults to true
+        tinyInt1isBit = !"false".equalsIgnoreCase(context //$NON-NLS-1$
+                .getJdbcConnectionConfiguration().getProperty("tinyInt1isBit")); //$NON-NLS-1$
+    }
+
+    public void setDatabaseMetaData(DatabaseMetaData databaseMetaData) {
+        this.databaseMetaData = databaseMetaData;
+    }
+
+    public void setWarnings(List<String> warnings) {
+        this.warnings = warnings;
+    }
+
+    public SchemaMetaData getTableMetaData(TableConfiguration tc,
+            String localCatalog, String localSchema, String localTableName,
+            boolean caseSensitive) throws SQLException {
+        String key = String.valueOf(localCatalog);
+        SchemaMetaData schemaMetaData = schemaMetaDataCache.get(key);
+        if (schemaMetaData == null) {
+            if (logger.isDebugEnabled()) {
+                logger.debug(getString("Tracing.5", localCatalog, localSchema)); //$NON-NLS-1$
+            }
+            schemaMetaData = readMetaData(localCatalog);
+            schemaMetaDataCache.put(key, schemaMetaData);
+        }
+
+        String escapeString = tc.isWildcardEscapingEnabled() ? databaseMetaData.getSearchStringEscape() : null;
+        Pattern tablePattern = JdbcIntrospectionStrategy.compileSQLPattern(localTableName, escapeString, caseSensitive);
+
+        SchemaMetaData tableMetaData = new SchemaMetaData();
+        for (ActualTableName atn : schemaMetaData.getTableNames()) {
+            if (tablePattern.matcher(atn.getTableName()).matches()) {
+                tableMetaData.copyTable(schemaMetaData, atn);
+            }
+        }
+
+        return tableMetaData;
+    }
+
+    /**
+     * Reads the columns and keys of all the tables of a database.
+     *
+     * @param localCatalog
+     *            the database, or null for the current database
+     * @return the meta data of the tables
+     * @throws SQLException
+     *             the SQL exception
+     */
+    private SchemaMetaData readMetaData(String localCatalog) throws SQLException {
+        SchemaMetaData schemaMetaData = new SchemaMetaData();
+
+        PreparedStatement ps = databaseMetaData.getConnection().prepareStatement(COLUMNS_QUERY);
+        try {
+            ps.setString(1, localCatalog);
+            ResultSet rs = ps.executeQuery();
+            try {
+                while (rs.next()) {
+                    ActualTableName atn = new ActualTableName(localCatalog, null, rs.getString("TABLE_NAME")); //$NON-NLS-1$
+                    ColumnMetaData column = new ColumnMetaData();
+                    column.setColumnName(rs.getString("COLUMN_NAME")); //$NON-NLS-1$
+                    column.setJdbcType(getJdbcType(rs.getString("DATA_TYPE"), rs.getString("COLUMN_TYPE"))); //$NON-NLS-1$ //$NON-NLS-2$
+                    long characterLength = rs.getLong("CHARACTER_MAXIMUM_LENGTH"); //$NON-NLS-1$
+                    if (rs.wasNull()) {
+                        column.setLength(rs.getInt("NUMERIC_PRECISION")); //$NON-NLS-1$
+                    } else {
+                        column.setLength((int) Math.min(characterLength, Integer.MAX_VALUE));
+                    }
+                    column.setScale(rs.getInt("NUMERIC_SCALE")); //$NON-NLS-1$
+                    column.setNullable("YES".equals(rs.getString("IS_NULLABLE"))); //$NON-NLS-1$ //$NON-NLS-2$
+                    column.setRemarks(rs.getString("COLUMN_COMMENT")); //$NON-NLS-1$
+                    column.setDefaultValue(rs.getString("COLUMN_DEFAULT")); //$NON-NLS-1$
+                    schemaMetaData.addColumn(atn, column);
+                }
+            } finally {
+                JdbcIntrospectionStrategy.closeResultSet(rs);
+            }
+        } finally {
+            closeStatement(ps);
+        }
+
+        ps = databaseMetaData.getConnection().prepareStatement(KEYS_QUERY);
+        try {
+            ps.setString(1, "PRIMARY KEY"); //$NON-NLS-1$
+            ps.setString(2, localCatalog);
+            ResultSet rs = ps.executeQuery();
+            try {
+                while (rs.next()) {
+                    ActualTableName atn = new ActualTableName(localCatalog, null, rs.getString("TABLE_NAME")); //$NON-NLS-1$
+                    schemaMetaData.addPrimaryKeyColumn(atn, rs.getShort("ORDINAL_POSITION"), rs.getString("COLUMN_NAME")); //$NON-NLS-1$ //$NON-NLS-2$
+                }
+            } finally {
+                JdbcIntrospectionStrategy.closeResultSet(rs);
+            }
+        } catch (SQLException e) {
+            warnings.add(getString("Warning.15")); //$NON-NLS-1$
+        } finally {
+            closeStatement(ps);
+        }
+
+        ps = databaseMetaData.getConnection().prepareStatement(KEYS_QUERY);
+        try {
+            ps.setString(1, "FOREIGN KEY"); //$NON-NLS-1$
+            ps.setString(2, localCatalog);
+            ResultSet rs = ps.executeQuery();
+            try {
+                while (rs.next()) {
+                    ActualTableName atn = new ActualTableName(localCatalog, null, rs.getString("TABLE_NAME")); //$NON-NLS-1$
+                    ActualTableName importAtn = new ActualTableName(localCatalog, null, rs.getString("REFERENCED_TABLE_NAME")); //$NON-NLS-1$
+                    schemaMetaData.addImportedKey(atn, rs.getString("COLUMN_NAME"), new ImportColumn(importAtn, rs.getString("REFERENCED_COLUMN_NAME"))); //$NON-NLS-1$ //$NON-NLS-2$
+                }
+            } finally {
+                JdbcIntrospectionStrategy.closeResultSet(rs);
+            }
+        } catch (SQLException e) {
+            // no access to the dictionary, read the keys table by table
+            if (logger.isDebugEnabled()) {
+                logger.debug(getString("Tracing.7", e.getMessage())); //$NON-NLS-1$
+            }
+            schemaMetaData.clearImportedKeys();
+            JdbcIntrospectionStrategy.readImportedKeys(databaseMetaData, schemaMetaData);
+        } finally {
+            closeStatement(ps);
+        }
+
+        return schemaMetaData;
+    }
+
+    /**
+     * Returns the JDBC type of a MySQL data type, as the MySQL driver returns
+     * it from <code>getColumns</code>.
+     *
+     * @param dataType
+     *            the data type
+     * @param columnType
+     *            the full column type, for example "tinyint(1) unsigned"
+     * @return the JDBC type
+     */
+    private int getJdbcType(String dataType, String columnType) {
+        String type = dataType.toUpperCase();
+        if ("BIT".equals(type)) { //$NON-NLS-1$
+            return Types.BIT;
+        } else if ("TINYINT".equals(type)) { //$NON-NLS-1$
+            if (tinyInt1isBit && columnType != null
+                    && columnType.toLowerCase().startsWith("tinyint(1)")) { //$NON-NLS-1$
+                return Types.BIT;
+            }
+            return Types.TINYINT;
+        } else if ("SMALLINT".equals(type)) { //$NON-NLS-1$
+            return Types.SMALLINT;
+        } else if ("MEDIUMINT".equals(type) || "INT".equals(type) //$NON-NLS-1$ //$NON-NLS-2$
+                || "INTEGER".equals(type)) { //$NON-NLS-1$
+            return Types.INTEGER;
+        } else if ("BIGINT".equals(type)) { //$NON-NLS-1$
+            return Types.BIGINT;
+        } else if ("REAL".equals(type) || "DOUBLE".equals(type)) { //$NON-NLS-1$ //$NON-NLS-2$
+            return Types.DOUBLE;
+        } else if ("FLOAT".equals(type)) { //$NON-NLS-1$
+            return Types.REAL;
+        } else if ("DECIMAL".equals(type) || "NUMERIC".equals(type)) { //$NON-NLS-1$ //$NON-NLS-2$
+            return Types.DECIMAL;
+        } else if ("CHAR".equals(type) || "ENUM".equals(type) //$NON-NLS-1$ //$NON-NLS-2$
+                || "SET".equals(type)) { //$NON-NLS-1$
+            return Types.CHAR;
+        } else if ("VARCHAR".equals(type) || "TINYTEXT".equals(type)) { //$NON-NLS-1$ //$NON-NLS-2$
+            return Types.VARCHAR;
+        } else if ("TEXT".equals(type) || "MEDIUMTEXT".equals(type) //$NON-NLS-1$ //$NON-NLS-2$
+                || "LONGTEXT".equals(type)) { //$NON-NLS-1$
+            return Types.LONGVARCHAR;
+        } else if ("DATE".equals(type) || "YEAR".equals(type)) { //$NON-NLS-1$ //$NON-NLS-2$
+            return Types.DATE;
+        } else if ("TIME".equals(type)) { //$NON-NLS-1$
+            return Types.TIME;
+        } else if ("TIMESTAMP".equals(type) || "DATETIME".equals(type)) { //$NON-NLS-1$ //$NON-NLS-2$
+            return Types.TIMESTAMP;
+        } else if ("TINYBLOB".equals(type) || "BINARY".equals(type) //$NON-NLS-1$ //$NON-NLS-2$
+                || "GEOMETRY".equals(type)) { //$NON-NLS-1$
+            return Types.BINARY;
+        } else if ("VARBINARY".equals(type)) { //$NON-NLS-1$
+            return Types.VARBINARY;
+        } else if ("BLOB".equals(type) || "MEDIUMBLOB".equals(type) //$NON-NLS-1$ //$NON-NLS-2$
+                || "LONGBLOB".equals(type)) { //$NON-NLS-1$
+            return Types.LONGVARBINARY;
+        } else {
+            return Types.OTHER;
+        }
+    }
+
+    private void closeStatement(PreparedStatement ps) {
+        if (ps != null) {
+            try {
+                ps.close();
+            } catch (SQLException e) {
+                // ignore
+                ;
+            }
+        }
+    }
+}
@@ -0,0 +1,332 @@
+/*
+ *  Copyright 2005 The Apache Software Foundation
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mybatis.generator.internal.db;
+
+import static org.mybatis.generator.internal.util.StringUtility.isTrue;
+import static org.mybatis.generator.internal.util.messages.Messages.getString;
+
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.mybatis.generator.api.ImportColumn;
+import org.mybatis.generator.config.Context;
+import org.mybatis.generator.config.PropertyRegistry;
+import org.mybatis.generator.config.TableConfiguration;
+import org.mybatis.generator.logging.Log;
+import org.mybatis.generator.logging.LogFactory;
+
+/**
+ * This introspection strategy reads the Oracle data dictionary directly
+ * instead of calling <code>DatabaseMetaData</code>. The Oracle driver answers
+ * every <code>getColumns</code>, <code>getPrimaryKeys</code> and
+ * <code>getImportedKeys</code> call with a slow dictionary query (and only
+ * returns remarks in the even slower <code>remarksReporting</code> mode). This
+ * strategy reads the columns with their comments, the primary keys and the
+ * imported keys of all the tables matching a table configuration with three
+ * queries.
+ *
+ * <p>The columns are mapped to JDBC types exactly as the Oracle driver maps
+ * them, so the generated code is the same as with the JDBC strategy. Column
+ * comments are always returned as remarks.
+ *
+ * <p>With the <code>bulkIntrospection</code> context property, the tables of
+ * a whole schema are read once and the later table configurations are
+ * answered from memory.
+ */
+public class OracleIntrospectionStrategy implements IntrospectionStrategy {
+
+    private static final String COLUMNS_QUERY = "SELECT t.OWNER, t.TABLE_NAME, t.COLUMN_NAME, t.DATA_TYPE, t.DATA_LENGTH, t.DATA_PRECISION, t.DATA_SCALE, t.CHAR_LENGTH, t.NULLABLE, c.COMMENTS, t.DATA_DEFAULT" //$NON-NLS-1$
+            + " FROM ALL_TAB_COLUMNS t, ALL_COL_COMMENTS c" //$NON-NLS-1$
+            + " WHERE c.OWNER (+) = t.OWNER AND c.TABLE_NAME (+) = t.TABLE_NAME AND c.COLUMN_NAME (+) = t.COLUMN_NAME" //$NON-NLS-1$
+            + " AND t.TABLE_NAME LIKE ? ESCAPE ?"; //$NON-NLS-1$
+
+    private static final String COLUMNS_ORDER_BY = " ORDER BY t.OWNER, t.TABLE_NAME, t.COLUMN_ID"; //$NON-NLS-1$
+
+    private static final String PRIMARY_KEYS_QUERY = "SELECT c.OWNER, c.TABLE_NAME, cc.COLUMN_NAME, cc.POSITION" //$NON-NLS-1$
+            + " FROM ALL_CONSTRAINTS c, ALL_CONS_COLUMNS cc" //$NON-NLS-1$
+            + " WHERE c.CONSTRAINT_TYPE = 'P' AND cc.OWNER = c.OWNER AND cc.CONSTRAINT_NAME = c.CONSTRAINT_NAME" //$NON-NLS-1$
+            + " AND c.TABLE_NAME LIKE ? ESCAPE ?"; //$NON-NLS-1$
+
+    private static final String IMPORTED_KEYS_QUERY = "SELECT fc.OWNER, fc.TABLE_NAME, fc.COLUMN_NAME, pc.OWNER, pc.TABLE_NAME, pc.COLUMN_NAME" //$NON-NLS-1$
+            + " FROM ALL_CONSTRAINTS f, ALL_CONS_COLUMNS fc, ALL_CONS_COLUMNS pc" //$NON-NLS-1$
+            + " WHERE f.CONSTRAINT_TYPE = 'R' AND fc.OWNER = f.OWNER AND fc.CONSTRAINT_NAME = f.CONSTRAINT_NAME" //$NON-NLS-1$
+            + " AND pc.OWNER = f.R_OWNER AND pc.CONSTRAINT_NAME = f.R_CONSTRAINT_NAME AND pc.POSITION = fc.POSITION" //$NON-NLS-1$
+            + " AND f.TABLE_NAME LIKE ? ESCAPE ?"; //$NON-NLS-1$
+
+    private DatabaseMetaData databaseMetaData;
+
+    private List<String> warnings;
+
+    private Log logger;
+
+    /** True if the tables of a schema are read once. */
+    private boolean bulkIntrospection;
+
+    /** True if DATE columns are reported as TIMESTAMP, as the driver does. */
+    private boolean mapDateToTimestamp;
+
+    /** The schema meta data read so far, keyed by schema. */
+    private Map<String, SchemaMetaData> schemaMetaDataCache;
+
+    public OracleIntrospectionStrategy() {
+        super();
+        logger = LogFactory.getLog(getClass());
+        schemaMetaDataCache = new HashMap<String, SchemaMetaData>();
+    }
+
+    public void setContext(Context context) {
+        bulkIntrospection = isTrue(context.getProperty(PropertyRegistry.CONTEXT_BULK_INTROSPECTION));
+        // the driver property defaults to true
+        mapDateToTimestamp = !"false".equalsIgnoreCase(context //$NON-NLS-1$
+                .getJdbcConnectionConfiguration().getProperty(
+                        "oracle.jdbc.mapDateToTimestamp")); //$NON-NLS-1$
+    }
+
+    public void setDatabaseMetaData(DatabaseMetaData databaseMetaData) {
+        this.databaseMetaData = databaseMetaData;
+    }
+
+    public void setWarnings(List<String> warnings) {
+        this.warnings = warnings;
+    }
+
+    public SchemaMetaData getTableMetaData(TableConfiguration tc,
+            String localCatalog, String localSchema, String localTableName,
+            boolean caseSensitive) throws SQLException {
+        if (!bulkIntrospection) {
+            return readMetaData(localCatalog, localSchema, localTableName);
+        }
+
+        String key = String.valueOf(localSchema);
+        SchemaMetaData schemaMetaData = schemaMetaDataCache.get(key);
+        if (schemaMetaData == null) {
+            if (logger.isDebugEnabled()) {
+                logger.debug(getString("Tracing.5", localCatalog, localSchema)); //$NON-NLS-1$
+            }
+            schemaMetaData = readMetaData(localCatalog, localSchema, "%"); //$NON-NLS-1$
+            schemaMetaDataCache.put(key, schemaMetaData);
+        }
+
+        String escapeString = tc.isWildcardEscapingEnabled() ? databaseMetaData.getSearchStringEscape() : null;
+        Pattern tablePattern = JdbcIntrospectionStrategy.compileSQLPattern(localTableName, escapeString, caseSensitive);
+
+        SchemaMetaData tableMetaData = new SchemaMetaData();
+        for (ActualTableName atn : schemaMetaData.getTableNames()) {
+            if (tablePattern.matcher(atn.getTableName()).matches()) {
+                tableMetaData.copyTable(schemaMetaData, atn);
+            }
+        }
+
+        return tableMetaData;
+    }
+
+    /**
+     * Reads the columns and keys of the tables matching the patterns.
+     *
+     * @param localCatalog
+     *            the catalog, only used to build the table names
+     * @param localSchema
+     *            the owner pattern, or null for all owners
+     * @param localTableName
+     *            the table name pattern
+     * @return the meta data of the matching tables
+     * @throws SQLException
+     *             the SQL exception
+     */
+    private SchemaMetaData readMetaData(String localCatalog,
+            String localSchema, String localTableName) throws SQLException {
+        SchemaMetaData tableMetaData = new SchemaMetaData();
+
+        PreparedStatement ps = prepareStatement(COLUMNS_QUERY, "t.OWNER", localSchema, localTableName, COLUMNS_ORDER_BY); //$NON-NLS-1$
+        try {
+            ResultSet rs = ps.executeQuery();
+            try {
+                while (rs.next()) {
+                    // read the columns in order, DATA_DEFAULT is a LONG
+                    ActualTableName atn = new ActualTableName(localCatalog, rs.getString(1), rs.getString(2));
+                    ColumnMetaData column = new ColumnMetaData();
+                    column.setColumnName(rs.getString(3));
+                    String dataType = rs.getString(4);
+                    int dataLength = rs.getInt(5);
+                    int dataPrecision = rs.getInt(6);
+                    boolean hasPrecision = !rs.wasNull();
+                    int dataScale = rs.getInt(7);
+                    int charLength = rs.getInt(8);
+                    column.setNullable(!"N".equals(rs.getString(9))); //$NON-NLS-1$
+                    column.setRemarks(rs.getString(10));
+                    column.setDefaultValue(rs.getString(11));
+
+                    column.setJdbcType(getJdbcType(dataType));
+                    if (hasPrecision) {
+                        column.setLength(dataPrecision);
+                    } else if (isCharacterType(dataType)) {
+                        column.setLength(charLength);
+                    } else {
+                        column.setLength(dataLength);
+                    }
+                    column.setScale(dataScale);
+
+                    tableMetaData.addColumn(atn, column);
+                }
+            } finally {
+                JdbcIntrospectionStrategy.closeResultSet(rs);
+            }
+        } finally {
+            closeStatement(ps);
+        }
+
+        ps = prepareStatement(PRIMARY_KEYS_QUERY, "c.OWNER", localSchema, localTableName, null); //$NON-NLS-1$
+        try {
+            ResultSet rs = ps.executeQuery();
+            try {
+                while (rs.next()) {
+                    ActualTableName atn = new ActualTableName(localCatalog, rs.getString(1), rs.getString(2));
+                    tableMetaData.addPrimaryKeyColumn(atn, rs.getShort(4), rs.getString(3));
+                }
+            } finally {
+                JdbcIntrospectionStrategy.closeResultSet(rs);
+            }
+        } catch (SQLException e) {
+            warnings.add(getString("Warning.15")); //$NON-NLS-1$
+        } finally {
+            closeStatement(ps);
+        }
+
+        ps = prepareStatement(IMPORTED_KEYS_QUERY, "f.OWNER", localSchema, localTableName, null); //$NON-NLS-1$
+        try {
+            ResultSet rs = ps.executeQuery();
+            try {
+                while (rs.next()) {
+                    ActualTableName atn = new ActualTableName(localCatalog, rs.getString(1), rs.getString(2));
+                    ActualTableName importAtn = new ActualTableName(localCatalog, rs.getString(4), rs.getString(5));
+                    tableMetaData.addImportedKey(atn, rs.getString(3), new ImportColumn(importAtn, rs.getString(6)));
+                }
+            } finally {
+                JdbcIntrospectionStrategy.closeResultSet(rs);
+            }
+        } catch (SQLException e) {
+            // no access to the dictionary, read the keys table by table
+            if (logger.isDebugEnabled()) {
+                logger.debug(getString("Tracing.7", e.getMessage())); //$NON-NLS-1$
+            }
+            tableMetaData.clearImportedKeys();
+            JdbcIntrospectionStrategy.readImportedKeys(databaseMetaData, tableMetaData);
+        } finally {
+            closeStatement(ps);
+        }
+
+        return tableMetaData;
+    }
+
+    private PreparedStatement prepareStatement(String query,
+            String ownerColumn, String localSchema, String localTableName,
+            String orderBy) throws SQLException {
+        StringBuilder sb = new StringBuilder(query);
+        if (localSchema != null) {
+            sb.append(" AND "); //$NON-NLS-1$
+            sb.append(ownerColumn);
+            sb.append(" LIKE ? ESCAPE ?"); //$NON-NLS-1$
+        }
+        if (orderBy != null) {
+            sb.append(orderBy);
+        }
+
+        String escapeString = databaseMetaData.getSearchStringEscape();
+        PreparedStatement ps = databaseMetaData.getConnection().prepareStatement(sb.toString());
+        ps.setString(1, localTableName);
+        ps.setString(2, escapeString);
+        if (localSchema != null) {
+            ps.setString(3, localSchema);
+            ps.setString(4, escapeString);
+        }
+
+        return ps;
+    }
+
+    /**
+     * Returns the JDBC type of an Oracle data type, as the Oracle driver
+     * returns it from <code>getColumns</code>.
+     *
+     * @param dataType
+     *            the data type
+     * @return the JDBC type
+     */
+    private int getJdbcType(String dataType) {
+        if ("CHAR".equals(dataType)) { //$NON-NLS-1$
+            return Types.CHAR;
+        } else if ("VARCHAR2".equals(dataType)) { //$NON-NLS-1$
+            return Types.VARCHAR;
+        } else if ("NUMBER".equals(dataType)) { //$NON-NLS-1$
+            return Types.DECIMAL;
+        } else if ("LONG".equals(dataType)) { //$NON-NLS-1$
+            return Types.LONGVARCHAR;
+        } else if ("DATE".equals(dataType)) { //$NON-NLS-1$
+            return mapDateToTimestamp ? Types.TIMESTAMP : Types.DATE;
+        } else if ("RAW".equals(dataType)) { //$NON-NLS-1$
+            return Types.VARBINARY;
+        } else if ("LONG RAW".equals(dataType)) { //$NON-NLS-1$
+            return Types.LONGVARBINARY;
+        } else if ("BLOB".equals(dataType)) { //$NON-NLS-1$
+            return Types.BLOB;
+        } else if ("CLOB".equals(dataType)) { //$NON-NLS-1$
+            return Types.CLOB;
+        } else if ("BFILE".equals(dataType)) { //$NON-NLS-1$
+            return -13; // OracleTypes.BFILE
+        } else if ("FLOAT".equals(dataType)) { //$NON-NLS-1$
+            return Types.FLOAT;
+        } else if ("TIMESTAMP(6)".equals(dataType)) { //$NON-NLS-1$
+            return Types.TIMESTAMP;
+        } else if ("TIMESTAMP(6) WITH TIME ZONE".equals(dataType)) { //$NON-NLS-1$
+            return -101; // OracleTypes.TIMESTAMPTZ
+        } else if ("TIMESTAMP(6) WITH LOCAL TIME ZONE".equals(dataType)) { //$NON-NLS-1$
+            return -102; // OracleTypes.TIMESTAMPLTZ
+        } else if ("INTERVAL YEAR(2) TO MONTH".equals(dataType)) { //$NON-NLS-1$
+            return -103; // OracleTypes.INTERVALYM
+        } else if ("INTERVAL DAY(2) TO SECOND(6)".equals(dataType)) { //$NON-NLS-1$
+            return -104; // OracleTypes.INTERVALDS
+        } else if ("BINARY_FLOAT".equals(dataType)) { //$NON-NLS-1$
+            return 100; // OracleTypes.BINARY_FLOAT
+        } else if ("BINARY_DOUBLE".equals(dataType)) { //$NON-NLS-1$
+            return 101; // OracleTypes.BINARY_DOUBLE
+        } else {
+            return Types.OTHER;
+        }
+    }
+
+    private boolean isCharacterType(String dataType) {
+        return "CHAR".equals(dataType) || "VARCHAR".equals(dataType) //$NON-NLS-1$ //$NON-NLS-2$
+                || "VARCHAR2".equals(dataType) || "NVARCHAR2".equals(dataType) //$NON-NLS-1$ //$NON-NLS-2$
+                || "NCHAR".equals(dataType); //$NON-NLS-1$
+    }
+
+    private void closeStatement(PreparedStatement ps) {
+        if (ps != null) {
+            try {
+                ps.close();
+            } catch (SQLException e) {
+                // ignore
+                ;
+            }
+        }
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ *  Copyright 2005 The Apache Software Foundation
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mybatis.generator.internal.db;
+
+import static org.mybatis.generator.internal.util.messages.Messages.getString;
+
+import java.io.UnsupportedEncodingException;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import org.mybatis.generator.logging.Log;
+import org.mybatis.generator.logging.LogFactory;
+
+/**
+ * This class returns a version string for each table of a catalog/schema with
+ * one query. The version changes when the definition of the table changes, so
+ * the schema snapshot can tell which tables must be introspected again.
+ *
+ * <p>Oracle uses <code>ALL_OBJECTS.LAST_DDL_TIME</code>. MySQL uses a checksum
+ * of the rows of <code>information_schema.COLUMNS</code>, because INSTANT and
+ * INPLACE ALTER TABLE statements change the columns without touching
+ * <code>CREATE_TIME</code>. Other databases, or a dictionary query that fails,
+ * fall back to a checksum of the columns returned by one
+ * <code>getColumns</code> call.
+ *
+ * <p>The versions of a catalog/schema are read once and cached.
+ */
+public class SchemaChangeDetector {
+
+    private static final String ORACLE_QUERY = "SELECT OBJECT_NAME, TO_CHAR(LAST_DDL_TIME, 'YYYYMMDDHH24MISS') FROM ALL_OBJECTS WHERE OWNER = NVL(?, USER) AND OBJECT_TYPE IN ('TABLE', 'VIEW')"; //$NON-NLS-1$
+
+    private static final String MYSQL_QUERY = "SELECT TABLE_NAME, COLUMN_NAME, ORDINAL_POSITION, COLUMN_TYPE, IS_NULLABLE, COLUMN_DEFAULT, COLUMN_KEY, EXTRA, COLUMN_COMMENT FROM information_schema.COLUMNS WHERE TABLE_SCHEMA = COALESCE(?, DATABASE()) ORDER BY TABLE_NAME, ORDINAL_POSITION"; //$NON-NLS-1$
+
+    private Connection connection;
+
+    private Map<String, Map<ActualTableName, String>> versionCache;
+
+    private Log logger;
+
+    public SchemaChangeDetector(Connection connection) {
+        super();
+        this.connection = connection;
+        versionCache = new HashMap<String, Map<ActualTableName, String>>();
+        logger = LogFactory.getLog(getClass());
+    }
+
+    /**
+     * Returns the versions of the tables of a catalog/schema.
+     *
+     * @param catalog
+     *            the catalog as stored in the database, may be null
+     * @param schema
+     *            the schema as stored in the database, may be null
+     * @return the table versions keyed by table name
+     * @throws SQLException
+     *             if the columns of the schema cannot be read
+     */
+    public Map<ActualTableName, String> getTableVersions(String catalog,
+            String schema) throws SQLException {
+        String key = catalog + "|" + schema; //$NON-NLS-1$
+        Map<ActualTableName, String> answer = versionCache.get(key);
+        if (answer == null) {
+            answer = readTableVersions(catalog, schema);
+            versionCache.put(key, answer);
+        }
+
+        return answer;
+    }
+
+    private Map<ActualTableName, String> readTableVersions(String catalog,
+            String schema) throws SQLException {
+        DatabaseMetaData databaseMetaData = connection.getMetaData();
+        String productName = databaseMetaData.getDatabaseProductName();
+
+        Map<ActualTableName, String> answer = null;
+        try {
+            if (productName != null && productName.startsWith("Oracle")) { //$NON-NLS-1$
+                answer = readDictionaryVersions(ORACLE_QUERY, schema, catalog, schema);
+            } else if (productName != null && productName.startsWith("MySQL")) { //$NON-NLS-1$
+                answer = readDictionaryChecksums(MYSQL_QUERY, catalog, catalog, schema);
+            }
+        } catch (SQLException e) {
+            // no access to the dictionary, use the column checksums
+            if (logger.isDebugEnabled()) {
+                logger.debug(getString("Tracing.6", productName, e.getMessage())); //$NON-NLS-1$
+            }
+            answer = null;
+        }
+
+        if (answer == null) {
+            answer = readColumnChecksums(databaseMetaData, catalog, schema);
+        }
+
+        return answer;
+    }
+
+    private Map<ActualTableName, String> readDictionaryVersions(String sql,
+            String owner, String catalog, String schema) throws SQLException {
+        Map<ActualTableName, String> answer = new HashMap<ActualTableName, String>();
+        PreparedStatement ps = connection.prepareStatement(sql);
+        try {
+            ps.setString(1, owner);
+            ResultSet rs = ps.executeQuery();
+            try {
+                while (rs.next()) {
+                    ActualTableName atn = new ActualTableName(catalog, schema, rs.getString(1));
+                    answer.put(atn, "ddl:" + rs.getString(2)); //$NON-NLS-1$
+                }
+            } finally {
+                rs.close();
+            }
+        } finally {
+            ps.close();
+        }
+
+        return answer;
+    }
+
+    /**
+     * Reads a checksum per table from a dictionary query. The first column of
+     * the query is the table name, all other columns describe one column of
+     * the table and go into the checksum.
+     */
+    private Map<ActualTableName, String> readDictionaryChecksums(String sql,
+            String owner, String catalog, String schema) throws SQLException {
+        Map<ActualTableName, CRC32> checksums = new HashMap<ActualTableName, CRC32>();
+        PreparedStatement ps = connection.prepareStatement(sql);
+        try {
+            ps.setString(1, owner);
+            ResultSet rs = ps.executeQuery();
+            try {
+                int columnCount = rs.getMetaData().getColumnCount();
+                while (rs.next()) {
+                    ActualTableName atn = new ActualTableName(catalog, schema, rs.getString(1));
+                    StringBuilder sb = new StringBuilder();
+                    for (int i = 2; i <= columnCount; i++) {
+                        sb.append(rs.getString(i)).append('|');
+                    }
+                    sb.append('\n');
+                    updateChecksum(checksums, atn, sb.toString());
+                }
+            } finally {
+                rs.close();
+            }
+        } finally {
+            ps.close();
+        }
+
+        return toVersions(checksums);
+    }
+
+    private Map<ActualTableName, String> readColumnChecksums(
+            DatabaseMetaData databaseMetaData, String catalog, String schema)
+            throws SQLException {
+        Map<ActualTableName, CRC32> checksums = new HashMap<ActualTableName, CRC32>();
+        ResultSet rs = databaseMetaData.getColumns(catalog, schema, "%", "%"); //$NON-NLS-1$ //$NON-NLS-2$
+        try {
+            while (rs.next()) {
+                ActualTableName atn = new ActualTableName(catalog, rs.getString("TABLE_SCHEM"), rs.getString("TABLE_NAME")); //$NON-NLS-1$ //$NON-NLS-2$
+                StringBuilder sb = new StringBuilder();
+                sb.append(rs.getString("COLUMN_NAME")).append('|'); //$NON-NLS-1$
+                sb.append(rs.getInt("DATA_TYPE")).append('|'); //$NON-NLS-1$
+                sb.append(rs.getInt("COLUMN_SIZE")).append('|'); //$NON-NLS-1$
+                sb.append(rs.getInt("DECIMAL_DIGITS")).append('|'); //$NON-NLS-1$
+                sb.append(rs.getInt("NULLABLE")).append('|'); //$NON-NLS-1$
+                sb.append(rs.getString("REMARKS")).append('|'); //$NON-NLS-1$
+                sb.append(rs.getString("COLUMN_DEF")).append('\n'); //$NON-NLS-1$
+                updateChecksum(checksums, atn, sb.toString());
+            }
+        } finally {
+            rs.close();
+        }
+
+        return toVersions(checksums);
+    }
+
+    private static void updateChecksum(Map<ActualTableName, CRC32> checksums,
+            ActualTableName atn, String column) {
+        CRC32 checksum = checksums.get(atn);
+        if (checksum == null) {
+            checksum = new CRC32();
+            checksums.put(atn, checksum);
+        }
+
+        try {
+            checksum.update(column.getBytes("UTF-8")); //$NON-NLS-1$
+        } catch (UnsupportedEncodingException e) {
+            // UTF-8 is always supported
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static Map<ActualTableName, String> toVersions(
+            Map<ActualTableName, CRC32> checksums) {
+        Map<ActualTableName, String> answer = new HashMap<ActualTableName, String>();
+        for (Map.Entry<ActualTableName, CRC32> entry : checksums.entrySet()) {
+            answer.put(entry.getKey(), "crc:" + Long.toHexString(entry.getValue().getValue())); //$NON-NLS-1$
+        }
+
+        return answer;
+    }
+}
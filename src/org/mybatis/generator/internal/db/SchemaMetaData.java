@@ -0,0 +1,191 @@
+/*
+ *  Copyright 2005 The Apache Software Foundation
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mybatis.generator.internal.db;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.mybatis.generator.api.ImportColumn;
+
+/**
+ * This class holds the columns, primary keys and imported keys of a set of
+ * tables, as returned by the database. It is used for all the tables of one
+ * catalog/schema by bulk introspection, and for the tables matching one table
+ * configuration by the DatabaseIntrospector and the schema snapshot.
+ *
+ * <p>For a whole schema, primary keys and imported keys are optional. Some
+ * drivers refuse (or silently ignore) a metadata query without a table name,
+ * in which case the keys are not loaded and must be retrieved per table.
+ */
+public class SchemaMetaData {
+
+    private Map<ActualTableName, List<ColumnMetaData>> columns;
+    private Map<ActualTableName, Map<Short, String>> primaryKeys;
+    private Map<ActualTableName, Map<String, ImportColumn>> importedKeys;
+
+    public SchemaMetaData() {
+        super();
+        columns = new LinkedHashMap<ActualTableName, List<ColumnMetaData>>();
+    }
+
+    public void addColumn(ActualTableName atn, ColumnMetaData column) {
+        List<ColumnMetaData> tableColumns = columns.get(atn);
+        if (tableColumns == null) {
+            tableColumns = new ArrayList<ColumnMetaData>();
+            columns.put(atn, tableColumns);
+        }
+
+        tableColumns.add(column);
+    }
+
+    /**
+     * Returns the tables in the order they were returned by the database.
+     *
+     * @return the table names
+     */
+    public Set<ActualTableName> getTableNames() {
+        return columns.keySet();
+    }
+
+    public boolean containsTable(ActualTableName atn) {
+        return columns.containsKey(atn);
+    }
+
+    /**
+     * Copies the columns and keys of a table from another meta data object.
+     *
+     * @param source
+     *            the meta data that contains the table
+     * @param atn
+     *            the table
+     */
+    public void copyTable(SchemaMetaData source, ActualTableName atn) {
+        for (ColumnMetaData column : source.getColumns(atn)) {
+            addColumn(atn, column);
+        }
+
+        short keySeq = 1;
+        for (String columnName : source.getPrimaryKeyColumns(atn)) {
+            addPrimaryKeyColumn(atn, keySeq++, columnName);
+        }
+
+        Map<String, ImportColumn> importColumnMap = source.getImportedKeys(atn);
+        if (importColumnMap != null) {
+            for (Map.Entry<String, ImportColumn> entry : importColumnMap.entrySet()) {
+                addImportedKey(atn, entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    public List<ColumnMetaData> getColumns(ActualTableName atn) {
+        List<ColumnMetaData> tableColumns = columns.get(atn);
+        if (tableColumns == null) {
+            return Collections.emptyList();
+        }
+
+        return tableColumns;
+    }
+
+    public void addPrimaryKeyColumn(ActualTableName atn, short keySeq, String columnName) {
+        if (primaryKeys == null) {
+            primaryKeys = new HashMap<ActualTableName, Map<Short, String>>();
+        }
+
+        // keep primary columns in key sequence order
+        Map<Short, String> keyColumns = primaryKeys.get(atn);
+        if (keyColumns == null) {
+            keyColumns = new TreeMap<Short, String>();
+            primaryKeys.put(atn, keyColumns);
+        }
+
+        keyColumns.put(keySeq, columnName);
+    }
+
+    /**
+     * Returns true if the primary keys of the schema were loaded in bulk.
+     *
+     * @return true if the primary keys are available
+     */
+    public boolean hasPrimaryKeys() {
+        return primaryKeys != null;
+    }
+
+    public void clearPrimaryKeys() {
+        primaryKeys = null;
+    }
+
+    /**
+     * Returns the primary key columns of the table in key sequence order.
+     *
+     * @param atn
+     *            the table
+     * @return the primary key column names, or an empty collection if the
+     *         table has no primary key
+     */
+    public Collection<String> getPrimaryKeyColumns(ActualTableName atn) {
+        Map<Short, String> keyColumns = primaryKeys == null ? null : primaryKeys.get(atn);
+        if (keyColumns == null) {
+            return Collections.emptyList();
+        }
+
+        return keyColumns.values();
+    }
+
+    public void addImportedKey(ActualTableName atn, String columnName, ImportColumn importColumn) {
+        if (importedKeys == null) {
+            importedKeys = new HashMap<ActualTableName, Map<String, ImportColumn>>();
+        }
+
+        Map<String, ImportColumn> importColumnMap = importedKeys.get(atn);
+        if (importColumnMap == null) {
+            importColumnMap = new HashMap<String, ImportColumn>();
+            importedKeys.put(atn, importColumnMap);
+        }
+
+        importColumnMap.put(columnName, importColumn);
+    }
+
+    /**
+     * Returns true if the imported keys of the schema were loaded in bulk.
+     *
+     * @return true if the imported keys are available
+     */
+    public boolean hasImportedKeys() {
+        return importedKeys != null;
+    }
+
+    public void clearImportedKeys() {
+        importedKeys = null;
+    }
+
+    /**
+     * Returns the imported keys of the table keyed by foreign key column name.
+     *
+     * @param atn
+     *            the table
+     * @return the imported keys, or <code>null</code> if the table has none
+     */
+    public Map<String, ImportColumn> getImportedKeys(ActualTableName atn) {
+        return importedKeys == null ? null : importedKeys.get(atn);
+    }
+}
@@ -0,0 +1,463 @@
+/*
+ *  Copyright 2005 The Apache Software Foundation
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mybatis.generator.internal.db;
+
+import static org.mybatis.generator.internal.util.messages.Messages.getString;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.mybatis.generator.api.ImportColumn;
+import org.mybatis.generator.config.TableConfiguration;
+
+/**
+ * This class holds the raw database meta data of the table configurations of a
+ * context, so that later runs can generate code without reading the meta data
+ * again (or without a database at all).
+ *
+ * <p>The snapshot stores what the database returned - columns, primary keys
+ * and imported keys - not the introspected tables. The DatabaseIntrospector
+ * builds the introspected tables from the snapshot exactly as it does from
+ * live meta data, so column overrides, ignored columns, generated keys and the
+ * rest of the table configuration are always applied fresh.
+ *
+ * <p>Entries are keyed by the table configuration (catalog, schema, table
+ * name, delimiting and wildcard escaping), so a change to any of those makes
+ * the table read from the database again. For incremental introspection the
+ * snapshot also records the version of each table (see SchemaChangeDetector),
+ * and drops the entries whose tables changed since the last run.
+ *
+ * <p>This class is thread safe.
+ */
+public class SchemaSnapshot {
+
+    private static final int MAGIC = 0x4D424753; // MBGS
+
+    private static final int VERSION = 2;
+
+    private File file;
+
+    private boolean refresh;
+
+    private boolean changed;
+
+    private Map<String, SchemaMetaData> tables;
+
+    private Map<ActualTableName, String> tableVersions;
+
+    /**
+     * Constructs a snapshot.
+     *
+     * @param file
+     *            the snapshot file
+     * @param refresh
+     *            if true, the tables already in the snapshot are ignored and
+     *            read from the database again
+     */
+    public SchemaSnapshot(File file, boolean refresh) {
+        super();
+        this.file = file;
+        this.refresh = refresh;
+        tables = new LinkedHashMap<String, SchemaMetaData>();
+        tableVersions = new HashMap<ActualTableName, String>();
+    }
+
+    /**
+     * Returns the file name of the snapshot of a context. The name is made of
+     * the context id, the connection URL and the user, so contexts pointing to
+     * different databases never share a snapshot.
+     *
+     * @param directory
+     *            the snapshot directory
+     * @param contextId
+     *            the context id
+     * @param connectionURL
+     *            the connection URL
+     * @param userId
+     *            the user id, may be null
+     * @return the snapshot file
+     */
+    public static File getSnapshotFile(File directory, String contextId,
+            String connectionURL, String userId) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(contextId);
+        sb.append('_');
+        sb.append(connectionURL);
+        if (userId != null) {
+            sb.append('_');
+            sb.append(userId);
+        }
+
+        for (int i = 0; i < sb.length(); i++) {
+            char c = sb.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '_' && c != '-'
+                    && c != '.') {
+                sb.setCharAt(i, '_');
+            }
+        }
+
+        sb.append(".schema"); //$NON-NLS-1$
+        return new File(directory, sb.toString());
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Returns the raw meta data of the tables matching the table
+     * configuration.
+     *
+     * @param tc
+     *            the table configuration
+     * @return the meta data, or <code>null</code> if the table configuration
+     *         is not in the snapshot (or the snapshot is being refreshed)
+     */
+    public synchronized SchemaMetaData getTableMetaData(TableConfiguration tc) {
+        if (refresh) {
+            return null;
+        }
+
+        return tables.get(getKey(tc));
+    }
+
+    public synchronized void putTableMetaData(TableConfiguration tc,
+            SchemaMetaData tableMetaData) {
+        tables.put(getKey(tc), tableMetaData);
+        changed = true;
+    }
+
+    /**
+     * Returns true if every table configuration can be answered from the
+     * snapshot, i.e. no database connection is needed.
+     *
+     * @param tableConfigurations
+     *            the table configurations
+     * @return true, if all table configurations are in the snapshot
+     */
+    public synchronized boolean containsAll(
+            Collection<TableConfiguration> tableConfigurations) {
+        if (refresh) {
+            return false;
+        }
+
+        for (TableConfiguration tc : tableConfigurations) {
+            if (!tables.containsKey(getKey(tc))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Removes the table configurations whose tables changed since their
+     * versions were recorded, so they are read from the database again. A
+     * table configuration with a % wildcard is also removed when a table that
+     * was not there before appears in its schema.
+     *
+     * @param tableConfigurations
+     *            the table configurations to check
+     * @param detector
+     *            the detector returning the current table versions
+     * @return the number of table configurations removed
+     * @throws SQLException
+     *             if the table versions cannot be read
+     */
+    public synchronized int removeChangedTables(
+            Collection<TableConfiguration> tableConfigurations,
+            SchemaChangeDetector detector) throws SQLException {
+        int removed = 0;
+        for (TableConfiguration tc : tableConfigurations) {
+            String key = getKey(tc);
+            SchemaMetaData tableMetaData = tables.get(key);
+            if (tableMetaData == null) {
+                continue;
+            }
+
+            boolean wildcard = tc.getTableName() != null
+                    && tc.getTableName().indexOf('%') != -1;
+            boolean unchanged = !tableMetaData.getTableNames().isEmpty();
+            for (ActualTableName atn : tableMetaData.getTableNames()) {
+                Map<ActualTableName, String> versions = detector
+                        .getTableVersions(atn.getCatalog(), atn.getSchema());
+                String version = versions.get(atn);
+                if (version == null || !version.equals(tableVersions.get(atn))) {
+                    unchanged = false;
+                } else if (wildcard
+                        && !tableVersions.keySet().containsAll(versions.keySet())) {
+                    unchanged = false;
+                }
+
+                if (!unchanged) {
+                    break;
+                }
+            }
+
+            if (!unchanged) {
+                tables.remove(key);
+                changed = true;
+                removed++;
+            }
+        }
+
+        return removed;
+    }
+
+    /**
+     * Records the current versions of the tables of the snapshot.
+     *
+     * @param detector
+     *            the detector returning the current table versions
+     * @throws SQLException
+     *             if the table versions cannot be read
+     */
+    public synchronized void recordTableVersions(SchemaChangeDetector detector)
+            throws SQLException {
+        Map<ActualTableName, String> newVersions = new HashMap<ActualTableName, String>();
+        for (SchemaMetaData tableMetaData : tables.values()) {
+            for (ActualTableName atn : tableMetaData.getTableNames()) {
+                newVersions.putAll(detector.getTableVersions(atn.getCatalog(),
+                        atn.getSchema()));
+            }
+        }
+
+        if (!newVersions.equals(tableVersions)) {
+            tableVersions = newVersions;
+            changed = true;
+        }
+    }
+
+    /**
+     * Returns true if tables were added since the snapshot was loaded.
+     *
+     * @return true, if the snapshot must be saved
+     */
+    public synchronized boolean isChanged() {
+        return changed;
+    }
+
+    /**
+     * Loads the snapshot file. Nothing is loaded if the file does not exist.
+     *
+     * @throws IOException
+     *             if the file cannot be read, or is not a snapshot file
+     */
+    public synchronized void load() throws IOException {
+        if (!file.isFile()) {
+            return;
+        }
+
+        DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new FileInputStream(file)));
+        try {
+            int version = in.readInt() == MAGIC ? in.readInt() : -1;
+            if (version < 1 || version > VERSION) {
+                throw new IOException(getString(
+                        "RuntimeError.24", file.getAbsolutePath())); //$NON-NLS-1$
+            }
+
+            int tableConfigurationCount = in.readInt();
+            for (int i = 0; i < tableConfigurationCount; i++) {
+                String key = in.readUTF();
+                tables.put(key, readTableMetaData(in));
+            }
+
+            // version 1 snapshots have no table versions
+            if (version > 1) {
+                int tableVersionCount = in.readInt();
+                for (int i = 0; i < tableVersionCount; i++) {
+                    ActualTableName atn = readActualTableName(in);
+                    tableVersions.put(atn, readString(in));
+                }
+            }
+        } finally {
+            in.close();
+        }
+
+        changed = false;
+    }
+
+    /**
+     * Writes the snapshot file.
+     *
+     * @throws IOException
+     *             if the file cannot be written
+     */
+    public synchronized void save() throws IOException {
+        File directory = file.getAbsoluteFile().getParentFile();
+        if (directory != null && !directory.exists()) {
+            directory.mkdirs();
+        }
+
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new FileOutputStream(file)));
+        try {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(tables.size());
+            for (Map.Entry<String, SchemaMetaData> entry : tables.entrySet()) {
+                out.writeUTF(entry.getKey());
+                writeTableMetaData(out, entry.getValue());
+            }
+
+            out.writeInt(tableVersions.size());
+            for (Map.Entry<ActualTableName, String> entry : tableVersions
+                    .entrySet()) {
+                writeActualTableName(out, entry.getKey());
+                writeString(out, entry.getValue());
+            }
+        } finally {
+            out.close();
+        }
+
+        changed = false;
+    }
+
+    private static String getKey(TableConfiguration tc) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(tc.getCatalog());
+        sb.append('|');
+        sb.append(tc.getSchema());
+        sb.append('|');
+        sb.append(tc.getTableName());
+        sb.append('|');
+        sb.append(tc.isDelimitIdentifiers());
+        sb.append('|');
+        sb.append(tc.isWildcardEscapingEnabled());
+        return sb.toString();
+    }
+
+    private static void writeTableMetaData(DataOutputStream out,
+            SchemaMetaData tableMetaData) throws IOException {
+        out.writeInt(tableMetaData.getTableNames().size());
+        for (ActualTableName atn : tableMetaData.getTableNames()) {
+            writeActualTableName(out, atn);
+
+            out.writeInt(tableMetaData.getColumns(atn).size());
+            for (ColumnMetaData column : tableMetaData.getColumns(atn)) {
+                writeString(out, column.getColumnName());
+                out.writeInt(column.getJdbcType());
+                out.writeInt(column.getLength());
+                out.writeInt(column.getScale());
+                out.writeBoolean(column.isNullable());
+                writeString(out, column.getRemarks());
+                writeString(out, column.getDefaultValue());
+            }
+
+            out.writeInt(tableMetaData.getPrimaryKeyColumns(atn).size());
+            for (String columnName : tableMetaData.getPrimaryKeyColumns(atn)) {
+                writeString(out, columnName);
+            }
+
+            Map<String, ImportColumn> importColumnMap = tableMetaData
+                    .getImportedKeys(atn);
+            if (importColumnMap == null) {
+                out.writeInt(0);
+            } else {
+                out.writeInt(importColumnMap.size());
+                for (Map.Entry<String, ImportColumn> entry : importColumnMap
+                        .entrySet()) {
+                    writeString(out, entry.getKey());
+                    writeActualTableName(out, entry.getValue()
+                            .getImportTable());
+                    writeString(out, entry.getValue().getImportColumnName());
+                }
+            }
+        }
+    }
+
+    private static SchemaMetaData readTableMetaData(DataInputStream in)
+            throws IOException {
+        SchemaMetaData tableMetaData = new SchemaMetaData();
+
+        int tableCount = in.readInt();
+        for (int i = 0; i < tableCount; i++) {
+            ActualTableName atn = readActualTableName(in);
+
+            int columnCount = in.readInt();
+            for (int j = 0; j < columnCount; j++) {
+                ColumnMetaData column = new ColumnMetaData();
+                column.setColumnName(readString(in));
+                column.setJdbcType(in.readInt());
+                column.setLength(in.readInt());
+                column.setScale(in.readInt());
+                column.setNullable(in.readBoolean());
+                column.setRemarks(readString(in));
+                column.setDefaultValue(readString(in));
+                tableMetaData.addColumn(atn, column);
+            }
+
+            int primaryKeyCount = in.readInt();
+            for (short keySeq = 1; keySeq <= primaryKeyCount; keySeq++) {
+                tableMetaData.addPrimaryKeyColumn(atn, keySeq, readString(in));
+            }
+
+            int importedKeyCount = in.readInt();
+            for (int j = 0; j < importedKeyCount; j++) {
+                String columnName = readString(in);
+                ActualTableName importTable = readActualTableName(in);
+                String importColumnName = readString(in);
+                tableMetaData.addImportedKey(atn, columnName, new ImportColumn(
+                        importTable, importColumnName));
+            }
+        }
+
+        return tableMetaData;
+    }
+
+    private static void writeActualTableName(DataOutputStream out,
+            ActualTableName atn) throws IOException {
+        writeString(out, atn.getCatalog());
+        writeString(out, atn.getSchema());
+        writeString(out, atn.getTableName());
+    }
+
+    private static ActualTableName readActualTableName(DataInputStream in)
+            throws IOException {
+        String catalog = readString(in);
+        String schema = readString(in);
+        String tableName = readString(in);
+        return new ActualTableName(catalog, schema, tableName);
+    }
+
+    private static void writeString(DataOutputStream out, String s)
+            throws IOException {
+        out.writeBoolean(s != null);
+        if (s != null) {
+            out.writeUTF(s);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        if (in.readBoolean()) {
+            return in.readUTF();
+        }
+
+        return null;
+    }
+}
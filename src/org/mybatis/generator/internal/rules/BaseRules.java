@@ -84,6 +84,46 @@ public abstract class BaseRules implements Rules {
         return tableConfiguration.isInsertStatementEnabled();
     }
 
+    /**
+     * Implements the rule for generating the multi-row insert SQL Map element
+     * and mapper method. If the insert batch statement is enabled (it is off by
+     * default), the insert statement is allowed and the mapper has an XML
+     * file, then generate the element and method.
+     * 
+     * @return true if the element and method should be generated
+     */
+    public boolean generateInsertBatch() {
+        if (isModelOnly) {
+            return false;
+        }
+
+        return tableConfiguration.isInsertBatchStatementEnabled()
+                && tableConfiguration.isInsertStatementEnabled()
+                && introspectedTable.requiresXMLGenerator();
+    }
+
+    /**
+     * Implements the rule for generating the upsert and upsert selective SQL
+     * Map elements and mapper methods. If the upsert statement is enabled (it
+     * is off by default), the database dialect is known, the table has a
+     * primary key, the insert and updateByPrimaryKey statements are allowed
+     * and the mapper has an XML file, then generate the elements and methods.
+     * 
+     * @return true if the elements and methods should be generated
+     */
+    public boolean generateUpsert() {
+        if (isModelOnly) {
+            return false;
+        }
+
+        return tableConfiguration.isUpsertStatementEnabled()
+                && introspectedTable.getContext().getDatabaseDialect() != null
+                && tableConfiguration.isInsertStatementEnabled()
+                && tableConfiguration.isUpdateByPrimaryKeyStatementEnabled()
+                && introspectedTable.hasPrimaryKeyColumns()
+                && introspectedTable.requiresXMLGenerator();
+    }
+
     /**
      * Calculates the class that contains all fields. This class is used as the
      * insert statement parameter, as well as the returned value from the select
@@ -104,7 +144,7 @@ public abstract class BaseRules implements Rules {
             answer = introspectedTable.getPrimaryKeyType();
         }
 
-        return new FullyQualifiedJavaType(answer);
+        return FullyQualifiedJavaType.getInstance(answer);
     }
 
     /**
@@ -168,6 +208,21 @@ public abstract class BaseRules implements Rules {
         return rc;
     }
 
+    /**
+     * Implements the rule for generating the update batch by primary key SQL
+     * Map element and mapper method. If the update batch statement is enabled
+     * (it is off by default), the table has a primary key as well as other
+     * fields, the updateByPrimaryKey statement is allowed and the mapper has an
+     * XML file, then generate the element and method.
+     * 
+     * @return true if the element and method should be generated
+     */
+    public boolean generateUpdateBatchByPrimaryKey() {
+        return tableConfiguration.isUpdateBatchStatementEnabled()
+                && generateUpdateByPrimaryKeySelective()
+                && introspectedTable.requiresXMLGenerator();
+    }
+
     /**
      * Implements the rule for generating the delete by primary key SQL Map
      * element and DAO method. If the table has a primary key, and the
@@ -328,6 +383,23 @@ public abstract class BaseRules implements Rules {
         return tableConfiguration.isSelectByExampleStatementEnabled();
     }
 
+    /**
+     * Implements the rule for generating the select page after SQL Map element
+     * and mapper method. If the select page after statement is enabled (it is
+     * off by default), the database dialect is known, the table has a primary
+     * key, the selectByExample statement is allowed and the mapper has an XML
+     * file, then generate the element and method.
+     * 
+     * @return true if the element and method should be generated
+     */
+    public boolean generateSelectPageAfter() {
+        return tableConfiguration.isSelectPageAfterStatementEnabled()
+                && introspectedTable.getContext().getDatabaseDialect() != null
+                && generateSelectByExampleWithoutBLOBs()
+                && introspectedTable.hasPrimaryKeyColumns()
+                && introspectedTable.requiresXMLGenerator();
+    }
+
     /**
      * Implements the rule for generating the select by example with BLOBs SQL
      * Map element and DAO method. If the table has BLOB fields and the
@@ -45,6 +45,23 @@ public interface Rules {
      */
     boolean generateInsertSelective();
 
+    /**
+     * Implements the rule for generating the multi-row insert SQL Map element
+     * and mapper method. The batch insert is only generated in XML mappers.
+     * 
+     * @return true if the element and method should be generated
+     */
+    boolean generateInsertBatch();
+
+    /**
+     * Implements the rule for generating the upsert and upsert selective SQL
+     * Map elements and mapper methods. The upserts are keyed on the primary key
+     * and only generated in XML mappers.
+     * 
+     * @return true if the elements and methods should be generated
+     */
+    boolean generateUpsert();
+
     /**
      * Calculates the class that contains all fields. This class is used as the
      * insert statement parameter, as well as the returned value from the select
@@ -85,6 +102,15 @@ public interface Rules {
      */
     boolean generateUpdateByPrimaryKeySelective();
 
+    /**
+     * Implements the rule for generating the update batch by primary key SQL
+     * Map element and mapper method. The batch update is only generated in XML
+     * mappers.
+     * 
+     * @return true if the element and method should be generated
+     */
+    boolean generateUpdateBatchByPrimaryKey();
+
     /**
      * Implements the rule for generating the delete by primary key SQL Map
      * element and DAO method. If the table has a primary key, and the
@@ -183,6 +209,15 @@ public interface Rules {
      */
     boolean generateSelectByExampleWithoutBLOBs();
 
+    /**
+     * Implements the rule for generating the select page after SQL Map element
+     * and mapper method. The keyset page is keyed on the primary key and only
+     * generated in XML mappers.
+     * 
+     * @return true if the element and method should be generated
+     */
+    boolean generateSelectPageAfter();
+
     /**
      * Implements the rule for generating the select by example with BLOBs SQL
      * Map element and DAO method. If the table has BLOB fields and the
@@ -101,6 +101,14 @@ public class RulesDelegate implements Rules {
         return rules.generateInsertSelective();
     }
 
+    public boolean generateInsertBatch() {
+        return rules.generateInsertBatch();
+    }
+
+    public boolean generateUpsert() {
+        return rules.generateUpsert();
+    }
+
     public boolean generatePrimaryKeyClass() {
         return rules.generatePrimaryKeyClass();
     }
@@ -121,6 +129,10 @@ public class RulesDelegate implements Rules {
         return rules.generateSelectByExampleWithoutBLOBs();
     }
 
+    public boolean generateSelectPageAfter() {
+        return rules.generateSelectPageAfter();
+    }
+
     public boolean generateSelectByPrimaryKey() {
         return rules.generateSelectByPrimaryKey();
     }
@@ -149,6 +161,10 @@ public class RulesDelegate implements Rules {
         return rules.generateUpdateByPrimaryKeySelective();
     }
 
+    public boolean generateUpdateBatchByPrimaryKey() {
+        return rules.generateUpdateBatchByPrimaryKey();
+    }
+
     public boolean generateUpdateByPrimaryKeyWithBLOBs() {
         return rules.generateUpdateByPrimaryKeyWithBLOBs();
     }
@@ -51,38 +51,38 @@ public class JavaTypeResolverDefaultImpl implements JavaTypeResolver {
 		properties = new Properties();
 		typeMap = new HashMap<Integer, JdbcTypeInformation>();
 
-		typeMap.put(Types.ARRAY, new JdbcTypeInformation("ARRAY", new FullyQualifiedJavaType(Object.class.getName())));
-		typeMap.put(Types.BIGINT, new JdbcTypeInformation("BIGINT", new FullyQualifiedJavaType(Long.class.getName())));
-		typeMap.put(Types.BINARY, new JdbcTypeInformation("BINARY", new FullyQualifiedJavaType("byte[]")));
-		typeMap.put(Types.BIT, new JdbcTypeInformation("BIT", new FullyQualifiedJavaType(Boolean.class.getName())));
-		typeMap.put(Types.BLOB, new JdbcTypeInformation("BLOB", new FullyQualifiedJavaType("byte[]")));
-		typeMap.put(Types.BOOLEAN, new JdbcTypeInformation("BOOLEAN", new FullyQualifiedJavaType(Boolean.class.getName())));
-		typeMap.put(Types.CHAR, new JdbcTypeInformation("CHAR", new FullyQualifiedJavaType(String.class.getName())));
-		typeMap.put(Types.CLOB, new JdbcTypeInformation("CLOB", new FullyQualifiedJavaType(String.class.getName())));
-		typeMap.put(Types.DATALINK, new JdbcTypeInformation("DATALINK", new FullyQualifiedJavaType(Object.class.getName())));
-		typeMap.put(Types.DATE, new JdbcTypeInformation("DATE", new FullyQualifiedJavaType(Date.class.getName())));
-		typeMap.put(Types.DISTINCT, new JdbcTypeInformation("DISTINCT", new FullyQualifiedJavaType(Object.class.getName())));
-		typeMap.put(Types.DOUBLE, new JdbcTypeInformation("DOUBLE", new FullyQualifiedJavaType(Double.class.getName())));
-		typeMap.put(Types.FLOAT, new JdbcTypeInformation("FLOAT", new FullyQualifiedJavaType(Double.class.getName())));
-		typeMap.put(Types.INTEGER, new JdbcTypeInformation("INTEGER", new FullyQualifiedJavaType(Integer.class.getName())));
-		typeMap.put(Types.JAVA_OBJECT, new JdbcTypeInformation("JAVA_OBJECT", new FullyQualifiedJavaType(Object.class.getName())));
-		typeMap.put(Types.LONGNVARCHAR, new JdbcTypeInformation("LONGNVARCHAR", new FullyQualifiedJavaType(String.class.getName())));
-		typeMap.put(Types.LONGVARBINARY, new JdbcTypeInformation("LONGVARBINARY", new FullyQualifiedJavaType("byte[]")));
-		typeMap.put(Types.LONGVARCHAR, new JdbcTypeInformation("LONGVARCHAR", new FullyQualifiedJavaType(String.class.getName())));
-		typeMap.put(Types.NCHAR, new JdbcTypeInformation("NCHAR", new FullyQualifiedJavaType(String.class.getName())));
-		typeMap.put(Types.NCLOB, new JdbcTypeInformation("NCLOB", new FullyQualifiedJavaType(String.class.getName())));
-		typeMap.put(Types.NVARCHAR, new JdbcTypeInformation("NVARCHAR", new FullyQualifiedJavaType(String.class.getName())));
-		typeMap.put(Types.NULL, new JdbcTypeInformation("NULL", new FullyQualifiedJavaType(Object.class.getName())));
-		typeMap.put(Types.OTHER, new JdbcTypeInformation("OTHER", new FullyQualifiedJavaType(Object.class.getName())));
-		typeMap.put(Types.REAL, new JdbcTypeInformation("REAL", new FullyQualifiedJavaType(Float.class.getName())));
-		typeMap.put(Types.REF, new JdbcTypeInformation("REF", new FullyQualifiedJavaType(Object.class.getName())));
-		typeMap.put(Types.SMALLINT, new JdbcTypeInformation("SMALLINT", new FullyQualifiedJavaType(Short.class.getName())));
-		typeMap.put(Types.STRUCT, new JdbcTypeInformation("STRUCT", new FullyQualifiedJavaType(Object.class.getName())));
-		typeMap.put(Types.TIME, new JdbcTypeInformation("TIME", new FullyQualifiedJavaType(Date.class.getName())));
-		typeMap.put(Types.TIMESTAMP, new JdbcTypeInformation("TIMESTAMP", new FullyQualifiedJavaType(Date.class.getName())));
-		typeMap.put(Types.TINYINT, new JdbcTypeInformation("TINYINT", new FullyQualifiedJavaType(Byte.class.getName())));
-		typeMap.put(Types.VARBINARY, new JdbcTypeInformation("VARBINARY", new FullyQualifiedJavaType("byte[]")));
-		typeMap.put(Types.VARCHAR, new JdbcTypeInformation("VARCHAR", new FullyQualifiedJavaType(String.class.getName())));
+		typeMap.put(Types.ARRAY, new JdbcTypeInformation("ARRAY", FullyQualifiedJavaType.getInstance(Object.class.getName())));
+		typeMap.put(Types.BIGINT, new JdbcTypeInformation("BIGINT", FullyQualifiedJavaType.getInstance(Long.class.getName())));
+		typeMap.put(Types.BINARY, new JdbcTypeInformation("BINARY", FullyQualifiedJavaType.getInstance("byte[]")));
+		typeMap.put(Types.BIT, new JdbcTypeInformation("BIT", FullyQualifiedJavaType.getInstance(Boolean.class.getName())));
+		typeMap.put(Types.BLOB, new JdbcTypeInformation("BLOB", FullyQualifiedJavaType.getInstance("byte[]")));
+		typeMap.put(Types.BOOLEAN, new JdbcTypeInformation("BOOLEAN", FullyQualifiedJavaType.getInstance(Boolean.class.getName())));
+		typeMap.put(Types.CHAR, new JdbcTypeInformation("CHAR", FullyQualifiedJavaType.getInstance(String.class.getName())));
+		typeMap.put(Types.CLOB, new JdbcTypeInformation("CLOB", FullyQualifiedJavaType.getInstance(String.class.getName())));
+		typeMap.put(Types.DATALINK, new JdbcTypeInformation("DATALINK", FullyQualifiedJavaType.getInstance(Object.class.getName())));
+		typeMap.put(Types.DATE, new JdbcTypeInformation("DATE", FullyQualifiedJavaType.getInstance(Date.class.getName())));
+		typeMap.put(Types.DISTINCT, new JdbcTypeInformation("DISTINCT", FullyQualifiedJavaType.getInstance(Object.class.getName())));
+		typeMap.put(Types.DOUBLE, new JdbcTypeInformation("DOUBLE", FullyQualifiedJavaType.getInstance(Double.class.getName())));
+		typeMap.put(Types.FLOAT, new JdbcTypeInformation("FLOAT", FullyQualifiedJavaType.getInstance(Double.class.getName())));
+		typeMap.put(Types.INTEGER, new JdbcTypeInformation("INTEGER", FullyQualifiedJavaType.getInstance(Integer.class.getName())));
+		typeMap.put(Types.JAVA_OBJECT, new JdbcTypeInformation("JAVA_OBJECT", FullyQualifiedJavaType.getInstance(Object.class.getName())));
+		typeMap.put(Types.LONGNVARCHAR, new JdbcTypeInformation("LONGNVARCHAR", FullyQualifiedJavaType.getInstance(String.class.getName())));
+		typeMap.put(Types.LONGVARBINARY, new JdbcTypeInformation("LONGVARBINARY", FullyQualifiedJavaType.getInstance("byte[]")));
+		typeMap.put(Types.LONGVARCHAR, new JdbcTypeInformation("LONGVARCHAR", FullyQualifiedJavaType.getInstance(String.class.getName())));
+		typeMap.put(Types.NCHAR, new JdbcTypeInformation("NCHAR", FullyQualifiedJavaType.getInstance(String.class.getName())));
+		typeMap.put(Types.NCLOB, new JdbcTypeInformation("NCLOB", FullyQualifiedJavaType.getInstance(String.class.getName())));
+		typeMap.put(Types.NVARCHAR, new JdbcTypeInformation("NVARCHAR", FullyQualifiedJavaType.getInstance(String.class.getName())));
+		typeMap.put(Types.NULL, new JdbcTypeInformation("NULL", FullyQualifiedJavaType.getInstance(Object.class.getName())));
+		typeMap.put(Types.OTHER, new JdbcTypeInformation("OTHER", FullyQualifiedJavaType.getInstance(Object.class.getName())));
+		typeMap.put(Types.REAL, new JdbcTypeInformation("REAL", FullyQualifiedJavaType.getInstance(Float.class.getName())));
+		typeMap.put(Types.REF, new JdbcTypeInformation("REF", FullyQualifiedJavaType.getInstance(Object.class.getName())));
+		typeMap.put(Types.SMALLINT, new JdbcTypeInformation("SMALLINT", FullyQualifiedJavaType.getInstance(Short.class.getName())));
+		typeMap.put(Types.STRUCT, new JdbcTypeInformation("STRUCT", FullyQualifiedJavaType.getInstance(Object.class.getName())));
+		typeMap.put(Types.TIME, new JdbcTypeInformation("TIME", FullyQualifiedJavaType.getInstance(Date.class.getName())));
+		typeMap.put(Types.TIMESTAMP, new JdbcTypeInformation("TIMESTAMP", FullyQualifiedJavaType.getInstance(Date.class.getName())));
+		typeMap.put(Types.TINYINT, new JdbcTypeInformation("TINYINT", FullyQualifiedJavaType.getInstance(Byte.class.getName())));
+		typeMap.put(Types.VARBINARY, new JdbcTypeInformation("VARBINARY", FullyQualifiedJavaType.getInstance("byte[]")));
+		typeMap.put(Types.VARCHAR, new JdbcTypeInformation("VARCHAR", FullyQualifiedJavaType.getInstance(String.class.getName())));
 
 	}
 
@@ -100,13 +100,13 @@ public class JavaTypeResolverDefaultImpl implements JavaTypeResolver {
 			case Types.DECIMAL:
 			case Types.NUMERIC:
 				if (introspectedColumn.getScale() > 0 || introspectedColumn.getLength() > 18 || forceBigDecimals) {
-					answer = new FullyQualifiedJavaType(Long.class.getName());
+					answer = FullyQualifiedJavaType.getInstance(Long.class.getName());
 				} else if (introspectedColumn.getLength() > 9) {
-					answer = new FullyQualifiedJavaType(Long.class.getName());
+					answer = FullyQualifiedJavaType.getInstance(Long.class.getName());
 				} else if (introspectedColumn.getLength() > 4) {
-					answer = new FullyQualifiedJavaType(Integer.class.getName());
+					answer = FullyQualifiedJavaType.getInstance(Integer.class.getName());
 				} else {
-					answer = new FullyQualifiedJavaType(Short.class.getName());
+					answer = FullyQualifiedJavaType.getInstance(Short.class.getName());
 				}
 				break;
 
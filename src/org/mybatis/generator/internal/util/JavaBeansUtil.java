@@ -294,7 +294,7 @@ public class JavaBeansUtil {
 		}
 		
 		IntrospectedTable introspectedImportTable = introspectedImportColumn.getIntrospectedTable();
-		FullyQualifiedJavaType importType = new FullyQualifiedJavaType(introspectedImportTable.getBaseRecordType());
+		FullyQualifiedJavaType importType = FullyQualifiedJavaType.getInstance(introspectedImportTable.getBaseRecordType());
 		String property = getValidPropertyName(importType.getShortName());
 
 		Method method = new Method();
@@ -323,7 +323,7 @@ public class JavaBeansUtil {
 		}
 		
 		IntrospectedTable introspectedImportTable = introspectedImportColumn.getIntrospectedTable();
-		FullyQualifiedJavaType importType = new FullyQualifiedJavaType(introspectedImportTable.getBaseRecordType());
+		FullyQualifiedJavaType importType = FullyQualifiedJavaType.getInstance(introspectedImportTable.getBaseRecordType());
 		String property = getValidPropertyName(importType.getShortName());
 
 		Method method = new Method();
@@ -65,6 +65,23 @@ public class StringUtility {
         return sb.toString();
     }
 
+    /**
+     * Returns a key for case insensitive lookups. Two strings have the same key
+     * exactly when String.equalsIgnoreCase returns true for them.
+     *
+     * @param s
+     *            the string
+     * @return the key
+     */
+    public static String caseInsensitiveKey(String s) {
+        char[] chars = s.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+        }
+
+        return new String(chars);
+    }
+
     public static boolean stringContainsSpace(String s) {
         return s != null && s.indexOf(' ') != -1;
     }
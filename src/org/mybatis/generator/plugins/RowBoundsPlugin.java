@@ -16,10 +16,10 @@
 package org.mybatis.generator.plugins;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.mybatis.generator.api.FullyQualifiedTable;
 import org.mybatis.generator.api.IntrospectedTable;
@@ -43,11 +43,12 @@ import org.mybatis.generator.api.dom.xml.XmlElement;
 public class RowBoundsPlugin extends PluginAdapter {
     
     private FullyQualifiedJavaType rowBounds;
+    // tables may be generated on several threads at once
     private Map<FullyQualifiedTable, List<XmlElement>> elementsToAdd;
 
     public RowBoundsPlugin() {
-        rowBounds = new FullyQualifiedJavaType("org.apache.ibatis.session.RowBounds"); //$NON-NLS-1$
-        elementsToAdd = new HashMap<FullyQualifiedTable, List<XmlElement>>();
+        rowBounds = FullyQualifiedJavaType.getInstance("org.apache.ibatis.session.RowBounds"); //$NON-NLS-1$
+        elementsToAdd = new ConcurrentHashMap<FullyQualifiedTable, List<XmlElement>>();
     }
     
     public boolean validate(List<String> warnings) {
@@ -98,7 +99,7 @@ public class RowBoundsPlugin extends PluginAdapter {
     @Override
     public boolean sqlMapDocumentGenerated(Document document,
             IntrospectedTable introspectedTable) {
-        List<XmlElement> elements = elementsToAdd.get(introspectedTable.getFullyQualifiedTable());
+        List<XmlElement> elements = elementsToAdd.remove(introspectedTable.getFullyQualifiedTable());
         if (elements != null) {
             for (XmlElement element : elements) {
                 document.getRootElement().addElement(element);
@@ -47,8 +47,8 @@ public class SerializablePlugin extends PluginAdapter {
 
     public SerializablePlugin() {
         super();
-        serializable = new FullyQualifiedJavaType("java.io.Serializable"); //$NON-NLS-1$
-        gwtSerializable = new FullyQualifiedJavaType("com.google.gwt.user.client.rpc.IsSerializable"); //$NON-NLS-1$
+        serializable = FullyQualifiedJavaType.getInstance("java.io.Serializable"); //$NON-NLS-1$
+        gwtSerializable = FullyQualifiedJavaType.getInstance("com.google.gwt.user.client.rpc.IsSerializable"); //$NON-NLS-1$
     }
 
     public boolean validate(List<String> warnings) {
@@ -100,7 +100,7 @@ public class SerializablePlugin extends PluginAdapter {
             field.setInitializationString("1L"); //$NON-NLS-1$
             field.setName("serialVersionUID"); //$NON-NLS-1$
             field.setStatic(true);
-            field.setType(new FullyQualifiedJavaType("long")); //$NON-NLS-1$
+            field.setType(FullyQualifiedJavaType.getInstance("long")); //$NON-NLS-1$
             field.setVisibility(JavaVisibility.PRIVATE);
             context.getCommentGenerator().addFieldComment(field, introspectedTable);
 